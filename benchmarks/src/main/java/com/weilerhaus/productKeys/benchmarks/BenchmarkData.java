@@ -0,0 +1,190 @@
+package com.weilerhaus.productKeys.benchmarks;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Random;
+
+import com.weilerhaus.productKeys.exceptions.ProductKeyGenerationException;
+import com.weilerhaus.productKeys.impl.BasicProductKeyGenerator;
+import com.weilerhaus.productKeys.impl.beans.BasicProductKeyEncodingData;
+import com.weilerhaus.productKeys.impl.workers.BasicChecksumWorker;
+import com.weilerhaus.productKeys.impl.workers.BasicProductKeyStylingWorker;
+import com.weilerhaus.productKeys.impl.workers.MappedBlacklistWorker;
+
+/**
+ * This class holds the data shared by the benchmarks.
+ * 
+ * @author Matthew Weiler
+ */
+final class BenchmarkData
+{
+	
+	
+	/* PACKAGE CONSTANTS */
+	/**
+	 * This is the number of product-keys prepared for each kind of input; this is a power of two so
+	 * that the benchmarks can cycle through them with a mask.
+	 */
+	static final int PRODUCT_KEY_COUNT = 1024;
+	/**
+	 * This is the seed used to prepare the product-keys, so that every run sees the same input.
+	 */
+	static final long RANDOM_SEED = 0x5EEDL;
+	
+	/* CONSTRUCTORS */
+	/**
+	 * This class only holds static helpers.
+	 */
+	private BenchmarkData()
+	{
+	}
+	
+	/* PACKAGE METHODS */
+	/**
+	 * This method will build the full set of encoding-data used to generate product-keys.
+	 * 
+	 * @return
+	 * The full set of encoding-data.
+	 */
+	static BasicProductKeyEncodingData[] buildEncodingData()
+	{
+		// @formatter:off
+		return new BasicProductKeyEncodingData[] {
+				new BasicProductKeyEncodingData((byte) 24, (byte) 3, (byte) 101),
+				new BasicProductKeyEncodingData((byte) 10, (byte) 4, (byte) 56),
+				new BasicProductKeyEncodingData((byte) 1, (byte) 2, (byte) 91),
+				new BasicProductKeyEncodingData((byte) 7, (byte) 1, (byte) 100),
+				new BasicProductKeyEncodingData((byte) 2, (byte) 36, (byte) 45),
+				new BasicProductKeyEncodingData((byte) 13, (byte) 5, (byte) 54),
+				new BasicProductKeyEncodingData((byte) 21, (byte) 67, (byte) 25),
+				new BasicProductKeyEncodingData((byte) 3, (byte) 76, (byte) 12),
+				new BasicProductKeyEncodingData((byte) 31, (byte) 22, (byte) 34),
+				new BasicProductKeyEncodingData((byte) 15, (byte) 72, (byte) 65)
+		};
+		// @formatter:on
+	}
+	
+	/**
+	 * This method will generate product-keys from random seeds.
+	 * 
+	 * @param productKeyGenerator
+	 * The {@link BasicProductKeyGenerator} to generate the product-keys with.
+	 * @param random
+	 * The source of the seeds.
+	 * @param count
+	 * The number of product-keys to generate.
+	 * @return
+	 * The generated product-keys.
+	 * @throws ProductKeyGenerationException
+	 * If a product-key could not be generated.
+	 */
+	static String[] generateProductKeys(final BasicProductKeyGenerator productKeyGenerator, final Random random, final int count) throws ProductKeyGenerationException
+	{
+		final String[] productKeys = new String[count];
+		
+		for (int n = 0; n < count; n++ )
+		{
+			productKeys[n] = productKeyGenerator.generateProductKey(random.nextLong());
+		}
+		
+		return productKeys;
+	}
+	
+	/**
+	 * This method will change one character of each product-key section, keeping the checksum
+	 * correct, so the product-keys look well-formed but fail the section checks.
+	 * 
+	 * @param productKeys
+	 * The valid product-keys.
+	 * @return
+	 * The phony product-keys.
+	 */
+	static String[] buildPhonyProductKeys(final String[] productKeys)
+	{
+		final BasicProductKeyStylingWorker stylingWorker = new BasicProductKeyStylingWorker();
+		final BasicChecksumWorker checksumWorker = new BasicChecksumWorker();
+		final String[] phonyProductKeys = new String[productKeys.length];
+		
+		for (int n = 0; n < productKeys.length; n++ )
+		{
+			final char[] unstyled = stylingWorker.removeStyling(productKeys[n]).toCharArray();
+			
+			// Flip a character of the first section.
+			unstyled[8] = (unstyled[8] == '0') ? '1' : '0';
+			
+			final String body = new String(unstyled, 0, unstyled.length - checksumWorker.getChecksumLength());
+			
+			phonyProductKeys[n] = stylingWorker.addStyling(body + checksumWorker.buildProductKeyChecksum(body));
+		}
+		
+		return phonyProductKeys;
+	}
+	
+	/**
+	 * This method will change the last character of each product-key so that its checksum is no
+	 * longer correct.
+	 * 
+	 * @param productKeys
+	 * The valid product-keys.
+	 * @return
+	 * The product-keys with an invalid checksum.
+	 */
+	static String[] buildInvalidChecksumProductKeys(final String[] productKeys)
+	{
+		final String[] invalidProductKeys = new String[productKeys.length];
+		
+		for (int n = 0; n < productKeys.length; n++ )
+		{
+			final char[] chars = productKeys[n].toCharArray();
+			
+			chars[chars.length - 1] = (chars[chars.length - 1] == '0') ? '1' : '0';
+			
+			invalidProductKeys[n] = new String(chars);
+		}
+		
+		return invalidProductKeys;
+	}
+	
+	/**
+	 * This method will write a blacklist file holding the seeds of the specified product-keys.
+	 * 
+	 * @param productKeys
+	 * The product-keys to blacklist.
+	 * @return
+	 * The blacklist file; it will be deleted when the JVM exits.
+	 * @throws IOException
+	 * If the blacklist file could not be written.
+	 */
+	static Path writeBlacklist(final String[] productKeys) throws IOException
+	{
+		final long[] seeds = new long[productKeys.length];
+		
+		for (int n = 0; n < productKeys.length; n++ )
+		{
+			seeds[n] = Long.parseLong(productKeys[n].substring(0, 8), 16);
+		}
+		
+		Arrays.sort(seeds);
+		
+		int seedCount = 0;
+		
+		for (int n = 0; n < seeds.length; n++ )
+		{
+			if ((n == 0) || (seeds[n] != seeds[n - 1]))
+			{
+				seeds[seedCount++ ] = seeds[n];
+			}
+		}
+		
+		final Path blacklistFile = Files.createTempFile("product-key-blacklist", ".bin");
+		
+		blacklistFile.toFile().deleteOnExit();
+		
+		MappedBlacklistWorker.writeBlacklistFile(blacklistFile, 8, seeds, seedCount);
+		
+		return blacklistFile;
+	}
+	
+}
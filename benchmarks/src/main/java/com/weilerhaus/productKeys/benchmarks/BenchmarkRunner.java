@@ -0,0 +1,116 @@
+package com.weilerhaus.productKeys.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * This class runs the benchmarks once for each thread count, with the GC profiler enabled, so that
+ * both the throughput and the allocations per operation (<code>gc.alloc.rate.norm</code>) are
+ * reported for every thread count.
+ * <br />
+ * <br />
+ * Usage: <code>java -jar benchmarks.jar [regex] [thread counts, e.g. 1,2,4,8]</code>
+ * <br />
+ * <i>By default every benchmark is run with 1 thread and then doubling up to the number of
+ * available processors.</i>
+ * 
+ * @author Matthew Weiler
+ */
+public final class BenchmarkRunner
+{
+	
+	
+	/* CONSTRUCTORS */
+	/**
+	 * This class only holds the entry point.
+	 */
+	private BenchmarkRunner()
+	{
+	}
+	
+	/* PUBLIC METHODS */
+	/**
+	 * This method will run the benchmarks.
+	 * 
+	 * @param args
+	 * The optional regular expression selecting the benchmarks, followed by the optional
+	 * comma-separated thread counts.
+	 * @throws RunnerException
+	 * If the benchmarks could not be run.
+	 */
+	public static void main(final String[] args) throws RunnerException
+	{
+		final String include = (args.length > 0) ? args[0] : BenchmarkRunner.class.getPackage().getName() + ".*";
+		final List<RunResult> results = new ArrayList<RunResult>();
+		
+		for (final int threadCount : BenchmarkRunner.parseThreadCounts((args.length > 1) ? args[1] : null))
+		{
+			final ChainedOptionsBuilder options = new OptionsBuilder().include(include).exclude(BenchmarkRunner.class.getSimpleName()).addProfiler(GCProfiler.class).threads(threadCount).forks(1).warmupIterations(3).measurementIterations(5);
+			
+			results.addAll(new Runner(options.build()).run());
+		}
+		
+		System.out.println();
+		System.out.println("Benchmark                                          Threads        ops/s    B/op");
+		
+		for (final RunResult result : results)
+		{
+			final String params = result.getParams().getParamsKeys().isEmpty() ? "" : result.getParams().getParam("input");
+			final String name = result.getParams().getBenchmark().replace(BenchmarkRunner.class.getPackage().getName() + ".", "") + ((params == null) || params.isEmpty() ? "" : ":" + params);
+			final Double allocations = result.getSecondaryResults().containsKey("gc.alloc.rate.norm") ? Double.valueOf(result.getSecondaryResults().get("gc.alloc.rate.norm").getScore()) : null;
+			
+			System.out.println(String.format("%-50s %7d %12.0f %7s", name, Integer.valueOf(result.getParams().getThreads()), Double.valueOf(result.getPrimaryResult().getScore()), (allocations != null) ? String.format("%.1f", allocations) : "n/a"));
+		}
+	}
+	
+	/* PRIVATE METHODS */
+	/**
+	 * This method will parse the thread counts to run the benchmarks with.
+	 * 
+	 * @param threadCounts
+	 * The comma-separated thread counts, or <code>null</code> for the default.
+	 * @return
+	 * The thread counts.
+	 */
+	private static int[] parseThreadCounts(final String threadCounts)
+	{
+		if (threadCounts != null)
+		{
+			final String[] values = threadCounts.split(",");
+			final int[] counts = new int[values.length];
+			
+			for (int n = 0; n < values.length; n++ )
+			{
+				counts[n] = Integer.parseInt(values[n].trim());
+			}
+			
+			return counts;
+		}
+		
+		final List<Integer> counts = new ArrayList<Integer>();
+		
+		for (int n = 1; n < Runtime.getRuntime().availableProcessors(); n *= 2)
+		{
+			counts.add(Integer.valueOf(n));
+		}
+		
+		counts.add(Integer.valueOf(Runtime.getRuntime().availableProcessors()));
+		
+		final int[] result = new int[counts.size()];
+		
+		for (int n = 0; n < result.length; n++ )
+		{
+			result[n] = counts.get(n).intValue();
+		}
+		
+		return result;
+	}
+	
+}
@@ -0,0 +1,145 @@
+package com.weilerhaus.productKeys.benchmarks;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import com.weilerhaus.productKeys.exceptions.ProductKeyGenerationException;
+import com.weilerhaus.productKeys.impl.BasicProductKeyGenerator;
+import com.weilerhaus.productKeys.impl.workers.BasicChecksumWorker;
+import com.weilerhaus.productKeys.impl.workers.BasicProductKeyStylingWorker;
+
+/**
+ * This class benchmarks the {@link BasicChecksumWorker}.
+ * 
+ * @author Matthew Weiler
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Thread)
+public class ChecksumWorkerBenchmark
+{
+	
+	
+	/**
+	 * This will store the {@link BasicChecksumWorker} being benchmarked.
+	 */
+	private final BasicChecksumWorker checksumWorker = new BasicChecksumWorker();
+	/**
+	 * This will store the unstyled product-keys, including their checksum.
+	 */
+	private String[] productKeys;
+	/**
+	 * This will store the unstyled product-keys, including their checksum, as characters.
+	 */
+	private char[][] productKeyChars;
+	/**
+	 * This will store the unstyled product-keys without their checksum.
+	 */
+	private String[] productKeyBodies;
+	/**
+	 * This will store the characters checksums are built into.
+	 */
+	private char[] dest;
+	/**
+	 * This will store the index of the next product-key.
+	 */
+	private int index;
+	
+	/**
+	 * This method will prepare the product-keys.
+	 * 
+	 * @throws ProductKeyGenerationException
+	 * If a product-key could not be generated.
+	 */
+	@Setup
+	public void setUp() throws ProductKeyGenerationException
+	{
+		final BasicProductKeyStylingWorker stylingWorker = new BasicProductKeyStylingWorker();
+		final String[] styledProductKeys = BenchmarkData.generateProductKeys(new BasicProductKeyGenerator(BenchmarkData.buildEncodingData()), new Random(BenchmarkData.RANDOM_SEED), BenchmarkData.PRODUCT_KEY_COUNT);
+		
+		this.productKeys = new String[styledProductKeys.length];
+		this.productKeyChars = new char[styledProductKeys.length][];
+		this.productKeyBodies = new String[styledProductKeys.length];
+		
+		for (int n = 0; n < styledProductKeys.length; n++ )
+		{
+			this.productKeys[n] = stylingWorker.removeStyling(styledProductKeys[n]);
+			this.productKeyChars[n] = this.productKeys[n].toCharArray();
+			this.productKeyBodies[n] = this.productKeys[n].substring(0, this.productKeys[n].length() - this.checksumWorker.getChecksumLength());
+		}
+		
+		this.dest = new char[this.checksumWorker.getChecksumLength()];
+	}
+	
+	/**
+	 * This benchmark builds a checksum as a {@link String}.
+	 * 
+	 * @return
+	 * The checksum.
+	 */
+	@Benchmark
+	public String buildProductKeyChecksum()
+	{
+		return this.checksumWorker.buildProductKeyChecksum(this.productKeyBodies[this.nextIndex()]);
+	}
+	
+	/**
+	 * This benchmark builds a checksum into a reused <code>char[]</code>.
+	 * 
+	 * @return
+	 * The number of characters written.
+	 */
+	@Benchmark
+	public int buildProductKeyChecksumChars()
+	{
+		final char[] productKey = this.productKeyChars[this.nextIndex()];
+		
+		return this.checksumWorker.buildProductKeyChecksum(productKey, 0, productKey.length - this.dest.length, this.dest, 0);
+	}
+	
+	/**
+	 * This benchmark verifies the checksum of a product-key held in a {@link String}.
+	 * 
+	 * @return
+	 * The boolean flag to denote if the checksum is correct.
+	 */
+	@Benchmark
+	public boolean verifyProductKeyChecksum()
+	{
+		return this.checksumWorker.verifyProductKeyChecksum(this.productKeys[this.nextIndex()]);
+	}
+	
+	/**
+	 * This benchmark verifies the checksum of a product-key held in a <code>char[]</code>.
+	 * 
+	 * @return
+	 * The boolean flag to denote if the checksum is correct.
+	 */
+	@Benchmark
+	public boolean verifyProductKeyChecksumChars()
+	{
+		final char[] productKey = this.productKeyChars[this.nextIndex()];
+		
+		return this.checksumWorker.verifyProductKeyChecksum(productKey, 0, productKey.length);
+	}
+	
+	/**
+	 * This method will get the index of the next product-key.
+	 * 
+	 * @return
+	 * The index of the next product-key.
+	 */
+	private int nextIndex()
+	{
+		return (this.index++ ) & (BenchmarkData.PRODUCT_KEY_COUNT - 1);
+	}
+	
+}
@@ -0,0 +1,118 @@
+package com.weilerhaus.productKeys.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import com.weilerhaus.productKeys.exceptions.ProductKeyGenerationException;
+import com.weilerhaus.productKeys.impl.BasicProductKeyGenerator;
+
+/**
+ * This class benchmarks the generation of product-keys.
+ * 
+ * @author Matthew Weiler
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class GenerateProductKeyBenchmark
+{
+	
+	
+	/**
+	 * This class holds the {@link BasicProductKeyGenerator} shared by every thread.
+	 */
+	@State(Scope.Benchmark)
+	public static class GeneratorState
+	{
+		
+		
+		/**
+		 * This will store the {@link BasicProductKeyGenerator} being benchmarked.
+		 */
+		BasicProductKeyGenerator productKeyGenerator;
+		
+		/**
+		 * This method will create the {@link BasicProductKeyGenerator}.
+		 */
+		@Setup
+		public void setUp()
+		{
+			this.productKeyGenerator = new BasicProductKeyGenerator(BenchmarkData.buildEncodingData());
+		}
+		
+	}
+	
+	/**
+	 * This class holds the seed and destination used by a single thread.
+	 */
+	@State(Scope.Thread)
+	public static class ThreadState
+	{
+		
+		
+		/**
+		 * This will store the next seed to generate a product-key for.
+		 */
+		long seed = BenchmarkData.RANDOM_SEED;
+		/**
+		 * This will store the characters product-keys are generated into.
+		 */
+		char[] dest;
+		
+		/**
+		 * This method will allocate the destination.
+		 * 
+		 * @param generatorState
+		 * The {@link GeneratorState}.
+		 */
+		@Setup
+		public void setUp(final GeneratorState generatorState)
+		{
+			this.dest = new char[generatorState.productKeyGenerator.getProductKeyLength()];
+		}
+		
+	}
+	
+	/**
+	 * This benchmark generates a product-key as a {@link String}.
+	 * 
+	 * @param generatorState
+	 * The {@link GeneratorState}.
+	 * @param threadState
+	 * The {@link ThreadState}.
+	 * @return
+	 * The product-key.
+	 * @throws ProductKeyGenerationException
+	 * If the product-key could not be generated.
+	 */
+	@Benchmark
+	public String generateProductKey(final GeneratorState generatorState, final ThreadState threadState) throws ProductKeyGenerationException
+	{
+		return generatorState.productKeyGenerator.generateProductKey(threadState.seed++ );
+	}
+	
+	/**
+	 * This benchmark generates a product-key into a reused <code>char[]</code>.
+	 * 
+	 * @param generatorState
+	 * The {@link GeneratorState}.
+	 * @param threadState
+	 * The {@link ThreadState}.
+	 * @return
+	 * The number of characters written.
+	 * @throws ProductKeyGenerationException
+	 * If the product-key could not be generated.
+	 */
+	@Benchmark
+	public int generateProductKeyInto(final GeneratorState generatorState, final ThreadState threadState) throws ProductKeyGenerationException
+	{
+		return generatorState.productKeyGenerator.generateProductKeyInto(threadState.seed++ , threadState.dest, 0);
+	}
+	
+}
@@ -0,0 +1,62 @@
+package com.weilerhaus.productKeys.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+import com.weilerhaus.productKeys.utils.ProductKeyUtils;
+
+/**
+ * This class benchmarks the HEXADECIMAL helpers of {@link ProductKeyUtils}.
+ * 
+ * @author Matthew Weiler
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Thread)
+public class HexBenchmark
+{
+	
+	
+	/**
+	 * This will store the next value to convert.
+	 */
+	private long value = BenchmarkData.RANDOM_SEED;
+	/**
+	 * This will store the characters values are written into.
+	 */
+	private final char[] dest = new char[8];
+	
+	/**
+	 * This benchmark builds the HEXADECIMAL {@link String} of a seed.
+	 * 
+	 * @return
+	 * The HEXADECIMAL {@link String}.
+	 */
+	@Benchmark
+	public String buildHexStr()
+	{
+		return ProductKeyUtils.buildHexStr(8, this.value++ );
+	}
+	
+	/**
+	 * This benchmark writes the HEXADECIMAL characters of a seed into a reused
+	 * <code>char[]</code>.
+	 * 
+	 * @return
+	 * The characters written.
+	 */
+	@Benchmark
+	public char[] writeHex()
+	{
+		ProductKeyUtils.writeHex(this.value++ , this.dest, 0, this.dest.length);
+		
+		return this.dest;
+	}
+	
+}
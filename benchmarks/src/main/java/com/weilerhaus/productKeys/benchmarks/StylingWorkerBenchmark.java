@@ -0,0 +1,127 @@
+package com.weilerhaus.productKeys.benchmarks;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import com.weilerhaus.productKeys.exceptions.ProductKeyGenerationException;
+import com.weilerhaus.productKeys.impl.BasicProductKeyGenerator;
+import com.weilerhaus.productKeys.impl.workers.BasicProductKeyStylingWorker;
+
+/**
+ * This class benchmarks the {@link BasicProductKeyStylingWorker}.
+ * 
+ * @author Matthew Weiler
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Thread)
+public class StylingWorkerBenchmark
+{
+	
+	
+	/**
+	 * This will store the {@link BasicProductKeyStylingWorker} being benchmarked.
+	 */
+	private final BasicProductKeyStylingWorker stylingWorker = new BasicProductKeyStylingWorker();
+	/**
+	 * This will store the styled product-keys.
+	 */
+	private String[] styledProductKeys;
+	/**
+	 * This will store the unstyled product-keys.
+	 */
+	private String[] unstyledProductKeys;
+	/**
+	 * This will store the unstyled product-keys as characters.
+	 */
+	private char[][] unstyledProductKeyChars;
+	/**
+	 * This will store the characters styled product-keys are built into.
+	 */
+	private char[] dest;
+	/**
+	 * This will store the index of the next product-key.
+	 */
+	private int index;
+	
+	/**
+	 * This method will prepare the product-keys.
+	 * 
+	 * @throws ProductKeyGenerationException
+	 * If a product-key could not be generated.
+	 */
+	@Setup
+	public void setUp() throws ProductKeyGenerationException
+	{
+		this.styledProductKeys = BenchmarkData.generateProductKeys(new BasicProductKeyGenerator(BenchmarkData.buildEncodingData()), new Random(BenchmarkData.RANDOM_SEED), BenchmarkData.PRODUCT_KEY_COUNT);
+		this.unstyledProductKeys = new String[this.styledProductKeys.length];
+		this.unstyledProductKeyChars = new char[this.styledProductKeys.length][];
+		
+		for (int n = 0; n < this.styledProductKeys.length; n++ )
+		{
+			this.unstyledProductKeys[n] = this.stylingWorker.removeStyling(this.styledProductKeys[n]);
+			this.unstyledProductKeyChars[n] = this.unstyledProductKeys[n].toCharArray();
+		}
+		
+		this.dest = new char[this.styledProductKeys[0].length()];
+	}
+	
+	/**
+	 * This benchmark adds styling to a product-key held in a {@link String}.
+	 * 
+	 * @return
+	 * The styled product-key.
+	 */
+	@Benchmark
+	public String addStyling()
+	{
+		return this.stylingWorker.addStyling(this.unstyledProductKeys[this.nextIndex()]);
+	}
+	
+	/**
+	 * This benchmark adds styling to a product-key held in a <code>char[]</code>, writing it into
+	 * a reused <code>char[]</code>.
+	 * 
+	 * @return
+	 * The number of characters written.
+	 */
+	@Benchmark
+	public int addStylingChars()
+	{
+		final char[] productKey = this.unstyledProductKeyChars[this.nextIndex()];
+		
+		return this.stylingWorker.addStyling(productKey, 0, productKey.length, this.dest, 0);
+	}
+	
+	/**
+	 * This benchmark removes the styling from a product-key held in a {@link String}.
+	 * 
+	 * @return
+	 * The unstyled product-key.
+	 */
+	@Benchmark
+	public String removeStyling()
+	{
+		return this.stylingWorker.removeStyling(this.styledProductKeys[this.nextIndex()]);
+	}
+	
+	/**
+	 * This method will get the index of the next product-key.
+	 * 
+	 * @return
+	 * The index of the next product-key.
+	 */
+	private int nextIndex()
+	{
+		return (this.index++ ) & (BenchmarkData.PRODUCT_KEY_COUNT - 1);
+	}
+	
+}
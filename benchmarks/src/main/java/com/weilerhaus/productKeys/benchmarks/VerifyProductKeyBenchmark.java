@@ -0,0 +1,173 @@
+package com.weilerhaus.productKeys.benchmarks;
+
+import java.io.IOException;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import com.weilerhaus.productKeys.enums.ProductKeyState;
+import com.weilerhaus.productKeys.exceptions.ProductKeyGenerationException;
+import com.weilerhaus.productKeys.impl.BasicProductKeyGenerator;
+import com.weilerhaus.productKeys.impl.workers.MappedBlacklistWorker;
+
+/**
+ * This class benchmarks the verification of product-keys for each kind of input.
+ * <br />
+ * <br />
+ * The verifying {@link BasicProductKeyGenerator} always has a blacklist, so that every input pays
+ * for the blacklist lookup it would pay in production.
+ * 
+ * @author Matthew Weiler
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class VerifyProductKeyBenchmark
+{
+	
+	
+	/**
+	 * This class holds the product-keys and the {@link BasicProductKeyGenerator} shared by every
+	 * thread.
+	 */
+	@State(Scope.Benchmark)
+	public static class VerifierState
+	{
+		
+		
+		/**
+		 * This will store the kind of product-key being verified: <code>VALID</code>,
+		 * <code>PHONY</code>, <code>INVALID_CHECKSUM</code> or <code>BLACKLISTED</code>.
+		 */
+		@Param({ "VALID", "PHONY", "INVALID_CHECKSUM", "BLACKLISTED" })
+		String input;
+		
+		/**
+		 * This will store the {@link BasicProductKeyGenerator} being benchmarked.
+		 */
+		BasicProductKeyGenerator productKeyGenerator;
+		/**
+		 * This will store the product-keys to verify.
+		 */
+		String[] productKeys;
+		/**
+		 * This will store the product-keys to verify as characters.
+		 */
+		char[][] productKeyChars;
+		
+		/**
+		 * This method will prepare the product-keys and a blacklist holding a separate set of
+		 * product-keys.
+		 * 
+		 * @throws IOException
+		 * If the blacklist could not be written.
+		 * @throws ProductKeyGenerationException
+		 * If a product-key could not be generated.
+		 */
+		@Setup(Level.Trial)
+		public void setUp() throws IOException, ProductKeyGenerationException
+		{
+			final Random random = new Random(BenchmarkData.RANDOM_SEED);
+			final BasicProductKeyGenerator keyGenerator = new BasicProductKeyGenerator(BenchmarkData.buildEncodingData());
+			final String[] validProductKeys = BenchmarkData.generateProductKeys(keyGenerator, random, BenchmarkData.PRODUCT_KEY_COUNT);
+			final String[] blacklistedProductKeys = BenchmarkData.generateProductKeys(keyGenerator, random, BenchmarkData.PRODUCT_KEY_COUNT);
+			
+			this.productKeyGenerator = new BasicProductKeyGenerator(BenchmarkData.buildEncodingData(), new MappedBlacklistWorker(BenchmarkData.writeBlacklist(blacklistedProductKeys)));
+			
+			switch (this.input)
+			{
+				case "VALID":
+					this.productKeys = validProductKeys;
+					break;
+				case "PHONY":
+					this.productKeys = BenchmarkData.buildPhonyProductKeys(validProductKeys);
+					break;
+				case "INVALID_CHECKSUM":
+					this.productKeys = BenchmarkData.buildInvalidChecksumProductKeys(validProductKeys);
+					break;
+				case "BLACKLISTED":
+					this.productKeys = blacklistedProductKeys;
+					break;
+				default:
+					throw new IllegalArgumentException("Unknown input: " + this.input);
+			}
+			
+			this.productKeyChars = new char[this.productKeys.length][];
+			
+			for (int n = 0; n < this.productKeys.length; n++ )
+			{
+				this.productKeyChars[n] = this.productKeys[n].toCharArray();
+			}
+		}
+		
+	}
+	
+	/**
+	 * This class holds the position of a single thread within the product-keys.
+	 */
+	@State(Scope.Thread)
+	public static class ThreadState
+	{
+		
+		
+		/**
+		 * This will store the index of the next product-key to verify.
+		 */
+		int index;
+		
+		/**
+		 * This method will get the index of the next product-key to verify.
+		 * 
+		 * @return
+		 * The index of the next product-key to verify.
+		 */
+		int nextIndex()
+		{
+			return (this.index++ ) & (BenchmarkData.PRODUCT_KEY_COUNT - 1);
+		}
+		
+	}
+	
+	/**
+	 * This benchmark verifies a product-key held in a {@link String}.
+	 * 
+	 * @param verifierState
+	 * The {@link VerifierState}.
+	 * @param threadState
+	 * The {@link ThreadState}.
+	 * @return
+	 * The {@link ProductKeyState} of the product-key.
+	 */
+	@Benchmark
+	public ProductKeyState verifyProductKey(final VerifierState verifierState, final ThreadState threadState)
+	{
+		return verifierState.productKeyGenerator.verifyProductKey(verifierState.productKeys[threadState.nextIndex()]);
+	}
+	
+	/**
+	 * This benchmark verifies a product-key held in a <code>char[]</code>.
+	 * 
+	 * @param verifierState
+	 * The {@link VerifierState}.
+	 * @param threadState
+	 * The {@link ThreadState}.
+	 * @return
+	 * The {@link ProductKeyState} of the product-key.
+	 */
+	@Benchmark
+	public ProductKeyState verifyProductKeyChars(final VerifierState verifierState, final ThreadState threadState)
+	{
+		final char[] productKey = verifierState.productKeyChars[threadState.nextIndex()];
+		
+		return verifierState.productKeyGenerator.verifyProductKey(productKey, 0, productKey.length);
+	}
+	
+}
@@ -0,0 +1,66 @@
+package com.weilerhaus.productKeys.flow;
+
+/**
+ * This class holds a generated product-key along with the seed it was generated from.
+ * 
+ * @author Matthew Weiler
+ */
+public final class GeneratedProductKey
+{
+	
+	
+	/* PRIVATE VARIABLES */
+	/**
+	 * This will store the seed the product-key was generated from.
+	 */
+	private final long seed;
+	/**
+	 * This will store the product-key.
+	 */
+	private final String productKey;
+	
+	/* CONSTRUCTORS */
+	/**
+	 * This will create a new instance of a {@link GeneratedProductKey}.
+	 * 
+	 * @param seed
+	 * The seed the product-key was generated from.
+	 * @param productKey
+	 * The product-key.
+	 */
+	public GeneratedProductKey(final long seed, final String productKey)
+	{
+		this.seed = seed;
+		this.productKey = productKey;
+	}
+	
+	/* PUBLIC METHODS */
+	/**
+	 * This method will get the seed the product-key was generated from.
+	 * 
+	 * @return
+	 * The seed the product-key was generated from.
+	 */
+	public long getSeed()
+	{
+		return this.seed;
+	}
+	
+	/**
+	 * This method will get the product-key.
+	 * 
+	 * @return
+	 * The product-key.
+	 */
+	public String getProductKey()
+	{
+		return this.productKey;
+	}
+	
+	@Override
+	public String toString()
+	{
+		return this.productKey;
+	}
+	
+}
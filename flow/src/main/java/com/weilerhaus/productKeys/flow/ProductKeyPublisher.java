@@ -0,0 +1,405 @@
+package com.weilerhaus.productKeys.flow;
+
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.weilerhaus.productKeys.ProductKeyGenerator;
+import com.weilerhaus.productKeys.exceptions.ProductKeyGenerationException;
+import com.weilerhaus.productKeys.exceptions.SeedAlreadyTakenException;
+import com.weilerhaus.productKeys.exceptions.SeedIsBlacklistedException;
+import com.weilerhaus.productKeys.workers.SeedAllocationWorker;
+
+/**
+ * This class is a {@link Flow.Publisher} of product-keys generated from the seeds handed out by a
+ * {@link SeedAllocationWorker}.
+ * <br />
+ * <br />
+ * A product-key is only generated once a subscriber has requested it, so a slow subscriber never
+ * has product-keys piling up for it; while there is outstanding demand, up to the configured
+ * number of tasks generate product-keys in parallel on the {@link Executor}, and the product-keys
+ * are then handed to the subscriber one at a time.
+ * <br />
+ * Every subscription draws from the same {@link SeedAllocationWorker}, so no seed is ever
+ * published twice, even with several subscribers; when it runs out of seeds, each subscriber is
+ * completed once it has been handed every product-key generated for it.
+ * <br />
+ * <br />
+ * Seeds that are black-listed or already taken are skipped; any other
+ * {@link ProductKeyGenerationException} is passed to {@link Flow.Subscriber#onError(Throwable)}.
+ * 
+ * @author Matthew Weiler
+ */
+public class ProductKeyPublisher implements Flow.Publisher<GeneratedProductKey>
+{
+	
+	
+	/* PRIVATE CONSTANTS */
+	/**
+	 * This is the most product-keys a task generates before it hands its thread back to the
+	 * {@link Executor}.
+	 */
+	private static final int BATCH_SIZE = 1024;
+	
+	/* PRIVATE VARIABLES */
+	/**
+	 * This will store the {@link ProductKeyGenerator} that generates the product-keys.
+	 */
+	private final ProductKeyGenerator<?> productKeyGenerator;
+	/**
+	 * This will store the {@link SeedAllocationWorker} that hands out the seeds.
+	 */
+	private final SeedAllocationWorker seedSource;
+	/**
+	 * This will store the {@link Executor} the product-keys are generated on.
+	 */
+	private final Executor executor;
+	/**
+	 * This will store the maximum number of tasks generating product-keys for each subscription.
+	 */
+	private final int parallelism;
+	
+	/* CONSTRUCTORS */
+	/**
+	 * This will create a new instance of a {@link ProductKeyPublisher} that generates on the
+	 * common {@link ForkJoinPool}, with as many tasks as it has threads.
+	 * 
+	 * @param productKeyGenerator
+	 * The {@link ProductKeyGenerator} that generates the product-keys.
+	 * @param seedSource
+	 * The {@link SeedAllocationWorker} that hands out the seeds.
+	 */
+	public ProductKeyPublisher(final ProductKeyGenerator<?> productKeyGenerator, final SeedAllocationWorker seedSource)
+	{
+		this(productKeyGenerator, seedSource, ForkJoinPool.commonPool(), ForkJoinPool.getCommonPoolParallelism());
+	}
+	
+	/**
+	 * This will create a new instance of a {@link ProductKeyPublisher}.
+	 * 
+	 * @param productKeyGenerator
+	 * The {@link ProductKeyGenerator} that generates the product-keys.
+	 * @param seedSource
+	 * The {@link SeedAllocationWorker} that hands out the seeds.
+	 * @param executor
+	 * The {@link Executor} the product-keys are generated on.
+	 * @param parallelism
+	 * The maximum number of tasks generating product-keys for each subscription.
+	 */
+	public ProductKeyPublisher(final ProductKeyGenerator<?> productKeyGenerator, final SeedAllocationWorker seedSource, final Executor executor, final int parallelism)
+	{
+		if (parallelism < 1)
+		{
+			throw new IllegalArgumentException("Parallelism must be at least 1: " + parallelism);
+		}
+		
+		this.productKeyGenerator = Objects.requireNonNull(productKeyGenerator, "productKeyGenerator");
+		this.seedSource = Objects.requireNonNull(seedSource, "seedSource");
+		this.executor = Objects.requireNonNull(executor, "executor");
+		this.parallelism = parallelism;
+	}
+	
+	/* PUBLIC METHODS */
+	@Override
+	public void subscribe(final Flow.Subscriber<? super GeneratedProductKey> subscriber)
+	{
+		Objects.requireNonNull(subscriber, "subscriber");
+		
+		subscriber.onSubscribe(new ProductKeySubscription(subscriber));
+	}
+	
+	/* PRIVATE CLASSES */
+	/**
+	 * This class is the {@link Flow.Subscription} of a single subscriber.
+	 * <br />
+	 * <br />
+	 * Each unit of demand is reserved by a generating task before it generates a product-key, so
+	 * no more product-keys are generated than have been requested; the generated product-keys are
+	 * queued and handed to the subscriber by whichever thread wins the drain counter, so the
+	 * subscriber is never called by two threads at once.
+	 */
+	private final class ProductKeySubscription implements Flow.Subscription
+	{
+		
+		
+		/* PRIVATE VARIABLES */
+		/**
+		 * This will store the subscriber.
+		 */
+		private final Flow.Subscriber<? super GeneratedProductKey> subscriber;
+		/**
+		 * This will store the demand that has not yet been reserved by a generating task.
+		 */
+		private final AtomicLong unreservedDemand = new AtomicLong();
+		/**
+		 * This will store the number of tasks generating product-keys.
+		 */
+		private final AtomicInteger activeTasks = new AtomicInteger();
+		/**
+		 * This will store the product-keys generated but not yet handed to the subscriber.
+		 */
+		private final Queue<GeneratedProductKey> generated = new ConcurrentLinkedQueue<GeneratedProductKey>();
+		/**
+		 * This will store the number of times the queue needs to be drained; only the thread that
+		 * raises it from <code>0</code> drains.
+		 */
+		private final AtomicInteger drainRequests = new AtomicInteger();
+		/**
+		 * This will store the boolean flag to denote if the seeds have run out.
+		 */
+		private volatile boolean exhausted = false;
+		/**
+		 * This will store the boolean flag to denote if the subscription has been cancelled.
+		 */
+		private volatile boolean cancelled = false;
+		/**
+		 * This will store the failure to pass to the subscriber, if any.
+		 */
+		private volatile Throwable failure = null;
+		/**
+		 * This will store the boolean flag to denote if the subscriber has been completed or
+		 * failed; this is only accessed while draining.
+		 */
+		private boolean terminated = false;
+		
+		/* CONSTRUCTORS */
+		/**
+		 * This will create a new instance of a {@link ProductKeySubscription}.
+		 * 
+		 * @param subscriber
+		 * The subscriber.
+		 */
+		private ProductKeySubscription(final Flow.Subscriber<? super GeneratedProductKey> subscriber)
+		{
+			this.subscriber = subscriber;
+		}
+		
+		/* PUBLIC METHODS */
+		@Override
+		public void request(final long n)
+		{
+			if (n <= 0L)
+			{
+				this.fail(new IllegalArgumentException("Requested demand must be positive: " + n));
+				
+				return;
+			}
+			
+			long current;
+			
+			do
+			{
+				current = this.unreservedDemand.get();
+			}
+			while ( !this.unreservedDemand.compareAndSet(current, ((current + n) < 0L) ? Long.MAX_VALUE : (current + n)));
+			
+			this.startTasks();
+		}
+		
+		@Override
+		public void cancel()
+		{
+			this.cancelled = true;
+			
+			this.drain();
+		}
+		
+		/* PRIVATE METHODS */
+		/**
+		 * This method will start generating tasks for as long as there is unreserved demand and
+		 * fewer than the maximum number of tasks are running.
+		 */
+		private void startTasks()
+		{
+			int currentTasks;
+			
+			while ((this.unreservedDemand.get() > 0L) && !this.exhausted && !this.cancelled && (this.failure == null))
+			{
+				currentTasks = this.activeTasks.get();
+				
+				if (currentTasks >= ProductKeyPublisher.this.parallelism)
+				{
+					return;
+				}
+				
+				if (this.activeTasks.compareAndSet(currentTasks, currentTasks + 1))
+				{
+					try
+					{
+						ProductKeyPublisher.this.executor.execute(this::generate);
+					}
+					catch (final RuntimeException e)
+					{
+						this.activeTasks.decrementAndGet();
+						this.fail(e);
+					}
+				}
+			}
+		}
+		
+		/**
+		 * This method will generate product-keys, one for each unit of demand it can reserve, up to
+		 * {@link ProductKeyPublisher#BATCH_SIZE}.
+		 */
+		private void generate()
+		{
+			try
+			{
+				for (int n = 0; (n < ProductKeyPublisher.BATCH_SIZE) && !this.exhausted && !this.cancelled && (this.failure == null) && this.reserveDemand(); n++ )
+				{
+					final GeneratedProductKey productKey = this.generateOne();
+					
+					if (productKey == null)
+					{
+						break;
+					}
+					
+					this.generated.offer(productKey);
+					this.drain();
+				}
+			}
+			catch (final ProductKeyGenerationException | RuntimeException e)
+			{
+				this.fail(e);
+			}
+			finally
+			{
+				this.activeTasks.decrementAndGet();
+			}
+			
+			// Demand may have arrived after the loop stopped reserving it.
+			this.startTasks();
+			this.drain();
+		}
+		
+		/**
+		 * This method will generate a single product-key, skipping seeds that are black-listed or
+		 * already taken.
+		 * 
+		 * @return
+		 * The {@link GeneratedProductKey}, or <code>null</code> if the seeds have run out.
+		 * @throws ProductKeyGenerationException
+		 * If the product-key could not be generated for a reason other than its seed.
+		 */
+		private GeneratedProductKey generateOne() throws ProductKeyGenerationException
+		{
+			long seed;
+			
+			while ((seed = ProductKeyPublisher.this.seedSource.allocateSeed()) >= 0L)
+			{
+				try
+				{
+					return new GeneratedProductKey(seed, ProductKeyPublisher.this.productKeyGenerator.generateProductKey(seed));
+				}
+				catch (final SeedIsBlacklistedException | SeedAlreadyTakenException e)
+				{
+					continue;
+				}
+			}
+			
+			this.exhausted = true;
+			
+			return null;
+		}
+		
+		/**
+		 * This method will reserve a single unit of demand.
+		 * 
+		 * @return
+		 * The boolean flag to denote if a unit of demand was reserved.
+		 */
+		private boolean reserveDemand()
+		{
+			long current;
+			
+			do
+			{
+				current = this.unreservedDemand.get();
+				
+				if (current <= 0L)
+				{
+					return false;
+				}
+				
+				if (current == Long.MAX_VALUE)
+				{
+					// Unbounded demand is never used up.
+					return true;
+				}
+			}
+			while ( !this.unreservedDemand.compareAndSet(current, current - 1L));
+			
+			return true;
+		}
+		
+		/**
+		 * This method will record the specified failure, stop generating and pass it to the
+		 * subscriber.
+		 * 
+		 * @param t
+		 * The failure.
+		 */
+		private void fail(final Throwable t)
+		{
+			if (this.failure == null)
+			{
+				this.failure = t;
+			}
+			
+			this.drain();
+		}
+		
+		/**
+		 * This method will hand the queued product-keys to the subscriber and then complete or fail
+		 * it if there is nothing left to hand over, unless another thread is already doing so.
+		 */
+		private void drain()
+		{
+			if (this.drainRequests.getAndIncrement() != 0)
+			{
+				return;
+			}
+			
+			int missed = 1;
+			
+			do
+			{
+				if (this.cancelled || this.terminated)
+				{
+					this.generated.clear();
+				}
+				else
+				{
+					GeneratedProductKey productKey;
+					
+					while ((this.failure == null) && ((productKey = this.generated.poll()) != null))
+					{
+						this.subscriber.onNext(productKey);
+					}
+					
+					if (this.failure != null)
+					{
+						this.terminated = true;
+						this.generated.clear();
+						this.subscriber.onError(this.failure);
+					}
+					else if (this.exhausted && (this.activeTasks.get() == 0) && this.generated.isEmpty())
+					{
+						this.terminated = true;
+						this.subscriber.onComplete();
+					}
+				}
+				
+				missed = this.drainRequests.addAndGet( -missed);
+			}
+			while (missed != 0);
+		}
+		
+	}
+	
+}
@@ -0,0 +1,244 @@
+package com.weilerhaus.productKeys.jfr;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.text.ParseException;
+
+import com.weilerhaus.productKeys.ProductKeyGenerator;
+import com.weilerhaus.productKeys.enums.ProductKeyStage;
+import com.weilerhaus.productKeys.enums.ProductKeyState;
+import com.weilerhaus.productKeys.exceptions.ProductKeyGenerationException;
+import com.weilerhaus.productKeys.metrics.ProductKeyMetricsListener;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.EventType;
+
+/**
+ * This class is a {@link ProductKeyMetricsListener} that records a
+ * {@link ProductKeyGenerationEvent} or {@link ProductKeyVerificationEvent}, in JDK Flight
+ * Recorder, for every product-key generated or verified that takes longer than the threshold of
+ * the event.
+ * <br />
+ * <br />
+ * While neither event is enabled in any recording, {@link #isEnabled()} returns <code>false</code>
+ * so the {@link ProductKeyGenerator} neither times the stages nor sends any notification; no
+ * event is built and no per-thread state is touched.
+ * <br />
+ * <i>The thresholds default to 5 ms for generation and 1 ms for verification; the settings in
+ * {@link #SETTINGS_RESOURCE} can be used as a template to change them.</i>
+ * 
+ * @author Matthew Weiler
+ */
+public class JfrProductKeyMetricsListener implements ProductKeyMetricsListener
+{
+	
+	
+	/* PUBLIC CONSTANTS */
+	/**
+	 * This is the name of the class-path resource holding the JFC settings template for the
+	 * product-key events.
+	 */
+	public static final String SETTINGS_RESOURCE = "/com/weilerhaus/productKeys/jfr/product-keys.jfc";
+	
+	/* PRIVATE CONSTANTS */
+	/**
+	 * This is the {@link EventType} of the {@link ProductKeyGenerationEvent}.
+	 */
+	private static final EventType GENERATION_EVENT_TYPE = EventType.getEventType(ProductKeyGenerationEvent.class);
+	/**
+	 * This is the {@link EventType} of the {@link ProductKeyVerificationEvent}.
+	 */
+	private static final EventType VERIFICATION_EVENT_TYPE = EventType.getEventType(ProductKeyVerificationEvent.class);
+	
+	/* PRIVATE VARIABLES */
+	/**
+	 * This will store the number of HEXADECIMAL characters in the seeds of the product-keys.
+	 */
+	private final int seedCharLength;
+	/**
+	 * This will store, for each thread, the event of the product-key currently being generated or
+	 * verified.
+	 */
+	private final ThreadLocal<ProductKeyEvent[]> currentEvent = ThreadLocal.withInitial(() -> new ProductKeyEvent[1]);
+	
+	/* CONSTRUCTORS */
+	/**
+	 * This will create a new instance of a {@link JfrProductKeyMetricsListener} for the specified
+	 * {@link ProductKeyGenerator}.
+	 * <br />
+	 * <br />
+	 * <i>This does not register the listener with the {@link ProductKeyGenerator}.</i>
+	 * 
+	 * @param productKeyGenerator
+	 * The {@link ProductKeyGenerator} whose product-keys will be recorded.
+	 */
+	public JfrProductKeyMetricsListener(final ProductKeyGenerator<?> productKeyGenerator)
+	{
+		this.seedCharLength = productKeyGenerator.getSeedCharLength();
+	}
+	
+	/* PUBLIC METHODS */
+	/**
+	 * This method will load the JFC settings template for the product-key events, which can be
+	 * used to start a recording or copied and edited to change the thresholds.
+	 * 
+	 * @return
+	 * The {@link Configuration} of the product-key events.
+	 * @throws IOException
+	 * If the template could not be read.
+	 * @throws ParseException
+	 * If the template is not valid.
+	 */
+	public static Configuration loadSettings() throws IOException, ParseException
+	{
+		try (InputStream input = JfrProductKeyMetricsListener.class.getResourceAsStream(JfrProductKeyMetricsListener.SETTINGS_RESOURCE))
+		{
+			if (input == null)
+			{
+				throw new IOException("Settings template not found: " + JfrProductKeyMetricsListener.SETTINGS_RESOURCE);
+			}
+			
+			try (Reader reader = new InputStreamReader(input, StandardCharsets.UTF_8))
+			{
+				return Configuration.create(reader);
+			}
+		}
+	}
+	
+	/**
+	 * This method will check if either event is enabled in any recording.
+	 * 
+	 * @return
+	 * The boolean flag to denote if the {@link ProductKeyGenerationEvent} or the
+	 * {@link ProductKeyVerificationEvent} is enabled.
+	 */
+	@Override
+	public boolean isEnabled()
+	{
+		return JfrProductKeyMetricsListener.GENERATION_EVENT_TYPE.isEnabled() || JfrProductKeyMetricsListener.VERIFICATION_EVENT_TYPE.isEnabled();
+	}
+	
+	@Override
+	public void productKeyGenerationStarted()
+	{
+		if (JfrProductKeyMetricsListener.GENERATION_EVENT_TYPE.isEnabled())
+		{
+			this.begin(new ProductKeyGenerationEvent());
+		}
+	}
+	
+	@Override
+	public void productKeyGenerated()
+	{
+		if (JfrProductKeyMetricsListener.GENERATION_EVENT_TYPE.isEnabled())
+		{
+			final ProductKeyEvent event = this.end();
+			
+			if (event instanceof ProductKeyGenerationEvent)
+			{
+				event.commit();
+			}
+		}
+	}
+	
+	@Override
+	public void productKeyGenerationFailed(final ProductKeyGenerationException failure)
+	{
+		if (JfrProductKeyMetricsListener.GENERATION_EVENT_TYPE.isEnabled())
+		{
+			final ProductKeyEvent event = this.end();
+			
+			if (event instanceof ProductKeyGenerationEvent)
+			{
+				((ProductKeyGenerationEvent) event).failure = failure.getClass().getName();
+				
+				event.commit();
+			}
+		}
+	}
+	
+	@Override
+	public void productKeyVerificationStarted()
+	{
+		if (JfrProductKeyMetricsListener.VERIFICATION_EVENT_TYPE.isEnabled())
+		{
+			this.begin(new ProductKeyVerificationEvent());
+		}
+	}
+	
+	@Override
+	public void productKeyVerified(final ProductKeyState productKeyState)
+	{
+		if (JfrProductKeyMetricsListener.VERIFICATION_EVENT_TYPE.isEnabled())
+		{
+			final ProductKeyEvent event = this.end();
+			
+			if (event instanceof ProductKeyVerificationEvent)
+			{
+				((ProductKeyVerificationEvent) event).state = productKeyState.name();
+				
+				event.commit();
+			}
+		}
+	}
+	
+	@Override
+	public void stageCompleted(final ProductKeyStage stage, final long nanos)
+	{
+		if (this.isEnabled())
+		{
+			final ProductKeyEvent event = this.currentEvent.get()[0];
+			
+			if (event != null)
+			{
+				event.addStageTime(stage, nanos);
+			}
+		}
+	}
+	
+	/* PRIVATE METHODS */
+	/**
+	 * This method will start timing the specified event and make it the current event of this
+	 * thread.
+	 * 
+	 * @param event
+	 * The event.
+	 */
+	private void begin(final ProductKeyEvent event)
+	{
+		event.seedCharLength = this.seedCharLength;
+		event.begin();
+		
+		this.currentEvent.get()[0] = event;
+	}
+	
+	/**
+	 * This method will stop timing the current event of this thread and clear it.
+	 * 
+	 * @return
+	 * The event, or <code>null</code> if there is none or it is shorter than its threshold.
+	 */
+	private ProductKeyEvent end()
+	{
+		final ProductKeyEvent[] holder = this.currentEvent.get();
+		final ProductKeyEvent event = holder[0];
+		
+		holder[0] = null;
+		
+		if (event != null)
+		{
+			event.end();
+			
+			if (event.shouldCommit())
+			{
+				return event;
+			}
+		}
+		
+		return null;
+	}
+	
+}
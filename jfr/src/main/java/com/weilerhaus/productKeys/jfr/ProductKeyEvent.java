@@ -0,0 +1,100 @@
+package com.weilerhaus.productKeys.jfr;
+
+import com.weilerhaus.productKeys.enums.ProductKeyStage;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * This class holds the fields shared by the events recorded for the generation and verification
+ * of product-keys: the seed length and the time spent in each {@link ProductKeyStage}.
+ * 
+ * @author Matthew Weiler
+ */
+@Category("Product Keys")
+@StackTrace(false)
+public abstract class ProductKeyEvent extends Event
+{
+	
+	
+	/* PACKAGE VARIABLES */
+	/**
+	 * This will store the number of HEXADECIMAL characters in the seed of the product-key.
+	 */
+	@Label("Seed Length")
+	@Description("The number of hexadecimal characters in the seed of the product-key.")
+	int seedCharLength;
+	/**
+	 * This will store the time spent in the {@link ProductKeyStage#STYLING} stage.
+	 */
+	@Label("Styling Time")
+	@Timespan(Timespan.NANOSECONDS)
+	long stylingTime;
+	/**
+	 * This will store the time spent in the {@link ProductKeyStage#CHECKSUM} stage.
+	 */
+	@Label("Checksum Time")
+	@Timespan(Timespan.NANOSECONDS)
+	long checksumTime;
+	/**
+	 * This will store the time spent in the {@link ProductKeyStage#BLACKLIST} stage.
+	 */
+	@Label("Blacklist Time")
+	@Timespan(Timespan.NANOSECONDS)
+	long blacklistTime;
+	/**
+	 * This will store the time spent in the {@link ProductKeyStage#SEED_AVAILABILITY} stage.
+	 */
+	@Label("Seed Availability Time")
+	@Timespan(Timespan.NANOSECONDS)
+	long seedAvailabilityTime;
+	/**
+	 * This will store the time spent in the {@link ProductKeyStage#SECTIONS} stage.
+	 */
+	@Label("Sections Time")
+	@Timespan(Timespan.NANOSECONDS)
+	long sectionsTime;
+	
+	/* PACKAGE METHODS */
+	/**
+	 * This method will add the specified time to the time spent in the specified
+	 * {@link ProductKeyStage}.
+	 * <br />
+	 * <br />
+	 * <i>A stage can be entered more than once, such as when a seed handed out by the allocator is
+	 * skipped.</i>
+	 * 
+	 * @param stage
+	 * The {@link ProductKeyStage}.
+	 * @param nanos
+	 * The number of nanoseconds spent in the {@link ProductKeyStage}.
+	 */
+	void addStageTime(final ProductKeyStage stage, final long nanos)
+	{
+		switch (stage)
+		{
+			case STYLING:
+				this.stylingTime += nanos;
+				break;
+			case CHECKSUM:
+				this.checksumTime += nanos;
+				break;
+			case BLACKLIST:
+				this.blacklistTime += nanos;
+				break;
+			case SEED_AVAILABILITY:
+				this.seedAvailabilityTime += nanos;
+				break;
+			case SECTIONS:
+				this.sectionsTime += nanos;
+				break;
+			default:
+				break;
+		}
+	}
+	
+}
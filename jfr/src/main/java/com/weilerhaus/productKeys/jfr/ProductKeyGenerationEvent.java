@@ -0,0 +1,40 @@
+package com.weilerhaus.productKeys.jfr;
+
+import com.weilerhaus.productKeys.exceptions.ProductKeyGenerationException;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Threshold;
+
+/**
+ * This class is the event recorded for the generation of a product-key.
+ * 
+ * @author Matthew Weiler
+ */
+@Name(ProductKeyGenerationEvent.NAME)
+@Label("Product-Key Generation")
+@Description("The generation of a product-key, with the time spent in each worker.")
+@Threshold("5 ms")
+public class ProductKeyGenerationEvent extends ProductKeyEvent
+{
+	
+	
+	/* PUBLIC CONSTANTS */
+	/**
+	 * This is the name of this event.
+	 */
+	public static final String NAME = "com.weilerhaus.productKeys.Generation";
+	
+	/* PACKAGE VARIABLES */
+	/**
+	 * This will store the name of the {@link ProductKeyGenerationException} that stopped the
+	 * generation.
+	 * <br />
+	 * <i>This will be <code>null</code> if the product-key was generated.</i>
+	 */
+	@Label("Failure")
+	@Description("The exception that stopped the generation, if the product-key was not generated.")
+	String failure;
+	
+}
@@ -0,0 +1,38 @@
+package com.weilerhaus.productKeys.jfr;
+
+import com.weilerhaus.productKeys.enums.ProductKeyState;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Threshold;
+
+/**
+ * This class is the event recorded for the verification of a product-key.
+ * 
+ * @author Matthew Weiler
+ */
+@Name(ProductKeyVerificationEvent.NAME)
+@Label("Product-Key Verification")
+@Description("The verification of a product-key, with the time spent in each worker.")
+@Threshold("1 ms")
+public class ProductKeyVerificationEvent extends ProductKeyEvent
+{
+	
+	
+	/* PUBLIC CONSTANTS */
+	/**
+	 * This is the name of this event.
+	 */
+	public static final String NAME = "com.weilerhaus.productKeys.Verification";
+	
+	/* PACKAGE VARIABLES */
+	/**
+	 * This will store the name of the {@link ProductKeyState} that best describes the
+	 * product-key.
+	 */
+	@Label("State")
+	@Description("The state that best describes the product-key.")
+	String state;
+	
+}
@@ -0,0 +1,326 @@
+package com.weilerhaus.productKeys;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import com.weilerhaus.productKeys.beans.ProductKeyEncodingData;
+import com.weilerhaus.productKeys.enums.ProductKeyState;
+import com.weilerhaus.productKeys.utils.ProductKeyUtils;
+import com.weilerhaus.productKeys.workers.BlacklistWorker;
+import com.weilerhaus.productKeys.workers.ChecksumWorker;
+import com.weilerhaus.productKeys.workers.ProductKeySectionPlan;
+
+/**
+ * This class determines which of a number of releases, each built with a different set of
+ * omitted {@link ProductKeyEncodingData} elements, accept a product-key.
+ * <br />
+ * <br />
+ * The styling is removed, and the checksum, blacklist and seed are checked, once for all of the
+ * releases; each distinct section (an equal {@link ProductKeyEncodingData} at the same position)
+ * is then built once, however many releases include it, and a section that does not match rejects
+ * every release that includes it at once.
+ * <br />
+ * <i>{@link ProductKeyEncodingData} elements are compared with {@link Object#equals(Object)}, so
+ * implementations should compare their values, as <code>BasicProductKeyEncodingData</code> does;
+ * otherwise each release's elements are built separately.</i>
+ * <br />
+ * <i>A release accepts a product-key when verifying it with a {@link ProductKeyGenerator} built
+ * with that release's {@link ProductKeyEncodingData} elements would return
+ * {@link ProductKeyState#KEY_GOOD}.</i>
+ * 
+ * @author Matthew Weiler
+ * @param <ED>
+ * The type of {@link ProductKeyEncodingData} used by the releases.
+ */
+public class MultiReleaseProductKeyVerifier<ED extends ProductKeyEncodingData>
+{
+	
+	
+	/* PUBLIC CONSTANTS */
+	/**
+	 * This is the maximum number of releases that can be verified together.
+	 */
+	public static final int MAX_RELEASES = 64;
+	
+	/* PRIVATE CONSTANTS */
+	/**
+	 * This will store the per-thread buffer the product-key is normalized into.
+	 */
+	private static final ThreadLocal<char[]> PRODUCT_KEY_BUFFER = ThreadLocal.withInitial(() -> new char[64]);
+	
+	/* PRIVATE VARIABLES */
+	/**
+	 * This will store the {@link ProductKeyGenerator} whose styling, checksum and blacklist are
+	 * shared by the releases.
+	 */
+	private final ProductKeyGenerator<ED> productKeyGenerator;
+	/**
+	 * This will store the number of releases.
+	 */
+	private final int releaseCount;
+	/**
+	 * This will store a bit for each release that can accept a product-key at all; a release with
+	 * no {@link ProductKeyEncodingData} elements never does.
+	 */
+	private final long possibleReleases;
+	/**
+	 * This will store the {@link ProductKeySectionPlan} that builds every distinct section.
+	 */
+	private final ProductKeySectionPlan sectionPlan;
+	/**
+	 * This will store the index of the first character of each distinct section within the
+	 * product-key.
+	 */
+	private final int[] sectionCharIndexes;
+	/**
+	 * This will store a bit for each release that includes each distinct section.
+	 */
+	private final long[] sectionReleases;
+	/**
+	 * This will store the per-thread buffer the distinct sections are built into.
+	 */
+	private final ThreadLocal<byte[]> sectionBytes;
+	
+	/* CONSTRUCTORS */
+	/**
+	 * This will create a new instance of a {@link MultiReleaseProductKeyVerifier}.
+	 * 
+	 * @param productKeyGenerator
+	 * The {@link ProductKeyGenerator} whose styling, checksum, blacklist and section building are
+	 * shared by the releases.
+	 * @param releases
+	 * The {@link ProductKeyEncodingData} elements of each release, where <code>null</code>
+	 * elements denote omitted sections; the index of a release is its bit in the results.
+	 */
+	@SafeVarargs
+	public MultiReleaseProductKeyVerifier(final ProductKeyGenerator<ED> productKeyGenerator, final ED[]...releases)
+	{
+		if ((releases == null) || (releases.length < 1) || (releases.length > MultiReleaseProductKeyVerifier.MAX_RELEASES))
+		{
+			throw new IllegalArgumentException("Between 1 and " + MultiReleaseProductKeyVerifier.MAX_RELEASES + " releases must be specified");
+		}
+		
+		for (int n = 0; n < releases.length; n++ )
+		{
+			if (releases[n] == null)
+			{
+				throw new IllegalArgumentException("Release " + n + " must be specified");
+			}
+		}
+		
+		this.productKeyGenerator = productKeyGenerator;
+		this.releaseCount = releases.length;
+		
+		final List<ED> distinctEncodingData = new ArrayList<ED>();
+		final List<Integer> distinctSectionIndexes = new ArrayList<Integer>();
+		final List<Long> distinctSectionReleases = new ArrayList<Long>();
+		
+		long tmpPossibleReleases = 0L;
+		ED tmpEncodingData;
+		int tmpDistinctIndex;
+		
+		for (int n = 0; n < releases.length; n++ )
+		{
+			if (releases[n].length == 0)
+			{
+				continue;
+			}
+			
+			tmpPossibleReleases |= (1L << n);
+			
+			for (int i = 0; i < releases[n].length; i++ )
+			{
+				tmpEncodingData = releases[n][i];
+				
+				if (tmpEncodingData == null)
+				{
+					continue;
+				}
+				
+				tmpDistinctIndex = -1;
+				
+				for (int d = 0; d < distinctEncodingData.size(); d++ )
+				{
+					if ((distinctSectionIndexes.get(d).intValue() == i) && distinctEncodingData.get(d).equals(tmpEncodingData))
+					{
+						tmpDistinctIndex = d;
+						break;
+					}
+				}
+				
+				if (tmpDistinctIndex < 0)
+				{
+					distinctEncodingData.add(tmpEncodingData);
+					distinctSectionIndexes.add(Integer.valueOf(i));
+					distinctSectionReleases.add(Long.valueOf(1L << n));
+				}
+				else
+				{
+					distinctSectionReleases.set(tmpDistinctIndex, Long.valueOf(distinctSectionReleases.get(tmpDistinctIndex).longValue() | (1L << n)));
+				}
+			}
+		}
+		
+		this.possibleReleases = tmpPossibleReleases;
+		this.sectionCharIndexes = new int[distinctEncodingData.size()];
+		this.sectionReleases = new long[distinctEncodingData.size()];
+		
+		for (int d = 0; d < this.sectionCharIndexes.length; d++ )
+		{
+			this.sectionCharIndexes[d] = productKeyGenerator.getSeedCharLength() + (distinctSectionIndexes.get(d).intValue() * 2);
+			this.sectionReleases[d] = distinctSectionReleases.get(d).longValue();
+		}
+		
+		// The distinct sections are compiled as if they were the sections of a single product-key,
+		// so they are all built in one pass.
+		final ED[] compiledEncodingData = distinctEncodingData.toArray(Arrays.copyOf(releases[0], 0));
+		
+		this.sectionPlan = productKeyGenerator.getProductKeySectionWorker().buildProductKeySectionPlan(compiledEncodingData);
+		this.sectionBytes = ThreadLocal.withInitial(() -> new byte[Math.max(compiledEncodingData.length, 1)]);
+	}
+	
+	/* PUBLIC METHODS */
+	/**
+	 * This method will get the number of releases.
+	 * 
+	 * @return
+	 * The number of releases.
+	 */
+	public int getReleaseCount()
+	{
+		return this.releaseCount;
+	}
+	
+	/**
+	 * This method will get the number of distinct sections built for each product-key.
+	 * 
+	 * @return
+	 * The number of distinct sections built for each product-key.
+	 */
+	public int getDistinctSectionCount()
+	{
+		return this.sectionCharIndexes.length;
+	}
+	
+	/**
+	 * This method will determine which releases accept the specified product-key.
+	 * 
+	 * @param productKey
+	 * The product-key to be verified.
+	 * @return
+	 * A bit set, one bit for each release in the order they were specified, where a set bit
+	 * denotes that the release accepts the product-key.
+	 */
+	public long verifyProductKey(final CharSequence productKey)
+	{
+		if (productKey == null)
+		{
+			return 0L;
+		}
+		
+		char[] normalizedProductKey = MultiReleaseProductKeyVerifier.PRODUCT_KEY_BUFFER.get();
+		
+		if (normalizedProductKey.length < productKey.length())
+		{
+			normalizedProductKey = new char[productKey.length()];
+			MultiReleaseProductKeyVerifier.PRODUCT_KEY_BUFFER.set(normalizedProductKey);
+		}
+		
+		return this.verifyNormalizedProductKey(normalizedProductKey, this.productKeyGenerator.normalizeProductKey(productKey, normalizedProductKey));
+	}
+	
+	/**
+	 * This method will determine if the release at the specified index is in the specified bit
+	 * set.
+	 * 
+	 * @param releases
+	 * The bit set returned by {@link #verifyProductKey(CharSequence)}.
+	 * @param releaseIndex
+	 * The index of the release.
+	 * @return
+	 * The boolean flag to denote if the release accepts the product-key.
+	 */
+	public static boolean isAccepted(final long releases, final int releaseIndex)
+	{
+		return ((releases >>> releaseIndex) & 1L) != 0L;
+	}
+	
+	/* PRIVATE METHODS */
+	/**
+	 * This method will determine which releases accept the specified product-key, whose styling
+	 * has already been removed.
+	 * 
+	 * @param normalizedProductKey
+	 * The characters of the product-key.
+	 * @param length
+	 * The number of characters in the product-key, or <code>-1</code> if it was empty.
+	 * @return
+	 * A bit set, one bit for each release, where a set bit denotes that the release accepts the
+	 * product-key.
+	 */
+	private long verifyNormalizedProductKey(final char[] normalizedProductKey, final int length)
+	{
+		final int seedCharLength = this.productKeyGenerator.getSeedCharLength();
+		
+		if (length < seedCharLength)
+		{
+			return 0L;
+		}
+		
+		final ChecksumWorker checksumWorker = this.productKeyGenerator.getChecksumWorker();
+		
+		if ((checksumWorker != null) && !checksumWorker.verifyProductKeyChecksum(normalizedProductKey, 0, length))
+		{
+			return 0L;
+		}
+		
+		final BlacklistWorker blacklistWorker = this.productKeyGenerator.getBlacklistWorker();
+		
+		if ((blacklistWorker != null) && blacklistWorker.isKeyBlackListed(normalizedProductKey, 0, length))
+		{
+			return 0L;
+		}
+		
+		final byte[] currentSectionBytes = this.sectionBytes.get();
+		
+		if ( !this.productKeyGenerator.buildProductKeySections(this.sectionPlan, normalizedProductKey, currentSectionBytes))
+		{
+			return 0L;
+		}
+		
+		long rejectedReleases = 0L;
+		int tmpKeyCharIndex;
+		int tmpHighNibble;
+		int tmpLowNibble;
+		
+		for (int d = 0; d < this.sectionCharIndexes.length; d++ )
+		{
+			// A section only needs to be compared if a release that includes it is still
+			// accepting the product-key.
+			if ((this.sectionReleases[d] & ~rejectedReleases) == 0L)
+			{
+				continue;
+			}
+			
+			tmpKeyCharIndex = this.sectionCharIndexes[d];
+			
+			if ((tmpKeyCharIndex + 2) > length)
+			{
+				rejectedReleases |= this.sectionReleases[d];
+				continue;
+			}
+			
+			tmpHighNibble = ProductKeyUtils.parseHexChar(normalizedProductKey[tmpKeyCharIndex]);
+			tmpLowNibble = ProductKeyUtils.parseHexChar(normalizedProductKey[tmpKeyCharIndex + 1]);
+			
+			if ((tmpHighNibble < 0) || (tmpLowNibble < 0) || (((tmpHighNibble << 4) | tmpLowNibble) != (currentSectionBytes[d] & 0x00FF)))
+			{
+				rejectedReleases |= this.sectionReleases[d];
+			}
+		}
+		
+		return this.possibleReleases & ~rejectedReleases;
+	}
+	
+}
@@ -0,0 +1,251 @@
+package com.weilerhaus.productKeys;
+
+import java.util.concurrent.ForkJoinPool;
+
+import com.weilerhaus.productKeys.beans.ProductKeyAcceptanceReport;
+import com.weilerhaus.productKeys.beans.ProductKeyEncodingData;
+import com.weilerhaus.productKeys.tasks.ProductKeyAcceptanceTask;
+import com.weilerhaus.productKeys.workers.ChecksumWorker;
+import com.weilerhaus.productKeys.workers.ProductKeySectionPlan;
+
+/**
+ * This class estimates how many well-formed, but random, product-keys a release accepts, where a
+ * release is a set of {@link ProductKeyEncodingData} elements, with omitted sections denoted by
+ * <code>null</code> elements, verified with the checksum and section building of a
+ * {@link ProductKeyGenerator}.
+ * <br />
+ * <br />
+ * A candidate is a string of HEXADECIMAL characters, without styling, of the length of the
+ * product-keys; it is accepted when its checksum and every present section are correct. The
+ * candidates are either sampled at random or, for short product-keys, all enumerated, on a
+ * {@link ForkJoinPool}.
+ * <br />
+ * <i>The blacklist is not consulted, as it only ever rejects product-keys that would otherwise be
+ * accepted.</i>
+ * 
+ * @author Matthew Weiler
+ * @param <ED>
+ * The type of {@link ProductKeyEncodingData} used by the release.
+ */
+public class ProductKeyAcceptanceEstimator<ED extends ProductKeyEncodingData>
+{
+	
+	
+	/* PUBLIC CONSTANTS */
+	/**
+	 * This is the maximum number of characters in a candidate for every candidate to be
+	 * enumerated; that is 16<sup>9</sup> (about 69 billion) candidates.
+	 */
+	public static final int MAX_ENUMERATION_CHARS = 9;
+	
+	/* PRIVATE VARIABLES */
+	/**
+	 * This will store the {@link ChecksumWorker} the candidates are checked with, or
+	 * <code>null</code> if there is no checksum.
+	 */
+	private final ChecksumWorker checksumWorker;
+	/**
+	 * This will store the {@link ProductKeySectionPlan} the present sections are built with, or
+	 * <code>null</code> if the release has no sections at all and so accepts nothing.
+	 */
+	private final ProductKeySectionPlan sectionPlan;
+	/**
+	 * This will store the number of HEXADECIMAL characters representing the seed.
+	 */
+	private final int seedCharLength;
+	/**
+	 * This will store the number of characters in each candidate.
+	 */
+	private final int candidateLength;
+	/**
+	 * This will store the {@link ForkJoinPool} the candidates will be tried on.
+	 */
+	private final ForkJoinPool pool;
+	
+	/* CONSTRUCTORS */
+	/**
+	 * This will create a new instance of a {@link ProductKeyAcceptanceEstimator} for the release
+	 * of the specified {@link ProductKeyGenerator}, using the common {@link ForkJoinPool}.
+	 * 
+	 * @param productKeyGenerator
+	 * The {@link ProductKeyGenerator} whose {@link ProductKeyEncodingData} elements, checksum and
+	 * section building are used.
+	 */
+	public ProductKeyAcceptanceEstimator(final ProductKeyGenerator<ED> productKeyGenerator)
+	{
+		this(productKeyGenerator, productKeyGenerator.getProductKeyEncodingData());
+	}
+	
+	/**
+	 * This will create a new instance of a {@link ProductKeyAcceptanceEstimator}, using the common
+	 * {@link ForkJoinPool}.
+	 * 
+	 * @param productKeyGenerator
+	 * The {@link ProductKeyGenerator} whose checksum and section building are used.
+	 * @param productKeyEncodingData
+	 * The {@link ProductKeyEncodingData} elements of the release, where <code>null</code>
+	 * elements denote omitted sections.
+	 */
+	public ProductKeyAcceptanceEstimator(final ProductKeyGenerator<ED> productKeyGenerator, final ED[] productKeyEncodingData)
+	{
+		this(productKeyGenerator, productKeyEncodingData, ForkJoinPool.commonPool());
+	}
+	
+	/**
+	 * This will create a new instance of a {@link ProductKeyAcceptanceEstimator}.
+	 * 
+	 * @param productKeyGenerator
+	 * The {@link ProductKeyGenerator} whose checksum and section building are used.
+	 * @param productKeyEncodingData
+	 * The {@link ProductKeyEncodingData} elements of the release, where <code>null</code>
+	 * elements denote omitted sections.
+	 * @param pool
+	 * The {@link ForkJoinPool} the candidates will be tried on.
+	 */
+	public ProductKeyAcceptanceEstimator(final ProductKeyGenerator<ED> productKeyGenerator, final ED[] productKeyEncodingData, final ForkJoinPool pool)
+	{
+		if (productKeyGenerator == null)
+		{
+			throw new IllegalArgumentException("A product-key generator must be specified");
+		}
+		
+		if (pool == null)
+		{
+			throw new IllegalArgumentException("A fork-join pool must be specified");
+		}
+		
+		this.checksumWorker = productKeyGenerator.getChecksumWorker();
+		this.seedCharLength = productKeyGenerator.getSeedCharLength();
+		this.pool = pool;
+		
+		int length = this.seedCharLength;
+		
+		// A release with no sections at all is rejected by the generator, whereas a release whose
+		// sections are all omitted accepts any seed.
+		if ((productKeyEncodingData != null) && (productKeyEncodingData.length > 0))
+		{
+			this.sectionPlan = productKeyGenerator.getProductKeySectionWorker().buildProductKeySectionPlan(productKeyEncodingData);
+			
+			length += productKeyEncodingData.length * 2;
+		}
+		else
+		{
+			this.sectionPlan = null;
+		}
+		
+		if (this.checksumWorker != null)
+		{
+			length += this.checksumWorker.getChecksumLength();
+		}
+		
+		this.candidateLength = length;
+	}
+	
+	/* PUBLIC METHODS */
+	/**
+	 * This method will get the number of characters in each candidate.
+	 * 
+	 * @return
+	 * The number of characters in each candidate.
+	 */
+	public int getCandidateLength()
+	{
+		return this.candidateLength;
+	}
+	
+	/**
+	 * This method will try the specified number of random candidates.
+	 * <br />
+	 * <br />
+	 * The same random seed always gives the same report, whatever the parallelism of the
+	 * {@link ForkJoinPool}.
+	 * 
+	 * @param trialCount
+	 * The number of candidates to try; this must be positive.
+	 * @param randomSeed
+	 * The seed of the random candidates.
+	 * @return
+	 * The {@link ProductKeyAcceptanceReport}, whose bounds are confidence intervals.
+	 */
+	public ProductKeyAcceptanceReport sample(final long trialCount, final long randomSeed)
+	{
+		if (trialCount < 1L)
+		{
+			throw new IllegalArgumentException("Trial count must be positive: " + trialCount);
+		}
+		
+		return this.tryCandidates(trialCount, false, randomSeed);
+	}
+	
+	/**
+	 * This method will try every candidate, so the rates are exact.
+	 * 
+	 * @return
+	 * The {@link ProductKeyAcceptanceReport}, whose bounds are equal to its rates.
+	 * @throws IllegalArgumentException
+	 * If the candidates have more than {@link #MAX_ENUMERATION_CHARS} characters.
+	 */
+	public ProductKeyAcceptanceReport enumerate()
+	{
+		if (this.candidateLength > ProductKeyAcceptanceEstimator.MAX_ENUMERATION_CHARS)
+		{
+			throw new IllegalArgumentException("Candidates are too long to enumerate: " + this.candidateLength);
+		}
+		
+		return this.tryCandidates(1L << (this.candidateLength * 4), true, 0L);
+	}
+	
+	/* PRIVATE METHODS */
+	/**
+	 * This method will try the specified number of candidates on the {@link ForkJoinPool} and
+	 * build the report.
+	 * 
+	 * @param trialCount
+	 * The number of candidates to try.
+	 * @param exhaustive
+	 * The boolean flag to denote if every candidate is tried, rather than random ones.
+	 * @param randomSeed
+	 * The seed of the random candidates.
+	 * @return
+	 * The {@link ProductKeyAcceptanceReport}.
+	 */
+	private ProductKeyAcceptanceReport tryCandidates(final long trialCount, final boolean exhaustive, final long randomSeed)
+	{
+		final ProductKeyAcceptanceTask task = new ProductKeyAcceptanceTask(this.checksumWorker, this.sectionPlan, this.seedCharLength, this.candidateLength, exhaustive, randomSeed, 0L, trialCount);
+		
+		this.pool.invoke(task);
+		
+		final long[] counts = task.getCounts();
+		final int presentCount = counts.length - ProductKeyAcceptanceTask.FIRST_SECTION_COUNT;
+		final int[] sectionIndexes = new int[presentCount];
+		final long[] sectionAcceptedCounts = new long[presentCount];
+		
+		for (int n = 0; n < presentCount; n++ )
+		{
+			sectionIndexes[n] = this.sectionPlan.getPresentSectionIndex(n);
+			sectionAcceptedCounts[n] = counts[ProductKeyAcceptanceTask.FIRST_SECTION_COUNT + n];
+		}
+		
+		return new ProductKeyAcceptanceReport(trialCount, exhaustive, counts[ProductKeyAcceptanceTask.CHECKSUM_COUNT], counts[ProductKeyAcceptanceTask.SECTIONS_COUNT], counts[ProductKeyAcceptanceTask.ACCEPTED_COUNT], sectionIndexes, sectionAcceptedCounts, this.getExpectedAcceptanceRate());
+	}
+	
+	/**
+	 * This method will get the fraction of candidates that an ideal checksum and ideal sections
+	 * would accept.
+	 * 
+	 * @return
+	 * The fraction of candidates that an ideal release would accept.
+	 */
+	private double getExpectedAcceptanceRate()
+	{
+		if (this.sectionPlan == null)
+		{
+			return 0.0D;
+		}
+		
+		final int checksumLength = (this.checksumWorker != null) ? this.checksumWorker.getChecksumLength() : 0;
+		
+		return Math.pow(16.0D, -(checksumLength + (this.sectionPlan.getPresentSectionCount() * 2)));
+	}
+	
+}
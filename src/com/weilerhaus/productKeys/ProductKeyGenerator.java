@@ -1,22 +1,46 @@
 package com.weilerhaus.productKeys;
 
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.IntToLongFunction;
+import java.util.stream.LongStream;
+
+import com.weilerhaus.productKeys.beans.ProductKey;
+import com.weilerhaus.productKeys.beans.ProductKeyBatch;
 import com.weilerhaus.productKeys.beans.ProductKeyEncodingData;
+import com.weilerhaus.productKeys.enums.ProductKeyStage;
 import com.weilerhaus.productKeys.enums.ProductKeyState;
 import com.weilerhaus.productKeys.exceptions.EncodingDataNotCompleteException;
-import com.weilerhaus.productKeys.exceptions.InvalidSeedException;
 import com.weilerhaus.productKeys.exceptions.ProductKeyEncoderNotDefinedException;
 import com.weilerhaus.productKeys.exceptions.ProductKeyGenerationException;
+import com.weilerhaus.productKeys.exceptions.SeedAllocatorNotDefinedException;
 import com.weilerhaus.productKeys.exceptions.SeedAlreadyTakenException;
 import com.weilerhaus.productKeys.exceptions.SeedIsBlacklistedException;
+import com.weilerhaus.productKeys.exceptions.SeedSpaceExhaustedException;
+import com.weilerhaus.productKeys.metrics.ProductKeyMetricsListener;
+import com.weilerhaus.productKeys.tasks.ProductKeyGenerationTask;
 import com.weilerhaus.productKeys.utils.ProductKeyUtils;
 import com.weilerhaus.productKeys.workers.BlacklistWorker;
 import com.weilerhaus.productKeys.workers.ChecksumWorker;
+import com.weilerhaus.productKeys.workers.IncrementalChecksumWorker;
+import com.weilerhaus.productKeys.workers.ProductKeySectionPlan;
 import com.weilerhaus.productKeys.workers.ProductKeySectionWorker;
 import com.weilerhaus.productKeys.workers.ProductKeyStylingWorker;
+import com.weilerhaus.productKeys.workers.SeedAllocationWorker;
 import com.weilerhaus.productKeys.workers.SeedAvailabilityWorker;
 
 /**
  * This class can be extended to provide an application specific product-key generator.
+ * <br />
+ * <br />
+ * <b>Thread-safety:</b> a single instance can be shared by any number of threads, as long as the
+ * workers it builds are themselves thread-safe (the basic workers are stateless).
+ * <br />
+ * The workers are built once, the first time any of them is needed, and published as an
+ * immutable snapshot; after that, generating and verifying product-keys never takes a lock and
+ * only uses per-thread buffers.
  * 
  * @author Matthew Weiler
  */
@@ -24,6 +48,40 @@ public abstract class ProductKeyGenerator<ED extends ProductKeyEncodingData>
 {
 	
 	
+	/* PUBLIC CONSTANTS */
+	/**
+	 * This is the largest number of HEXADECIMAL characters that a seed can have.
+	 */
+	public static final int MAX_SEED_CHAR_LENGTH = ProductKeyUtils.MAX_WIDE_HEX_LENGTH;
+	
+	/* PRIVATE CONSTANTS */
+	/**
+	 * This is the maximum length of a product-key that will be built in the per-thread buffers;
+	 * longer product-keys will be built in a new array.
+	 */
+	private static final int MAX_BUFFERED_PRODUCT_KEY_LENGTH = 256;
+	/**
+	 * This will store the per-thread buffer that product-keys without styling will be built in
+	 * while they are being generated or verified.
+	 */
+	private static final ThreadLocal<char[]> UNSTYLED_PRODUCT_KEY_BUFFER = ThreadLocal.withInitial(() -> new char[ProductKeyGenerator.MAX_BUFFERED_PRODUCT_KEY_LENGTH]);
+	/**
+	 * This will store the per-thread buffer that product-keys with styling will be built in while
+	 * they are being generated.
+	 */
+	private static final ThreadLocal<char[]> STYLED_PRODUCT_KEY_BUFFER = ThreadLocal.withInitial(() -> new char[ProductKeyGenerator.MAX_BUFFERED_PRODUCT_KEY_LENGTH]);
+	/**
+	 * This will store the per-thread buffer that the bytes of product-key sections will be built
+	 * in while product-keys are being generated or verified.
+	 */
+	private static final ThreadLocal<byte[]> SECTION_BYTES_BUFFER = ThreadLocal.withInitial(() -> new byte[ProductKeyGenerator.MAX_BUFFERED_PRODUCT_KEY_LENGTH]);
+	/**
+	 * This will store the per-thread buffer that the upper and lower 64 bits of a seed of more
+	 * than {@link ProductKeyUtils#MAX_LONG_HEX_LENGTH} characters will be parsed into while
+	 * product-keys are being verified.
+	 */
+	private static final ThreadLocal<long[]> WIDE_SEED_BUFFER = ThreadLocal.withInitial(() -> new long[2]);
+	
 	/* PRIVATE VARIABLES */
 	/**
 	 * This will store the number of HEXADECIMAL characters, based on the provided seed at
@@ -31,11 +89,13 @@ public abstract class ProductKeyGenerator<ED extends ProductKeyEncodingData>
 	 * partially defining its total length.
 	 * <br />
 	 * <br />
-	 * This value must be positive and cannot exceeds 15; if it exceeds these bounds, it will be
-	 * assigned a number between 1 and 15 inclusive.
+	 * This value must be positive and cannot exceed {@link #MAX_SEED_CHAR_LENGTH}; if it exceeds
+	 * these bounds, it will be assigned a number between 1 and {@link #MAX_SEED_CHAR_LENGTH}
+	 * inclusive.
 	 * <br />
-	 * <i>If this value were to be allowed to exceed 15, the HEXADECIMAL value will be too large for
-	 * {@link Long} to parse it.</i>
+	 * <i>A seed of more than {@link ProductKeyUtils#MAX_LONG_HEX_LENGTH} characters is too large
+	 * for a positive {@link Long}, so it is carried as two {@link Long} values; see
+	 * {@link #generateProductKey(long, long)}.</i>
 	 */
 	private final int seedCharLength;
 	/**
@@ -64,28 +124,20 @@ public abstract class ProductKeyGenerator<ED extends ProductKeyEncodingData>
 	 */
 	private final ED[] productKeyEncodingData;
 	/**
-	 * This will store the {@link ProductKeySectionWorker} to be used by this
-	 * {@link ProductKeyGenerator}.
-	 */
-	private ProductKeySectionWorker<ED> productKeySectionWorker = null;
-	/**
-	 * This will store the {@link ChecksumWorker} to be used by this {@link ProductKeyGenerator}.
-	 */
-	private ChecksumWorker checksumWorker = null;
-	/**
-	 * This will store the {@link BlacklistWorker} to be used by this {@link ProductKeyGenerator}.
-	 */
-	private BlacklistWorker blacklistWorker = null;
-	/**
-	 * This will store the {@link ProductKeyStylingWorker} to be used by this
+	 * This will store the immutable snapshot of the workers to be used by this
 	 * {@link ProductKeyGenerator}.
+	 * <br />
+	 * <i>This is built the first time it is needed and is then only ever read, so the hot paths
+	 * never take a lock.</i>
 	 */
-	private ProductKeyStylingWorker productKeyStylingWorker = null;
+	private volatile Workers<ED> workers = null;
 	/**
-	 * This will store the {@link SeedAvailabilityWorker} to be used by this
-	 * {@link ProductKeyGenerator}.
+	 * This will store the {@link ProductKeyMetricsListener} to be notified of the outcome of every
+	 * product-key generated or verified.
+	 * <br />
+	 * <i>When this is <code>null</code>, the clock is never read and nothing is recorded.</i>
 	 */
-	private SeedAvailabilityWorker seedAvailabilityWorker = null;
+	private volatile ProductKeyMetricsListener metricsListener = null;
 	
 	/* CONSTRUCTORS */
 	/**
@@ -97,11 +149,13 @@ public abstract class ProductKeyGenerator<ED extends ProductKeyEncodingData>
 	 * length.
 	 * <br />
 	 * <br />
-	 * This value must be positive and cannot exceeds 15; if it exceeds these bounds, it will be
-	 * assigned a number between 1 and 15 inclusive.
+	 * This value must be positive and cannot exceed {@link #MAX_SEED_CHAR_LENGTH}; if it exceeds
+	 * these bounds, it will be assigned a number between 1 and {@link #MAX_SEED_CHAR_LENGTH}
+	 * inclusive.
 	 * <br />
-	 * <i>If this value were to be allowed to exceed 15, the HEXADECIMAL value will be too large for
-	 * {@link Long} to parse it.</i>
+	 * <i>A seed of more than {@link ProductKeyUtils#MAX_LONG_HEX_LENGTH} characters is too large
+	 * for a positive {@link Long}, so it is carried as two {@link Long} values; see
+	 * {@link #generateProductKey(long, long)}.</i>
 	 * @param productKeyEncodingData
 	 * The array of {@link ProductKeyEncodingData} elements that will be used to generate/verify
 	 * product-keys.
@@ -129,7 +183,7 @@ public abstract class ProductKeyGenerator<ED extends ProductKeyEncodingData>
 	@SafeVarargs
 	public ProductKeyGenerator(final int seedCharLength, final ED...productKeyEncodingData)
 	{
-		this.seedCharLength = ((seedCharLength > 0) && (seedCharLength <= 15)) ? seedCharLength : 10;
+		this.seedCharLength = ((seedCharLength > 0) && (seedCharLength <= ProductKeyGenerator.MAX_SEED_CHAR_LENGTH)) ? seedCharLength : 10;
 		
 		if ((productKeyEncodingData != null) && (productKeyEncodingData.length > 0))
 		{
@@ -148,11 +202,13 @@ public abstract class ProductKeyGenerator<ED extends ProductKeyEncodingData>
 	 * partially defining its total length.
 	 * <br />
 	 * <br />
-	 * This value must be positive and cannot exceeds 15; if it exceeds these bounds, it will be
-	 * assigned a number between 1 and 15 inclusive.
+	 * This value must be positive and cannot exceed {@link #MAX_SEED_CHAR_LENGTH}; if it exceeds
+	 * these bounds, it will be assigned a number between 1 and {@link #MAX_SEED_CHAR_LENGTH}
+	 * inclusive.
 	 * <br />
-	 * <i>If this value were to be allowed to exceed 15, the HEXADECIMAL value will be too large for
-	 * {@link Long} to parse it.</i>
+	 * <i>A seed of more than {@link ProductKeyUtils#MAX_LONG_HEX_LENGTH} characters is too large
+	 * for a positive {@link Long}, so it is carried as two {@link Long} values; see
+	 * {@link #generateProductKey(long, long)}.</i>
 	 * 
 	 * @return
 	 * The number of HEXADECIMAL characters, based on the provided seed at generation time, that
@@ -160,17 +216,47 @@ public abstract class ProductKeyGenerator<ED extends ProductKeyEncodingData>
 	 * length.
 	 * <br />
 	 * <br />
-	 * This value must be positive and cannot exceeds 15; if it exceeds these bounds, it will be
-	 * assigned a number between 1 and 15 inclusive.
+	 * This value must be positive and cannot exceed {@link #MAX_SEED_CHAR_LENGTH}; if it exceeds
+	 * these bounds, it will be assigned a number between 1 and {@link #MAX_SEED_CHAR_LENGTH}
+	 * inclusive.
 	 * <br />
-	 * <i>If this value were to be allowed to exceed 15, the HEXADECIMAL value will be too large for
-	 * {@link Long} to parse it.</i>
+	 * <i>A seed of more than {@link ProductKeyUtils#MAX_LONG_HEX_LENGTH} characters is too large
+	 * for a positive {@link Long}, so it is carried as two {@link Long} values; see
+	 * {@link #generateProductKey(long, long)}.</i>
 	 */
 	public int getSeedCharLength()
 	{
 		return this.seedCharLength;
 	}
 	
+	/**
+	 * This method will get the {@link ProductKeyMetricsListener} that is notified of the outcome of
+	 * every product-key generated or verified.
+	 * 
+	 * @return
+	 * The {@link ProductKeyMetricsListener}, or <code>null</code> if there is none.
+	 */
+	public ProductKeyMetricsListener getMetricsListener()
+	{
+		return this.metricsListener;
+	}
+	
+	/**
+	 * This method will set the {@link ProductKeyMetricsListener} that is notified of the outcome of
+	 * every product-key generated or verified.
+	 * <br />
+	 * <br />
+	 * <i>While {@link ProductKeyMetricsListener#isEnabled()} returns <code>false</code> no stage is
+	 * timed, exactly as if there was no listener.</i>
+	 * 
+	 * @param metricsListener
+	 * The {@link ProductKeyMetricsListener}, or <code>null</code> to stop recording metrics.
+	 */
+	public void setMetricsListener(final ProductKeyMetricsListener metricsListener)
+	{
+		this.metricsListener = metricsListener;
+	}
+	
 	/**
 	 * This method will verify the product-key specified.
 	 * 
@@ -181,296 +267,1893 @@ public abstract class ProductKeyGenerator<ED extends ProductKeyEncodingData>
 	 */
 	public ProductKeyState verifyProductKey(final String productKey)
 	{
-		if ((productKey != null) && (productKey.trim().length() > 0))
+		return this.verifyProductKey((CharSequence) productKey);
+	}
+	
+	/**
+	 * This method will verify the product-key specified.
+	 * <br />
+	 * <br />
+	 * The styling is removed and the case is folded in a single pass into a per-thread buffer; no
+	 * intermediate {@link String} objects are built and no exceptions are thrown while verifying
+	 * the product-key, provided the workers being used override the range-based methods of their
+	 * interfaces.
+	 * 
+	 * @param productKey
+	 * The product-key to be verified.
+	 * @return
+	 * The {@link ProductKeyState} that best describes the specified product-key.
+	 */
+	public ProductKeyState verifyProductKey(final CharSequence productKey)
+	{
+		if (productKey != null)
 		{
-			// Remove styling.
-			final String cleanedProductKey;
-			
-			if (this.getProductKeyStylingWorker() != null)
-			{
-				cleanedProductKey = this.getProductKeyStylingWorker().removeStyling(productKey).toUpperCase();
-			}
-			else
-			{
-				cleanedProductKey = productKey.toUpperCase();
-			}
-			
-			// Verify that the format of the product-key is valid.
-			if ((this.getChecksumWorker() != null) && ( !this.getChecksumWorker().verifyProductKeyChecksum(cleanedProductKey)))
-			{
-				return ProductKeyState.KEY_INVALID;
-			}
-			
-			// Test against blacklist.
-			if ((this.getBlacklistWorker() != null) && this.getBlacklistWorker().isKeyBlackListed(cleanedProductKey))
-			{
-				return ProductKeyState.KEY_BLACKLISTED;
-			}
-			
-			// If the product-key section bytes are present and valid in length, then verify the
-			// product-key sections.
-			if ((this.productKeyEncodingData != null) && (this.productKeyEncodingData.length > 0))
-			{
-				if (this.getProductKeySectionWorker() != null)
-				{
-					try
-					{
-						// Extract the seed from the product-key.
-						long seed = Long.parseLong(cleanedProductKey.substring(0, this.getSeedCharLength()), 16);
-						
-						int currentKeyCharIndex = this.getSeedCharLength();
-						String tmpKeySection;
-						
-						for (int n = 0; n < this.productKeyEncodingData.length; n++ )
-						{
-							// If the first byte of the current section is zero (0), then skip
-							// validating
-							// this section.
-							if (this.productKeyEncodingData[n] != null)
-							{
-								tmpKeySection = cleanedProductKey.substring(currentKeyCharIndex, currentKeyCharIndex + 2);
-								
-								if ( !tmpKeySection.equals(ProductKeyUtils.buildHexStr(2, this.getProductKeySectionWorker().buildProductKeySection(seed, this.productKeyEncodingData[n]))))
-								{
-									return ProductKeyState.KEY_PHONY;
-								}
-							}
-							
-							currentKeyCharIndex += 2;
-						}
-						
-						// If we get this far, then it means the key is either good, or was made
-						// with a keygen derived from "this" release.
-						return ProductKeyState.KEY_GOOD;
-					}
-					catch (NumberFormatException nfe)
-					{
-						// TODO: log this ...
-						
-					}
-				}
-			}
+			return this.verifyProductKey(productKey, null, 0, productKey.length());
 		}
 		
 		return ProductKeyState.KEY_PHONY;
 	}
 	
 	/**
-	 * This method will generate a new product-key for the specified seed.
+	 * This method will verify the product-key contained in the specified range of characters.
+	 * <br />
+	 * <br />
+	 * The styling is removed and the case is folded in a single pass into a per-thread buffer; no
+	 * intermediate {@link String} objects are built and no exceptions are thrown while verifying
+	 * the product-key, provided the workers being used override the range-based methods of their
+	 * interfaces.
 	 * 
-	 * @param seed
-	 * The seed to use to ensure that the product-key is unique.
+	 * @param productKey
+	 * The characters containing the product-key to be verified.
+	 * @param offset
+	 * The index of the first character of the product-key.
+	 * @param length
+	 * The number of characters in the product-key.
 	 * @return
-	 * The generated product-key.
+	 * The {@link ProductKeyState} that best describes the specified product-key.
 	 * <br />
-	 * <i>This will be <code>null</code> if the seed is not valid or this
-	 * {@link ProductKeyGenerator}
-	 * is not capable of creating a product key.</i>
-	 * @throws ProductKeyGenerationException
-	 * If the generation of the product-key failed.
+	 * <i>This will be {@link ProductKeyState#KEY_PHONY} if the specified range is not within the
+	 * specified characters.</i>
 	 */
-	public String generateProductKey(long seed) throws ProductKeyGenerationException
+	public ProductKeyState verifyProductKey(final char[] productKey, final int offset, final int length)
 	{
-		// Build the HEXADECIMAL string representing the seed.
-		String seedHex = ProductKeyUtils.buildHexStr(this.getSeedCharLength(), seed);
-		
-		try
+		if ((productKey != null) && (offset >= 0) && (length >= 0) && (offset <= (productKey.length - length)))
 		{
-			// Try to parse the HEXADECIMAL string representing the seed and use that for the seed.
-			seed = Long.parseLong(seedHex, 16);
-			
-			if ((this.productKeyEncodingData != null) && (this.productKeyEncodingData.length > 0))
-			{
-				if (this.getProductKeySectionWorker() != null)
-				{
-					final StringBuilder keySb = new StringBuilder();
-					
-					seedHex = ProductKeyUtils.buildHexStr(this.getSeedCharLength(), seed);
-					
-					if ((this.getBlacklistWorker() != null) && (this.getBlacklistWorker().isSeedBlackListed(seedHex)))
-					{
-						throw new SeedIsBlacklistedException();
-					}
-					
-					if ((this.getSeedAvailabilityWorker() != null) && ( !this.getSeedAvailabilityWorker().isSeedAvailable(seedHex)))
-					{
-						throw new SeedAlreadyTakenException();
-					}
-					
-					// The key string begins with a HEXADECIMAL string of the seed.
-					keySb.append(seedHex);
-					
-					// Build the byte for the key-section derived from the seed.
-					for (int n = 0; n < this.productKeyEncodingData.length; n++ )
-					{
-						if (this.productKeyEncodingData[n] == null)
-						{
-							throw new EncodingDataNotCompleteException();
-						}
-						
-						keySb.append(ProductKeyUtils.buildHexStr(2, this.getProductKeySectionWorker().buildProductKeySection(seed, this.productKeyEncodingData[n])));
-					}
-					
-					// Add checksum to key string.
-					if (this.getChecksumWorker() != null)
-					{
-						keySb.append(this.getChecksumWorker().buildProductKeyChecksum(keySb.toString()));
-					}
-					
-					// Add dashes to the product-key and return it.
-					if (this.getProductKeyStylingWorker() != null)
-					{
-						return this.getProductKeyStylingWorker().addStyling(keySb.toString());
-					}
-					
-					return keySb.toString();
-				}
-				else
-				{
-					throw new ProductKeyEncoderNotDefinedException();
-				}
-			}
-			else
-			{
-				throw new EncodingDataNotCompleteException();
-			}
+			return this.verifyProductKey(null, productKey, offset, length);
 		}
-		catch (NumberFormatException nfe)
+		
+		return ProductKeyState.KEY_PHONY;
+	}
+	
+	/**
+	 * This method will verify the packed product-key specified.
+	 * 
+	 * @param productKey
+	 * The packed product-key to be verified.
+	 * @return
+	 * The {@link ProductKeyState} that best describes the specified product-key.
+	 */
+	public ProductKeyState verifyProductKey(final ProductKey productKey)
+	{
+		if (productKey != null)
 		{
-			throw new InvalidSeedException();
+			final char[] productKeyChars = ProductKeyGenerator.getProductKeyBuffer(ProductKeyGenerator.STYLED_PRODUCT_KEY_BUFFER, productKey.getLength());
+			
+			return this.verifyProductKey(null, productKeyChars, 0, productKey.writeTo(productKeyChars, 0));
 		}
+		
+		return ProductKeyState.KEY_PHONY;
 	}
 	
-	/* PROTECTED METHODS */
 	/**
-	 * This method will build the {@link ProductKeySectionWorker} to be used by this
-	 * {@link ProductKeyGenerator}.
+	 * This method will pack the specified product-key, ignoring the styling that this
+	 * {@link ProductKeyGenerator} adds.
 	 * 
+	 * @param productKey
+	 * The product-key, with or without styling.
 	 * @return
-	 * The {@link ProductKeySectionWorker} to be used by this {@link ProductKeyGenerator}.
+	 * The packed {@link ProductKey}.
+	 * @throws IllegalArgumentException
+	 * If the product-key is empty, is longer than {@link ProductKey#MAX_LENGTH} characters or
+	 * contains a character that is neither HEXADECIMAL nor styling.
 	 */
-	protected abstract ProductKeySectionWorker<ED> buildProductKeySectionWorker();
+	public ProductKey parseProductKey(final CharSequence productKey)
+	{
+		return ProductKey.parse(productKey, this.getProductKeyStylingWorker());
+	}
 	
 	/**
-	 * This method will build the {@link ChecksumWorker} to be used by this
-	 * {@link ProductKeyGenerator}.
+	 * This method will format the specified packed product-key with the styling that this
+	 * {@link ProductKeyGenerator} adds.
 	 * 
+	 * @param productKey
+	 * The packed product-key.
 	 * @return
-	 * The {@link ChecksumWorker} to be used by this {@link ProductKeyGenerator}.
+	 * The product-key with styling added.
 	 */
-	protected abstract ChecksumWorker buildChecksumWorker();
+	public String formatProductKey(final ProductKey productKey)
+	{
+		return productKey.format(this.getProductKeyStylingWorker());
+	}
 	
 	/**
-	 * This method will build the {@link BlacklistWorker} to be used by this
-	 * {@link ProductKeyGenerator}.
+	 * This method will remove the styling from, and convert to upper-case, the specified
+	 * product-key, the same way it is done before the product-key is verified.
+	 * <br />
+	 * <br />
+	 * Two product-keys that normalize to the same characters will always be given the same
+	 * {@link ProductKeyState}, provided the blacklist has not changed in between.
 	 * 
+	 * @param productKey
+	 * The product-key.
+	 * @param dest
+	 * The characters to write the normalized product-key into.
+	 * <br />
+	 * <i>This must be able to hold at least as many characters as the product-key.</i>
 	 * @return
-	 * The {@link BlacklistWorker} to be used by this {@link ProductKeyGenerator}.
+	 * The number of characters written.
+	 * <br />
+	 * <i>This will be <code>-1</code> if the product-key is <code>null</code> or only contains
+	 * whitespace.</i>
+	 * @throws IndexOutOfBoundsException
+	 * If the destination is too small.
 	 */
-	protected abstract BlacklistWorker buildBlacklistWorker();
+	public int normalizeProductKey(final CharSequence productKey, final char[] dest)
+	{
+		if (productKey == null)
+		{
+			return -1;
+		}
+		
+		return this.cleanProductKey(productKey, null, 0, productKey.length(), dest);
+	}
 	
 	/**
-	 * This method will build the {@link ProductKeyStylingWorker} to be used by this
-	 * {@link ProductKeyGenerator}.
+	 * This method will remove the styling from, and convert to upper-case, the product-key
+	 * contained in the specified range of characters, the same way it is done before the
+	 * product-key is verified.
 	 * 
+	 * @param productKey
+	 * The characters containing the product-key.
+	 * @param offset
+	 * The index of the first character of the product-key.
+	 * @param length
+	 * The number of characters in the product-key.
+	 * @param dest
+	 * The characters to write the normalized product-key into.
+	 * <br />
+	 * <i>This must be able to hold at least as many characters as the product-key.</i>
 	 * @return
-	 * The {@link ProductKeyStylingWorker} to be used by this {@link ProductKeyGenerator}.
+	 * The number of characters written.
+	 * <br />
+	 * <i>This will be <code>-1</code> if the specified range is not within the specified
+	 * characters or only contains whitespace.</i>
+	 * @throws IndexOutOfBoundsException
+	 * If the destination is too small.
 	 */
-	protected abstract ProductKeyStylingWorker buildProductKeyStylingWorker();
+	public int normalizeProductKey(final char[] productKey, final int offset, final int length, final char[] dest)
+	{
+		if ((productKey == null) || (offset < 0) || (length < 0) || (offset > (productKey.length - length)))
+		{
+			return -1;
+		}
+		
+		return this.cleanProductKey(null, productKey, offset, length, dest);
+	}
 	
 	/**
-	 * This method will build the {@link SeedAvailabilityWorker} to be used by this
+	 * This method will get the version of the content of the blacklist used by this
 	 * {@link ProductKeyGenerator}.
 	 * 
 	 * @return
-	 * The {@link SeedAvailabilityWorker} to be used by this {@link ProductKeyGenerator}.
+	 * The version of the content of the blacklist, as returned by
+	 * {@link BlacklistWorker#getVersion()}.
+	 * <br />
+	 * <i>This will be <code>0</code> if there is no {@link BlacklistWorker}.</i>
 	 */
-	protected abstract SeedAvailabilityWorker buildSeedAvailabilityWorker();
+	public long getBlacklistVersion()
+	{
+		final BlacklistWorker blacklistWorker = this.getBlacklistWorker();
+		
+		return (blacklistWorker != null) ? blacklistWorker.getVersion() : 0L;
+	}
 	
-	/* PRIVATE METHODS */
 	/**
-	 * This method will get the {@link ProductKeySectionWorker} to be used by this
-	 * {@link ProductKeyGenerator}.
+	 * This method will check if the blacklist used by this {@link ProductKeyGenerator} reports a
+	 * change to its content through {@link #getBlacklistVersion()}.
 	 * 
 	 * @return
-	 * The {@link ProductKeySectionWorker} to be used by this {@link ProductKeyGenerator}.
+	 * The boolean flag to denote if there is no {@link BlacklistWorker} or it is versioned, as
+	 * returned by {@link BlacklistWorker#isVersioned()}.
 	 */
-	private ProductKeySectionWorker<ED> getProductKeySectionWorker()
+	public boolean isBlacklistVersioned()
 	{
-		if (this.productKeySectionWorker == null)
+		final BlacklistWorker blacklistWorker = this.getBlacklistWorker();
+		
+		return (blacklistWorker == null) || blacklistWorker.isVersioned();
+	}
+	
+	/**
+	 * This method will check if this {@link ProductKeyGenerator} claims the seed of every
+	 * product-key it generates.
+	 * 
+	 * @return
+	 * The boolean flag to denote if there is a {@link SeedAvailabilityWorker}.
+	 */
+	public boolean isClaimingSeeds()
+	{
+		return this.getSeedAvailabilityWorker() != null;
+	}
+	
+	/**
+	 * This method will extract the seed from the specified product-key, provided the product-key
+	 * is well-formed and its checksum is correct.
+	 * <br />
+	 * <br />
+	 * The product-key sections are not verified and the blacklist is not consulted; this is meant
+	 * for indexing and looking up product-keys by their seed.
+	 * 
+	 * @param productKey
+	 * The product-key, with or without styling.
+	 * @return
+	 * The seed of the product-key.
+	 * <br />
+	 * <i>This will be <code>-1</code> if the product-key is empty, its checksum is not correct,
+	 * it does not start with a HEXADECIMAL seed or the seed has more than
+	 * {@link ProductKeyUtils#MAX_LONG_HEX_LENGTH} characters; use
+	 * {@link #extractSeed(CharSequence, long[])} for longer seeds.</i>
+	 */
+	public long extractSeed(final CharSequence productKey)
+	{
+		if (productKey != null)
 		{
-			this.productKeySectionWorker = this.buildProductKeySectionWorker();
+			return this.extractSeed(productKey, null, 0, productKey.length());
 		}
 		
-		return this.productKeySectionWorker;
+		return -1L;
 	}
 	
 	/**
-	 * This method will get the {@link ChecksumWorker} to be used by this
-	 * {@link ProductKeyGenerator}.
+	 * This method will extract the seed from the product-key contained in the specified range of
+	 * characters, provided the product-key is well-formed and its checksum is correct.
+	 * <br />
+	 * <br />
+	 * The product-key sections are not verified and the blacklist is not consulted; this is meant
+	 * for indexing and looking up product-keys by their seed.
 	 * 
+	 * @param productKey
+	 * The characters containing the product-key, with or without styling.
+	 * @param offset
+	 * The index of the first character of the product-key.
+	 * @param length
+	 * The number of characters in the product-key.
 	 * @return
-	 * The {@link ChecksumWorker} to be used by this {@link ProductKeyGenerator}.
+	 * The seed of the product-key.
+	 * <br />
+	 * <i>This will be <code>-1</code> if the product-key is empty, its checksum is not correct,
+	 * it does not start with a HEXADECIMAL seed or the seed has more than
+	 * {@link ProductKeyUtils#MAX_LONG_HEX_LENGTH} characters; use
+	 * {@link #extractSeed(CharSequence, long[])} for longer seeds.</i>
 	 */
-	private ChecksumWorker getChecksumWorker()
+	public long extractSeed(final char[] productKey, final int offset, final int length)
 	{
-		if (this.checksumWorker == null)
+		if ((productKey != null) && (offset >= 0) && (length >= 0) && (offset <= (productKey.length - length)))
 		{
-			this.checksumWorker = this.buildChecksumWorker();
+			return this.extractSeed(null, productKey, offset, length);
 		}
 		
-		return this.checksumWorker;
+		return -1L;
 	}
 	
 	/**
-	 * This method will get the {@link BlacklistWorker} to be used by this
-	 * {@link ProductKeyGenerator}.
+	 * This method will extract the seed, of up to {@link #MAX_SEED_CHAR_LENGTH} characters, from
+	 * the specified product-key, provided the product-key is well-formed and its checksum is
+	 * correct.
+	 * <br />
+	 * <br />
+	 * Unlike {@link #extractSeed(CharSequence)}, this also works for seeds of more than
+	 * {@link ProductKeyUtils#MAX_LONG_HEX_LENGTH} characters.
 	 * 
+	 * @param productKey
+	 * The product-key, with or without styling.
+	 * @param dest
+	 * The array to store the upper 64 bits (at index 0) and the lower 64 bits (at index 1) of the
+	 * seed in.
 	 * @return
-	 * The {@link BlacklistWorker} to be used by this {@link ProductKeyGenerator}.
+	 * The boolean flag to denote if the seed was extracted; this will be <code>false</code> if the
+	 * product-key is empty, its checksum is not correct or it does not start with a HEXADECIMAL
+	 * seed.
 	 */
-	private BlacklistWorker getBlacklistWorker()
+	public boolean extractSeed(final CharSequence productKey, final long[] dest)
 	{
-		if (this.blacklistWorker == null)
+		if (productKey == null)
 		{
-			this.blacklistWorker = this.buildBlacklistWorker();
+			return false;
 		}
 		
-		return this.blacklistWorker;
+		final char[] cleanedProductKey = ProductKeyGenerator.getProductKeyBuffer(ProductKeyGenerator.UNSTYLED_PRODUCT_KEY_BUFFER, productKey.length());
+		final int cleanedLength = this.cleanProductKey(productKey, null, 0, productKey.length(), cleanedProductKey);
+		
+		if ((cleanedLength < this.getSeedCharLength()) || ((this.getChecksumWorker() != null) && ( !this.getChecksumWorker().verifyProductKeyChecksum(cleanedProductKey, 0, cleanedLength))))
+		{
+			return false;
+		}
+		
+		return ProductKeyUtils.parseHex(cleanedProductKey, 0, this.getSeedCharLength(), dest);
 	}
 	
 	/**
-	 * This method will get the {@link ProductKeyStylingWorker} to be used by this
-	 * {@link ProductKeyGenerator}.
+	 * This method will get the number of characters in the product-keys generated by this
+	 * {@link ProductKeyGenerator}, including styling.
+	 * <br />
+	 * <br />
+	 * This can be used to size the destination passed to the
+	 * <code>generateProductKeyInto(...)</code> methods.
 	 * 
 	 * @return
-	 * The {@link ProductKeyStylingWorker} to be used by this {@link ProductKeyGenerator}.
+	 * The number of characters in the product-keys generated by this {@link ProductKeyGenerator}.
 	 */
-	private ProductKeyStylingWorker getProductKeyStylingWorker()
+	public int getProductKeyLength()
 	{
-		if (this.productKeyStylingWorker == null)
+		final int unstyledLength = this.getUnstyledProductKeyLength();
+		
+		if (this.getProductKeyStylingWorker() != null)
 		{
-			this.productKeyStylingWorker = this.buildProductKeyStylingWorker();
+			return this.getProductKeyStylingWorker().getStyledLength(unstyledLength);
 		}
 		
-		return this.productKeyStylingWorker;
+		return unstyledLength;
 	}
 	
 	/**
-	 * This method will get the {@link SeedAvailabilityWorker} to be used by this
-	 * {@link ProductKeyGenerator}.
+	 * This method will generate a new product-key for the specified seed.
 	 * 
+	 * @param seed
+	 * The seed to use to ensure that the product-key is unique.
 	 * @return
-	 * The {@link SeedAvailabilityWorker} to be used by this {@link ProductKeyGenerator}.
+	 * The generated product-key.
+	 * <br />
+	 * <i>This will be <code>null</code> if the seed is not valid or this
+	 * {@link ProductKeyGenerator}
+	 * is not capable of creating a product key.</i>
+	 * @throws ProductKeyGenerationException
+	 * If the generation of the product-key failed.
 	 */
-	private SeedAvailabilityWorker getSeedAvailabilityWorker()
+	public String generateProductKey(final long seed) throws ProductKeyGenerationException
 	{
-		if (this.seedAvailabilityWorker == null)
+		final char[] productKey = ProductKeyGenerator.getProductKeyBuffer(ProductKeyGenerator.STYLED_PRODUCT_KEY_BUFFER, this.getProductKeyLength());
+		
+		return new String(productKey, 0, this.buildProductKey(0L, seed, productKey, 0));
+	}
+	
+	/**
+	 * This method will generate a new product-key for the specified seed of up to 128 bits.
+	 * <br />
+	 * <br />
+	 * This is how seeds of more than {@link ProductKeyUtils#MAX_LONG_HEX_LENGTH} characters are
+	 * used; the seed is written as its upper 64 bits followed by its lower 64 bits, and only the
+	 * low-order bits that fit in {@link #getSeedCharLength()} characters are used.
+	 * 
+	 * @param seedHigh
+	 * The upper 64 bits of the seed to use to ensure that the product-key is unique.
+	 * @param seedLow
+	 * The lower 64 bits of the seed to use to ensure that the product-key is unique.
+	 * @return
+	 * The generated product-key.
+	 * @throws ProductKeyGenerationException
+	 * If the generation of the product-key failed.
+	 */
+	public String generateProductKey(final long seedHigh, final long seedLow) throws ProductKeyGenerationException
+	{
+		final char[] productKey = ProductKeyGenerator.getProductKeyBuffer(ProductKeyGenerator.STYLED_PRODUCT_KEY_BUFFER, this.getProductKeyLength());
+		
+		return new String(productKey, 0, this.buildProductKey(seedHigh, seedLow, productKey, 0));
+	}
+	
+	/**
+	 * This method will generate a new packed product-key for the specified seed.
+	 * <br />
+	 * <br />
+	 * <i>The product-key must be no more than {@link ProductKey#MAX_LENGTH} characters long,
+	 * without styling.</i>
+	 * 
+	 * @param seed
+	 * The seed to use to ensure that the product-key is unique.
+	 * @return
+	 * The generated product-key.
+	 * @throws ProductKeyGenerationException
+	 * If the generation of the product-key failed.
+	 */
+	public ProductKey generatePackedProductKey(final long seed) throws ProductKeyGenerationException
+	{
+		final char[] productKey = ProductKeyGenerator.getProductKeyBuffer(ProductKeyGenerator.STYLED_PRODUCT_KEY_BUFFER, this.getProductKeyLength());
+		
+		return ProductKey.parse(productKey, 0, this.buildProductKey(0L, seed, productKey, 0), this.getProductKeyStylingWorker());
+	}
+	
+	/**
+	 * This method will generate a new product-key for the next seed handed out by the
+	 * {@link SeedAllocationWorker}.
+	 * <br />
+	 * <br />
+	 * Seeds that are black-listed or already taken are skipped rather than retried, since the
+	 * {@link SeedAllocationWorker} never hands out the same seed twice.
+	 * 
+	 * @return
+	 * The generated product-key.
+	 * @throws SeedAllocatorNotDefinedException
+	 * If there is no {@link SeedAllocationWorker}.
+	 * @throws SeedSpaceExhaustedException
+	 * If every seed has already been allocated.
+	 * @throws ProductKeyGenerationException
+	 * If the generation of the product-key failed.
+	 */
+	public String generateProductKey() throws ProductKeyGenerationException
+	{
+		final char[] productKey = ProductKeyGenerator.getProductKeyBuffer(ProductKeyGenerator.STYLED_PRODUCT_KEY_BUFFER, this.getProductKeyLength());
+		
+		return new String(productKey, 0, this.buildAllocatedProductKey(productKey, 0));
+	}
+	
+	/**
+	 * This method will generate a new product-key for the specified seed and write it into the
+	 * specified characters.
+	 * 
+	 * @param seed
+	 * The seed to use to ensure that the product-key is unique.
+	 * @param dest
+	 * The characters to write the generated product-key into.
+	 * <br />
+	 * <i>There must be at least {@link #getProductKeyLength()} characters available after the
+	 * offset.</i>
+	 * @param offset
+	 * The index of the first character of the generated product-key within the destination.
+	 * @return
+	 * The number of characters written.
+	 * @throws ProductKeyGenerationException
+	 * If the generation of the product-key failed.
+	 * @throws IndexOutOfBoundsException
+	 * If there is not enough room for the product-key after the offset.
+	 */
+	public int generateProductKeyInto(final long seed, final char[] dest, final int offset) throws ProductKeyGenerationException
+	{
+		final int productKeyLength = this.getProductKeyLength();
+		
+		if ((offset < 0) || (offset > (dest.length - productKeyLength)))
+		{
+			throw new IndexOutOfBoundsException("Product-key of length " + productKeyLength + " does not fit at offset " + offset + " of array of length " + dest.length + ".");
+		}
+		
+		return this.buildProductKey(0L, seed, dest, offset);
+	}
+	
+	/**
+	 * This method will generate a new product-key for the specified seed of up to 128 bits and
+	 * write it into the specified characters.
+	 * 
+	 * @param seedHigh
+	 * The upper 64 bits of the seed to use to ensure that the product-key is unique.
+	 * @param seedLow
+	 * The lower 64 bits of the seed to use to ensure that the product-key is unique.
+	 * @param dest
+	 * The characters to write the generated product-key into.
+	 * <br />
+	 * <i>There must be at least {@link #getProductKeyLength()} characters available after the
+	 * offset.</i>
+	 * @param offset
+	 * The index of the first character of the generated product-key within the destination.
+	 * @return
+	 * The number of characters written.
+	 * @throws ProductKeyGenerationException
+	 * If the generation of the product-key failed.
+	 * @throws IndexOutOfBoundsException
+	 * If there is not enough room for the product-key after the offset.
+	 */
+	public int generateProductKeyInto(final long seedHigh, final long seedLow, final char[] dest, final int offset) throws ProductKeyGenerationException
+	{
+		final int productKeyLength = this.getProductKeyLength();
+		
+		if ((offset < 0) || (offset > (dest.length - productKeyLength)))
+		{
+			throw new IndexOutOfBoundsException("Product-key of length " + productKeyLength + " does not fit at offset " + offset + " of array of length " + dest.length + ".");
+		}
+		
+		return this.buildProductKey(seedHigh, seedLow, dest, offset);
+	}
+	
+	/**
+	 * This method will generate a new product-key for the specified seed and put it into the
+	 * specified {@link CharBuffer} at its current position, advancing the position.
+	 * 
+	 * @param seed
+	 * The seed to use to ensure that the product-key is unique.
+	 * @param dest
+	 * The {@link CharBuffer} to put the generated product-key into.
+	 * <br />
+	 * <i>There must be at least {@link #getProductKeyLength()} characters remaining.</i>
+	 * @return
+	 * The number of characters written.
+	 * @throws ProductKeyGenerationException
+	 * If the generation of the product-key failed.
+	 * @throws BufferOverflowException
+	 * If there is not enough room remaining for the product-key.
+	 */
+	public int generateProductKeyInto(final long seed, final CharBuffer dest) throws ProductKeyGenerationException
+	{
+		final int productKeyLength = this.getProductKeyLength();
+		
+		if (dest.remaining() < productKeyLength)
+		{
+			throw new BufferOverflowException();
+		}
+		
+		final int written;
+		
+		if (dest.hasArray())
+		{
+			written = this.buildProductKey(0L, seed, dest.array(), dest.arrayOffset() + dest.position());
+			
+			dest.position(dest.position() + written);
+		}
+		else
+		{
+			final char[] productKey = ProductKeyGenerator.getProductKeyBuffer(ProductKeyGenerator.STYLED_PRODUCT_KEY_BUFFER, productKeyLength);
+			
+			written = this.buildProductKey(0L, seed, productKey, 0);
+			
+			dest.put(productKey, 0, written);
+		}
+		
+		return written;
+	}
+	
+	/**
+	 * This method will generate a new product-key for the specified seed and put it, as ASCII
+	 * bytes, into the specified {@link ByteBuffer} at its current position, advancing the
+	 * position.
+	 * 
+	 * @param seed
+	 * The seed to use to ensure that the product-key is unique.
+	 * @param dest
+	 * The {@link ByteBuffer} to put the generated product-key into.
+	 * <br />
+	 * <i>There must be at least {@link #getProductKeyLength()} bytes remaining.</i>
+	 * @return
+	 * The number of bytes written.
+	 * @throws ProductKeyGenerationException
+	 * If the generation of the product-key failed.
+	 * @throws BufferOverflowException
+	 * If there is not enough room remaining for the product-key.
+	 */
+	public int generateProductKeyInto(final long seed, final ByteBuffer dest) throws ProductKeyGenerationException
+	{
+		final int productKeyLength = this.getProductKeyLength();
+		
+		if (dest.remaining() < productKeyLength)
+		{
+			throw new BufferOverflowException();
+		}
+		
+		final char[] productKey = ProductKeyGenerator.getProductKeyBuffer(ProductKeyGenerator.STYLED_PRODUCT_KEY_BUFFER, productKeyLength);
+		final int written = this.buildProductKey(0L, seed, productKey, 0);
+		
+		for (int n = 0; n < written; n++ )
+		{
+			dest.put((byte) productKey[n]);
+		}
+		
+		return written;
+	}
+	
+	/**
+	 * This method will generate a new product-key for each of the specified seeds, in parallel on
+	 * the common {@link ForkJoinPool}.
+	 * 
+	 * @param seeds
+	 * The seeds to use to ensure that the product-keys are unique.
+	 * @return
+	 * The {@link ProductKeyBatch} holding a product-key, or the reason one could not be generated,
+	 * for each seed in the same order as the seeds.
+	 */
+	public ProductKeyBatch generateProductKeys(final long[] seeds)
+	{
+		return this.generateProductKeys(seeds, ForkJoinPool.commonPool());
+	}
+	
+	/**
+	 * This method will generate a new product-key for each of the specified seeds, in parallel on
+	 * the specified {@link ForkJoinPool}.
+	 * 
+	 * @param seeds
+	 * The seeds to use to ensure that the product-keys are unique.
+	 * @param pool
+	 * The {@link ForkJoinPool} to generate the product-keys on.
+	 * @return
+	 * The {@link ProductKeyBatch} holding a product-key, or the reason one could not be generated,
+	 * for each seed in the same order as the seeds.
+	 */
+	public ProductKeyBatch generateProductKeys(final long[] seeds, final ForkJoinPool pool)
+	{
+		return this.generateProductKeys(seeds.length, (index) -> seeds[index], pool);
+	}
+	
+	/**
+	 * This method will generate a new product-key for each of the specified seeds, in parallel on
+	 * the common {@link ForkJoinPool}.
+	 * 
+	 * @param seeds
+	 * The seeds to use to ensure that the product-keys are unique.
+	 * <br />
+	 * <i>The {@link LongStream} must be finite as it will be collected before any product-keys
+	 * are generated.</i>
+	 * @return
+	 * The {@link ProductKeyBatch} holding a product-key, or the reason one could not be generated,
+	 * for each seed in the same order as the seeds.
+	 */
+	public ProductKeyBatch generateProductKeys(final LongStream seeds)
+	{
+		return this.generateProductKeys(seeds.toArray());
+	}
+	
+	/**
+	 * This method will generate a new product-key for each of the specified seeds, in parallel on
+	 * the specified {@link ForkJoinPool}.
+	 * 
+	 * @param seeds
+	 * The seeds to use to ensure that the product-keys are unique.
+	 * <br />
+	 * <i>The {@link LongStream} must be finite as it will be collected before any product-keys
+	 * are generated.</i>
+	 * @param pool
+	 * The {@link ForkJoinPool} to generate the product-keys on.
+	 * @return
+	 * The {@link ProductKeyBatch} holding a product-key, or the reason one could not be generated,
+	 * for each seed in the same order as the seeds.
+	 */
+	public ProductKeyBatch generateProductKeys(final LongStream seeds, final ForkJoinPool pool)
+	{
+		return this.generateProductKeys(seeds.toArray(), pool);
+	}
+	
+	/**
+	 * This method will generate a new product-key for each seed in the specified range, in
+	 * parallel on the common {@link ForkJoinPool}.
+	 * 
+	 * @param firstSeed
+	 * The first seed in the range.
+	 * @param count
+	 * The number of consecutive seeds in the range.
+	 * @return
+	 * The {@link ProductKeyBatch} holding a product-key, or the reason one could not be generated,
+	 * for each seed in the same order as the seeds.
+	 */
+	public ProductKeyBatch generateProductKeys(final long firstSeed, final int count)
+	{
+		return this.generateProductKeys(firstSeed, count, ForkJoinPool.commonPool());
+	}
+	
+	/**
+	 * This method will generate a new product-key for each seed in the specified range, in
+	 * parallel on the specified {@link ForkJoinPool}.
+	 * 
+	 * @param firstSeed
+	 * The first seed in the range.
+	 * @param count
+	 * The number of consecutive seeds in the range.
+	 * @param pool
+	 * The {@link ForkJoinPool} to generate the product-keys on.
+	 * @return
+	 * The {@link ProductKeyBatch} holding a product-key, or the reason one could not be generated,
+	 * for each seed in the same order as the seeds.
+	 */
+	public ProductKeyBatch generateProductKeys(final long firstSeed, final int count, final ForkJoinPool pool)
+	{
+		if (count < 0)
+		{
+			throw new IllegalArgumentException("Count must not be negative: " + count);
+		}
+		
+		return this.generateProductKeys(count, (index) -> firstSeed + index, pool);
+	}
+	
+	/* PROTECTED METHODS */
+	/**
+	 * This method will build the {@link ProductKeySectionWorker} to be used by this
+	 * {@link ProductKeyGenerator}.
+	 * 
+	 * @return
+	 * The {@link ProductKeySectionWorker} to be used by this {@link ProductKeyGenerator}.
+	 */
+	protected abstract ProductKeySectionWorker<ED> buildProductKeySectionWorker();
+	
+	/**
+	 * This method will build the {@link ChecksumWorker} to be used by this
+	 * {@link ProductKeyGenerator}.
+	 * 
+	 * @return
+	 * The {@link ChecksumWorker} to be used by this {@link ProductKeyGenerator}.
+	 */
+	protected abstract ChecksumWorker buildChecksumWorker();
+	
+	/**
+	 * This method will build the {@link BlacklistWorker} to be used by this
+	 * {@link ProductKeyGenerator}.
+	 * 
+	 * @return
+	 * The {@link BlacklistWorker} to be used by this {@link ProductKeyGenerator}.
+	 */
+	protected abstract BlacklistWorker buildBlacklistWorker();
+	
+	/**
+	 * This method will build the {@link ProductKeyStylingWorker} to be used by this
+	 * {@link ProductKeyGenerator}.
+	 * 
+	 * @return
+	 * The {@link ProductKeyStylingWorker} to be used by this {@link ProductKeyGenerator}.
+	 */
+	protected abstract ProductKeyStylingWorker buildProductKeyStylingWorker();
+	
+	/**
+	 * This method will build the {@link SeedAvailabilityWorker} to be used by this
+	 * {@link ProductKeyGenerator}.
+	 * 
+	 * @return
+	 * The {@link SeedAvailabilityWorker} to be used by this {@link ProductKeyGenerator}.
+	 */
+	protected abstract SeedAvailabilityWorker buildSeedAvailabilityWorker();
+	
+	/**
+	 * This method will build the {@link SeedAllocationWorker} to be used by this
+	 * {@link ProductKeyGenerator}.
+	 * <br />
+	 * <br />
+	 * <i>This returns <code>null</code> by default, in which case {@link #generateProductKey()}
+	 * cannot be used; override this to hand out seeds.</i>
+	 * 
+	 * @return
+	 * The {@link SeedAllocationWorker} to be used by this {@link ProductKeyGenerator}.
+	 */
+	protected SeedAllocationWorker buildSeedAllocationWorker()
+	{
+		return null;
+	}
+	
+	/* PRIVATE METHODS */
+	/**
+	 * This method will generate a new product-key for each slot of a batch, in parallel on the
+	 * specified {@link ForkJoinPool}.
+	 * 
+	 * @param count
+	 * The number of slots in the batch.
+	 * @param seedSource
+	 * The function that supplies the seed for each slot.
+	 * @param pool
+	 * The {@link ForkJoinPool} to generate the product-keys on.
+	 * @return
+	 * The {@link ProductKeyBatch} holding a product-key, or the reason one could not be generated,
+	 * for each slot.
+	 */
+	private ProductKeyBatch generateProductKeys(final int count, final IntToLongFunction seedSource, final ForkJoinPool pool)
+	{
+		final String[] productKeys = new String[count];
+		final ProductKeyGenerationException[] failures = new ProductKeyGenerationException[count];
+		
+		pool.invoke(new ProductKeyGenerationTask(this, seedSource, productKeys, failures, 0, count));
+		
+		return new ProductKeyBatch(productKeys, failures);
+	}
+	
+	/**
+	 * This method will get a buffer, for building a product-key in, that can hold at least the
+	 * specified number of characters.
+	 * 
+	 * @param buffer
+	 * The per-thread buffer to use if it is large enough.
+	 * @param length
+	 * The number of characters that the buffer must be able to hold.
+	 * @return
+	 * The buffer.
+	 */
+	private static char[] getProductKeyBuffer(final ThreadLocal<char[]> buffer, final int length)
+	{
+		if (length <= ProductKeyGenerator.MAX_BUFFERED_PRODUCT_KEY_LENGTH)
+		{
+			return buffer.get();
+		}
+		
+		return new char[length];
+	}
+	
+	/**
+	 * This method will get a buffer, for building the bytes of product-key sections in, that can
+	 * hold at least the specified number of sections.
+	 * 
+	 * @param sectionCount
+	 * The number of sections that the buffer must be able to hold.
+	 * @return
+	 * The buffer.
+	 */
+	private static byte[] getSectionBytesBuffer(final int sectionCount)
+	{
+		if (sectionCount <= ProductKeyGenerator.MAX_BUFFERED_PRODUCT_KEY_LENGTH)
+		{
+			return ProductKeyGenerator.SECTION_BYTES_BUFFER.get();
+		}
+		
+		return new byte[sectionCount];
+	}
+	
+	/**
+	 * This method will get the number of characters in the product-keys generated by this
+	 * {@link ProductKeyGenerator}, excluding styling.
+	 * 
+	 * @return
+	 * The number of characters in the product-keys generated by this {@link ProductKeyGenerator},
+	 * excluding styling.
+	 */
+	private int getUnstyledProductKeyLength()
+	{
+		int length = this.getSeedCharLength();
+		
+		if (this.productKeyEncodingData != null)
+		{
+			length += this.productKeyEncodingData.length * 2;
+		}
+		
+		if (this.getChecksumWorker() != null)
+		{
+			length += this.getChecksumWorker().getChecksumLength();
+		}
+		
+		return length;
+	}
+	
+	/**
+	 * This method will generate a new product-key for the next usable seed handed out by the
+	 * {@link SeedAllocationWorker} and write it, including styling, into the specified characters.
+	 * 
+	 * @param dest
+	 * The characters to write the generated product-key into.
+	 * @param offset
+	 * The index of the first character of the generated product-key within the destination.
+	 * @return
+	 * The number of characters written.
+	 * @throws ProductKeyGenerationException
+	 * If the generation of the product-key failed.
+	 */
+	private int buildAllocatedProductKey(final char[] dest, final int offset) throws ProductKeyGenerationException
+	{
+		final ProductKeyMetricsListener listener = this.metricsListener;
+		
+		if ((listener == null) || !listener.isEnabled())
+		{
+			return this.buildAllocatedProductKey(dest, offset, null);
+		}
+		
+		final int written;
+		
+		listener.productKeyGenerationStarted();
+		
+		try
+		{
+			written = this.buildAllocatedProductKey(dest, offset, listener);
+		}
+		catch (final ProductKeyGenerationException e)
+		{
+			listener.productKeyGenerationFailed(e);
+			
+			throw e;
+		}
+		
+		listener.productKeyGenerated();
+		
+		return written;
+	}
+	
+	/**
+	 * This method will generate a new product-key for the next usable seed handed out by the
+	 * {@link SeedAllocationWorker} and write it, including styling, into the specified characters.
+	 * 
+	 * @param dest
+	 * The characters to write the generated product-key into.
+	 * @param offset
+	 * The index of the first character of the generated product-key within the destination.
+	 * @param listener
+	 * The {@link ProductKeyMetricsListener} to notify of the time spent in each stage, or
+	 * <code>null</code>.
+	 * @return
+	 * The number of characters written.
+	 * @throws ProductKeyGenerationException
+	 * If the generation of the product-key failed.
+	 */
+	private int buildAllocatedProductKey(final char[] dest, final int offset, final ProductKeyMetricsListener listener) throws ProductKeyGenerationException
+	{
+		final SeedAllocationWorker seedAllocationWorker = this.getSeedAllocationWorker();
+		
+		if (seedAllocationWorker == null)
+		{
+			throw new SeedAllocatorNotDefinedException();
+		}
+		
+		// Ensure the product-key can be built before any seed is claimed.
+		this.getCompleteProductKeySectionPlan();
+		
+		long seed;
+		
+		while ((seed = seedAllocationWorker.allocateSeed()) >= 0L)
+		{
+			seed &= this.getSeedMask();
+			
+			if ( !this.isSeedBlacklisted(0L, seed, listener) && this.tryClaimSeed(0L, seed, listener))
+			{
+				return this.buildStyledProductKey(0L, seed, true, dest, offset, listener);
+			}
+		}
+		
+		throw new SeedSpaceExhaustedException();
+	}
+	
+	/**
+	 * This method will generate a new product-key for the specified seed and write it, including
+	 * styling, into the specified characters.
+	 * 
+	 * @param seedHigh
+	 * The upper 64 bits of the seed; this is <code>0</code> for seeds of no more than
+	 * {@link ProductKeyUtils#MAX_LONG_HEX_LENGTH} characters.
+	 * @param seed
+	 * The seed to use to ensure that the product-key is unique.
+	 * @param dest
+	 * The characters to write the generated product-key into.
+	 * @param offset
+	 * The index of the first character of the generated product-key within the destination.
+	 * @return
+	 * The number of characters written.
+	 * @throws ProductKeyGenerationException
+	 * If the generation of the product-key failed.
+	 */
+	private int buildProductKey(final long seedHigh, final long seed, final char[] dest, final int offset) throws ProductKeyGenerationException
+	{
+		final ProductKeyMetricsListener listener = this.metricsListener;
+		
+		if ((listener == null) || !listener.isEnabled())
+		{
+			return this.buildStyledProductKey(seedHigh, seed, false, dest, offset, null);
+		}
+		
+		final int written;
+		
+		listener.productKeyGenerationStarted();
+		
+		try
+		{
+			written = this.buildStyledProductKey(seedHigh, seed, false, dest, offset, listener);
+		}
+		catch (final ProductKeyGenerationException e)
+		{
+			listener.productKeyGenerationFailed(e);
+			
+			throw e;
+		}
+		
+		listener.productKeyGenerated();
+		
+		return written;
+	}
+	
+	/**
+	 * This method will generate a new product-key for the specified seed and write it, including
+	 * styling, into the specified characters.
+	 * 
+	 * @param seedHigh
+	 * The upper 64 bits of the seed; this is <code>0</code> for seeds of no more than
+	 * {@link ProductKeyUtils#MAX_LONG_HEX_LENGTH} characters.
+	 * @param seed
+	 * The seed to use to ensure that the product-key is unique.
+	 * @param seedReserved
+	 * The boolean flag to denote if the seed has already been checked against the blacklist and
+	 * claimed.
+	 * @param dest
+	 * The characters to write the generated product-key into.
+	 * @param offset
+	 * The index of the first character of the generated product-key within the destination.
+	 * @param listener
+	 * The {@link ProductKeyMetricsListener} to notify of the time spent in each stage, or
+	 * <code>null</code>.
+	 * @return
+	 * The number of characters written.
+	 * @throws ProductKeyGenerationException
+	 * If the generation of the product-key failed.
+	 */
+	private int buildStyledProductKey(final long seedHigh, final long seed, final boolean seedReserved, final char[] dest, final int offset, final ProductKeyMetricsListener listener) throws ProductKeyGenerationException
+	{
+		final ProductKeyStylingWorker stylingWorker = this.getProductKeyStylingWorker();
+		
+		if (stylingWorker == null)
+		{
+			return this.buildUnstyledProductKey(seedHigh, seed, seedReserved, dest, offset, listener);
+		}
+		
+		final char[] unstyledProductKey = ProductKeyGenerator.getProductKeyBuffer(ProductKeyGenerator.UNSTYLED_PRODUCT_KEY_BUFFER, this.getUnstyledProductKeyLength());
+		final int unstyledLength = this.buildUnstyledProductKey(seedHigh, seed, seedReserved, unstyledProductKey, 0, listener);
+		final long stageStart = ProductKeyGenerator.startStage(listener);
+		
+		// Add dashes to the product-key.
+		final int written = stylingWorker.addStyling(unstyledProductKey, 0, unstyledLength, dest, offset);
+		
+		ProductKeyGenerator.completeStage(listener, ProductKeyStage.STYLING, stageStart);
+		
+		return written;
+	}
+	
+	/**
+	 * This method will generate a new product-key for the specified seed and write it, excluding
+	 * styling, into the specified characters.
+	 * 
+	 * @param seedHigh
+	 * The upper 64 bits of the seed; this is <code>0</code> for seeds of no more than
+	 * {@link ProductKeyUtils#MAX_LONG_HEX_LENGTH} characters.
+	 * @param seed
+	 * The seed to use to ensure that the product-key is unique.
+	 * @param seedReserved
+	 * The boolean flag to denote if the seed has already been checked against the blacklist and
+	 * claimed.
+	 * @param dest
+	 * The characters to write the generated product-key into.
+	 * @param offset
+	 * The index of the first character of the generated product-key within the destination.
+	 * @param listener
+	 * The {@link ProductKeyMetricsListener} to notify of the time spent in each stage, or
+	 * <code>null</code>.
+	 * @return
+	 * The number of characters written.
+	 * @throws ProductKeyGenerationException
+	 * If the generation of the product-key failed.
+	 */
+	private int buildUnstyledProductKey(long seedHigh, long seed, final boolean seedReserved, final char[] dest, final int offset, final ProductKeyMetricsListener listener) throws ProductKeyGenerationException
+	{
+		final ProductKeySectionPlan sectionPlan = this.getCompleteProductKeySectionPlan();
+		
+		// Only the low-order bits of the seed that fit in the HEXADECIMAL characters representing
+		// it are used.
+		seedHigh &= this.getSeedHighMask();
+		seed &= this.getSeedMask();
+		
+		if ( !seedReserved)
+		{
+			if (this.isSeedBlacklisted(seedHigh, seed, listener))
+			{
+				throw new SeedIsBlacklistedException();
+			}
+			
+			// The seed is claimed last so that it is only taken once the product-key can be built.
+			if ( !this.tryClaimSeed(seedHigh, seed, listener))
+			{
+				throw new SeedAlreadyTakenException();
+			}
+		}
+		
+		long stageStart = ProductKeyGenerator.startStage(listener);
+		
+		// When the checksum can be accumulated, it is fed each character as it is written rather
+		// than reading the characters back afterwards.
+		final IncrementalChecksumWorker incrementalChecksumWorker = this.getIncrementalChecksumWorker();
+		long checksumState = (incrementalChecksumWorker != null) ? incrementalChecksumWorker.startChecksum() : 0L;
+		
+		// The key begins with the HEXADECIMAL characters of the seed; the upper 64 bits only have
+		// characters when the seed is longer than 16 characters.
+		final int seedLowCharLength = Math.min(this.getSeedCharLength(), 16);
+		final int seedHighCharLength = this.getSeedCharLength() - seedLowCharLength;
+		
+		checksumState = ProductKeyGenerator.writeHex(seedHigh, dest, offset, seedHighCharLength, incrementalChecksumWorker, checksumState);
+		checksumState = ProductKeyGenerator.writeHex(seed, dest, offset + seedHighCharLength, seedLowCharLength, incrementalChecksumWorker, checksumState);
+		
+		int currentKeyCharIndex = offset + this.getSeedCharLength();
+		
+		// Build the bytes for the key-sections derived from the seed.
+		final byte[] sectionBytes = ProductKeyGenerator.getSectionBytesBuffer(sectionPlan.getSectionCount());
+		
+		if (this.isWideSeed())
+		{
+			sectionPlan.buildProductKeySections(seedHigh, seed, sectionBytes);
+		}
+		else
+		{
+			sectionPlan.buildProductKeySections(seed, sectionBytes);
+		}
+		
+		for (int n = 0; n < sectionPlan.getSectionCount(); n++ )
+		{
+			checksumState = ProductKeyGenerator.writeHex(sectionBytes[n], dest, currentKeyCharIndex, 2, incrementalChecksumWorker, checksumState);
+			
+			currentKeyCharIndex += 2;
+		}
+		
+		stageStart = ProductKeyGenerator.completeStage(listener, ProductKeyStage.SECTIONS, stageStart);
+		
+		// Add checksum to key.
+		if (incrementalChecksumWorker != null)
+		{
+			currentKeyCharIndex += incrementalChecksumWorker.writeChecksum(checksumState, dest, currentKeyCharIndex);
+			
+			ProductKeyGenerator.completeStage(listener, ProductKeyStage.CHECKSUM, stageStart);
+		}
+		else if (this.getChecksumWorker() != null)
+		{
+			currentKeyCharIndex += this.getChecksumWorker().buildProductKeyChecksum(dest, offset, currentKeyCharIndex - offset, dest, currentKeyCharIndex);
+			
+			ProductKeyGenerator.completeStage(listener, ProductKeyStage.CHECKSUM, stageStart);
+		}
+		
+		return currentKeyCharIndex - offset;
+	}
+	
+	/**
+	 * This method will write the specified value as upper-case HEXADECIMAL characters into the
+	 * specified range of characters, accumulating each character into the checksum as it is
+	 * written.
+	 * 
+	 * @param value
+	 * The value to be written.
+	 * @param dest
+	 * The characters to write the HEXADECIMAL value into.
+	 * @param offset
+	 * The index of the first character to be written.
+	 * @param length
+	 * The number of HEXADECIMAL characters to be written; this must not exceed 16.
+	 * @param incrementalChecksumWorker
+	 * The {@link IncrementalChecksumWorker} to accumulate the characters into, or
+	 * <code>null</code>.
+	 * @param checksumState
+	 * The state of the checksum before the characters are written.
+	 * @return
+	 * The state of the checksum after the characters are written.
+	 */
+	private static long writeHex(final long value, final char[] dest, final int offset, final int length, final IncrementalChecksumWorker incrementalChecksumWorker, long checksumState)
+	{
+		char tmpChar;
+		
+		for (int n = 0; n < length; n++ )
+		{
+			tmpChar = ProductKeyUtils.toHexChar((int) (value >>> ((length - 1 - n) * 4)));
+			dest[offset + n] = tmpChar;
+			
+			if (incrementalChecksumWorker != null)
+			{
+				checksumState = incrementalChecksumWorker.updateChecksum(checksumState, tmpChar);
+			}
+		}
+		
+		return checksumState;
+	}
+	
+	/**
+	 * This method will get the {@link ProductKeySectionPlan}, ensuring that it can be used to
+	 * generate product-keys.
+	 * 
+	 * @return
+	 * The {@link ProductKeySectionPlan}.
+	 * @throws EncodingDataNotCompleteException
+	 * If any of the {@link ProductKeyEncodingData} elements are missing.
+	 * @throws ProductKeyEncoderNotDefinedException
+	 * If there is no {@link ProductKeySectionWorker}.
+	 */
+	private ProductKeySectionPlan getCompleteProductKeySectionPlan() throws ProductKeyGenerationException
+	{
+		if ((this.productKeyEncodingData == null) || (this.productKeyEncodingData.length == 0))
+		{
+			throw new EncodingDataNotCompleteException();
+		}
+		
+		final ProductKeySectionPlan sectionPlan = this.getProductKeySectionPlan();
+		
+		if (sectionPlan == null)
+		{
+			throw new ProductKeyEncoderNotDefinedException();
+		}
+		
+		if ( !sectionPlan.isComplete())
+		{
+			throw new EncodingDataNotCompleteException();
+		}
+		
+		return sectionPlan;
+	}
+	
+	/**
+	 * This method will get the mask covering the bits of a seed that fit in the HEXADECIMAL
+	 * characters representing it.
+	 * 
+	 * @return
+	 * The mask covering the bits of a seed.
+	 */
+	private long getSeedMask()
+	{
+		return (this.getSeedCharLength() >= 16) ? -1L : ((1L << (this.getSeedCharLength() * 4)) - 1L);
+	}
+	
+	/**
+	 * This method will get the mask covering the bits of the upper 64 bits of a seed that fit in
+	 * the HEXADECIMAL characters representing it.
+	 * 
+	 * @return
+	 * The mask covering the upper 64 bits of a seed; this is <code>0</code> for seeds of no more
+	 * than 16 characters.
+	 */
+	private long getSeedHighMask()
+	{
+		if (this.getSeedCharLength() <= 16)
+		{
+			return 0L;
+		}
+		
+		return (this.getSeedCharLength() >= 32) ? -1L : ((1L << ((this.getSeedCharLength() - 16) * 4)) - 1L);
+	}
+	
+	/**
+	 * This method will determine if the seeds of this {@link ProductKeyGenerator} are too long for
+	 * a positive {@link Long} and so are carried as two {@link Long} values.
+	 * 
+	 * @return
+	 * The boolean flag to denote if the seeds have more than
+	 * {@link ProductKeyUtils#MAX_LONG_HEX_LENGTH} characters.
+	 */
+	private boolean isWideSeed()
+	{
+		return this.getSeedCharLength() > ProductKeyUtils.MAX_LONG_HEX_LENGTH;
+	}
+	
+	/**
+	 * This method will check if the specified seed has been blacklisted.
+	 * 
+	 * @param seedHigh
+	 * The upper 64 bits of the seed.
+	 * @param seed
+	 * The seed, or its lower 64 bits.
+	 * @param listener
+	 * The {@link ProductKeyMetricsListener} to notify of the time spent checking the blacklist, or
+	 * <code>null</code>.
+	 * @return
+	 * The boolean flag to denote if the specified seed has been blacklisted.
+	 */
+	private boolean isSeedBlacklisted(final long seedHigh, final long seed, final ProductKeyMetricsListener listener)
+	{
+		final BlacklistWorker blacklistWorker = this.getBlacklistWorker();
+		
+		if (blacklistWorker == null)
+		{
+			return false;
+		}
+		
+		final long stageStart = ProductKeyGenerator.startStage(listener);
+		final boolean blacklisted = this.isWideSeed() ? blacklistWorker.isSeedBlackListed(seedHigh, seed, this.getSeedCharLength()) : blacklistWorker.isSeedBlackListed(seed, this.getSeedCharLength());
+		
+		ProductKeyGenerator.completeStage(listener, ProductKeyStage.BLACKLIST, stageStart);
+		
+		return blacklisted;
+	}
+	
+	/**
+	 * This method will attempt to claim the specified seed.
+	 * 
+	 * @param seedHigh
+	 * The upper 64 bits of the seed.
+	 * @param seed
+	 * The seed, or its lower 64 bits.
+	 * @param listener
+	 * The {@link ProductKeyMetricsListener} to notify of the time spent claiming the seed, or
+	 * <code>null</code>.
+	 * @return
+	 * The boolean flag to denote if the seed was claimed; this will always be <code>true</code> if
+	 * there is no {@link SeedAvailabilityWorker}.
+	 */
+	private boolean tryClaimSeed(final long seedHigh, final long seed, final ProductKeyMetricsListener listener)
+	{
+		final SeedAvailabilityWorker seedAvailabilityWorker = this.getSeedAvailabilityWorker();
+		
+		if (seedAvailabilityWorker == null)
+		{
+			return true;
+		}
+		
+		final long stageStart = ProductKeyGenerator.startStage(listener);
+		final boolean claimed = this.isWideSeed() ? seedAvailabilityWorker.tryClaimSeed(seedHigh, seed, this.getSeedCharLength()) : seedAvailabilityWorker.tryClaimSeed(seed, this.getSeedCharLength());
+		
+		ProductKeyGenerator.completeStage(listener, ProductKeyStage.SEED_AVAILABILITY, stageStart);
+		
+		return claimed;
+	}
+	
+	/**
+	 * This method will read the clock at the start of a {@link ProductKeyStage}, if there is a
+	 * {@link ProductKeyMetricsListener} to notify.
+	 * 
+	 * @param listener
+	 * The {@link ProductKeyMetricsListener}, or <code>null</code>.
+	 * @return
+	 * The value of {@link System#nanoTime()}, or <code>0</code> if there is no
+	 * {@link ProductKeyMetricsListener}.
+	 */
+	private static long startStage(final ProductKeyMetricsListener listener)
+	{
+		return (listener != null) ? System.nanoTime() : 0L;
+	}
+	
+	/**
+	 * This method will notify the specified {@link ProductKeyMetricsListener}, if there is one, of
+	 * the time spent in the specified {@link ProductKeyStage}.
+	 * 
+	 * @param listener
+	 * The {@link ProductKeyMetricsListener}, or <code>null</code>.
+	 * @param stage
+	 * The {@link ProductKeyStage} that has completed.
+	 * @param stageStart
+	 * The value returned by {@link #startStage(ProductKeyMetricsListener)} when the
+	 * {@link ProductKeyStage} started.
+	 * @return
+	 * The value of {@link System#nanoTime()}, which can be used as the start of the next
+	 * {@link ProductKeyStage}, or <code>0</code> if there is no {@link ProductKeyMetricsListener}.
+	 */
+	private static long completeStage(final ProductKeyMetricsListener listener, final ProductKeyStage stage, final long stageStart)
+	{
+		if (listener == null)
+		{
+			return 0L;
+		}
+		
+		final long now = System.nanoTime();
+		
+		listener.stageCompleted(stage, now - stageStart);
+		
+		return now;
+	}
+	
+	/**
+	 * This method will remove the styling from, and convert to upper-case, the product-key
+	 * contained in the specified range of characters in a single pass.
+	 * 
+	 * @param productKeySequence
+	 * The {@link CharSequence} containing the product-key.
+	 * <br />
+	 * <i>This must be <code>null</code> if the product-key is in a <code>char[]</code>.</i>
+	 * @param productKeyChars
+	 * The <code>char[]</code> containing the product-key.
+	 * <br />
+	 * <i>This must be <code>null</code> if the product-key is in a {@link CharSequence}.</i>
+	 * @param offset
+	 * The index of the first character of the product-key.
+	 * @param length
+	 * The number of characters in the product-key.
+	 * @param dest
+	 * The buffer to write the cleaned product-key into; it must hold at least the specified number
+	 * of characters.
+	 * @return
+	 * The number of characters in the cleaned product-key.
+	 * <br />
+	 * <i>This will be <code>-1</code> if the product-key contains nothing but whitespace.</i>
+	 */
+	private int cleanProductKey(final CharSequence productKeySequence, final char[] productKeyChars, final int offset, final int length, final char[] dest)
+	{
+		final ProductKeyStylingWorker stylingWorker = this.getProductKeyStylingWorker();
+		
+		boolean hasContent = false;
+		int cleanedLength = 0;
+		char tmpChar;
+		
+		for (int n = offset; n < (offset + length); n++ )
+		{
+			tmpChar = (productKeyChars != null) ? productKeyChars[n] : productKeySequence.charAt(n);
+			
+			if (tmpChar > ' ')
+			{
+				hasContent = true;
+			}
+			
+			if ((stylingWorker != null) && stylingWorker.isStylingCharacter(tmpChar))
+			{
+				continue;
+			}
+			
+			if ((tmpChar >= 'a') && (tmpChar <= 'z'))
+			{
+				tmpChar -= ('a' - 'A');
+			}
+			else if (tmpChar > 0x007F)
+			{
+				tmpChar = Character.toUpperCase(tmpChar);
+			}
+			
+			dest[cleanedLength++ ] = tmpChar;
+		}
+		
+		return hasContent ? cleanedLength : -1;
+	}
+	
+	/**
+	 * This method will extract the seed from the product-key contained in the specified range of
+	 * characters, which come from either a {@link CharSequence} or a <code>char[]</code>.
+	 * 
+	 * @param productKeySequence
+	 * The {@link CharSequence} containing the product-key.
+	 * <br />
+	 * <i>This must be <code>null</code> if the product-key is in a <code>char[]</code>.</i>
+	 * @param productKeyChars
+	 * The <code>char[]</code> containing the product-key.
+	 * <br />
+	 * <i>This must be <code>null</code> if the product-key is in a {@link CharSequence}.</i>
+	 * @param offset
+	 * The index of the first character of the product-key.
+	 * @param length
+	 * The number of characters in the product-key.
+	 * @return
+	 * The seed of the product-key.
+	 * <br />
+	 * <i>This will be <code>-1</code> if the product-key is empty, its checksum is not correct or
+	 * it does not start with a HEXADECIMAL seed.</i>
+	 */
+	private long extractSeed(final CharSequence productKeySequence, final char[] productKeyChars, final int offset, final int length)
+	{
+		final char[] cleanedProductKey = ProductKeyGenerator.getProductKeyBuffer(ProductKeyGenerator.UNSTYLED_PRODUCT_KEY_BUFFER, length);
+		final int cleanedLength = this.cleanProductKey(productKeySequence, productKeyChars, offset, length, cleanedProductKey);
+		
+		if ((cleanedLength < this.getSeedCharLength()) || ((this.getChecksumWorker() != null) && ( !this.getChecksumWorker().verifyProductKeyChecksum(cleanedProductKey, 0, cleanedLength))))
+		{
+			return -1L;
+		}
+		
+		return ProductKeyUtils.parseHex(cleanedProductKey, 0, this.getSeedCharLength());
+	}
+	
+	/**
+	 * This method will verify the product-key contained in the specified range of characters,
+	 * which come from either a {@link CharSequence} or a <code>char[]</code>.
+	 * 
+	 * @param productKeySequence
+	 * The {@link CharSequence} containing the product-key to be verified.
+	 * <br />
+	 * <i>This must be <code>null</code> if the product-key is in a <code>char[]</code>.</i>
+	 * @param productKeyChars
+	 * The <code>char[]</code> containing the product-key to be verified.
+	 * <br />
+	 * <i>This must be <code>null</code> if the product-key is in a {@link CharSequence}.</i>
+	 * @param offset
+	 * The index of the first character of the product-key.
+	 * @param length
+	 * The number of characters in the product-key.
+	 * @return
+	 * The {@link ProductKeyState} that best describes the specified product-key.
+	 */
+	private ProductKeyState verifyProductKey(final CharSequence productKeySequence, final char[] productKeyChars, final int offset, final int length)
+	{
+		final ProductKeyMetricsListener listener = this.metricsListener;
+		
+		if ((listener == null) || !listener.isEnabled())
+		{
+			return this.verifyProductKey(productKeySequence, productKeyChars, offset, length, null);
+		}
+		
+		listener.productKeyVerificationStarted();
+		
+		final ProductKeyState productKeyState = this.verifyProductKey(productKeySequence, productKeyChars, offset, length, listener);
+		
+		listener.productKeyVerified(productKeyState);
+		
+		return productKeyState;
+	}
+	
+	/**
+	 * This method will verify the product-key contained in the specified range of characters,
+	 * which come from either a {@link CharSequence} or a <code>char[]</code>, notifying the
+	 * specified {@link ProductKeyMetricsListener} of the time spent in each stage.
+	 * 
+	 * @param productKeySequence
+	 * The {@link CharSequence} containing the product-key to be verified.
+	 * <br />
+	 * <i>This must be <code>null</code> if the product-key is in a <code>char[]</code>.</i>
+	 * @param productKeyChars
+	 * The <code>char[]</code> containing the product-key to be verified.
+	 * <br />
+	 * <i>This must be <code>null</code> if the product-key is in a {@link CharSequence}.</i>
+	 * @param offset
+	 * The index of the first character of the product-key.
+	 * @param length
+	 * The number of characters in the product-key.
+	 * @param listener
+	 * The {@link ProductKeyMetricsListener} to notify of the time spent in each stage, or
+	 * <code>null</code>.
+	 * @return
+	 * The {@link ProductKeyState} that best describes the specified product-key.
+	 */
+	private ProductKeyState verifyProductKey(final CharSequence productKeySequence, final char[] productKeyChars, final int offset, final int length, final ProductKeyMetricsListener listener)
+	{
+		long stageStart = ProductKeyGenerator.startStage(listener);
+		
+		final char[] cleanedProductKey = ProductKeyGenerator.getProductKeyBuffer(ProductKeyGenerator.UNSTYLED_PRODUCT_KEY_BUFFER, length);
+		final int cleanedLength = this.cleanProductKey(productKeySequence, productKeyChars, offset, length, cleanedProductKey);
+		
+		stageStart = ProductKeyGenerator.completeStage(listener, ProductKeyStage.STYLING, stageStart);
+		
+		if (cleanedLength < 0)
+		{
+			return ProductKeyState.KEY_PHONY;
+		}
+		
+		// The stages run in the order of the precedence of their rejections, so a stage only runs
+		// while its result can still change the outcome; any other order would run more of them.
+		
+		// Verify that the format of the product-key is valid.
+		final ChecksumWorker checksumWorker = this.getChecksumWorker();
+		
+		if (checksumWorker != null)
+		{
+			final boolean checksumValid = checksumWorker.verifyProductKeyChecksum(cleanedProductKey, 0, cleanedLength);
+			
+			stageStart = ProductKeyGenerator.completeStage(listener, ProductKeyStage.CHECKSUM, stageStart);
+			
+			if ( !checksumValid)
+			{
+				return ProductKeyState.KEY_INVALID;
+			}
+		}
+		
+		// Test against blacklist.
+		final BlacklistWorker blacklistWorker = this.getBlacklistWorker();
+		
+		if (blacklistWorker != null)
+		{
+			final boolean blacklisted = blacklistWorker.isKeyBlackListed(cleanedProductKey, 0, cleanedLength);
+			
+			stageStart = ProductKeyGenerator.completeStage(listener, ProductKeyStage.BLACKLIST, stageStart);
+			
+			if (blacklisted)
+			{
+				return ProductKeyState.KEY_BLACKLISTED;
+			}
+		}
+		
+		final ProductKeyState productKeyState = this.verifyProductKeySections(cleanedProductKey, cleanedLength);
+		
+		ProductKeyGenerator.completeStage(listener, ProductKeyStage.SECTIONS, stageStart);
+		
+		return productKeyState;
+	}
+	
+	/**
+	 * This method will verify the sections of the specified product-key, whose styling has
+	 * already been removed.
+	 * 
+	 * @param cleanedProductKey
+	 * The characters of the product-key.
+	 * @param cleanedLength
+	 * The number of characters in the product-key.
+	 * @return
+	 * {@link ProductKeyState#KEY_GOOD} if every section whose encoding-data is present is correct;
+	 * otherwise {@link ProductKeyState#KEY_PHONY}.
+	 */
+	private ProductKeyState verifyProductKeySections(final char[] cleanedProductKey, final int cleanedLength)
+	{
+		// If the product-key section bytes are present and valid in length, then verify the
+		// product-key sections.
+		if ((this.productKeyEncodingData != null) && (this.productKeyEncodingData.length > 0))
+		{
+			final ProductKeySectionPlan sectionPlan = this.getProductKeySectionPlan();
+			
+			if ((sectionPlan != null) && (this.getSeedCharLength() <= cleanedLength))
+			{
+				final byte[] sectionBytes = ProductKeyGenerator.getSectionBytesBuffer(sectionPlan.getSectionCount());
+				
+				// Extract the seed from the product-key and build the expected sections from it.
+				if (this.buildProductKeySections(sectionPlan, cleanedProductKey, sectionBytes))
+				{
+					int tmpSectionIndex;
+					int tmpKeyCharIndex;
+					int tmpHighNibble;
+					int tmpLowNibble;
+					
+					// Sections whose encoding-data is not present are not part of the plan and so
+					// are not validated.
+					for (int n = 0; n < sectionPlan.getPresentSectionCount(); n++ )
+					{
+						tmpSectionIndex = sectionPlan.getPresentSectionIndex(n);
+						tmpKeyCharIndex = this.getSeedCharLength() + (tmpSectionIndex * 2);
+						
+						if ((tmpKeyCharIndex + 2) > cleanedLength)
+						{
+							return ProductKeyState.KEY_PHONY;
+						}
+						
+						tmpHighNibble = ProductKeyUtils.parseHexChar(cleanedProductKey[tmpKeyCharIndex]);
+						tmpLowNibble = ProductKeyUtils.parseHexChar(cleanedProductKey[tmpKeyCharIndex + 1]);
+						
+						if ((tmpHighNibble < 0) || (tmpLowNibble < 0) || (((tmpHighNibble << 4) | tmpLowNibble) != (sectionBytes[tmpSectionIndex] & 0x00FF)))
+						{
+							return ProductKeyState.KEY_PHONY;
+						}
+					}
+					
+					// If we get this far, then it means the key is either good, or was made with a
+					// keygen derived from "this" release.
+					return ProductKeyState.KEY_GOOD;
+				}
+			}
+		}
+		
+		return ProductKeyState.KEY_PHONY;
+	}
+	
+	/**
+	 * This method will extract the seed from the start of the specified product-key, whose styling
+	 * has already been removed, and build the bytes of every present section of the specified
+	 * {@link ProductKeySectionPlan} for it.
+	 * <br />
+	 * <br />
+	 * Seeds of more than {@link ProductKeyUtils#MAX_LONG_HEX_LENGTH} characters are parsed into
+	 * two {@link Long} values and passed to
+	 * {@link ProductKeySectionPlan#buildProductKeySections(long, long, byte[])}.
+	 * 
+	 * @param sectionPlan
+	 * The {@link ProductKeySectionPlan} to build the sections with.
+	 * @param cleanedProductKey
+	 * The characters of the product-key; there must be at least {@link #getSeedCharLength()}.
+	 * @param sectionBytes
+	 * The array to store the bytes in, indexed by section index.
+	 * @return
+	 * The boolean flag to denote if the product-key starts with a HEXADECIMAL seed and so the
+	 * sections were built.
+	 */
+	boolean buildProductKeySections(final ProductKeySectionPlan sectionPlan, final char[] cleanedProductKey, final byte[] sectionBytes)
+	{
+		if (this.isWideSeed())
+		{
+			final long[] seed = ProductKeyGenerator.WIDE_SEED_BUFFER.get();
+			
+			if ( !ProductKeyUtils.parseHex(cleanedProductKey, 0, this.getSeedCharLength(), seed))
+			{
+				return false;
+			}
+			
+			sectionPlan.buildProductKeySections(seed[0], seed[1], sectionBytes);
+			
+			return true;
+		}
+		
+		final long seed = ProductKeyUtils.parseHex(cleanedProductKey, 0, this.getSeedCharLength());
+		
+		if (seed < 0)
+		{
+			return false;
+		}
+		
+		sectionPlan.buildProductKeySections(seed, sectionBytes);
+		
+		return true;
+	}
+	
+	/**
+	 * This method will get the immutable snapshot of the workers to be used by this
+	 * {@link ProductKeyGenerator}, building it if this is the first time it is needed.
+	 * <br />
+	 * <br />
+	 * The snapshot is built at most once, under a lock, and is safely published through a
+	 * <code>volatile</code> field; every later call is a single read without a lock.
+	 * 
+	 * @return
+	 * The immutable snapshot of the workers to be used by this {@link ProductKeyGenerator}.
+	 */
+	private Workers<ED> getWorkers()
+	{
+		Workers<ED> currentWorkers = this.workers;
+		
+		if (currentWorkers == null)
+		{
+			synchronized (this)
+			{
+				currentWorkers = this.workers;
+				
+				if (currentWorkers == null)
+				{
+					final ProductKeySectionWorker<ED> sectionWorker = this.buildProductKeySectionWorker();
+					final ProductKeySectionPlan sectionPlan = ((sectionWorker != null) && (this.productKeyEncodingData != null)) ? sectionWorker.buildProductKeySectionPlan(this.productKeyEncodingData) : null;
+					
+					currentWorkers = new Workers<ED>(sectionWorker, sectionPlan, this.buildChecksumWorker(), this.buildBlacklistWorker(), this.buildProductKeyStylingWorker(), this.buildSeedAvailabilityWorker(), this.buildSeedAllocationWorker());
+					
+					this.workers = currentWorkers;
+				}
+			}
+		}
+		
+		return currentWorkers;
+	}
+	
+	/**
+	 * This method will get the array of {@link ProductKeyEncodingData} elements that will be used
+	 * to generate/verify product-keys.
+	 * 
+	 * @return
+	 * The array of {@link ProductKeyEncodingData} elements, or <code>null</code> if there are
+	 * none; <code>null</code> elements denote omitted sections.
+	 */
+	ED[] getProductKeyEncodingData()
+	{
+		return this.productKeyEncodingData;
+	}
+	
+	/**
+	 * This method will get the {@link ProductKeySectionWorker} to be used by this
+	 * {@link ProductKeyGenerator}.
+	 * 
+	 * @return
+	 * The {@link ProductKeySectionWorker} to be used by this {@link ProductKeyGenerator}.
+	 */
+	ProductKeySectionWorker<ED> getProductKeySectionWorker()
+	{
+		return this.getWorkers().productKeySectionWorker;
+	}
+	
+	/**
+	 * This method will get the {@link ProductKeySectionPlan} compiled from the
+	 * {@link ProductKeyEncodingData} elements of this {@link ProductKeyGenerator}.
+	 * 
+	 * @return
+	 * The {@link ProductKeySectionPlan} compiled from the {@link ProductKeyEncodingData} elements
+	 * of this {@link ProductKeyGenerator}.
+	 * <br />
+	 * <i>This will be <code>null</code> if there are no {@link ProductKeyEncodingData} elements or
+	 * there is no {@link ProductKeySectionWorker}.</i>
+	 */
+	private ProductKeySectionPlan getProductKeySectionPlan()
+	{
+		return this.getWorkers().productKeySectionPlan;
+	}
+	
+	/**
+	 * This method will get the {@link ChecksumWorker} to be used by this
+	 * {@link ProductKeyGenerator}.
+	 * 
+	 * @return
+	 * The {@link ChecksumWorker} to be used by this {@link ProductKeyGenerator}.
+	 */
+	ChecksumWorker getChecksumWorker()
+	{
+		return this.getWorkers().checksumWorker;
+	}
+	
+	/**
+	 * This method will get the {@link ChecksumWorker} to be used by this
+	 * {@link ProductKeyGenerator} if its checksum can be accumulated one character at a time.
+	 * 
+	 * @return
+	 * The {@link IncrementalChecksumWorker}, or <code>null</code> if the {@link ChecksumWorker} is
+	 * not one.
+	 */
+	private IncrementalChecksumWorker getIncrementalChecksumWorker()
+	{
+		return this.getWorkers().incrementalChecksumWorker;
+	}
+	
+	/**
+	 * This method will get the {@link BlacklistWorker} to be used by this
+	 * {@link ProductKeyGenerator}.
+	 * 
+	 * @return
+	 * The {@link BlacklistWorker} to be used by this {@link ProductKeyGenerator}.
+	 */
+	BlacklistWorker getBlacklistWorker()
+	{
+		return this.getWorkers().blacklistWorker;
+	}
+	
+	/**
+	 * This method will get the {@link ProductKeyStylingWorker} to be used by this
+	 * {@link ProductKeyGenerator}.
+	 * 
+	 * @return
+	 * The {@link ProductKeyStylingWorker} to be used by this {@link ProductKeyGenerator}.
+	 */
+	private ProductKeyStylingWorker getProductKeyStylingWorker()
+	{
+		return this.getWorkers().productKeyStylingWorker;
+	}
+	
+	/**
+	 * This method will get the {@link SeedAvailabilityWorker} to be used by this
+	 * {@link ProductKeyGenerator}.
+	 * 
+	 * @return
+	 * The {@link SeedAvailabilityWorker} to be used by this {@link ProductKeyGenerator}.
+	 */
+	private SeedAvailabilityWorker getSeedAvailabilityWorker()
+	{
+		return this.getWorkers().seedAvailabilityWorker;
+	}
+	
+	/**
+	 * This method will get the {@link SeedAllocationWorker} to be used by this
+	 * {@link ProductKeyGenerator}.
+	 * 
+	 * @return
+	 * The {@link SeedAllocationWorker} to be used by this {@link ProductKeyGenerator}.
+	 */
+	private SeedAllocationWorker getSeedAllocationWorker()
+	{
+		return this.getWorkers().seedAllocationWorker;
+	}
+	
+	/* PRIVATE CLASSES */
+	/**
+	 * This class is an immutable snapshot of the workers to be used by a
+	 * {@link ProductKeyGenerator}; its fields are <code>final</code> so it is safe to share
+	 * between threads once published.
+	 */
+	private static final class Workers<ED extends ProductKeyEncodingData>
+	{
+		
+		
+		/* PRIVATE VARIABLES */
+		/**
+		 * This will store the {@link ProductKeySectionWorker}.
+		 */
+		private final ProductKeySectionWorker<ED> productKeySectionWorker;
+		/**
+		 * This will store the {@link ProductKeySectionPlan} compiled by the
+		 * {@link ProductKeySectionWorker}.
+		 */
+		private final ProductKeySectionPlan productKeySectionPlan;
+		/**
+		 * This will store the {@link ChecksumWorker}.
+		 */
+		private final ChecksumWorker checksumWorker;
+		/**
+		 * This will store the {@link ChecksumWorker} if it is an {@link IncrementalChecksumWorker}.
+		 */
+		private final IncrementalChecksumWorker incrementalChecksumWorker;
+		/**
+		 * This will store the {@link BlacklistWorker}.
+		 */
+		private final BlacklistWorker blacklistWorker;
+		/**
+		 * This will store the {@link ProductKeyStylingWorker}.
+		 */
+		private final ProductKeyStylingWorker productKeyStylingWorker;
+		/**
+		 * This will store the {@link SeedAvailabilityWorker}.
+		 */
+		private final SeedAvailabilityWorker seedAvailabilityWorker;
+		/**
+		 * This will store the {@link SeedAllocationWorker}.
+		 */
+		private final SeedAllocationWorker seedAllocationWorker;
+		
+		/* CONSTRUCTORS */
+		/**
+		 * This will create a new instance of a {@link Workers}.
+		 * 
+		 * @param productKeySectionWorker
+		 * The {@link ProductKeySectionWorker}.
+		 * @param productKeySectionPlan
+		 * The {@link ProductKeySectionPlan} compiled by the {@link ProductKeySectionWorker}.
+		 * @param checksumWorker
+		 * The {@link ChecksumWorker}.
+		 * @param blacklistWorker
+		 * The {@link BlacklistWorker}.
+		 * @param productKeyStylingWorker
+		 * The {@link ProductKeyStylingWorker}.
+		 * @param seedAvailabilityWorker
+		 * The {@link SeedAvailabilityWorker}.
+		 * @param seedAllocationWorker
+		 * The {@link SeedAllocationWorker}.
+		 */
+		private Workers(final ProductKeySectionWorker<ED> productKeySectionWorker, final ProductKeySectionPlan productKeySectionPlan, final ChecksumWorker checksumWorker, final BlacklistWorker blacklistWorker, final ProductKeyStylingWorker productKeyStylingWorker, final SeedAvailabilityWorker seedAvailabilityWorker, final SeedAllocationWorker seedAllocationWorker)
 		{
-			this.seedAvailabilityWorker = this.buildSeedAvailabilityWorker();
+			this.productKeySectionWorker = productKeySectionWorker;
+			this.productKeySectionPlan = productKeySectionPlan;
+			this.checksumWorker = checksumWorker;
+			this.incrementalChecksumWorker = (checksumWorker instanceof IncrementalChecksumWorker) ? (IncrementalChecksumWorker) checksumWorker : null;
+			this.blacklistWorker = blacklistWorker;
+			this.productKeyStylingWorker = productKeyStylingWorker;
+			this.seedAvailabilityWorker = seedAvailabilityWorker;
+			this.seedAllocationWorker = seedAllocationWorker;
 		}
 		
-		return this.seedAvailabilityWorker;
 	}
 	
 }
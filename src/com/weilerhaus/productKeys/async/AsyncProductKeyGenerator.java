@@ -0,0 +1,403 @@
+package com.weilerhaus.productKeys.async;
+
+import java.lang.reflect.Method;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.weilerhaus.productKeys.ProductKeyGenerator;
+import com.weilerhaus.productKeys.enums.ProductKeyState;
+import com.weilerhaus.productKeys.exceptions.ProductKeyGenerationException;
+import com.weilerhaus.productKeys.workers.BlacklistWorker;
+import com.weilerhaus.productKeys.workers.SeedAvailabilityWorker;
+
+/**
+ * This class wraps a {@link ProductKeyGenerator} so that product-keys can be generated and
+ * verified without blocking the calling thread, for when a {@link BlacklistWorker} or
+ * {@link SeedAvailabilityWorker} is backed by I/O.
+ * <br />
+ * <br />
+ * Each call runs on an {@link ExecutorService}; by default this starts a virtual thread per call
+ * when the Java runtime supports them, and otherwise uses a cached pool of daemon threads.
+ * <br />
+ * No more than the configured number of calls run at once, so the store behind the workers is
+ * never sent more requests than it can take; further calls wait in a queue, without holding a
+ * thread, until a running call completes.
+ * <br />
+ * <i>A {@link ProductKeyGenerationException} is passed to the returned
+ * {@link CompletableFuture}, wrapped in a {@link CompletionException} when it is joined; so is the
+ * {@link RejectedExecutionException} of a call the {@link ExecutorService} would not take.</i>
+ * 
+ * @author Matthew Weiler
+ */
+public class AsyncProductKeyGenerator implements AutoCloseable
+{
+	
+	
+	/* PRIVATE VARIABLES */
+	/**
+	 * This will store the {@link ProductKeyGenerator} that generates and verifies the product-keys.
+	 */
+	private final ProductKeyGenerator<?> productKeyGenerator;
+	/**
+	 * This will store the {@link ExecutorService} the calls run on.
+	 */
+	private final ExecutorService executor;
+	/**
+	 * This will store the boolean flag to denote if the {@link ExecutorService} was built by, and
+	 * so should be shut down by, this {@link AsyncProductKeyGenerator}.
+	 */
+	private final boolean ownsExecutor;
+	/**
+	 * This will store the maximum number of calls that can run at once.
+	 */
+	private final int maxConcurrency;
+	/**
+	 * This will store the number of calls that are running.
+	 */
+	private final AtomicInteger running = new AtomicInteger();
+	/**
+	 * This will store the calls waiting for a running call to complete.
+	 */
+	private final Queue<PendingCall<?>> waiting = new ConcurrentLinkedQueue<PendingCall<?>>();
+	
+	/* CONSTRUCTORS */
+	/**
+	 * This will create a new instance of an {@link AsyncProductKeyGenerator} that runs the calls on
+	 * virtual threads, when the Java runtime supports them, or on a cached pool of daemon threads.
+	 * 
+	 * @param productKeyGenerator
+	 * The {@link ProductKeyGenerator} that generates and verifies the product-keys.
+	 * @param maxConcurrency
+	 * The maximum number of calls that can run at once.
+	 */
+	public AsyncProductKeyGenerator(final ProductKeyGenerator<?> productKeyGenerator, final int maxConcurrency)
+	{
+		this(productKeyGenerator, AsyncProductKeyGenerator.buildDefaultExecutor(), true, maxConcurrency);
+	}
+	
+	/**
+	 * This will create a new instance of an {@link AsyncProductKeyGenerator}.
+	 * 
+	 * @param productKeyGenerator
+	 * The {@link ProductKeyGenerator} that generates and verifies the product-keys.
+	 * @param executor
+	 * The {@link ExecutorService} the calls run on.
+	 * <br />
+	 * <i>This is not shut down by {@link #close()}.</i>
+	 * @param maxConcurrency
+	 * The maximum number of calls that can run at once.
+	 */
+	public AsyncProductKeyGenerator(final ProductKeyGenerator<?> productKeyGenerator, final ExecutorService executor, final int maxConcurrency)
+	{
+		this(productKeyGenerator, executor, false, maxConcurrency);
+	}
+	
+	/**
+	 * This will create a new instance of an {@link AsyncProductKeyGenerator}.
+	 * 
+	 * @param productKeyGenerator
+	 * The {@link ProductKeyGenerator} that generates and verifies the product-keys.
+	 * @param executor
+	 * The {@link ExecutorService} the calls run on.
+	 * @param ownsExecutor
+	 * The boolean flag to denote if the {@link ExecutorService} should be shut down by
+	 * {@link #close()}.
+	 * @param maxConcurrency
+	 * The maximum number of calls that can run at once.
+	 */
+	private AsyncProductKeyGenerator(final ProductKeyGenerator<?> productKeyGenerator, final ExecutorService executor, final boolean ownsExecutor, final int maxConcurrency)
+	{
+		if (maxConcurrency < 1)
+		{
+			throw new IllegalArgumentException("Maximum concurrency must be at least 1: " + maxConcurrency);
+		}
+		
+		this.productKeyGenerator = productKeyGenerator;
+		this.executor = executor;
+		this.ownsExecutor = ownsExecutor;
+		this.maxConcurrency = maxConcurrency;
+	}
+	
+	/* PUBLIC METHODS */
+	/**
+	 * This method will generate a new product-key for the specified seed.
+	 * 
+	 * @param seed
+	 * The seed to use to ensure that the product-key is unique.
+	 * @return
+	 * The {@link CompletableFuture} that completes with the generated product-key, or with the
+	 * {@link ProductKeyGenerationException} if the generation of the product-key failed.
+	 * @see ProductKeyGenerator#generateProductKey(long)
+	 */
+	public CompletableFuture<String> generateProductKeyAsync(final long seed)
+	{
+		return this.submit(() -> this.productKeyGenerator.generateProductKey(seed));
+	}
+	
+	/**
+	 * This method will generate a new product-key for the next seed handed out by the
+	 * {@link ProductKeyGenerator}.
+	 * 
+	 * @return
+	 * The {@link CompletableFuture} that completes with the generated product-key, or with the
+	 * {@link ProductKeyGenerationException} if the generation of the product-key failed.
+	 * @see ProductKeyGenerator#generateProductKey()
+	 */
+	public CompletableFuture<String> generateProductKeyAsync()
+	{
+		return this.submit(() -> this.productKeyGenerator.generateProductKey());
+	}
+	
+	/**
+	 * This method will verify the product-key specified.
+	 * 
+	 * @param productKey
+	 * The product-key to be verified.
+	 * @return
+	 * The {@link CompletableFuture} that completes with the {@link ProductKeyState} that best
+	 * describes the specified product-key.
+	 * @see ProductKeyGenerator#verifyProductKey(String)
+	 */
+	public CompletableFuture<ProductKeyState> verifyProductKeyAsync(final String productKey)
+	{
+		return this.submit(() -> this.productKeyGenerator.verifyProductKey(productKey));
+	}
+	
+	/**
+	 * This method will get the number of calls that are running.
+	 * 
+	 * @return
+	 * The number of calls that are running.
+	 */
+	public int getRunningCount()
+	{
+		return this.running.get();
+	}
+	
+	/**
+	 * This method will get the maximum number of calls that can run at once.
+	 * 
+	 * @return
+	 * The maximum number of calls that can run at once.
+	 */
+	public int getMaxConcurrency()
+	{
+		return this.maxConcurrency;
+	}
+	
+	/**
+	 * This method will shut down the {@link ExecutorService} if it was built by this
+	 * {@link AsyncProductKeyGenerator}; calls that have already been made still complete.
+	 */
+	@Override
+	public void close()
+	{
+		if (this.ownsExecutor)
+		{
+			this.executor.shutdown();
+		}
+	}
+	
+	/* PRIVATE METHODS */
+	/**
+	 * This method will run the specified call once fewer than the maximum number of calls are
+	 * running.
+	 * 
+	 * @param call
+	 * The call.
+	 * @return
+	 * The {@link CompletableFuture} that completes with the result of the call.
+	 */
+	private <T> CompletableFuture<T> submit(final Call<T> call)
+	{
+		final CompletableFuture<T> future = new CompletableFuture<T>();
+		
+		if (this.executor.isShutdown())
+		{
+			future.completeExceptionally(new RejectedExecutionException("The executor has been shut down."));
+			
+			return future;
+		}
+		
+		this.waiting.add(new PendingCall<T>(call, future));
+		this.dispatch();
+		
+		return future;
+	}
+	
+	/**
+	 * This method will make the specified call, give back its permit and then complete its
+	 * {@link CompletableFuture}, so that the next waiting call is started before anything chained
+	 * on the result runs.
+	 * 
+	 * @param pendingCall
+	 * The {@link PendingCall}.
+	 */
+	private <T> void run(final PendingCall<T> pendingCall)
+	{
+		T result = null;
+		Throwable failure = null;
+		
+		try
+		{
+			result = pendingCall.call.call();
+		}
+		catch (final Throwable t)
+		{
+			failure = t;
+		}
+		
+		this.running.decrementAndGet();
+		this.dispatch();
+		
+		if (failure != null)
+		{
+			pendingCall.future.completeExceptionally(failure);
+		}
+		else
+		{
+			pendingCall.future.complete(result);
+		}
+	}
+	
+	/**
+	 * This method will start waiting calls for as long as fewer than the maximum number of calls
+	 * are running.
+	 */
+	private void dispatch()
+	{
+		while ( !this.waiting.isEmpty())
+		{
+			final int currentlyRunning = this.running.get();
+			
+			if (currentlyRunning >= this.maxConcurrency)
+			{
+				// The call that holds the permit will dispatch again when it completes.
+				return;
+			}
+			
+			if ( !this.running.compareAndSet(currentlyRunning, currentlyRunning + 1))
+			{
+				continue;
+			}
+			
+			final PendingCall<?> pendingCall = this.waiting.poll();
+			
+			if (pendingCall == null)
+			{
+				// Another thread took the last waiting call; give the permit back and check again
+				// in case a call was added in between.
+				this.running.decrementAndGet();
+				
+				continue;
+			}
+			
+			try
+			{
+				this.executor.execute(() -> this.run(pendingCall));
+			}
+			catch (final RejectedExecutionException ree)
+			{
+				// The call is failed rather than made here, which would block the caller with the
+				// call and every call still waiting.
+				this.running.decrementAndGet();
+				
+				pendingCall.future.completeExceptionally(ree);
+			}
+		}
+	}
+	
+	/**
+	 * This method will build the {@link ExecutorService} used when none is specified: a virtual
+	 * thread per call when the Java runtime supports them, otherwise a cached pool of daemon
+	 * threads.
+	 * 
+	 * @return
+	 * The {@link ExecutorService}.
+	 */
+	private static ExecutorService buildDefaultExecutor()
+	{
+		try
+		{
+			// Looked up by name so that this still runs on Java runtimes without virtual threads.
+			final Method factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+			
+			return (ExecutorService) factory.invoke(null);
+		}
+		catch (final ReflectiveOperationException | RuntimeException e)
+		{
+			return Executors.newCachedThreadPool((runnable) -> {
+				final Thread thread = new Thread(runnable, "product-key-async");
+				
+				thread.setDaemon(true);
+				
+				return thread;
+			});
+		}
+	}
+	
+	/* PRIVATE CLASSES */
+	/**
+	 * This class holds a call waiting to run and the {@link CompletableFuture} to complete with
+	 * its result.
+	 */
+	private static final class PendingCall<T>
+	{
+		
+		
+		/* PRIVATE VARIABLES */
+		/**
+		 * This will store the call.
+		 */
+		private final Call<T> call;
+		/**
+		 * This will store the {@link CompletableFuture} to complete with the result of the call.
+		 */
+		private final CompletableFuture<T> future;
+		
+		/* CONSTRUCTORS */
+		/**
+		 * This will create a new instance of a {@link PendingCall}.
+		 * 
+		 * @param call
+		 * The call.
+		 * @param future
+		 * The {@link CompletableFuture} to complete with the result of the call.
+		 */
+		private PendingCall(final Call<T> call, final CompletableFuture<T> future)
+		{
+			this.call = call;
+			this.future = future;
+		}
+		
+	}
+	
+	/* PRIVATE INTERFACES */
+	/**
+	 * This interface is a call to the {@link ProductKeyGenerator} that may throw a
+	 * {@link ProductKeyGenerationException}.
+	 */
+	@FunctionalInterface
+	private interface Call<T>
+	{
+		
+		
+		/**
+		 * This method will make the call.
+		 * 
+		 * @return
+		 * The result of the call.
+		 * @throws ProductKeyGenerationException
+		 * If the generation of a product-key failed.
+		 */
+		T call() throws ProductKeyGenerationException;
+		
+	}
+	
+}
@@ -0,0 +1,102 @@
+package com.weilerhaus.productKeys.beans;
+
+/**
+ * This class holds the record of a product-key that has been issued.
+ * 
+ * @author Matthew Weiler
+ */
+public class IssuedProductKey
+{
+	
+	
+	/* PRIVATE VARIABLES */
+	/**
+	 * This will store the seed of the product-key.
+	 */
+	private final long seed;
+	/**
+	 * This will store the packed product-key.
+	 */
+	private final ProductKey productKey;
+	/**
+	 * This will store the time the product-key was issued, in milliseconds since the epoch.
+	 */
+	private final long issuedAt;
+	/**
+	 * This will store the boolean flag to denote if the product-key has been revoked.
+	 */
+	private final boolean revoked;
+	
+	/* CONSTRUCTORS */
+	/**
+	 * This will create a new instance of an {@link IssuedProductKey}.
+	 * 
+	 * @param seed
+	 * The seed of the product-key.
+	 * @param productKey
+	 * The packed product-key.
+	 * @param issuedAt
+	 * The time the product-key was issued, in milliseconds since the epoch.
+	 * @param revoked
+	 * The boolean flag to denote if the product-key has been revoked.
+	 */
+	public IssuedProductKey(final long seed, final ProductKey productKey, final long issuedAt, final boolean revoked)
+	{
+		this.seed = seed;
+		this.productKey = productKey;
+		this.issuedAt = issuedAt;
+		this.revoked = revoked;
+	}
+	
+	/* PUBLIC METHODS */
+	/**
+	 * This method will get the seed of the product-key.
+	 * 
+	 * @return
+	 * The seed of the product-key.
+	 */
+	public long getSeed()
+	{
+		return this.seed;
+	}
+	
+	/**
+	 * This method will get the packed product-key.
+	 * 
+	 * @return
+	 * The packed product-key.
+	 */
+	public ProductKey getProductKey()
+	{
+		return this.productKey;
+	}
+	
+	/**
+	 * This method will get the time the product-key was issued.
+	 * 
+	 * @return
+	 * The time the product-key was issued, in milliseconds since the epoch.
+	 */
+	public long getIssuedAt()
+	{
+		return this.issuedAt;
+	}
+	
+	/**
+	 * This method will get the boolean flag to denote if the product-key has been revoked.
+	 * 
+	 * @return
+	 * The boolean flag to denote if the product-key has been revoked.
+	 */
+	public boolean isRevoked()
+	{
+		return this.revoked;
+	}
+	
+	@Override
+	public String toString()
+	{
+		return "IssuedProductKey[seed=" + this.seed + ", productKey=" + this.productKey + ", issuedAt=" + this.issuedAt + ", revoked=" + this.revoked + "]";
+	}
+	
+}
@@ -0,0 +1,390 @@
+package com.weilerhaus.productKeys.beans;
+
+import com.weilerhaus.productKeys.utils.ProductKeyUtils;
+import com.weilerhaus.productKeys.workers.ProductKeyStylingWorker;
+
+/**
+ * This class is a product-key packed into two <code>long</code> values.
+ * <br />
+ * <br />
+ * The first 16 HEXADECIMAL characters of the product-key, without styling, are held in the high
+ * value and any remaining characters in the low value, so a product-key of up to 32 characters
+ * takes 20 bytes of state instead of a {@link String}; comparing and hashing are integer
+ * operations.
+ * <br />
+ * <i>Use {@link #parse(CharSequence, ProductKeyStylingWorker)} and
+ * {@link #format(ProductKeyStylingWorker)} to convert to and from the styled text form.</i>
+ * 
+ * @author Matthew Weiler
+ */
+public final class ProductKey implements Comparable<ProductKey>
+{
+	
+	
+	/* PUBLIC CONSTANTS */
+	/**
+	 * This is the maximum number of HEXADECIMAL characters in a product-key that can be packed.
+	 */
+	public static final int MAX_LENGTH = 32;
+	
+	/* PRIVATE VARIABLES */
+	/**
+	 * This will store the first 16 characters of the product-key.
+	 */
+	private final long high;
+	/**
+	 * This will store the characters of the product-key after the first 16.
+	 */
+	private final long low;
+	/**
+	 * This will store the number of characters in the product-key.
+	 */
+	private final int length;
+	
+	/* CONSTRUCTORS */
+	/**
+	 * This will create a new instance of a {@link ProductKey}.
+	 * 
+	 * @param high
+	 * The first 16 characters of the product-key, or all of them if there are fewer.
+	 * @param low
+	 * The characters of the product-key after the first 16.
+	 * @param length
+	 * The number of characters in the product-key; this must be between 1 and
+	 * {@link #MAX_LENGTH} inclusive.
+	 */
+	public ProductKey(final long high, final long low, final int length)
+	{
+		if ((length < 1) || (length > ProductKey.MAX_LENGTH))
+		{
+			throw new IllegalArgumentException("Length must be between 1 and " + ProductKey.MAX_LENGTH + ": " + length);
+		}
+		
+		if (((length < 16) && ((high >>> (length * 4)) != 0L)) || ((length <= 16) && (low != 0L)) || ((length < 32) && (length > 16) && ((low >>> ((length - 16) * 4)) != 0L)))
+		{
+			throw new IllegalArgumentException("Value does not fit in " + length + " characters");
+		}
+		
+		this.high = high;
+		this.low = low;
+		this.length = length;
+	}
+	
+	/* PUBLIC METHODS */
+	/**
+	 * This method will pack the specified product-key.
+	 * <br />
+	 * <br />
+	 * Leading and trailing whitespace, and any character that the {@link ProductKeyStylingWorker}
+	 * considers styling, is ignored; letters may be in either case.
+	 * 
+	 * @param productKey
+	 * The product-key, with or without styling.
+	 * @param stylingWorker
+	 * The {@link ProductKeyStylingWorker} that styled the product-key, or <code>null</code> if it
+	 * has no styling.
+	 * @return
+	 * The packed {@link ProductKey}.
+	 * @throws IllegalArgumentException
+	 * If the product-key is empty, is longer than {@link #MAX_LENGTH} characters or contains a
+	 * character that is neither HEXADECIMAL nor styling.
+	 */
+	public static ProductKey parse(final CharSequence productKey, final ProductKeyStylingWorker stylingWorker)
+	{
+		if (productKey == null)
+		{
+			throw new IllegalArgumentException("Product-key must be specified");
+		}
+		
+		return ProductKey.parse(productKey, null, 0, productKey.length(), stylingWorker);
+	}
+	
+	/**
+	 * This method will pack the product-key contained in the specified range of characters.
+	 * <br />
+	 * <br />
+	 * Leading and trailing whitespace, and any character that the {@link ProductKeyStylingWorker}
+	 * considers styling, is ignored; letters may be in either case.
+	 * 
+	 * @param productKey
+	 * The characters containing the product-key, with or without styling.
+	 * @param offset
+	 * The index of the first character of the product-key.
+	 * @param length
+	 * The number of characters in the product-key.
+	 * @param stylingWorker
+	 * The {@link ProductKeyStylingWorker} that styled the product-key, or <code>null</code> if it
+	 * has no styling.
+	 * @return
+	 * The packed {@link ProductKey}.
+	 * @throws IllegalArgumentException
+	 * If the product-key is empty, is longer than {@link #MAX_LENGTH} characters or contains a
+	 * character that is neither HEXADECIMAL nor styling.
+	 */
+	public static ProductKey parse(final char[] productKey, final int offset, final int length, final ProductKeyStylingWorker stylingWorker)
+	{
+		return ProductKey.parse(null, productKey, offset, length, stylingWorker);
+	}
+	
+	/**
+	 * This method will get the first 16 characters of the product-key.
+	 * 
+	 * @return
+	 * The first 16 characters of the product-key, or all of them if there are fewer.
+	 */
+	public long getHigh()
+	{
+		return this.high;
+	}
+	
+	/**
+	 * This method will get the characters of the product-key after the first 16.
+	 * 
+	 * @return
+	 * The characters of the product-key after the first 16.
+	 */
+	public long getLow()
+	{
+		return this.low;
+	}
+	
+	/**
+	 * This method will get the number of characters in the product-key, without styling.
+	 * 
+	 * @return
+	 * The number of characters in the product-key.
+	 */
+	public int getLength()
+	{
+		return this.length;
+	}
+	
+	/**
+	 * This method will get the value of the HEXADECIMAL character at the specified index.
+	 * 
+	 * @param index
+	 * The index of the character within the product-key.
+	 * @return
+	 * The value, between <code>0</code> and <code>15</code>, of the character.
+	 */
+	public int getNibble(final int index)
+	{
+		if ((index < 0) || (index >= this.length))
+		{
+			throw new IndexOutOfBoundsException("Index " + index + " is outside of a product-key of length " + this.length);
+		}
+		
+		if (index < 16)
+		{
+			return (int) (this.high >>> ((Math.min(this.length, 16) - 1 - index) * 4)) & 0x0F;
+		}
+		
+		return (int) (this.low >>> ((this.length - 1 - index) * 4)) & 0x0F;
+	}
+	
+	/**
+	 * This method will get the seed held in the first characters of the product-key.
+	 * 
+	 * @param seedCharLength
+	 * The number of HEXADECIMAL characters representing the seed; this must be between 1 and 15
+	 * inclusive and not more than the length of the product-key.
+	 * @return
+	 * The seed.
+	 */
+	public long getSeed(final int seedCharLength)
+	{
+		final int highLength = Math.min(this.length, 16);
+		
+		if ((seedCharLength < 1) || (seedCharLength > 15) || (seedCharLength > highLength))
+		{
+			throw new IllegalArgumentException("Seed length must be between 1 and " + Math.min(highLength, 15) + ": " + seedCharLength);
+		}
+		
+		return (this.high >>> ((highLength - seedCharLength) * 4)) & ((1L << (seedCharLength * 4)) - 1L);
+	}
+	
+	/**
+	 * This method will write the product-key, without styling, as upper-case HEXADECIMAL
+	 * characters into the specified destination.
+	 * 
+	 * @param dest
+	 * The characters to write the product-key into; there must be at least
+	 * {@link #getLength()} characters available after the offset.
+	 * @param destOffset
+	 * The index of the first character of the product-key within the destination.
+	 * @return
+	 * The number of characters written.
+	 */
+	public int writeTo(final char[] dest, final int destOffset)
+	{
+		final int highLength = Math.min(this.length, 16);
+		
+		ProductKeyUtils.writeHex(this.high, dest, destOffset, highLength);
+		
+		if (this.length > 16)
+		{
+			ProductKeyUtils.writeHex(this.low, dest, destOffset + 16, this.length - 16);
+		}
+		
+		return this.length;
+	}
+	
+	/**
+	 * This method will format the product-key with the styling of the specified
+	 * {@link ProductKeyStylingWorker}.
+	 * 
+	 * @param stylingWorker
+	 * The {@link ProductKeyStylingWorker} to add styling, or <code>null</code> to format the
+	 * product-key without styling.
+	 * @return
+	 * The product-key in its text form.
+	 */
+	public String format(final ProductKeyStylingWorker stylingWorker)
+	{
+		final char[] productKey = new char[this.length];
+		
+		this.writeTo(productKey, 0);
+		
+		if (stylingWorker == null)
+		{
+			return new String(productKey);
+		}
+		
+		final char[] styledProductKey = new char[stylingWorker.getStyledLength(this.length)];
+		
+		return new String(styledProductKey, 0, stylingWorker.addStyling(productKey, 0, this.length, styledProductKey, 0));
+	}
+	
+	@Override
+	public int compareTo(final ProductKey other)
+	{
+		// Product-keys of the same length are ordered the same as their text forms.
+		if (this.length != other.length)
+		{
+			return (this.length < other.length) ? -1 : 1;
+		}
+		
+		final int highComparison = Long.compareUnsigned(this.high, other.high);
+		
+		return (highComparison != 0) ? highComparison : Long.compareUnsigned(this.low, other.low);
+	}
+	
+	@Override
+	public boolean equals(final Object obj)
+	{
+		if (this == obj)
+		{
+			return true;
+		}
+		
+		if ( !(obj instanceof ProductKey))
+		{
+			return false;
+		}
+		
+		final ProductKey other = (ProductKey) obj;
+		
+		return (this.high == other.high) && (this.low == other.low) && (this.length == other.length);
+	}
+	
+	@Override
+	public int hashCode()
+	{
+		long hash = (this.high * 0x9E3779B97F4A7C15L) ^ this.low ^ this.length;
+		
+		hash = (hash ^ (hash >>> 32)) * 0xBF58476D1CE4E5B9L;
+		
+		return (int) (hash ^ (hash >>> 29));
+	}
+	
+	@Override
+	public String toString()
+	{
+		return this.format(null);
+	}
+	
+	/* PRIVATE METHODS */
+	/**
+	 * This method will pack the product-key contained in the specified range of characters, which
+	 * come from either a {@link CharSequence} or a <code>char[]</code>.
+	 * 
+	 * @param productKeySequence
+	 * The {@link CharSequence} containing the product-key.
+	 * <br />
+	 * <i>This must be <code>null</code> if the product-key is in a <code>char[]</code>.</i>
+	 * @param productKeyChars
+	 * The <code>char[]</code> containing the product-key.
+	 * <br />
+	 * <i>This must be <code>null</code> if the product-key is in a {@link CharSequence}.</i>
+	 * @param offset
+	 * The index of the first character of the product-key.
+	 * @param length
+	 * The number of characters in the product-key.
+	 * @param stylingWorker
+	 * The {@link ProductKeyStylingWorker} that styled the product-key, or <code>null</code>.
+	 * @return
+	 * The packed {@link ProductKey}.
+	 */
+	private static ProductKey parse(final CharSequence productKeySequence, final char[] productKeyChars, final int offset, final int length, final ProductKeyStylingWorker stylingWorker)
+	{
+		int start = offset;
+		int end = offset + length;
+		
+		while ((start < end) && (((productKeyChars != null) ? productKeyChars[start] : productKeySequence.charAt(start)) <= ' '))
+		{
+			start++ ;
+		}
+		
+		while ((end > start) && (((productKeyChars != null) ? productKeyChars[end - 1] : productKeySequence.charAt(end - 1)) <= ' '))
+		{
+			end-- ;
+		}
+		
+		long high = 0L;
+		long low = 0L;
+		int packedLength = 0;
+		char tmpChar;
+		int tmpNibble;
+		
+		for (int n = start; n < end; n++ )
+		{
+			tmpChar = (productKeyChars != null) ? productKeyChars[n] : productKeySequence.charAt(n);
+			
+			if ((stylingWorker != null) && stylingWorker.isStylingCharacter(tmpChar))
+			{
+				continue;
+			}
+			
+			tmpNibble = ProductKeyUtils.parseHexChar(tmpChar);
+			
+			if (tmpNibble < 0)
+			{
+				throw new IllegalArgumentException("Product-key contains a character that is not HEXADECIMAL: " + tmpChar);
+			}
+			
+			if (packedLength >= ProductKey.MAX_LENGTH)
+			{
+				throw new IllegalArgumentException("Product-key is longer than " + ProductKey.MAX_LENGTH + " characters");
+			}
+			
+			if (packedLength < 16)
+			{
+				high = (high << 4) | tmpNibble;
+			}
+			else
+			{
+				low = (low << 4) | tmpNibble;
+			}
+			
+			packedLength++ ;
+		}
+		
+		if (packedLength == 0)
+		{
+			throw new IllegalArgumentException("Product-key is empty");
+		}
+		
+		return new ProductKey(high, low, packedLength);
+	}
+	
+}
@@ -0,0 +1,444 @@
+package com.weilerhaus.productKeys.beans;
+
+/**
+ * This class holds the outcome of an estimate of how many well-formed, but random, product-keys a
+ * configuration of a product-key generator accepts.
+ * <br />
+ * <br />
+ * The bounds are Wilson score intervals at {@link #CONFIDENCE} confidence; when every candidate
+ * was enumerated the rates are exact and the bounds equal them.
+ * <br />
+ * The bounds of {@link #getEstimatedAcceptanceRate()} are the products of the bounds of its
+ * factors, each of which is widened with a Bonferroni correction so that all of them hold together
+ * at {@link #CONFIDENCE} confidence; the product is then within its bounds at at least
+ * {@link #CONFIDENCE} confidence.
+ * 
+ * @author Matthew Weiler
+ */
+public class ProductKeyAcceptanceReport
+{
+	
+	
+	/* PUBLIC CONSTANTS */
+	/**
+	 * This is the confidence of the bounds.
+	 */
+	public static final double CONFIDENCE = 0.95D;
+	
+	/* PRIVATE CONSTANTS */
+	/**
+	 * This is the number of standard deviations that covers {@link #CONFIDENCE} of a normal
+	 * distribution, on both sides.
+	 */
+	private static final double Z = 1.959963984540054D;
+	/**
+	 * These are the coefficients of the numerator of the rational approximation of the inverse of
+	 * the normal distribution, away from its tails.
+	 */
+	private static final double[] INVERSE_NORMAL_A = { -3.969683028665376e+01D, 2.209460984245205e+02D, -2.759285104469687e+02D, 1.383577518672690e+02D, -3.066479806614716e+01D, 2.506628277459239e+00D };
+	/**
+	 * These are the coefficients of the denominator of the rational approximation of the inverse
+	 * of the normal distribution, away from its tails.
+	 */
+	private static final double[] INVERSE_NORMAL_B = { -5.447609879822406e+01D, 1.615858368580409e+02D, -1.556989798598866e+02D, 6.680131188771972e+01D, -1.328068155288572e+01D };
+	/**
+	 * These are the coefficients of the numerator of the rational approximation of the inverse of
+	 * the normal distribution, in its tails.
+	 */
+	private static final double[] INVERSE_NORMAL_C = { -7.784894002430293e-03D, -3.223964580411365e-01D, -2.400758277161838e+00D, -2.549732539343734e+00D, 4.374664141464968e+00D, 2.938163982698783e+00D };
+	/**
+	 * These are the coefficients of the denominator of the rational approximation of the inverse
+	 * of the normal distribution, in its tails.
+	 */
+	private static final double[] INVERSE_NORMAL_D = { 7.784695709041462e-03D, 3.224671290700398e-01D, 2.445134137142996e+00D, 3.754408661907416e+00D };
+	
+	/* PRIVATE VARIABLES */
+	/**
+	 * This will store the number of candidate product-keys tried.
+	 */
+	private final long trialCount;
+	/**
+	 * This will store the boolean flag to denote if every candidate product-key was tried.
+	 */
+	private final boolean exhaustive;
+	/**
+	 * This will store the number of candidate product-keys whose checksum was correct.
+	 */
+	private final long checksumAcceptedCount;
+	/**
+	 * This will store the number of candidate product-keys whose present sections were all
+	 * correct.
+	 */
+	private final long sectionsAcceptedCount;
+	/**
+	 * This will store the number of candidate product-keys that were accepted.
+	 */
+	private final long acceptedCount;
+	/**
+	 * This will store the index of each present section, in ascending order.
+	 */
+	private final int[] sectionIndexes;
+	/**
+	 * This will store the number of candidate product-keys for which each present section was
+	 * correct.
+	 */
+	private final long[] sectionAcceptedCounts;
+	/**
+	 * This will store the rate that an ideal checksum and ideal sections would accept.
+	 */
+	private final double expectedAcceptanceRate;
+	/**
+	 * This will store the number of standard deviations that covers each factor of
+	 * {@link #getEstimatedAcceptanceRate()}, after the Bonferroni correction.
+	 */
+	private final double estimatedZ;
+	
+	/* CONSTRUCTORS */
+	/**
+	 * This will create a new instance of a {@link ProductKeyAcceptanceReport}.
+	 * 
+	 * @param trialCount
+	 * The number of candidate product-keys tried.
+	 * @param exhaustive
+	 * The boolean flag to denote if every candidate product-key was tried.
+	 * @param checksumAcceptedCount
+	 * The number of candidate product-keys whose checksum was correct.
+	 * @param sectionsAcceptedCount
+	 * The number of candidate product-keys whose present sections were all correct.
+	 * @param acceptedCount
+	 * The number of candidate product-keys that were accepted.
+	 * @param sectionIndexes
+	 * The index of each present section, in ascending order.
+	 * @param sectionAcceptedCounts
+	 * The number of candidate product-keys for which each present section was correct.
+	 * @param expectedAcceptanceRate
+	 * The rate that an ideal checksum and ideal sections would accept.
+	 */
+	public ProductKeyAcceptanceReport(final long trialCount, final boolean exhaustive, final long checksumAcceptedCount, final long sectionsAcceptedCount, final long acceptedCount, final int[] sectionIndexes, final long[] sectionAcceptedCounts, final double expectedAcceptanceRate)
+	{
+		this.trialCount = trialCount;
+		this.exhaustive = exhaustive;
+		this.checksumAcceptedCount = checksumAcceptedCount;
+		this.sectionsAcceptedCount = sectionsAcceptedCount;
+		this.acceptedCount = acceptedCount;
+		this.sectionIndexes = sectionIndexes;
+		this.sectionAcceptedCounts = sectionAcceptedCounts;
+		this.expectedAcceptanceRate = expectedAcceptanceRate;
+		
+		// The checksum and each present section share the allowed error equally, on both sides.
+		this.estimatedZ = ProductKeyAcceptanceReport.getInverseNormal(1.0D - ((1.0D - ProductKeyAcceptanceReport.CONFIDENCE) / (2.0D * (sectionAcceptedCounts.length + 1))));
+	}
+	
+	/* PUBLIC METHODS */
+	/**
+	 * This method will get the number of candidate product-keys tried.
+	 * 
+	 * @return
+	 * The number of candidate product-keys tried.
+	 */
+	public long getTrialCount()
+	{
+		return this.trialCount;
+	}
+	
+	/**
+	 * This method will check if every candidate product-key was tried, rather than a sample.
+	 * 
+	 * @return
+	 * The boolean flag to denote if every candidate product-key was tried.
+	 */
+	public boolean isExhaustive()
+	{
+		return this.exhaustive;
+	}
+	
+	/**
+	 * This method will get the number of candidate product-keys that were accepted.
+	 * 
+	 * @return
+	 * The number of candidate product-keys whose checksum and present sections were all correct.
+	 */
+	public long getAcceptedCount()
+	{
+		return this.acceptedCount;
+	}
+	
+	/**
+	 * This method will get the fraction of candidate product-keys that were accepted.
+	 * 
+	 * @return
+	 * The fraction of candidate product-keys that were accepted.
+	 */
+	public double getAcceptanceRate()
+	{
+		return this.getRate(this.acceptedCount);
+	}
+	
+	/**
+	 * This method will get the lower bound of the fraction of candidate product-keys that are
+	 * accepted.
+	 * 
+	 * @return
+	 * The lower bound of the fraction of candidate product-keys that are accepted.
+	 */
+	public double getAcceptanceLowerBound()
+	{
+		return this.getBound(this.acceptedCount, ProductKeyAcceptanceReport.Z, false);
+	}
+	
+	/**
+	 * This method will get the upper bound of the fraction of candidate product-keys that are
+	 * accepted.
+	 * <br />
+	 * <br />
+	 * <i>This stays meaningful when no candidate was accepted, which is the usual outcome of a
+	 * sample of a complete configuration.</i>
+	 * 
+	 * @return
+	 * The upper bound of the fraction of candidate product-keys that are accepted.
+	 */
+	public double getAcceptanceUpperBound()
+	{
+		return this.getBound(this.acceptedCount, ProductKeyAcceptanceReport.Z, true);
+	}
+	
+	/**
+	 * This method will get the fraction of candidate product-keys whose checksum was correct.
+	 * 
+	 * @return
+	 * The fraction of candidate product-keys whose checksum was correct.
+	 */
+	public double getChecksumAcceptanceRate()
+	{
+		return this.getRate(this.checksumAcceptedCount);
+	}
+	
+	/**
+	 * This method will get the fraction of candidate product-keys whose present sections were all
+	 * correct.
+	 * 
+	 * @return
+	 * The fraction of candidate product-keys whose present sections were all correct.
+	 */
+	public double getSectionsAcceptanceRate()
+	{
+		return this.getRate(this.sectionsAcceptedCount);
+	}
+	
+	/**
+	 * This method will get the number of present sections.
+	 * 
+	 * @return
+	 * The number of present sections.
+	 */
+	public int getSectionCount()
+	{
+		return this.sectionIndexes.length;
+	}
+	
+	/**
+	 * This method will get the index of the specified present section.
+	 * 
+	 * @param n
+	 * The position of the present section, between zero (inclusive) and
+	 * {@link #getSectionCount()} (exclusive).
+	 * @return
+	 * The index of the specified present section among all sections.
+	 */
+	public int getSectionIndex(final int n)
+	{
+		return this.sectionIndexes[n];
+	}
+	
+	/**
+	 * This method will get the fraction of candidate product-keys for which the specified present
+	 * section was correct.
+	 * 
+	 * @param n
+	 * The position of the present section, between zero (inclusive) and
+	 * {@link #getSectionCount()} (exclusive).
+	 * @return
+	 * The fraction of candidate product-keys for which the present section was correct.
+	 */
+	public double getSectionAcceptanceRate(final int n)
+	{
+		return this.getRate(this.sectionAcceptedCounts[n]);
+	}
+	
+	/**
+	 * This method will get the fraction of candidate product-keys that are accepted, estimated as
+	 * the product of the rates of the checksum and of each present section.
+	 * <br />
+	 * <br />
+	 * The characters of a candidate are drawn independently, so each check is passed
+	 * independently; this estimate can be measured long before enough candidates have been
+	 * accepted to measure {@link #getAcceptanceRate()} directly.
+	 * 
+	 * @return
+	 * The estimated fraction of candidate product-keys that are accepted.
+	 */
+	public double getEstimatedAcceptanceRate()
+	{
+		double rate = this.getRate(this.checksumAcceptedCount);
+		
+		for (int n = 0; n < this.sectionAcceptedCounts.length; n++ )
+		{
+			rate *= this.getRate(this.sectionAcceptedCounts[n]);
+		}
+		
+		return rate;
+	}
+	
+	/**
+	 * This method will get the lower bound of {@link #getEstimatedAcceptanceRate()}, as the product
+	 * of the lower bounds of its factors.
+	 * <br />
+	 * <br />
+	 * <i>Each factor is bounded at 1 - (1 - {@link #CONFIDENCE}) / k confidence, where k is one
+	 * more than {@link #getSectionCount()}, so the product is covered at at least
+	 * {@link #CONFIDENCE} confidence.</i>
+	 * 
+	 * @return
+	 * The lower bound of the estimated fraction of candidate product-keys that are accepted.
+	 */
+	public double getEstimatedAcceptanceLowerBound()
+	{
+		return this.getEstimatedBound(false);
+	}
+	
+	/**
+	 * This method will get the upper bound of {@link #getEstimatedAcceptanceRate()}, as the product
+	 * of the upper bounds of its factors.
+	 * <br />
+	 * <br />
+	 * <i>Each factor is bounded at 1 - (1 - {@link #CONFIDENCE}) / k confidence, where k is one
+	 * more than {@link #getSectionCount()}, so the product is covered at at least
+	 * {@link #CONFIDENCE} confidence.</i>
+	 * 
+	 * @return
+	 * The upper bound of the estimated fraction of candidate product-keys that are accepted.
+	 */
+	public double getEstimatedAcceptanceUpperBound()
+	{
+		return this.getEstimatedBound(true);
+	}
+	
+	/**
+	 * This method will get the fraction of candidate product-keys that an ideal checksum and ideal
+	 * sections would accept: one in 16 for each checksum character and one in 256 for each present
+	 * section.
+	 * 
+	 * @return
+	 * The fraction of candidate product-keys that an ideal configuration would accept.
+	 */
+	public double getExpectedAcceptanceRate()
+	{
+		return this.expectedAcceptanceRate;
+	}
+	
+	@Override
+	public String toString()
+	{
+		return "ProductKeyAcceptanceReport[trials=" + this.trialCount + ", exhaustive=" + this.exhaustive + ", accepted=" + this.acceptedCount + ", rate=" + this.getAcceptanceRate() + " [" + this.getAcceptanceLowerBound() + ", " + this.getAcceptanceUpperBound() + "], estimatedRate=" + this.getEstimatedAcceptanceRate() + " [" + this.getEstimatedAcceptanceLowerBound() + ", " + this.getEstimatedAcceptanceUpperBound() + "], expectedRate=" + this.expectedAcceptanceRate + "]";
+	}
+	
+	/* PRIVATE METHODS */
+	/**
+	 * This method will get the fraction of the candidate product-keys tried that the specified
+	 * count represents.
+	 * 
+	 * @param count
+	 * The count.
+	 * @return
+	 * The fraction, or <code>0</code> if no candidate product-keys were tried.
+	 */
+	private double getRate(final long count)
+	{
+		return (this.trialCount > 0L) ? ((double) count / (double) this.trialCount) : 0.0D;
+	}
+	
+	/**
+	 * This method will get a bound of the Wilson score interval of the fraction that the specified
+	 * count represents.
+	 * 
+	 * @param count
+	 * The count.
+	 * @param z
+	 * The number of standard deviations that covers the wanted confidence, on both sides.
+	 * @param upper
+	 * The boolean flag to denote if the upper bound, rather than the lower bound, is wanted.
+	 * @return
+	 * The bound; this is the fraction itself if every candidate product-key was tried.
+	 */
+	private double getBound(final long count, final double z, final boolean upper)
+	{
+		if (this.exhaustive || (this.trialCount == 0L))
+		{
+			return this.getRate(count);
+		}
+		
+		final double trials = this.trialCount;
+		final double rate = count / trials;
+		final double zSquared = z * z;
+		final double centre = rate + (zSquared / (2.0D * trials));
+		final double spread = z * Math.sqrt(((rate * (1.0D - rate)) / trials) + (zSquared / (4.0D * trials * trials)));
+		final double bound = (upper ? (centre + spread) : (centre - spread)) / (1.0D + (zSquared / trials));
+		
+		return Math.min(1.0D, Math.max(0.0D, bound));
+	}
+	
+	/**
+	 * This method will get a bound of {@link #getEstimatedAcceptanceRate()}.
+	 * 
+	 * @param upper
+	 * The boolean flag to denote if the upper bound, rather than the lower bound, is wanted.
+	 * @return
+	 * The product of the same bound of each factor, each with the Bonferroni correction.
+	 */
+	private double getEstimatedBound(final boolean upper)
+	{
+		double bound = this.getBound(this.checksumAcceptedCount, this.estimatedZ, upper);
+		
+		for (int n = 0; n < this.sectionAcceptedCounts.length; n++ )
+		{
+			bound *= this.getBound(this.sectionAcceptedCounts[n], this.estimatedZ, upper);
+		}
+		
+		return bound;
+	}
+	
+	/**
+	 * This method will get the value below which the specified fraction of a standard normal
+	 * distribution lies.
+	 * <br />
+	 * <br />
+	 * <i>This uses Acklam's rational approximation, which has a relative error of less than
+	 * 1.2e-9.</i>
+	 * 
+	 * @param p
+	 * The fraction, between zero and one (both exclusive).
+	 * @return
+	 * The value below which the specified fraction of a standard normal distribution lies.
+	 */
+	private static double getInverseNormal(final double p)
+	{
+		final double[] a = ProductKeyAcceptanceReport.INVERSE_NORMAL_A;
+		final double[] b = ProductKeyAcceptanceReport.INVERSE_NORMAL_B;
+		final double[] c = ProductKeyAcceptanceReport.INVERSE_NORMAL_C;
+		final double[] d = ProductKeyAcceptanceReport.INVERSE_NORMAL_D;
+		
+		if ((p < 0.02425D) || (p > 0.97575D))
+		{
+			final double q = Math.sqrt(-2.0D * Math.log((p < 0.5D) ? p : (1.0D - p)));
+			final double x = (((((((((((c[0] * q) + c[1]) * q) + c[2]) * q) + c[3]) * q) + c[4]) * q) + c[5]) / ((((((((d[0] * q) + d[1]) * q) + d[2]) * q) + d[3]) * q) + 1.0D));
+			
+			return (p < 0.5D) ? x : -x;
+		}
+		
+		final double q = p - 0.5D;
+		final double r = q * q;
+		
+		return ((((((((((((a[0] * r) + a[1]) * r) + a[2]) * r) + a[3]) * r) + a[4]) * r) + a[5]) * q) / ((((((((((b[0] * r) + b[1]) * r) + b[2]) * r) + b[3]) * r) + b[4]) * r) + 1.0D));
+	}
+	
+}
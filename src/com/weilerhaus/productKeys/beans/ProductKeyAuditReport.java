@@ -0,0 +1,282 @@
+package com.weilerhaus.productKeys.beans;
+
+/**
+ * This class holds the outcome of a collision and uniqueness audit of a corpus of product-keys.
+ * 
+ * @author Matthew Weiler
+ */
+public class ProductKeyAuditReport
+{
+	
+	
+	/* PRIVATE VARIABLES */
+	/**
+	 * This will store the number of product-keys read from the corpus.
+	 */
+	private final long keyCount;
+	/**
+	 * This will store the number of lines rejected because their checksum was not correct or they
+	 * did not contain a HEXADECIMAL seed.
+	 */
+	private final long rejectedCount;
+	/**
+	 * This will store the number of distinct seeds.
+	 */
+	private final long uniqueSeedCount;
+	/**
+	 * This will store the number of seeds that were found more than once.
+	 */
+	private final long duplicatedSeedCount;
+	/**
+	 * This will store the number of product-keys that repeated a seed found earlier.
+	 */
+	private final long duplicateKeyCount;
+	/**
+	 * This will store the smallest seed found.
+	 */
+	private final long minSeed;
+	/**
+	 * This will store the largest seed found.
+	 */
+	private final long maxSeed;
+	/**
+	 * This will store the number of bits in a seed.
+	 */
+	private final int seedBits;
+	/**
+	 * This will store the number of sorted runs the corpus was split into.
+	 */
+	private final int runCount;
+	/**
+	 * This will store a sample of the seeds that were found more than once, in ascending order.
+	 */
+	private final long[] duplicateSeeds;
+	/**
+	 * This will store the number of times each sampled duplicate seed was found.
+	 */
+	private final long[] duplicateOccurrences;
+	/**
+	 * This will store the number of distinct seeds in each equal slice of the seed space.
+	 */
+	private final long[] bucketCounts;
+	
+	/* CONSTRUCTORS */
+	/**
+	 * This will create a new instance of a {@link ProductKeyAuditReport}.
+	 * 
+	 * @param keyCount
+	 * The number of product-keys read from the corpus.
+	 * @param rejectedCount
+	 * The number of lines rejected because their checksum was not correct or they did not contain a
+	 * HEXADECIMAL seed.
+	 * @param uniqueSeedCount
+	 * The number of distinct seeds.
+	 * @param duplicatedSeedCount
+	 * The number of seeds that were found more than once.
+	 * @param duplicateKeyCount
+	 * The number of product-keys that repeated a seed found earlier.
+	 * @param minSeed
+	 * The smallest seed found, or <code>-1</code> if there were none.
+	 * @param maxSeed
+	 * The largest seed found, or <code>-1</code> if there were none.
+	 * @param seedBits
+	 * The number of bits in a seed.
+	 * @param runCount
+	 * The number of sorted runs the corpus was split into.
+	 * @param duplicateSeeds
+	 * A sample of the seeds that were found more than once, in ascending order.
+	 * @param duplicateOccurrences
+	 * The number of times each sampled duplicate seed was found.
+	 * @param bucketCounts
+	 * The number of distinct seeds in each equal slice of the seed space.
+	 */
+	public ProductKeyAuditReport(final long keyCount, final long rejectedCount, final long uniqueSeedCount, final long duplicatedSeedCount, final long duplicateKeyCount, final long minSeed, final long maxSeed, final int seedBits, final int runCount, final long[] duplicateSeeds, final long[] duplicateOccurrences, final long[] bucketCounts)
+	{
+		this.keyCount = keyCount;
+		this.rejectedCount = rejectedCount;
+		this.uniqueSeedCount = uniqueSeedCount;
+		this.duplicatedSeedCount = duplicatedSeedCount;
+		this.duplicateKeyCount = duplicateKeyCount;
+		this.minSeed = minSeed;
+		this.maxSeed = maxSeed;
+		this.seedBits = seedBits;
+		this.runCount = runCount;
+		this.duplicateSeeds = duplicateSeeds;
+		this.duplicateOccurrences = duplicateOccurrences;
+		this.bucketCounts = bucketCounts;
+	}
+	
+	/* PUBLIC METHODS */
+	/**
+	 * This method will get the number of product-keys read from the corpus.
+	 * 
+	 * @return
+	 * The number of product-keys read from the corpus, not including rejected lines.
+	 */
+	public long getKeyCount()
+	{
+		return this.keyCount;
+	}
+	
+	/**
+	 * This method will get the number of lines rejected because their checksum was not correct or
+	 * they did not contain a HEXADECIMAL seed.
+	 * 
+	 * @return
+	 * The number of lines rejected.
+	 */
+	public long getRejectedCount()
+	{
+		return this.rejectedCount;
+	}
+	
+	/**
+	 * This method will get the number of distinct seeds.
+	 * 
+	 * @return
+	 * The number of distinct seeds.
+	 */
+	public long getUniqueSeedCount()
+	{
+		return this.uniqueSeedCount;
+	}
+	
+	/**
+	 * This method will get the number of seeds that were found more than once.
+	 * 
+	 * @return
+	 * The number of seeds that were found more than once.
+	 */
+	public long getDuplicatedSeedCount()
+	{
+		return this.duplicatedSeedCount;
+	}
+	
+	/**
+	 * This method will get the number of product-keys that repeated a seed found earlier.
+	 * 
+	 * @return
+	 * The number of product-keys that repeated a seed found earlier.
+	 */
+	public long getDuplicateKeyCount()
+	{
+		return this.duplicateKeyCount;
+	}
+	
+	/**
+	 * This method will check if every product-key in the corpus has its own seed.
+	 * 
+	 * @return
+	 * The boolean flag to denote if no seed was found more than once.
+	 */
+	public boolean isUnique()
+	{
+		return this.duplicatedSeedCount == 0L;
+	}
+	
+	/**
+	 * This method will get the smallest seed found.
+	 * 
+	 * @return
+	 * The smallest seed found.
+	 * <br />
+	 * <i>This will be <code>-1</code> if no product-key was read.</i>
+	 */
+	public long getMinSeed()
+	{
+		return this.minSeed;
+	}
+	
+	/**
+	 * This method will get the largest seed found.
+	 * 
+	 * @return
+	 * The largest seed found.
+	 * <br />
+	 * <i>This will be <code>-1</code> if no product-key was read.</i>
+	 */
+	public long getMaxSeed()
+	{
+		return this.maxSeed;
+	}
+	
+	/**
+	 * This method will get the number of bits in a seed.
+	 * 
+	 * @return
+	 * The number of bits in a seed.
+	 */
+	public int getSeedBits()
+	{
+		return this.seedBits;
+	}
+	
+	/**
+	 * This method will get the fraction of the seed space used by the corpus.
+	 * 
+	 * @return
+	 * The number of distinct seeds divided by the number of possible seeds.
+	 */
+	public double getDensity()
+	{
+		return Math.scalb((double) this.uniqueSeedCount, -this.seedBits);
+	}
+	
+	/**
+	 * This method will get the number of sorted runs the corpus was split into.
+	 * 
+	 * @return
+	 * The number of sorted runs the corpus was split into.
+	 * <br />
+	 * <i>A value above <code>1</code> means that the runs were written to disk and merged.</i>
+	 */
+	public int getRunCount()
+	{
+		return this.runCount;
+	}
+	
+	/**
+	 * This method will get a sample of the seeds that were found more than once.
+	 * 
+	 * @return
+	 * A sample of the seeds that were found more than once, in ascending order.
+	 */
+	public long[] getDuplicateSeeds()
+	{
+		return this.duplicateSeeds.clone();
+	}
+	
+	/**
+	 * This method will get the number of times each sampled duplicate seed was found.
+	 * 
+	 * @return
+	 * The number of times each seed returned by {@link #getDuplicateSeeds()} was found, at the same
+	 * index.
+	 */
+	public long[] getDuplicateOccurrences()
+	{
+		return this.duplicateOccurrences.clone();
+	}
+	
+	/**
+	 * This method will get the number of distinct seeds in each equal slice of the seed space.
+	 * <br />
+	 * <br />
+	 * Slice <code>n</code> holds the seeds whose top bits equal <code>n</code>; an uneven spread
+	 * shows seeds being allocated from only part of the seed space.
+	 * 
+	 * @return
+	 * The number of distinct seeds in each equal slice of the seed space.
+	 */
+	public long[] getBucketCounts()
+	{
+		return this.bucketCounts.clone();
+	}
+	
+	@Override
+	public String toString()
+	{
+		return "ProductKeyAuditReport[keys=" + this.keyCount + ", rejected=" + this.rejectedCount + ", uniqueSeeds=" + this.uniqueSeedCount + ", duplicatedSeeds=" + this.duplicatedSeedCount + ", duplicateKeys=" + this.duplicateKeyCount + ", minSeed=" + this.minSeed + ", maxSeed=" + this.maxSeed + ", density=" + this.getDensity() + ", runs=" + this.runCount + ", sampledDuplicates=" + this.duplicateSeeds.length + "]";
+	}
+	
+}
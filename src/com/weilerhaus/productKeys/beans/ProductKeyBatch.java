@@ -0,0 +1,135 @@
+package com.weilerhaus.productKeys.beans;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import com.weilerhaus.productKeys.exceptions.ProductKeyGenerationException;
+
+/**
+ * This class holds the product-keys generated for a batch of seeds, in the same order as the
+ * seeds.
+ * <br />
+ * <br />
+ * A seed that could not be used (for example because it is black-listed or already taken) does
+ * not abort the batch; its slot will have no product-key and will instead hold the
+ * {@link ProductKeyGenerationException} that was thrown for it.
+ * 
+ * @author Matthew Weiler
+ */
+public class ProductKeyBatch
+{
+	
+	
+	/* PRIVATE VARIABLES */
+	/**
+	 * This will store the generated product-keys; slots that failed will be <code>null</code>.
+	 */
+	private final String[] productKeys;
+	/**
+	 * This will store the {@link ProductKeyGenerationException} thrown for each slot that failed;
+	 * slots that succeeded will be <code>null</code>.
+	 */
+	private final ProductKeyGenerationException[] failures;
+	/**
+	 * This will store the number of slots that failed.
+	 */
+	private final int failureCount;
+	
+	/* CONSTRUCTORS */
+	/**
+	 * This will create a new instance of a {@link ProductKeyBatch}.
+	 * 
+	 * @param productKeys
+	 * The generated product-keys; slots that failed must be <code>null</code>.
+	 * @param failures
+	 * The {@link ProductKeyGenerationException} thrown for each slot that failed; slots that
+	 * succeeded must be <code>null</code>.
+	 */
+	public ProductKeyBatch(final String[] productKeys, final ProductKeyGenerationException[] failures)
+	{
+		this.productKeys = productKeys;
+		this.failures = failures;
+		
+		int tmpFailureCount = 0;
+		
+		for (int n = 0; n < failures.length; n++ )
+		{
+			if (failures[n] != null)
+			{
+				tmpFailureCount++ ;
+			}
+		}
+		
+		this.failureCount = tmpFailureCount;
+	}
+	
+	/* PUBLIC METHODS */
+	/**
+	 * This method will get the number of slots in this batch; one for each seed.
+	 * 
+	 * @return
+	 * The number of slots in this batch.
+	 */
+	public int size()
+	{
+		return this.productKeys.length;
+	}
+	
+	/**
+	 * This method will get the number of slots in this batch for which a product-key could not be
+	 * generated.
+	 * 
+	 * @return
+	 * The number of slots in this batch for which a product-key could not be generated.
+	 */
+	public int getFailureCount()
+	{
+		return this.failureCount;
+	}
+	
+	/**
+	 * This method will get the product-key generated for the specified slot.
+	 * 
+	 * @param index
+	 * The index of the slot, which is the index of its seed.
+	 * @return
+	 * The product-key generated for the specified slot.
+	 * <br />
+	 * <i>This will be <code>null</code> if a product-key could not be generated for the
+	 * slot.</i>
+	 */
+	public String getProductKey(final int index)
+	{
+		return this.productKeys[index];
+	}
+	
+	/**
+	 * This method will get the {@link ProductKeyGenerationException} thrown for the specified
+	 * slot.
+	 * 
+	 * @param index
+	 * The index of the slot, which is the index of its seed.
+	 * @return
+	 * The {@link ProductKeyGenerationException} thrown for the specified slot.
+	 * <br />
+	 * <i>This will be <code>null</code> if a product-key was generated for the slot.</i>
+	 */
+	public ProductKeyGenerationException getFailure(final int index)
+	{
+		return this.failures[index];
+	}
+	
+	/**
+	 * This method will get all of the slots' product-keys, in the same order as the seeds.
+	 * 
+	 * @return
+	 * An unmodifiable {@link List} of the product-keys; slots that failed will be
+	 * <code>null</code>.
+	 */
+	public List<String> getProductKeys()
+	{
+		return Collections.unmodifiableList(Arrays.asList(this.productKeys));
+	}
+	
+}
@@ -0,0 +1,109 @@
+package com.weilerhaus.productKeys.beans;
+
+/**
+ * This class holds the outcome of a streaming export of product-keys.
+ * 
+ * @author Matthew Weiler
+ */
+public class ProductKeyExportReport
+{
+	
+	
+	/* PRIVATE VARIABLES */
+	/**
+	 * This will store the number of product-keys written to the export file.
+	 */
+	private final long exportedCount;
+	/**
+	 * This will store the number of seeds skipped because they were black-listed or already taken.
+	 */
+	private final long skippedCount;
+	/**
+	 * This will store the number of seeds that had already been exported when the export was
+	 * resumed from a checkpoint.
+	 */
+	private final long resumedSeedCount;
+	/**
+	 * This will store the size of the export file, in bytes.
+	 */
+	private final long fileSize;
+	
+	/* CONSTRUCTORS */
+	/**
+	 * This will create a new instance of a {@link ProductKeyExportReport}.
+	 * 
+	 * @param exportedCount
+	 * The number of product-keys written to the export file.
+	 * @param skippedCount
+	 * The number of seeds skipped because they were black-listed or already taken.
+	 * @param resumedSeedCount
+	 * The number of seeds that had already been exported when the export was resumed from a
+	 * checkpoint.
+	 * @param fileSize
+	 * The size of the export file, in bytes.
+	 */
+	public ProductKeyExportReport(final long exportedCount, final long skippedCount, final long resumedSeedCount, final long fileSize)
+	{
+		this.exportedCount = exportedCount;
+		this.skippedCount = skippedCount;
+		this.resumedSeedCount = resumedSeedCount;
+		this.fileSize = fileSize;
+	}
+	
+	/* PUBLIC METHODS */
+	/**
+	 * This method will get the number of product-keys written to the export file, including those
+	 * written before the export was resumed.
+	 * 
+	 * @return
+	 * The number of product-keys written to the export file.
+	 */
+	public long getExportedCount()
+	{
+		return this.exportedCount;
+	}
+	
+	/**
+	 * This method will get the number of seeds skipped because they were black-listed or already
+	 * taken, including those skipped before the export was resumed.
+	 * 
+	 * @return
+	 * The number of seeds skipped.
+	 */
+	public long getSkippedCount()
+	{
+		return this.skippedCount;
+	}
+	
+	/**
+	 * This method will get the number of seeds that had already been exported when the export was
+	 * resumed from a checkpoint.
+	 * 
+	 * @return
+	 * The number of seeds that had already been exported.
+	 * <br />
+	 * <i>This will be <code>0</code> if the export was not resumed.</i>
+	 */
+	public long getResumedSeedCount()
+	{
+		return this.resumedSeedCount;
+	}
+	
+	/**
+	 * This method will get the size of the export file.
+	 * 
+	 * @return
+	 * The size of the export file, in bytes.
+	 */
+	public long getFileSize()
+	{
+		return this.fileSize;
+	}
+	
+	@Override
+	public String toString()
+	{
+		return "ProductKeyExportReport[exported=" + this.exportedCount + ", skipped=" + this.skippedCount + ", resumedSeeds=" + this.resumedSeedCount + ", fileSize=" + this.fileSize + "]";
+	}
+	
+}
@@ -0,0 +1,157 @@
+package com.weilerhaus.productKeys.beans;
+
+import java.util.Arrays;
+
+import com.weilerhaus.productKeys.enums.ProductKeyCase;
+
+/**
+ * This class describes how the characters of a product-key are split into groups when styling is
+ * added to it.
+ * <br />
+ * <br />
+ * The group sizes are applied from the start of the product-key; once they have all been used, the
+ * last group size is repeated for the remaining characters, and whatever is left over forms a
+ * shorter tail group.
+ * <br />
+ * <i>For example, the group sizes <code>{4}</code> style a 14 character product-key as
+ * <code>XXXX-XXXX-XXXX-XX</code>.</i>
+ * 
+ * @author Matthew Weiler
+ */
+public class ProductKeyLayout
+{
+	
+	
+	/* PRIVATE VARIABLES */
+	/**
+	 * This will store the number of characters in each group.
+	 */
+	private final int[] groupSizes;
+	/**
+	 * This will store the character placed between groups.
+	 */
+	private final char separator;
+	/**
+	 * This will store the case of the letters in a styled product-key.
+	 */
+	private final ProductKeyCase productKeyCase;
+	
+	/* CONSTRUCTORS */
+	/**
+	 * This will create a new instance of a {@link ProductKeyLayout}.
+	 * 
+	 * @param groupSizes
+	 * The number of characters in each group; the last is repeated for any remaining characters.
+	 * @param separator
+	 * The character placed between groups; this cannot be a letter, digit or whitespace.
+	 * @param productKeyCase
+	 * The case of the letters in a styled product-key.
+	 */
+	public ProductKeyLayout(final int[] groupSizes, final char separator, final ProductKeyCase productKeyCase)
+	{
+		if ((groupSizes == null) || (groupSizes.length == 0))
+		{
+			throw new IllegalArgumentException("At least one group size must be specified");
+		}
+		
+		for (int n = 0; n < groupSizes.length; n++ )
+		{
+			if (groupSizes[n] < 1)
+			{
+				throw new IllegalArgumentException("Group sizes must be at least 1: " + groupSizes[n]);
+			}
+		}
+		
+		if ((separator <= ' ') || Character.isLetterOrDigit(separator))
+		{
+			throw new IllegalArgumentException("Separator cannot be a letter, digit or whitespace: " + separator);
+		}
+		
+		if (productKeyCase == null)
+		{
+			throw new IllegalArgumentException("Case must be specified");
+		}
+		
+		this.groupSizes = groupSizes.clone();
+		this.separator = separator;
+		this.productKeyCase = productKeyCase;
+	}
+	
+	/* PUBLIC METHODS */
+	/**
+	 * This method will get the number of characters in each group.
+	 * 
+	 * @return
+	 * A copy of the number of characters in each group.
+	 */
+	public int[] getGroupSizes()
+	{
+		return this.groupSizes.clone();
+	}
+	
+	/**
+	 * This method will get the character placed between groups.
+	 * 
+	 * @return
+	 * The character placed between groups.
+	 */
+	public char getSeparator()
+	{
+		return this.separator;
+	}
+	
+	/**
+	 * This method will get the case of the letters in a styled product-key.
+	 * 
+	 * @return
+	 * The case of the letters in a styled product-key.
+	 */
+	public ProductKeyCase getProductKeyCase()
+	{
+		return this.productKeyCase;
+	}
+	
+	/**
+	 * This method will get the indexes, within a product-key of the specified length, of the
+	 * characters that a separator is placed before.
+	 * 
+	 * @param productKeyLength
+	 * The number of characters in the product-key without styling.
+	 * @return
+	 * The indexes, in ascending order, of the characters that a separator is placed before.
+	 */
+	public int[] getSeparatorIndexes(final int productKeyLength)
+	{
+		int separatorCount = 0;
+		int groupEnd = 0;
+		
+		for (int n = 0; groupEnd < productKeyLength; n++ )
+		{
+			groupEnd += this.groupSizes[Math.min(n, this.groupSizes.length - 1)];
+			
+			if (groupEnd < productKeyLength)
+			{
+				separatorCount++ ;
+			}
+		}
+		
+		final int[] separatorIndexes = new int[separatorCount];
+		
+		groupEnd = 0;
+		
+		for (int n = 0; n < separatorCount; n++ )
+		{
+			groupEnd += this.groupSizes[Math.min(n, this.groupSizes.length - 1)];
+			separatorIndexes[n] = groupEnd;
+		}
+		
+		return separatorIndexes;
+	}
+	
+	@Override
+	public String toString()
+	{
+		return "ProductKeyLayout[groupSizes=" + Arrays.toString(this.groupSizes) + ", separator=" + this.separator + ", case=" + this.productKeyCase + "]";
+	}
+	
+}
@@ -0,0 +1,98 @@
+package com.weilerhaus.productKeys.beans;
+
+import com.weilerhaus.productKeys.enums.ProductKeyState;
+
+/**
+ * This class holds the number of product-keys found in each {@link ProductKeyState} by a bulk
+ * verification.
+ * 
+ * @author Matthew Weiler
+ */
+public class ProductKeyVerificationReport
+{
+	
+	
+	/* PRIVATE VARIABLES */
+	/**
+	 * This will store the number of product-keys found in each {@link ProductKeyState}, indexed by
+	 * the ordinal of the {@link ProductKeyState}.
+	 */
+	private final long[] stateCounts;
+	
+	/* CONSTRUCTORS */
+	/**
+	 * This will create a new instance of a {@link ProductKeyVerificationReport}.
+	 * 
+	 * @param stateCounts
+	 * The number of product-keys found in each {@link ProductKeyState}, indexed by the ordinal of
+	 * the {@link ProductKeyState}.
+	 */
+	public ProductKeyVerificationReport(final long[] stateCounts)
+	{
+		this.stateCounts = stateCounts.clone();
+	}
+	
+	/* PUBLIC METHODS */
+	/**
+	 * This method will get the number of product-keys found in the specified
+	 * {@link ProductKeyState}.
+	 * 
+	 * @param productKeyState
+	 * The {@link ProductKeyState}.
+	 * @return
+	 * The number of product-keys found in the specified {@link ProductKeyState}.
+	 */
+	public long getCount(final ProductKeyState productKeyState)
+	{
+		return this.stateCounts[productKeyState.ordinal()];
+	}
+	
+	/**
+	 * This method will get the total number of product-keys verified.
+	 * 
+	 * @return
+	 * The total number of product-keys verified.
+	 */
+	public long getTotalCount()
+	{
+		long totalCount = 0L;
+		
+		for (int n = 0; n < this.stateCounts.length; n++ )
+		{
+			totalCount += this.stateCounts[n];
+		}
+		
+		return totalCount;
+	}
+	
+	/**
+	 * This method will get the number of product-keys verified that were not
+	 * {@link ProductKeyState#KEY_GOOD}.
+	 * 
+	 * @return
+	 * The number of product-keys verified that were not {@link ProductKeyState#KEY_GOOD}.
+	 */
+	public long getFailureCount()
+	{
+		return this.getTotalCount() - this.getCount(ProductKeyState.KEY_GOOD);
+	}
+	
+	@Override
+	public String toString()
+	{
+		final StringBuilder sb = new StringBuilder("ProductKeyVerificationReport[");
+		
+		for (final ProductKeyState productKeyState : ProductKeyState.values())
+		{
+			if (productKeyState.ordinal() > 0)
+			{
+				sb.append(", ");
+			}
+			
+			sb.append(productKeyState.name()).append('=').append(this.getCount(productKeyState));
+		}
+		
+		return sb.append(']').toString();
+	}
+	
+}
@@ -0,0 +1,509 @@
+package com.weilerhaus.productKeys.cache;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.weilerhaus.productKeys.ProductKeyGenerator;
+import com.weilerhaus.productKeys.enums.ProductKeyState;
+import com.weilerhaus.productKeys.utils.ProductKeyUtils;
+import com.weilerhaus.productKeys.workers.BlacklistWorker;
+
+/**
+ * This class is a bounded cache of verification results that sits in front of
+ * {@link ProductKeyGenerator#verifyProductKey(CharSequence)}.
+ * <br />
+ * <br />
+ * Product-keys are normalized and, when they are made up of at most 32 HEXADECIMAL characters,
+ * packed into two <code>long</code> values that are used as the key of the cache; any other
+ * product-key is simply verified without being cached.
+ * <br />
+ * The cache is a set-associative table held in a single array of primitives: each packed
+ * product-key can only be stored in one of the {@link #WAYS} slots of its bucket, and when they
+ * are all taken the least recently used one is replaced, as approximated by a CLOCK reference
+ * bit. Each slot is guarded by its own sequence number, so lookups never take a lock and an insert
+ * only claims the slot it replaces; there is no global lock.
+ * <br />
+ * The table is tied to the version of the blacklist it was filled against (see
+ * {@link BlacklistWorker#getVersion()}) and is discarded as soon as the version changes, so a
+ * product-key that is black-listed after being verified is never given a cached
+ * {@link ProductKeyState#KEY_GOOD}.
+ * <br />
+ * <i>If the blacklist is not versioned (see {@link BlacklistWorker#isVersioned()}) nothing is
+ * cached and every product-key is verified.</i>
+ * 
+ * @author Matthew Weiler
+ */
+public class ProductKeyVerificationCache
+{
+	
+	
+	/* PUBLIC CONSTANTS */
+	/**
+	 * This is the number of slots in each bucket of the cache.
+	 */
+	public static final int WAYS = 4;
+	
+	/* PRIVATE CONSTANTS */
+	/**
+	 * This is the maximum length of a normalized product-key that can be packed.
+	 */
+	private static final int MAX_PACKED_LENGTH = 32;
+	/**
+	 * This is the length of the per-thread buffers that product-keys are normalized into.
+	 */
+	private static final int BUFFER_LENGTH = 256;
+	/**
+	 * This is the number of <code>long</code> values in each slot: the stamp, followed by the two
+	 * halves of the packed product-key.
+	 */
+	private static final int SLOT_LENGTH = 3;
+	/**
+	 * This is the stamp of a slot that is being written.
+	 */
+	private static final long WRITING = -1L;
+	/**
+	 * This will store the {@link ProductKeyState} values, indexed by their ordinal.
+	 */
+	private static final ProductKeyState[] STATES = ProductKeyState.values();
+	/**
+	 * This will store the per-thread buffer that product-keys are normalized into.
+	 */
+	private static final ThreadLocal<char[]> NORMALIZED_PRODUCT_KEY_BUFFER = ThreadLocal.withInitial(() -> new char[ProductKeyVerificationCache.BUFFER_LENGTH]);
+	
+	/* PRIVATE VARIABLES */
+	/**
+	 * This will store the {@link ProductKeyGenerator} that verifies the product-keys.
+	 */
+	private final ProductKeyGenerator<?> productKeyGenerator;
+	/**
+	 * This will store the number of buckets minus one, used to mask a hash into a bucket index.
+	 */
+	private final int bucketMask;
+	/**
+	 * This will store the current table of the cache.
+	 */
+	private volatile Table table;
+	/**
+	 * This will store the number of lookups that were answered from the cache.
+	 */
+	private final LongAdder hitCount = new LongAdder();
+	/**
+	 * This will store the number of lookups that had to verify the product-key.
+	 */
+	private final LongAdder missCount = new LongAdder();
+	
+	/* CONSTRUCTORS */
+	/**
+	 * This will create a new instance of a {@link ProductKeyVerificationCache}.
+	 * 
+	 * @param productKeyGenerator
+	 * The {@link ProductKeyGenerator} that verifies the product-keys.
+	 * @param maximumSize
+	 * The maximum number of verification results to hold; this is rounded up to a power of two
+	 * that is at least {@link #WAYS}.
+	 */
+	public ProductKeyVerificationCache(final ProductKeyGenerator<?> productKeyGenerator, final int maximumSize)
+	{
+		if ((maximumSize <= 0) || (maximumSize > (1 << 28)))
+		{
+			throw new IllegalArgumentException("Maximum size must be between 1 and 2^28: " + maximumSize);
+		}
+		
+		final int bucketCount = Math.max(1, Integer.highestOneBit((maximumSize * 2) - 1) / ProductKeyVerificationCache.WAYS);
+		
+		this.productKeyGenerator = productKeyGenerator;
+		this.bucketMask = bucketCount - 1;
+		this.table = new Table(productKeyGenerator.getBlacklistVersion(), bucketCount * ProductKeyVerificationCache.WAYS);
+	}
+	
+	/* PUBLIC METHODS */
+	/**
+	 * This method will verify the product-key specified, answering from the cache when possible.
+	 * 
+	 * @param productKey
+	 * The product-key to be verified.
+	 * @return
+	 * The {@link ProductKeyState} that best describes the specified product-key.
+	 */
+	public ProductKeyState verifyProductKey(final CharSequence productKey)
+	{
+		if ((productKey == null) || (productKey.length() > ProductKeyVerificationCache.BUFFER_LENGTH))
+		{
+			return this.productKeyGenerator.verifyProductKey(productKey);
+		}
+		
+		final char[] normalizedProductKey = ProductKeyVerificationCache.NORMALIZED_PRODUCT_KEY_BUFFER.get();
+		
+		return this.verifyNormalizedProductKey(normalizedProductKey, this.productKeyGenerator.normalizeProductKey(productKey, normalizedProductKey));
+	}
+	
+	/**
+	 * This method will verify the product-key contained in the specified range of characters,
+	 * answering from the cache when possible.
+	 * 
+	 * @param productKey
+	 * The characters containing the product-key to be verified.
+	 * @param offset
+	 * The index of the first character of the product-key.
+	 * @param length
+	 * The number of characters in the product-key.
+	 * @return
+	 * The {@link ProductKeyState} that best describes the specified product-key.
+	 */
+	public ProductKeyState verifyProductKey(final char[] productKey, final int offset, final int length)
+	{
+		if (length > ProductKeyVerificationCache.BUFFER_LENGTH)
+		{
+			return this.productKeyGenerator.verifyProductKey(productKey, offset, length);
+		}
+		
+		final char[] normalizedProductKey = ProductKeyVerificationCache.NORMALIZED_PRODUCT_KEY_BUFFER.get();
+		
+		return this.verifyNormalizedProductKey(normalizedProductKey, this.productKeyGenerator.normalizeProductKey(productKey, offset, length, normalizedProductKey));
+	}
+	
+	/**
+	 * This method will remove every verification result from the cache.
+	 * <br />
+	 * <br />
+	 * <i>This only needs to be called if a versioned blacklist changes without changing its
+	 * {@link BlacklistWorker#getVersion()}.</i>
+	 */
+	public void invalidateAll()
+	{
+		this.table = new Table(this.productKeyGenerator.getBlacklistVersion(), this.table.references.length);
+	}
+	
+	/**
+	 * This method will get the maximum number of verification results held by the cache.
+	 * 
+	 * @return
+	 * The maximum number of verification results held by the cache.
+	 */
+	public int getMaximumSize()
+	{
+		return this.table.references.length;
+	}
+	
+	/**
+	 * This method will get the number of lookups that were answered from the cache.
+	 * 
+	 * @return
+	 * The number of lookups that were answered from the cache.
+	 */
+	public long getHitCount()
+	{
+		return this.hitCount.sum();
+	}
+	
+	/**
+	 * This method will get the number of lookups that had to verify the product-key.
+	 * 
+	 * @return
+	 * The number of lookups that had to verify the product-key.
+	 */
+	public long getMissCount()
+	{
+		return this.missCount.sum();
+	}
+	
+	/* PRIVATE METHODS */
+	/**
+	 * This method will verify the specified normalized product-key, answering from the cache when
+	 * possible.
+	 * 
+	 * @param normalizedProductKey
+	 * The characters containing the normalized product-key.
+	 * @param length
+	 * The number of characters in the normalized product-key, or <code>-1</code> if the
+	 * product-key was empty.
+	 * @return
+	 * The {@link ProductKeyState} that best describes the product-key.
+	 */
+	private ProductKeyState verifyNormalizedProductKey(final char[] normalizedProductKey, final int length)
+	{
+		if ((length < 0) || (length > ProductKeyVerificationCache.MAX_PACKED_LENGTH) || !this.productKeyGenerator.isBlacklistVersioned())
+		{
+			return this.productKeyGenerator.verifyProductKey(normalizedProductKey, 0, Math.max(length, 0));
+		}
+		
+		// Pack the product-key into two longs; a product-key that is not entirely HEXADECIMAL
+		// cannot be packed and is not cached.
+		long high = 0L;
+		long low = 0L;
+		int tmpNibble;
+		
+		for (int n = 0; n < length; n++ )
+		{
+			tmpNibble = ProductKeyUtils.parseHexChar(normalizedProductKey[n]);
+			
+			if (tmpNibble < 0)
+			{
+				return this.productKeyGenerator.verifyProductKey(normalizedProductKey, 0, length);
+			}
+			
+			if (n < 16)
+			{
+				high = (high << 4) | tmpNibble;
+			}
+			else
+			{
+				low = (low << 4) | tmpNibble;
+			}
+		}
+		
+		// The version is read before the table, and before verifying, so that a result is only
+		// ever stored in a table whose version is no newer than the blacklist it was checked
+		// against.
+		final long blacklistVersion = this.productKeyGenerator.getBlacklistVersion();
+		final Table currentTable = this.getTable(blacklistVersion);
+		
+		if (currentTable == null)
+		{
+			return this.productKeyGenerator.verifyProductKey(normalizedProductKey, 0, length);
+		}
+		
+		final AtomicLongArray slots = currentTable.slots;
+		final int firstSlot = (ProductKeyVerificationCache.hash(high, low, length) & this.bucketMask) * ProductKeyVerificationCache.WAYS;
+		long tmpStamp;
+		int tmpIndex;
+		
+		for (int n = firstSlot; n < (firstSlot + ProductKeyVerificationCache.WAYS); n++ )
+		{
+			tmpIndex = n * ProductKeyVerificationCache.SLOT_LENGTH;
+			tmpStamp = slots.get(tmpIndex);
+			
+			// A slot whose stamp changed while it was being read was being replaced.
+			if ((tmpStamp != 0L) && (tmpStamp != ProductKeyVerificationCache.WRITING) && (ProductKeyVerificationCache.getStampLength(tmpStamp) == length) && (slots.get(tmpIndex + 1) == high) && (slots.get(tmpIndex + 2) == low) && (slots.get(tmpIndex) == tmpStamp))
+			{
+				currentTable.references[n] = 1;
+				
+				this.hitCount.increment();
+				
+				return ProductKeyVerificationCache.STATES[ProductKeyVerificationCache.getStampState(tmpStamp)];
+			}
+		}
+		
+		this.missCount.increment();
+		
+		final ProductKeyState state = this.productKeyGenerator.verifyProductKey(normalizedProductKey, 0, length);
+		
+		this.store(currentTable, firstSlot, high, low, length, state);
+		
+		return state;
+	}
+	
+	/**
+	 * This method will get the table of the cache for the specified version of the blacklist,
+	 * replacing the current table if it was filled against a different version.
+	 * 
+	 * @param blacklistVersion
+	 * The version of the blacklist.
+	 * @return
+	 * The table of the cache.
+	 * <br />
+	 * <i>This will be <code>null</code> if the blacklist changed again while the table was being
+	 * replaced, in which case the result should not be cached.</i>
+	 */
+	private Table getTable(final long blacklistVersion)
+	{
+		final Table currentTable = this.table;
+		
+		if (currentTable.blacklistVersion == blacklistVersion)
+		{
+			return currentTable;
+		}
+		
+		// Only a thread that still sees the same version replaces the table, so a thread holding
+		// an older version cannot put back a table for it.
+		if (this.productKeyGenerator.getBlacklistVersion() != blacklistVersion)
+		{
+			return null;
+		}
+		
+		final Table newTable = new Table(blacklistVersion, currentTable.references.length);
+		
+		this.table = newTable;
+		
+		return newTable;
+	}
+	
+	/**
+	 * This method will store the specified verification result in the bucket starting at the
+	 * specified slot.
+	 * <br />
+	 * <br />
+	 * An empty slot is used if there is one; otherwise the slots are swept, clearing their
+	 * reference bits, until one is found that has not been used since the last sweep. If another
+	 * thread is writing the chosen slot the result is simply not stored.
+	 * 
+	 * @param currentTable
+	 * The table of the cache.
+	 * @param firstSlot
+	 * The first slot of the bucket.
+	 * @param high
+	 * The first 16 characters of the product-key, packed.
+	 * @param low
+	 * The remaining characters of the product-key, packed.
+	 * @param length
+	 * The number of characters in the product-key.
+	 * @param state
+	 * The {@link ProductKeyState} of the product-key.
+	 */
+	private void store(final Table currentTable, final int firstSlot, final long high, final long low, final int length, final ProductKeyState state)
+	{
+		final AtomicLongArray slots = currentTable.slots;
+		int victim = -1;
+		
+		for (int n = firstSlot; (victim < 0) && (n < (firstSlot + ProductKeyVerificationCache.WAYS)); n++ )
+		{
+			if (slots.get(n * ProductKeyVerificationCache.SLOT_LENGTH) == 0L)
+			{
+				victim = n;
+			}
+		}
+		
+		for (int n = 0; (victim < 0) && (n < (ProductKeyVerificationCache.WAYS * 2)); n++ )
+		{
+			final int tmpSlot = firstSlot + (n % ProductKeyVerificationCache.WAYS);
+			
+			if (currentTable.references[tmpSlot] == 0)
+			{
+				victim = tmpSlot;
+			}
+			else
+			{
+				currentTable.references[tmpSlot] = 0;
+			}
+		}
+		
+		if (victim < 0)
+		{
+			victim = firstSlot;
+		}
+		
+		final int index = victim * ProductKeyVerificationCache.SLOT_LENGTH;
+		final long oldStamp = slots.get(index);
+		
+		if ((oldStamp == ProductKeyVerificationCache.WRITING) || !slots.compareAndSet(index, oldStamp, ProductKeyVerificationCache.WRITING))
+		{
+			return;
+		}
+		
+		slots.set(index + 1, high);
+		slots.set(index + 2, low);
+		slots.set(index, ProductKeyVerificationCache.buildStamp((oldStamp >>> 16) + 1L, state, length));
+		
+		currentTable.references[victim] = 1;
+	}
+	
+	/**
+	 * This method will build the stamp of a slot.
+	 * <br />
+	 * <br />
+	 * The stamp holds a sequence number, which changes every time the slot is written, the
+	 * ordinal of the {@link ProductKeyState} plus one and the length of the product-key, so that a
+	 * stamp of <code>0</code> denotes an empty slot.
+	 * 
+	 * @param sequence
+	 * The sequence number.
+	 * @param state
+	 * The {@link ProductKeyState} of the product-key.
+	 * @param length
+	 * The number of characters in the product-key.
+	 * @return
+	 * The stamp.
+	 */
+	private static long buildStamp(final long sequence, final ProductKeyState state, final int length)
+	{
+		return ((sequence & 0x00007FFFFFFFFFFFL) << 16) | ((state.ordinal() + 1L) << 8) | length;
+	}
+	
+	/**
+	 * This method will get the ordinal of the {@link ProductKeyState} held by the specified stamp.
+	 * 
+	 * @param stamp
+	 * The stamp.
+	 * @return
+	 * The ordinal of the {@link ProductKeyState}.
+	 */
+	private static int getStampState(final long stamp)
+	{
+		return (int) ((stamp >>> 8) & 0x00FF) - 1;
+	}
+	
+	/**
+	 * This method will get the length of the product-key held by the specified stamp.
+	 * 
+	 * @param stamp
+	 * The stamp.
+	 * @return
+	 * The number of characters in the product-key.
+	 */
+	private static int getStampLength(final long stamp)
+	{
+		return (int) (stamp & 0x00FF);
+	}
+	
+	/**
+	 * This method will mix the packed product-key into a hash.
+	 * 
+	 * @param high
+	 * The first 16 characters of the product-key, packed.
+	 * @param low
+	 * The remaining characters of the product-key, packed.
+	 * @param length
+	 * The number of characters in the product-key.
+	 * @return
+	 * The hash.
+	 */
+	private static int hash(final long high, final long low, final int length)
+	{
+		long hash = (high * 0x9E3779B97F4A7C15L) ^ low ^ length;
+		
+		hash *= 0xBF58476D1CE4E5B9L;
+		
+		return (int) (hash ^ (hash >>> 31) ^ (hash >>> 47));
+	}
+	
+	/* PRIVATE CLASSES */
+	/**
+	 * This class holds the slots of the cache that were filled against a single version of the
+	 * blacklist.
+	 */
+	private static final class Table
+	{
+		
+		
+		/**
+		 * This will store the version of the blacklist the slots were filled against.
+		 */
+		private final long blacklistVersion;
+		/**
+		 * This will store the slots, {@link ProductKeyVerificationCache#SLOT_LENGTH} values each.
+		 */
+		private final AtomicLongArray slots;
+		/**
+		 * This will store the CLOCK reference bit of each slot; races on these only affect which
+		 * slot is replaced.
+		 */
+		private final byte[] references;
+		
+		/**
+		 * This will create a new instance of a {@link Table}.
+		 * 
+		 * @param blacklistVersion
+		 * The version of the blacklist the slots will be filled against.
+		 * @param slotCount
+		 * The number of slots.
+		 */
+		private Table(final long blacklistVersion, final int slotCount)
+		{
+			this.blacklistVersion = blacklistVersion;
+			this.slots = new AtomicLongArray(slotCount * ProductKeyVerificationCache.SLOT_LENGTH);
+			this.references = new byte[slotCount];
+		}
+		
+	}
+	
+}
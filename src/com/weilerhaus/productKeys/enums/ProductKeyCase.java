@@ -0,0 +1,8 @@
+package com.weilerhaus.productKeys.enums;
+
+/* PUBLIC ENUMS */
+public enum ProductKeyCase
+{
+	UPPER,
+	LOWER
+}
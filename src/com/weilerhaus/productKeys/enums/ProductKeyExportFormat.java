@@ -0,0 +1,8 @@
+package com.weilerhaus.productKeys.enums;
+
+/* PUBLIC ENUMS */
+public enum ProductKeyExportFormat
+{
+	CSV,
+	FIXED_WIDTH
+}
@@ -0,0 +1,11 @@
+package com.weilerhaus.productKeys.enums;
+
+/* PUBLIC ENUMS */
+public enum ProductKeyStage
+{
+	STYLING,
+	CHECKSUM,
+	BLACKLIST,
+	SEED_AVAILABILITY,
+	SECTIONS
+}
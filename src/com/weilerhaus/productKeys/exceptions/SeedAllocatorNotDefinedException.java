@@ -0,0 +1,19 @@
+package com.weilerhaus.productKeys.exceptions;
+
+public class SeedAllocatorNotDefinedException extends ProductKeyGenerationException
+{
+	
+	
+	/* PRIVATE CONSTANTS */
+	private static final long serialVersionUID = 1L;
+	
+	/* CONSTRUCTORS */
+	/**
+	 * This will create a new instance of a {@link SeedAllocatorNotDefinedException}.
+	 */
+	public SeedAllocatorNotDefinedException()
+	{
+		super("Seed allocator is not defined.");
+	}
+	
+}
@@ -0,0 +1,19 @@
+package com.weilerhaus.productKeys.exceptions;
+
+public class SeedSpaceExhaustedException extends ProductKeyGenerationException
+{
+	
+	
+	/* PRIVATE CONSTANTS */
+	private static final long serialVersionUID = 1L;
+	
+	/* CONSTRUCTORS */
+	/**
+	 * This will create a new instance of a {@link SeedSpaceExhaustedException}.
+	 */
+	public SeedSpaceExhaustedException()
+	{
+		super("Every seed has already been allocated.");
+	}
+	
+}
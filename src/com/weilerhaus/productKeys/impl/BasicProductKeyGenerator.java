@@ -2,14 +2,19 @@ package com.weilerhaus.productKeys.impl;
 
 import com.weilerhaus.productKeys.ProductKeyGenerator;
 import com.weilerhaus.productKeys.beans.ProductKeyEncodingData;
+import com.weilerhaus.productKeys.exceptions.SeedAllocatorNotDefinedException;
 import com.weilerhaus.productKeys.impl.beans.BasicProductKeyEncodingData;
 import com.weilerhaus.productKeys.impl.workers.BasicChecksumWorker;
 import com.weilerhaus.productKeys.impl.workers.BasicProductKeySectionWorker;
 import com.weilerhaus.productKeys.impl.workers.BasicProductKeyStylingWorker;
+import com.weilerhaus.productKeys.impl.workers.BitmapSeedAvailabilityWorker;
+import com.weilerhaus.productKeys.impl.workers.MappedBlacklistWorker;
+import com.weilerhaus.productKeys.impl.workers.ScrambledSeedAllocationWorker;
 import com.weilerhaus.productKeys.workers.BlacklistWorker;
 import com.weilerhaus.productKeys.workers.ChecksumWorker;
 import com.weilerhaus.productKeys.workers.ProductKeySectionWorker;
 import com.weilerhaus.productKeys.workers.ProductKeyStylingWorker;
+import com.weilerhaus.productKeys.workers.SeedAllocationWorker;
 import com.weilerhaus.productKeys.workers.SeedAvailabilityWorker;
 
 /**
@@ -25,6 +30,23 @@ public class BasicProductKeyGenerator extends ProductKeyGenerator<BasicProductKe
 {
 	
 	
+	/* PRIVATE VARIABLES */
+	/**
+	 * This will store the {@link BlacklistWorker} to be used by this
+	 * {@link BasicProductKeyGenerator}.
+	 */
+	private final BlacklistWorker blacklistWorker;
+	/**
+	 * This will store the {@link SeedAvailabilityWorker} to be used by this
+	 * {@link BasicProductKeyGenerator}.
+	 */
+	private final SeedAvailabilityWorker seedAvailabilityWorker;
+	/**
+	 * This will store the {@link SeedAllocationWorker} to be used by this
+	 * {@link BasicProductKeyGenerator}.
+	 */
+	private final SeedAllocationWorker seedAllocationWorker;
+	
 	/* CONSTRUCTORS */
 	/**
 	 * This will create a new instance of a {@link BasicProductKeyGenerator}.
@@ -55,7 +77,200 @@ public class BasicProductKeyGenerator extends ProductKeyGenerator<BasicProductKe
 	 */
 	public BasicProductKeyGenerator(final BasicProductKeyEncodingData...productKeyEncodingData)
 	{
-		super(8, productKeyEncodingData);
+		this(productKeyEncodingData, null);
+	}
+	
+	/**
+	 * This will create a new instance of a {@link BasicProductKeyGenerator}.
+	 * 
+	 * @param productKeyEncodingData
+	 * The array of {@link ProductKeyEncodingData} elements that will be used to generate/verify
+	 * product-keys.
+	 * <br />
+	 * <i>
+	 * If a {@link ProductKeyEncodingData} element is <code>null</code>, that section of the
+	 * product-key will not be validated.
+	 * <br />
+	 * However, it should be noted that the encoding will only work if all
+	 * {@link ProductKeyEncodingData} elements are present.
+	 * <br />
+	 * <br />
+	 * When including this in the client application code, omit some {@link ProductKeyEncodingData}
+	 * elements by setting them to <code>null</code>.
+	 * <br />
+	 * This will ensure that the application code running on the clients device never has the entire
+	 * logic for creating a product-key; if reverse engineered, they will only be able to create a
+	 * product-key that will work on that build/version of your application.
+	 * <br />
+	 * Each new build/version of your client application should/could change the omitted
+	 * {@link ProductKeyEncodingData} elements thus ensuring that if a previously cracked key
+	 * worked, it won't in the new build/version.
+	 * </i>
+	 * @param blacklistWorker
+	 * The {@link BlacklistWorker} to be used, such as a {@link MappedBlacklistWorker}.
+	 * <br />
+	 * <i>This can be <code>null</code> if product-keys should not be checked against a
+	 * blacklist.</i>
+	 */
+	public BasicProductKeyGenerator(final BasicProductKeyEncodingData[] productKeyEncodingData, final BlacklistWorker blacklistWorker)
+	{
+		this(productKeyEncodingData, blacklistWorker, null);
+	}
+	
+	/**
+	 * This will create a new instance of a {@link BasicProductKeyGenerator}.
+	 * 
+	 * @param productKeyEncodingData
+	 * The array of {@link ProductKeyEncodingData} elements that will be used to generate/verify
+	 * product-keys.
+	 * <br />
+	 * <i>
+	 * If a {@link ProductKeyEncodingData} element is <code>null</code>, that section of the
+	 * product-key will not be validated.
+	 * <br />
+	 * However, it should be noted that the encoding will only work if all
+	 * {@link ProductKeyEncodingData} elements are present.
+	 * <br />
+	 * <br />
+	 * When including this in the client application code, omit some {@link ProductKeyEncodingData}
+	 * elements by setting them to <code>null</code>.
+	 * <br />
+	 * This will ensure that the application code running on the clients device never has the entire
+	 * logic for creating a product-key; if reverse engineered, they will only be able to create a
+	 * product-key that will work on that build/version of your application.
+	 * <br />
+	 * Each new build/version of your client application should/could change the omitted
+	 * {@link ProductKeyEncodingData} elements thus ensuring that if a previously cracked key
+	 * worked, it won't in the new build/version.
+	 * </i>
+	 * @param blacklistWorker
+	 * The {@link BlacklistWorker} to be used, such as a {@link MappedBlacklistWorker}.
+	 * <br />
+	 * <i>This can be <code>null</code> if product-keys should not be checked against a
+	 * blacklist.</i>
+	 * @param seedAvailabilityWorker
+	 * The {@link SeedAvailabilityWorker} to be used, such as a
+	 * {@link BitmapSeedAvailabilityWorker}; each generated product-key will claim its seed.
+	 * <br />
+	 * <i>This can be <code>null</code> if seeds should not be checked for availability.</i>
+	 */
+	public BasicProductKeyGenerator(final BasicProductKeyEncodingData[] productKeyEncodingData, final BlacklistWorker blacklistWorker, final SeedAvailabilityWorker seedAvailabilityWorker)
+	{
+		this(productKeyEncodingData, blacklistWorker, seedAvailabilityWorker, null);
+	}
+	
+	/**
+	 * This will create a new instance of a {@link BasicProductKeyGenerator}.
+	 * 
+	 * @param productKeyEncodingData
+	 * The array of {@link ProductKeyEncodingData} elements that will be used to generate/verify
+	 * product-keys.
+	 * <br />
+	 * <i>
+	 * If a {@link ProductKeyEncodingData} element is <code>null</code>, that section of the
+	 * product-key will not be validated.
+	 * <br />
+	 * However, it should be noted that the encoding will only work if all
+	 * {@link ProductKeyEncodingData} elements are present.
+	 * <br />
+	 * <br />
+	 * When including this in the client application code, omit some {@link ProductKeyEncodingData}
+	 * elements by setting them to <code>null</code>.
+	 * <br />
+	 * This will ensure that the application code running on the clients device never has the entire
+	 * logic for creating a product-key; if reverse engineered, they will only be able to create a
+	 * product-key that will work on that build/version of your application.
+	 * <br />
+	 * Each new build/version of your client application should/could change the omitted
+	 * {@link ProductKeyEncodingData} elements thus ensuring that if a previously cracked key
+	 * worked, it won't in the new build/version.
+	 * </i>
+	 * @param blacklistWorker
+	 * The {@link BlacklistWorker} to be used, such as a {@link MappedBlacklistWorker}.
+	 * <br />
+	 * <i>This can be <code>null</code> if product-keys should not be checked against a
+	 * blacklist.</i>
+	 * @param seedAvailabilityWorker
+	 * The {@link SeedAvailabilityWorker} to be used, such as a
+	 * {@link BitmapSeedAvailabilityWorker}; each generated product-key will claim its seed.
+	 * <br />
+	 * <i>This can be <code>null</code> if seeds should not be checked for availability.</i>
+	 * @param seedAllocationWorker
+	 * The {@link SeedAllocationWorker} that will hand out seeds to {@link #generateProductKey()},
+	 * such as a {@link ScrambledSeedAllocationWorker} whose key and position are stored between
+	 * runs.
+	 * <br />
+	 * <i>This can be <code>null</code> if product-keys are only generated from seeds that are
+	 * passed in; {@link #generateProductKey()} will then throw a
+	 * {@link SeedAllocatorNotDefinedException}.</i>
+	 */
+	public BasicProductKeyGenerator(final BasicProductKeyEncodingData[] productKeyEncodingData, final BlacklistWorker blacklistWorker, final SeedAvailabilityWorker seedAvailabilityWorker, final SeedAllocationWorker seedAllocationWorker)
+	{
+		this(8, productKeyEncodingData, blacklistWorker, seedAvailabilityWorker, seedAllocationWorker);
+	}
+	
+	/**
+	 * This will create a new instance of a {@link BasicProductKeyGenerator}.
+	 * 
+	 * @param seedCharLength
+	 * The number of HEXADECIMAL characters of the seed at the beginning of each product-key; this
+	 * can be up to {@link #MAX_SEED_CHAR_LENGTH}, in which case product-keys are generated with
+	 * {@link #generateProductKey(long, long)}.
+	 * @param productKeyEncodingData
+	 * The array of {@link ProductKeyEncodingData} elements that will be used to generate/verify
+	 * product-keys.
+	 * <br />
+	 * <i>
+	 * If a {@link ProductKeyEncodingData} element is <code>null</code>, that section of the
+	 * product-key will not be validated.
+	 * <br />
+	 * However, it should be noted that the encoding will only work if all
+	 * {@link ProductKeyEncodingData} elements are present.
+	 * <br />
+	 * <br />
+	 * When including this in the client application code, omit some {@link ProductKeyEncodingData}
+	 * elements by setting them to <code>null</code>.
+	 * <br />
+	 * This will ensure that the application code running on the clients device never has the entire
+	 * logic for creating a product-key; if reverse engineered, they will only be able to create a
+	 * product-key that will work on that build/version of your application.
+	 * <br />
+	 * Each new build/version of your client application should/could change the omitted
+	 * {@link ProductKeyEncodingData} elements thus ensuring that if a previously cracked key
+	 * worked, it won't in the new build/version.
+	 * </i>
+	 * @param blacklistWorker
+	 * The {@link BlacklistWorker} to be used, such as a {@link MappedBlacklistWorker}.
+	 * <br />
+	 * <i>This can be <code>null</code> if product-keys should not be checked against a
+	 * blacklist.</i>
+	 * @param seedAvailabilityWorker
+	 * The {@link SeedAvailabilityWorker} to be used, such as a
+	 * {@link BitmapSeedAvailabilityWorker}; each generated product-key will claim its seed.
+	 * <br />
+	 * <i>This can be <code>null</code> if seeds should not be checked for availability.</i>
+	 * @param seedAllocationWorker
+	 * The {@link SeedAllocationWorker} that will hand out seeds to {@link #generateProductKey()},
+	 * such as a {@link ScrambledSeedAllocationWorker} whose key and position are stored between
+	 * runs.
+	 * <br />
+	 * <i>This can be <code>null</code> if product-keys are only generated from seeds that are
+	 * passed in; {@link #generateProductKey()} will then throw a
+	 * {@link SeedAllocatorNotDefinedException}.</i>
+	 */
+	public BasicProductKeyGenerator(final int seedCharLength, final BasicProductKeyEncodingData[] productKeyEncodingData, final BlacklistWorker blacklistWorker, final SeedAvailabilityWorker seedAvailabilityWorker, final SeedAllocationWorker seedAllocationWorker)
+	{
+		super(seedCharLength, productKeyEncodingData);
+		
+		if ((seedAvailabilityWorker != null) && ( !seedAvailabilityWorker.isSeedCharLengthSupported(this.getSeedCharLength())))
+		{
+			// Every seed would otherwise be rejected when it is claimed.
+			throw new IllegalArgumentException("Seed length is not supported by the seed availability worker: " + this.getSeedCharLength());
+		}
+		
+		this.blacklistWorker = blacklistWorker;
+		this.seedAvailabilityWorker = seedAvailabilityWorker;
+		this.seedAllocationWorker = seedAllocationWorker;
 	}
 	
 	/* PROTECTED METHDOS */
@@ -74,7 +289,7 @@ public class BasicProductKeyGenerator extends ProductKeyGenerator<BasicProductKe
 	@Override
 	protected BlacklistWorker buildBlacklistWorker()
 	{
-		return null;
+		return this.blacklistWorker;
 	}
 	
 	@Override
@@ -86,7 +301,13 @@ public class BasicProductKeyGenerator extends ProductKeyGenerator<BasicProductKe
 	@Override
 	protected SeedAvailabilityWorker buildSeedAvailabilityWorker()
 	{
-		return null;
+		return this.seedAvailabilityWorker;
+	}
+	
+	@Override
+	protected SeedAllocationWorker buildSeedAllocationWorker()
+	{
+		return this.seedAllocationWorker;
 	}
 	
 }
@@ -72,4 +72,28 @@ public class BasicProductKeyEncodingData implements ProductKeyEncodingData
 		return this.c;
 	}
 	
+	@Override
+	public boolean equals(final Object obj)
+	{
+		if (this == obj)
+		{
+			return true;
+		}
+		
+		if ( !(obj instanceof BasicProductKeyEncodingData))
+		{
+			return false;
+		}
+		
+		final BasicProductKeyEncodingData other = (BasicProductKeyEncodingData) obj;
+		
+		return (this.a == other.a) && (this.b == other.b) && (this.c == other.c);
+	}
+	
+	@Override
+	public int hashCode()
+	{
+		return ((this.a & 0xFF) << 16) | ((this.b & 0xFF) << 8) | (this.c & 0xFF);
+	}
+	
 }
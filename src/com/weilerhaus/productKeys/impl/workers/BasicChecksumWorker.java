@@ -1,65 +1,324 @@
 package com.weilerhaus.productKeys.impl.workers;
 
 import com.weilerhaus.productKeys.utils.ProductKeyUtils;
-import com.weilerhaus.productKeys.workers.ChecksumWorker;
+import com.weilerhaus.productKeys.workers.IncrementalChecksumWorker;
 
-public class BasicChecksumWorker implements ChecksumWorker
+public class BasicChecksumWorker implements IncrementalChecksumWorker
 {
 	
 	
+	/* PRIVATE CONSTANTS */
+	/**
+	 * This is the number of HEXADECIMAL characters in the checksum section of the product-key.
+	 */
+	private static final int CHECKSUM_LENGTH = 4;
+	
+	/* PUBLIC METHODS */
 	@Override
-	public String buildProductKeyChecksum(String productKey)
+	public String buildProductKeyChecksum(final String productKey)
 	{
-		if ((productKey != null) && (productKey.trim().length() > 0))
+		if (productKey != null)
 		{
-			productKey = productKey.trim();
+			final int start = BasicChecksumWorker.trimStart(productKey, 0, productKey.length());
+			final int end = BasicChecksumWorker.trimEnd(productKey, start, productKey.length());
 			
-			int left = 0x0056;
-			int right = 0x00AF;
+			if (end > start)
+			{
+				return ProductKeyUtils.buildHexStr(BasicChecksumWorker.CHECKSUM_LENGTH, BasicChecksumWorker.calculateChecksum(productKey, start, end));
+			}
+		}
+		
+		return null;
+	}
+	
+	@Override
+	public boolean verifyProductKeyChecksum(final String productKey)
+	{
+		if (productKey != null)
+		{
+			final int start = BasicChecksumWorker.trimStart(productKey, 0, productKey.length());
+			final int end = BasicChecksumWorker.trimEnd(productKey, start, productKey.length());
 			
-			for (int n = 0; n < productKey.length(); n++ )
+			if ((end - start) > BasicChecksumWorker.CHECKSUM_LENGTH)
 			{
-				right = right + (byte) productKey.charAt(n);
+				final int checkSumStart = end - BasicChecksumWorker.CHECKSUM_LENGTH;
+				final int checkSum = BasicChecksumWorker.calculateChecksum(productKey, start, BasicChecksumWorker.trimEnd(productKey, start, checkSumStart));
 				
-				if (right > 0x00FF)
+				// Compare the last four characters, which are the checksum, against the
+				// upper-case HEXADECIMAL characters of the generated checksum for the key
+				// characters.
+				for (int n = 0; n < BasicChecksumWorker.CHECKSUM_LENGTH; n++ )
 				{
-					right -= 0x00FF;
+					if (productKey.charAt(checkSumStart + n) != ProductKeyUtils.toHexChar(checkSum >>> ((BasicChecksumWorker.CHECKSUM_LENGTH - 1 - n) * 4)))
+					{
+						return false;
+					}
 				}
 				
-				left += right;
-				
-				if (left > 0x00FF)
-				{
-					left -= 0x00FF;
-				}
+				return true;
 			}
+		}
+		
+		return false;
+	}
+	
+	@Override
+	public int getChecksumLength()
+	{
+		return BasicChecksumWorker.CHECKSUM_LENGTH;
+	}
+	
+	@Override
+	public int buildProductKeyChecksum(final char[] productKey, final int offset, final int length, final char[] dest, final int destOffset)
+	{
+		if ((productKey != null) && (length > 0))
+		{
+			final int start = BasicChecksumWorker.trimStart(productKey, offset, offset + length);
+			final int end = BasicChecksumWorker.trimEnd(productKey, start, offset + length);
 			
-			return ProductKeyUtils.buildHexStr(4, (left << 8) + right);
+			if (end > start)
+			{
+				ProductKeyUtils.writeHex(BasicChecksumWorker.calculateChecksum(productKey, start, end), dest, destOffset, BasicChecksumWorker.CHECKSUM_LENGTH);
+				
+				return BasicChecksumWorker.CHECKSUM_LENGTH;
+			}
 		}
 		
-		return null;
+		return 0;
 	}
 	
 	@Override
-	public boolean verifyProductKeyChecksum(String productKey)
+	public boolean verifyProductKeyChecksum(final char[] productKey, final int offset, final int length)
 	{
-		if ((productKey != null) && (productKey.trim().length() > 0))
+		if ((productKey != null) && (length > 0))
 		{
-			productKey = productKey.trim();
+			final int start = BasicChecksumWorker.trimStart(productKey, offset, offset + length);
+			final int end = BasicChecksumWorker.trimEnd(productKey, start, offset + length);
 			
-			if (productKey.length() > 4)
+			if ((end - start) > BasicChecksumWorker.CHECKSUM_LENGTH)
 			{
-				// Extract the last four characters as they are the checksum.
-				final String checkSum = productKey.substring(productKey.length() - 4);
+				final int checkSumStart = end - BasicChecksumWorker.CHECKSUM_LENGTH;
+				final int checkSum = BasicChecksumWorker.calculateChecksum(productKey, start, BasicChecksumWorker.trimEnd(productKey, start, checkSumStart));
 				
-				productKey = productKey.substring(0, productKey.length() - 4);
+				// Compare the last four characters, which are the checksum, against the
+				// upper-case HEXADECIMAL characters of the generated checksum for the key
+				// characters.
+				for (int n = 0; n < BasicChecksumWorker.CHECKSUM_LENGTH; n++ )
+				{
+					if (productKey[checkSumStart + n] != ProductKeyUtils.toHexChar(checkSum >>> ((BasicChecksumWorker.CHECKSUM_LENGTH - 1 - n) * 4)))
+					{
+						return false;
+					}
+				}
 				
-				// Compare the extracted checksum against the generated checksum for the key string.
-				return checkSum.equals(buildProductKeyChecksum(productKey));
+				return true;
 			}
 		}
 		
 		return false;
 	}
 	
+	@Override
+	public long startChecksum()
+	{
+		return (((long) 0x0056) << 32) | 0x00AF;
+	}
+	
+	@Override
+	public long updateChecksum(final long checksumState, final char productKeyChar)
+	{
+		// The two running sums are kept in the upper and lower halves of the state.
+		int left = (int) (checksumState >> 32);
+		int right = (int) checksumState + (byte) productKeyChar;
+		
+		if (right > 0x00FF)
+		{
+			right -= 0x00FF;
+		}
+		
+		left += right;
+		
+		if (left > 0x00FF)
+		{
+			left -= 0x00FF;
+		}
+		
+		return (((long) left) << 32) | (right & 0xFFFFFFFFL);
+	}
+	
+	@Override
+	public int writeChecksum(final long checksumState, final char[] dest, final int destOffset)
+	{
+		ProductKeyUtils.writeHex(((((int) (checksumState >> 32)) << 8) + (int) checksumState) & 0xFFFF, dest, destOffset, BasicChecksumWorker.CHECKSUM_LENGTH);
+		
+		return BasicChecksumWorker.CHECKSUM_LENGTH;
+	}
+	
+	/* PRIVATE METHODS */
+	/**
+	 * This method will calculate the checksum for the specified range of product-key characters.
+	 * 
+	 * @param productKey
+	 * The characters containing the product-key, everything up-to the checksum.
+	 * @param start
+	 * The index of the first character of the product-key (inclusive).
+	 * @param end
+	 * The index of the last character of the product-key (exclusive).
+	 * @return
+	 * The checksum, which will always fit in four HEXADECIMAL characters.
+	 */
+	private static int calculateChecksum(final char[] productKey, final int start, final int end)
+	{
+		int left = 0x0056;
+		int right = 0x00AF;
+		
+		for (int n = start; n < end; n++ )
+		{
+			right = right + (byte) productKey[n];
+			
+			if (right > 0x00FF)
+			{
+				right -= 0x00FF;
+			}
+			
+			left += right;
+			
+			if (left > 0x00FF)
+			{
+				left -= 0x00FF;
+			}
+		}
+		
+		return ((left << 8) + right) & 0xFFFF;
+	}
+	
+	/**
+	 * This method will calculate the checksum for the specified range of product-key characters.
+	 * 
+	 * @param productKey
+	 * The {@link CharSequence} containing the product-key, everything up-to the checksum.
+	 * @param start
+	 * The index of the first character of the product-key (inclusive).
+	 * @param end
+	 * The index of the last character of the product-key (exclusive).
+	 * @return
+	 * The checksum, which will always fit in four HEXADECIMAL characters.
+	 */
+	private static int calculateChecksum(final CharSequence productKey, final int start, final int end)
+	{
+		int left = 0x0056;
+		int right = 0x00AF;
+		
+		for (int n = start; n < end; n++ )
+		{
+			right = right + (byte) productKey.charAt(n);
+			
+			if (right > 0x00FF)
+			{
+				right -= 0x00FF;
+			}
+			
+			left += right;
+			
+			if (left > 0x00FF)
+			{
+				left -= 0x00FF;
+			}
+		}
+		
+		return ((left << 8) + right) & 0xFFFF;
+	}
+	
+	/**
+	 * This method will get the index of the first character, within the specified range, that is
+	 * not trimmed by {@link String#trim()}.
+	 * 
+	 * @param productKey
+	 * The product-key characters.
+	 * @param start
+	 * The index of the first character of the range (inclusive).
+	 * @param end
+	 * The index of the last character of the range (exclusive).
+	 * @return
+	 * The index of the first character that is not trimmed.
+	 */
+	private static int trimStart(final char[] productKey, int start, final int end)
+	{
+		while ((start < end) && (productKey[start] <= ' '))
+		{
+			start++ ;
+		}
+		
+		return start;
+	}
+	
+	/**
+	 * This method will get the index of the first character, within the specified range, that is
+	 * not trimmed by {@link String#trim()}.
+	 * 
+	 * @param productKey
+	 * The {@link CharSequence} containing the product-key.
+	 * @param start
+	 * The index of the first character of the range (inclusive).
+	 * @param end
+	 * The index of the last character of the range (exclusive).
+	 * @return
+	 * The index of the first character that is not trimmed.
+	 */
+	private static int trimStart(final CharSequence productKey, int start, final int end)
+	{
+		while ((start < end) && (productKey.charAt(start) <= ' '))
+		{
+			start++ ;
+		}
+		
+		return start;
+	}
+	
+	/**
+	 * This method will get the index after the last character, within the specified range, that is
+	 * not trimmed by {@link String#trim()}.
+	 * 
+	 * @param productKey
+	 * The product-key characters.
+	 * @param start
+	 * The index of the first character of the range (inclusive).
+	 * @param end
+	 * The index of the last character of the range (exclusive).
+	 * @return
+	 * The index after the last character that is not trimmed.
+	 */
+	private static int trimEnd(final char[] productKey, final int start, int end)
+	{
+		while ((end > start) && (productKey[end - 1] <= ' '))
+		{
+			end-- ;
+		}
+		
+		return end;
+	}
+	
+	/**
+	 * This method will get the index after the last character, within the specified range, that is
+	 * not trimmed by {@link String#trim()}.
+	 * 
+	 * @param productKey
+	 * The {@link CharSequence} containing the product-key.
+	 * @param start
+	 * The index of the first character of the range (inclusive).
+	 * @param end
+	 * The index of the last character of the range (exclusive).
+	 * @return
+	 * The index after the last character that is not trimmed.
+	 */
+	private static int trimEnd(final CharSequence productKey, final int start, int end)
+	{
+		while ((end > start) && (productKey.charAt(end - 1) <= ' '))
+		{
+			end-- ;
+		}
+		
+		return end;
+	}
+	
 }
@@ -0,0 +1,106 @@
+package com.weilerhaus.productKeys.impl.workers;
+
+import com.weilerhaus.productKeys.impl.beans.BasicProductKeyEncodingData;
+import com.weilerhaus.productKeys.workers.ProductKeySectionPlan;
+
+/**
+ * This class is the compiled form of an array of {@link BasicProductKeyEncodingData} elements.
+ * <br />
+ * <br />
+ * The encoding-data of the present sections is flattened into primitive arrays once, so that each
+ * section is built with the same branch-free expression as
+ * {@link BasicProductKeySectionWorker#buildProductKeySection(long, BasicProductKeyEncodingData)}
+ * without re-computing the shifts or choosing between OR and AND.
+ * 
+ * @author Matthew Weiler
+ */
+public class BasicProductKeySectionPlan extends ProductKeySectionPlan
+{
+	
+	
+	/* PRIVATE VARIABLES */
+	/**
+	 * This will store the section index of each present section.
+	 */
+	private final int[] sectionIndexes;
+	/**
+	 * This will store the shift applied to the seed for the first operand of each present
+	 * section.
+	 */
+	private final int[] firstShifts;
+	/**
+	 * This will store the shift applied to the seed for the second operand of each present
+	 * section.
+	 */
+	private final int[] secondShifts;
+	/**
+	 * This will store the mask ANDed with the second operand of each present section; this is the
+	 * 3rd byte when the section uses AND, otherwise all bits are set.
+	 */
+	private final long[] secondMasks;
+	/**
+	 * This will store the bits ORed with the second operand of each present section; this is the
+	 * 3rd byte when the section uses OR, otherwise no bits are set.
+	 */
+	private final long[] secondBits;
+	
+	/* CONSTRUCTORS */
+	/**
+	 * This will create a new instance of a {@link BasicProductKeySectionPlan}.
+	 * 
+	 * @param productKeyEncodingData
+	 * The array of {@link BasicProductKeyEncodingData} elements being compiled; <code>null</code>
+	 * elements denote omitted sections.
+	 */
+	public BasicProductKeySectionPlan(final BasicProductKeyEncodingData[] productKeyEncodingData)
+	{
+		super(productKeyEncodingData);
+		
+		final int presentSectionCount = this.getPresentSectionCount();
+		
+		this.sectionIndexes = new int[presentSectionCount];
+		this.firstShifts = new int[presentSectionCount];
+		this.secondShifts = new int[presentSectionCount];
+		this.secondMasks = new long[presentSectionCount];
+		this.secondBits = new long[presentSectionCount];
+		
+		BasicProductKeyEncodingData tmpEncodingData;
+		byte tmpA;
+		byte tmpB;
+		
+		for (int n = 0; n < presentSectionCount; n++ )
+		{
+			this.sectionIndexes[n] = this.getPresentSectionIndex(n);
+			
+			tmpEncodingData = productKeyEncodingData[this.sectionIndexes[n]];
+			tmpA = (byte) (((int) tmpEncodingData.getA()) % 25);
+			tmpB = (byte) (((int) tmpEncodingData.getB()) % 3);
+			
+			// A long is only ever shifted by the low six bits of the shift distance.
+			this.firstShifts[n] = tmpA & 0x3F;
+			this.secondShifts[n] = tmpB & 0x3F;
+			
+			if (((int) tmpA) % 2 == 0)
+			{
+				this.secondMasks[n] = -1L;
+				this.secondBits[n] = tmpEncodingData.getC();
+			}
+			else
+			{
+				this.secondMasks[n] = tmpEncodingData.getC();
+				this.secondBits[n] = 0L;
+			}
+		}
+	}
+	
+	/* PUBLIC METHODS */
+	@Override
+	public void buildProductKeySections(final long seed, final byte[] dest)
+	{
+		for (int n = 0; n < this.sectionIndexes.length; n++ )
+		{
+			dest[this.sectionIndexes[n]] = (byte) (((seed >> this.firstShifts[n]) & 0x000000FF) ^ (((seed >> this.secondShifts[n]) & this.secondMasks[n]) | this.secondBits[n]));
+		}
+	}
+	
+}
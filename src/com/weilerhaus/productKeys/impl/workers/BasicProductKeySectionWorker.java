@@ -1,6 +1,7 @@
 package com.weilerhaus.productKeys.impl.workers;
 
 import com.weilerhaus.productKeys.impl.beans.BasicProductKeyEncodingData;
+import com.weilerhaus.productKeys.workers.ProductKeySectionPlan;
 import com.weilerhaus.productKeys.workers.ProductKeySectionWorker;
 
 public class BasicProductKeySectionWorker implements ProductKeySectionWorker<BasicProductKeyEncodingData>
@@ -23,4 +24,10 @@ public class BasicProductKeySectionWorker implements ProductKeySectionWorker<Bas
 		}
 	}
 	
+	@Override
+	public ProductKeySectionPlan buildProductKeySectionPlan(final BasicProductKeyEncodingData[] productKeyEncodingData)
+	{
+		return new BasicProductKeySectionPlan(productKeyEncodingData);
+	}
+	
 }
@@ -11,45 +11,88 @@ public class BasicProductKeyStylingWorker implements ProductKeyStylingWorker
 	{
 		if ((productKey != null) && (productKey.trim().length() > 0))
 		{
-			final StringBuilder productKeySb = new StringBuilder(productKey.trim().toUpperCase());
+			final char[] productKeyChars = productKey.toCharArray();
+			final char[] styledProductKey = new char[this.getStyledLength(productKeyChars.length)];
 			
-			int tmpCharsSinceDash = 0;
+			return new String(styledProductKey, 0, this.addStyling(productKeyChars, 0, productKeyChars.length, styledProductKey, 0));
+		}
+		
+		return productKey;
+	}
+	
+	@Override
+	public String removeStyling(final String productKey)
+	{
+		if ((productKey != null) && (productKey.indexOf('-') >= 0))
+		{
+			final char[] cleanedProductKey = new char[productKey.length()];
+			int cleanedLength = 0;
+			char tmpChar;
 			
-			for (int n = (productKeySb.length() - 1); n >= 0; n-- )
+			for (int n = 0; n < productKey.length(); n++ )
 			{
-				if (n >= 5)
+				tmpChar = productKey.charAt(n);
+				
+				if (tmpChar != '-')
 				{
-					if (tmpCharsSinceDash >= 5)
-					{
-						productKeySb.insert(n, '-');
-						tmpCharsSinceDash = 0;
-					}
-					else
-					{
-						tmpCharsSinceDash++ ;
-					}
-				}
-				else
-				{
-					break;
+					cleanedProductKey[cleanedLength++ ] = tmpChar;
 				}
 			}
 			
-			return productKeySb.toString();
+			return new String(cleanedProductKey, 0, cleanedLength);
 		}
 		
 		return productKey;
 	}
 	
 	@Override
-	public String removeStyling(String productKey)
+	public boolean isStylingCharacter(final char productKeyChar)
 	{
-		if ((productKey != null) && (productKey.trim().length() > 0))
+		return productKeyChar == '-';
+	}
+	
+	@Override
+	public int getStyledLength(final int productKeyLength)
+	{
+		// A dash is placed before every sixth character, counting back from the end of the
+		// product-key, as long as at least five characters precede it.
+		return (productKeyLength > 5) ? productKeyLength + ((productKeyLength - 5) / 6) : productKeyLength;
+	}
+	
+	@Override
+	public int addStyling(final char[] productKey, final int offset, final int length, final char[] dest, final int destOffset)
+	{
+		int start = offset;
+		int end = offset + length;
+		
+		while ((start < end) && (productKey[start] <= ' '))
 		{
-			return productKey.replace("-", "");
+			start++ ;
 		}
 		
-		return productKey;
+		while ((end > start) && (productKey[end - 1] <= ' '))
+		{
+			end-- ;
+		}
+		
+		final int trimmedLength = end - start;
+		
+		int destIndex = destOffset;
+		char tmpChar;
+		
+		for (int n = 0; n < trimmedLength; n++ )
+		{
+			if ((n >= 5) && (((trimmedLength - n) % 6) == 0))
+			{
+				dest[destIndex++ ] = '-';
+			}
+			
+			tmpChar = productKey[start + n];
+			
+			dest[destIndex++ ] = ((tmpChar >= 'a') && (tmpChar <= 'z')) ? (char) (tmpChar - ('a' - 'A')) : tmpChar;
+		}
+		
+		return destIndex - destOffset;
 	}
 	
 }
@@ -0,0 +1,678 @@
+package com.weilerhaus.productKeys.impl.workers;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.weilerhaus.productKeys.utils.ProductKeyUtils;
+import com.weilerhaus.productKeys.workers.SeedAvailabilityWorker;
+
+/**
+ * This class is a {@link SeedAvailabilityWorker} that keeps track of the claimed seeds in a
+ * compressed, in-memory bitmap covering a seed space of up to 32 bits.
+ * <br />
+ * <br />
+ * In the style of a Roaring bitmap, the seed space is split into chunks of 65536 seeds keyed by
+ * the upper 16 bits of the seed; a chunk holding few seeds is stored as a sorted array of the
+ * lower 16 bits and is converted to a plain bitmap once it holds more than
+ * {@link #ARRAY_CONTAINER_LIMIT} seeds, while a chunk without seeds takes no space at all.
+ * <br />
+ * Each chunk is guarded by one of a set of striped locks, so threads claiming seeds in different
+ * chunks do not contend and {@link #tryClaim(long)} can never hand the same seed to two threads.
+ * <br />
+ * <i>Use {@link #save(Path)} and {@link #load(Path)} to persist the claimed seeds.</i>
+ * 
+ * @author Matthew Weiler
+ */
+public class BitmapSeedAvailabilityWorker implements SeedAvailabilityWorker
+{
+	
+	
+	/* PUBLIC CONSTANTS */
+	/**
+	 * This is the value that every seed bitmap file starts with ("PKSA").
+	 */
+	public static final int MAGIC = 0x504B5341;
+	/**
+	 * This is the version of the seed bitmap file format.
+	 */
+	public static final int VERSION = 1;
+	/**
+	 * This is the number of bits in the largest seed that can be tracked.
+	 */
+	public static final int MAX_SEED_BITS = 32;
+	/**
+	 * This is the maximum number of seeds a chunk will hold as a sorted array before it is
+	 * converted to a bitmap.
+	 */
+	public static final int ARRAY_CONTAINER_LIMIT = 4096;
+	
+	/* PRIVATE CONSTANTS */
+	/**
+	 * This is the number of bytes in the header of a seed bitmap file.
+	 */
+	private static final int HEADER_LENGTH = 24;
+	/**
+	 * This is the number of chunks the seed space is split into.
+	 */
+	private static final int CHUNK_COUNT = 1 << 16;
+	/**
+	 * This is the number of <code>long</code> values in the bitmap of a chunk.
+	 */
+	private static final int BITMAP_LENGTH = (1 << 16) / 64;
+	/**
+	 * This is the number of locks guarding the chunks; this must be a power of two.
+	 */
+	private static final int LOCK_COUNT = 256;
+	
+	/* PRIVATE VARIABLES */
+	/**
+	 * This will store the chunks, indexed by the upper 16 bits of the seed.
+	 * <br />
+	 * <i>A chunk must only be accessed while holding its lock.</i>
+	 */
+	private final Container[] containers = new Container[BitmapSeedAvailabilityWorker.CHUNK_COUNT];
+	/**
+	 * This will store the locks guarding the chunks.
+	 */
+	private final Object[] locks = new Object[BitmapSeedAvailabilityWorker.LOCK_COUNT];
+	/**
+	 * This will store the number of claimed seeds.
+	 */
+	private final LongAdder claimedCount = new LongAdder();
+	
+	/* CONSTRUCTORS */
+	/**
+	 * This will create a new instance of a {@link BitmapSeedAvailabilityWorker} in which every
+	 * seed is available.
+	 */
+	public BitmapSeedAvailabilityWorker()
+	{
+		for (int n = 0; n < this.locks.length; n++ )
+		{
+			this.locks[n] = new Object();
+		}
+	}
+	
+	/* PUBLIC METHODS */
+	@Override
+	public boolean isSeedAvailable(final String seedHex)
+	{
+		return (seedHex != null) && this.isSeedAvailable(ProductKeyUtils.parseHex(seedHex, 0, seedHex.length()));
+	}
+	
+	@Override
+	public boolean isSeedAvailable(final long seed, final int seedCharLength)
+	{
+		return this.isSeedAvailable(seed);
+	}
+	
+	@Override
+	public boolean tryClaimSeed(final long seed, final int seedCharLength)
+	{
+		return this.tryClaim(seed);
+	}
+	
+	@Override
+	public boolean isSeedAvailable(final long seedHigh, final long seedLow, final int seedCharLength)
+	{
+		// Seeds with any of their upper 64 bits set are outside of the tracked seed space.
+		return (seedHigh == 0L) && this.isSeedAvailable(seedLow);
+	}
+	
+	@Override
+	public boolean tryClaimSeed(final long seedHigh, final long seedLow, final int seedCharLength)
+	{
+		if (seedHigh != 0L)
+		{
+			throw new IllegalArgumentException("Seed does not fit in " + BitmapSeedAvailabilityWorker.MAX_SEED_BITS + " bits: " + ProductKeyUtils.buildHexStr(seedCharLength, seedHigh, seedLow));
+		}
+		
+		return this.tryClaim(seedLow);
+	}
+	
+	/**
+	 * This method will determine if the specified seed has not been claimed.
+	 * 
+	 * @param seed
+	 * The seed.
+	 * @return
+	 * The boolean flag to denote if the specified seed has not been claimed; this will be
+	 * <code>false</code> for seeds outside of the tracked seed space.
+	 */
+	public boolean isSeedAvailable(final long seed)
+	{
+		if ( !BitmapSeedAvailabilityWorker.isTrackable(seed))
+		{
+			return false;
+		}
+		
+		final int key = (int) (seed >>> 16);
+		
+		synchronized (this.getLock(key))
+		{
+			final Container container = this.containers[key];
+			
+			return (container == null) || !container.contains((char) seed);
+		}
+	}
+	
+	/**
+	 * This method will atomically claim the specified seed.
+	 * 
+	 * @param seed
+	 * The seed.
+	 * @return
+	 * The boolean flag to denote if the seed was available and has now been claimed; this will be
+	 * <code>false</code> if the seed had already been claimed.
+	 * @throws IllegalArgumentException
+	 * If the seed is outside of the tracked seed space.
+	 */
+	public boolean tryClaim(final long seed)
+	{
+		BitmapSeedAvailabilityWorker.checkTrackable(seed);
+		
+		final int key = (int) (seed >>> 16);
+		
+		synchronized (this.getLock(key))
+		{
+			Container container = this.containers[key];
+			
+			if (container == null)
+			{
+				container = new Container();
+				
+				this.containers[key] = container;
+			}
+			
+			if ( !container.add((char) seed))
+			{
+				return false;
+			}
+		}
+		
+		this.claimedCount.increment();
+		
+		return true;
+	}
+	
+	/**
+	 * This method will make the specified seed available again.
+	 * 
+	 * @param seed
+	 * The seed.
+	 * @return
+	 * The boolean flag to denote if the seed had been claimed.
+	 * @throws IllegalArgumentException
+	 * If the seed is outside of the tracked seed space.
+	 */
+	public boolean release(final long seed)
+	{
+		BitmapSeedAvailabilityWorker.checkTrackable(seed);
+		
+		final int key = (int) (seed >>> 16);
+		
+		synchronized (this.getLock(key))
+		{
+			final Container container = this.containers[key];
+			
+			if ((container == null) || !container.remove((char) seed))
+			{
+				return false;
+			}
+			
+			if (container.cardinality == 0)
+			{
+				this.containers[key] = null;
+			}
+		}
+		
+		this.claimedCount.decrement();
+		
+		return true;
+	}
+	
+	/**
+	 * This method will get the number of claimed seeds.
+	 * 
+	 * @return
+	 * The number of claimed seeds.
+	 */
+	public long getClaimedCount()
+	{
+		return this.claimedCount.sum();
+	}
+	
+	/**
+	 * This method will write the claimed seeds to a seed bitmap file.
+	 * <br />
+	 * <br />
+	 * Seeds may be claimed while this is running; each chunk is written as it was at the moment it
+	 * was copied, so a seed claimed during the save may or may not be included.
+	 * 
+	 * @param seedBitmapFile
+	 * The seed bitmap file to write; it will be replaced if it exists.
+	 * @throws IOException
+	 * If the seed bitmap file could not be written.
+	 */
+	public void save(final Path seedBitmapFile) throws IOException
+	{
+		try (final FileChannel fileChannel = FileChannel.open(seedBitmapFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING))
+		{
+			final ByteBuffer buffer = ByteBuffer.allocateDirect(1024 * 1024);
+			int containerCount = 0;
+			long seedCount = 0L;
+			
+			// The header is re-written once the number of chunks and seeds is known.
+			buffer.position(BitmapSeedAvailabilityWorker.HEADER_LENGTH);
+			
+			for (int key = 0; key < BitmapSeedAvailabilityWorker.CHUNK_COUNT; key++ )
+			{
+				final Container container;
+				
+				synchronized (this.getLock(key))
+				{
+					container = (this.containers[key] == null) ? null : this.containers[key].copy();
+				}
+				
+				if (container == null)
+				{
+					continue;
+				}
+				
+				if (buffer.remaining() < (8 + (BitmapSeedAvailabilityWorker.BITMAP_LENGTH * 8)))
+				{
+					BitmapSeedAvailabilityWorker.drain(buffer, fileChannel);
+				}
+				
+				buffer.putInt(key);
+				buffer.putInt(container.cardinality);
+				
+				if (container.bits != null)
+				{
+					buffer.asLongBuffer().put(container.bits);
+					buffer.position(buffer.position() + (container.bits.length * 8));
+				}
+				else
+				{
+					buffer.asCharBuffer().put(container.values, 0, container.cardinality);
+					buffer.position(buffer.position() + (container.cardinality * 2));
+				}
+				
+				containerCount++ ;
+				seedCount += container.cardinality;
+			}
+			
+			BitmapSeedAvailabilityWorker.drain(buffer, fileChannel);
+			
+			buffer.putInt(BitmapSeedAvailabilityWorker.MAGIC);
+			buffer.putInt(BitmapSeedAvailabilityWorker.VERSION);
+			buffer.putInt(containerCount);
+			buffer.putInt(0);
+			buffer.putLong(seedCount);
+			buffer.flip();
+			
+			while (buffer.hasRemaining())
+			{
+				fileChannel.write(buffer, buffer.position());
+			}
+		}
+	}
+	
+	/**
+	 * This method will create a new {@link BitmapSeedAvailabilityWorker} holding the claimed seeds
+	 * in a seed bitmap file written by {@link #save(Path)}.
+	 * 
+	 * @param seedBitmapFile
+	 * The seed bitmap file to read.
+	 * @return
+	 * The new {@link BitmapSeedAvailabilityWorker}.
+	 * @throws IOException
+	 * If the seed bitmap file could not be read or is not a valid seed bitmap file.
+	 */
+	public static BitmapSeedAvailabilityWorker load(final Path seedBitmapFile) throws IOException
+	{
+		final BitmapSeedAvailabilityWorker worker = new BitmapSeedAvailabilityWorker();
+		
+		try (final FileChannel fileChannel = FileChannel.open(seedBitmapFile, StandardOpenOption.READ))
+		{
+			final MappedByteBuffer mappedFile = fileChannel.map(FileChannel.MapMode.READ_ONLY, 0L, fileChannel.size());
+			
+			if ((mappedFile.capacity() < BitmapSeedAvailabilityWorker.HEADER_LENGTH) || (mappedFile.getInt(0) != BitmapSeedAvailabilityWorker.MAGIC) || (mappedFile.getInt(4) != BitmapSeedAvailabilityWorker.VERSION))
+			{
+				throw new IOException("Not a seed bitmap file: " + seedBitmapFile);
+			}
+			
+			final int containerCount = mappedFile.getInt(8);
+			long seedCount = 0L;
+			
+			mappedFile.position(BitmapSeedAvailabilityWorker.HEADER_LENGTH);
+			
+			try
+			{
+				for (int n = 0; n < containerCount; n++ )
+				{
+					final int key = mappedFile.getInt();
+					final int cardinality = mappedFile.getInt();
+					
+					if ((key < 0) || (key >= BitmapSeedAvailabilityWorker.CHUNK_COUNT) || (cardinality <= 0) || (cardinality > (1 << 16)) || (worker.containers[key] != null))
+					{
+						throw new IOException("Seed bitmap file is corrupt: " + seedBitmapFile);
+					}
+					
+					final Container container = new Container();
+					
+					container.cardinality = cardinality;
+					
+					if (cardinality > BitmapSeedAvailabilityWorker.ARRAY_CONTAINER_LIMIT)
+					{
+						container.values = null;
+						container.bits = new long[BitmapSeedAvailabilityWorker.BITMAP_LENGTH];
+						
+						mappedFile.asLongBuffer().get(container.bits);
+						mappedFile.position(mappedFile.position() + (container.bits.length * 8));
+					}
+					else
+					{
+						container.values = new char[cardinality];
+						
+						mappedFile.asCharBuffer().get(container.values);
+						mappedFile.position(mappedFile.position() + (cardinality * 2));
+					}
+					
+					// Storing the chunks under their locks publishes them to other threads.
+					synchronized (worker.getLock(key))
+					{
+						worker.containers[key] = container;
+					}
+					
+					seedCount += cardinality;
+				}
+			}
+			catch (final RuntimeException e)
+			{
+				throw new IOException("Seed bitmap file is truncated: " + seedBitmapFile, e);
+			}
+			
+			if (seedCount != mappedFile.getLong(16))
+			{
+				throw new IOException("Seed bitmap file is corrupt: " + seedBitmapFile);
+			}
+			
+			worker.claimedCount.add(seedCount);
+		}
+		
+		return worker;
+	}
+	
+	/* PRIVATE METHODS */
+	/**
+	 * This method will get the lock guarding the specified chunk.
+	 * 
+	 * @param key
+	 * The upper 16 bits of a seed.
+	 * @return
+	 * The lock guarding the chunk.
+	 */
+	private Object getLock(final int key)
+	{
+		return this.locks[key & (BitmapSeedAvailabilityWorker.LOCK_COUNT - 1)];
+	}
+	
+	/**
+	 * This method will determine if the specified seed is within the tracked seed space.
+	 * 
+	 * @param seed
+	 * The seed.
+	 * @return
+	 * The boolean flag to denote if the specified seed is within the tracked seed space.
+	 */
+	private static boolean isTrackable(final long seed)
+	{
+		return (seed >>> BitmapSeedAvailabilityWorker.MAX_SEED_BITS) == 0L;
+	}
+	
+	/**
+	 * This method will ensure that the specified seed is within the tracked seed space.
+	 * 
+	 * @param seed
+	 * The seed.
+	 * @throws IllegalArgumentException
+	 * If the seed is outside of the tracked seed space.
+	 */
+	private static void checkTrackable(final long seed)
+	{
+		if ( !BitmapSeedAvailabilityWorker.isTrackable(seed))
+		{
+			throw new IllegalArgumentException("Seed does not fit in " + BitmapSeedAvailabilityWorker.MAX_SEED_BITS + " bits: " + seed);
+		}
+	}
+	
+	/**
+	 * This method will write the contents of the specified buffer to the specified
+	 * {@link FileChannel} and clear it.
+	 * 
+	 * @param buffer
+	 * The buffer, in write mode.
+	 * @param fileChannel
+	 * The {@link FileChannel} to write to.
+	 * @throws IOException
+	 * If the buffer could not be written.
+	 */
+	private static void drain(final ByteBuffer buffer, final FileChannel fileChannel) throws IOException
+	{
+		buffer.flip();
+		
+		while (buffer.hasRemaining())
+		{
+			fileChannel.write(buffer);
+		}
+		
+		buffer.clear();
+	}
+	
+	/* PRIVATE CLASSES */
+	/**
+	 * This class holds the lower 16 bits of the claimed seeds in a single chunk, either as a sorted
+	 * array or, once there are more than {@link BitmapSeedAvailabilityWorker#ARRAY_CONTAINER_LIMIT}
+	 * of them, as a bitmap.
+	 */
+	private static final class Container
+	{
+		
+		
+		/**
+		 * This will store the sorted values when this is an array container, otherwise
+		 * <code>null</code>.
+		 */
+		private char[] values = new char[4];
+		/**
+		 * This will store the bits when this is a bitmap container, otherwise <code>null</code>.
+		 */
+		private long[] bits = null;
+		/**
+		 * This will store the number of values held.
+		 */
+		private int cardinality = 0;
+		
+		/**
+		 * This method will determine if the specified value is held.
+		 * 
+		 * @param value
+		 * The value.
+		 * @return
+		 * The boolean flag to denote if the specified value is held.
+		 */
+		private boolean contains(final char value)
+		{
+			if (this.bits != null)
+			{
+				return (this.bits[value >>> 6] & (1L << value)) != 0L;
+			}
+			
+			return Arrays.binarySearch(this.values, 0, this.cardinality, value) >= 0;
+		}
+		
+		/**
+		 * This method will add the specified value.
+		 * 
+		 * @param value
+		 * The value.
+		 * @return
+		 * The boolean flag to denote if the value was added; this will be <code>false</code> if it
+		 * was already held.
+		 */
+		private boolean add(final char value)
+		{
+			if (this.bits != null)
+			{
+				final long mask = 1L << value;
+				
+				if ((this.bits[value >>> 6] & mask) != 0L)
+				{
+					return false;
+				}
+				
+				this.bits[value >>> 6] |= mask;
+				this.cardinality++ ;
+				
+				return true;
+			}
+			
+			final int index = Arrays.binarySearch(this.values, 0, this.cardinality, value);
+			
+			if (index >= 0)
+			{
+				return false;
+			}
+			
+			if (this.cardinality == BitmapSeedAvailabilityWorker.ARRAY_CONTAINER_LIMIT)
+			{
+				this.toBitmap();
+				
+				return this.add(value);
+			}
+			
+			if (this.cardinality == this.values.length)
+			{
+				this.values = Arrays.copyOf(this.values, Math.min(this.values.length * 2, BitmapSeedAvailabilityWorker.ARRAY_CONTAINER_LIMIT));
+			}
+			
+			final int insertionIndex = -index - 1;
+			
+			System.arraycopy(this.values, insertionIndex, this.values, insertionIndex + 1, this.cardinality - insertionIndex);
+			
+			this.values[insertionIndex] = value;
+			this.cardinality++ ;
+			
+			return true;
+		}
+		
+		/**
+		 * This method will remove the specified value.
+		 * 
+		 * @param value
+		 * The value.
+		 * @return
+		 * The boolean flag to denote if the value was removed; this will be <code>false</code> if
+		 * it was not held.
+		 */
+		private boolean remove(final char value)
+		{
+			if (this.bits != null)
+			{
+				final long mask = 1L << value;
+				
+				if ((this.bits[value >>> 6] & mask) == 0L)
+				{
+					return false;
+				}
+				
+				this.bits[value >>> 6] &= ~mask;
+				this.cardinality-- ;
+				
+				if (this.cardinality == BitmapSeedAvailabilityWorker.ARRAY_CONTAINER_LIMIT)
+				{
+					this.toArray();
+				}
+				
+				return true;
+			}
+			
+			final int index = Arrays.binarySearch(this.values, 0, this.cardinality, value);
+			
+			if (index < 0)
+			{
+				return false;
+			}
+			
+			System.arraycopy(this.values, index + 1, this.values, index, this.cardinality - index - 1);
+			
+			this.cardinality-- ;
+			
+			return true;
+		}
+		
+		/**
+		 * This method will create a copy of this {@link Container}.
+		 * 
+		 * @return
+		 * The copy.
+		 */
+		private Container copy()
+		{
+			final Container copy = new Container();
+			
+			copy.values = (this.values == null) ? null : Arrays.copyOf(this.values, this.cardinality);
+			copy.bits = (this.bits == null) ? null : this.bits.clone();
+			copy.cardinality = this.cardinality;
+			
+			return copy;
+		}
+		
+		/**
+		 * This method will convert this array container to a bitmap container.
+		 */
+		private void toBitmap()
+		{
+			this.bits = new long[BitmapSeedAvailabilityWorker.BITMAP_LENGTH];
+			
+			for (int n = 0; n < this.cardinality; n++ )
+			{
+				this.bits[this.values[n] >>> 6] |= 1L << this.values[n];
+			}
+			
+			this.values = null;
+		}
+		
+		/**
+		 * This method will convert this bitmap container to an array container.
+		 */
+		private void toArray()
+		{
+			this.values = new char[this.cardinality];
+			
+			int index = 0;
+			
+			for (int n = 0; n < this.bits.length; n++ )
+			{
+				long word = this.bits[n];
+				
+				while (word != 0L)
+				{
+					this.values[index++ ] = (char) ((n << 6) + Long.numberOfTrailingZeros(word));
+					word &= word - 1L;
+				}
+			}
+			
+			this.bits = null;
+		}
+		
+	}
+	
+}
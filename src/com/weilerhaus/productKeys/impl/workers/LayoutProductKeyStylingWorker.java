@@ -0,0 +1,230 @@
+package com.weilerhaus.productKeys.impl.workers;
+
+import com.weilerhaus.productKeys.beans.ProductKeyLayout;
+import com.weilerhaus.productKeys.enums.ProductKeyCase;
+import com.weilerhaus.productKeys.workers.ProductKeyStylingWorker;
+
+/**
+ * This class is a {@link ProductKeyStylingWorker} that splits product-keys into groups as described
+ * by a {@link ProductKeyLayout}.
+ * <br />
+ * <br />
+ * The indexes of the separators are computed once for each product-key length, so adding and
+ * removing styling are each a single pass that copies the characters into a buffer of the final
+ * size.
+ * 
+ * @author Matthew Weiler
+ */
+public class LayoutProductKeyStylingWorker implements ProductKeyStylingWorker
+{
+	
+	
+	/* PRIVATE VARIABLES */
+	/**
+	 * This will store the {@link ProductKeyLayout} that describes the styling.
+	 */
+	private final ProductKeyLayout layout;
+	/**
+	 * This will store the character placed between groups.
+	 */
+	private final char separator;
+	/**
+	 * This will store the boolean flag to denote if letters are written in lower-case.
+	 */
+	private final boolean lowerCase;
+	/**
+	 * This will store the separator indexes for the most recently styled product-key length; a
+	 * generator only ever styles product-keys of a single length.
+	 */
+	private volatile SeparatorIndexes separatorIndexes = new SeparatorIndexes(0, new int[0]);
+	
+	/* CONSTRUCTORS */
+	/**
+	 * This will create a new instance of a {@link LayoutProductKeyStylingWorker}.
+	 * 
+	 * @param layout
+	 * The {@link ProductKeyLayout} that describes the styling.
+	 */
+	public LayoutProductKeyStylingWorker(final ProductKeyLayout layout)
+	{
+		if (layout == null)
+		{
+			throw new IllegalArgumentException("Layout must be specified");
+		}
+		
+		this.layout = layout;
+		this.separator = layout.getSeparator();
+		this.lowerCase = layout.getProductKeyCase() == ProductKeyCase.LOWER;
+	}
+	
+	/* PUBLIC METHODS */
+	/**
+	 * This method will get the {@link ProductKeyLayout} that describes the styling.
+	 * 
+	 * @return
+	 * The {@link ProductKeyLayout} that describes the styling.
+	 */
+	public ProductKeyLayout getLayout()
+	{
+		return this.layout;
+	}
+	
+	@Override
+	public String addStyling(final String productKey)
+	{
+		if ((productKey == null) || (productKey.trim().length() == 0))
+		{
+			return productKey;
+		}
+		
+		final char[] productKeyChars = productKey.toCharArray();
+		final char[] styledProductKey = new char[this.getStyledLength(productKeyChars.length)];
+		
+		return new String(styledProductKey, 0, this.addStyling(productKeyChars, 0, productKeyChars.length, styledProductKey, 0));
+	}
+	
+	@Override
+	public String removeStyling(final String productKey)
+	{
+		if ((productKey == null) || (productKey.indexOf(this.separator) < 0))
+		{
+			return productKey;
+		}
+		
+		final char[] cleanedProductKey = new char[productKey.length()];
+		int cleanedLength = 0;
+		char tmpChar;
+		
+		for (int n = 0; n < productKey.length(); n++ )
+		{
+			tmpChar = productKey.charAt(n);
+			
+			if (tmpChar != this.separator)
+			{
+				cleanedProductKey[cleanedLength++ ] = tmpChar;
+			}
+		}
+		
+		return new String(cleanedProductKey, 0, cleanedLength);
+	}
+	
+	@Override
+	public boolean isStylingCharacter(final char productKeyChar)
+	{
+		return productKeyChar == this.separator;
+	}
+	
+	@Override
+	public int getStyledLength(final int productKeyLength)
+	{
+		return productKeyLength + this.getSeparatorIndexes(productKeyLength).length;
+	}
+	
+	@Override
+	public int addStyling(final char[] productKey, final int offset, final int length, final char[] dest, final int destOffset)
+	{
+		int start = offset;
+		int end = offset + length;
+		
+		while ((start < end) && (productKey[start] <= ' '))
+		{
+			start++ ;
+		}
+		
+		while ((end > start) && (productKey[end - 1] <= ' '))
+		{
+			end-- ;
+		}
+		
+		final int trimmedLength = end - start;
+		final int[] separatorIndexes = this.getSeparatorIndexes(trimmedLength);
+		
+		int nextSeparator = 0;
+		int destIndex = destOffset;
+		char tmpChar;
+		
+		for (int n = 0; n < trimmedLength; n++ )
+		{
+			if ((nextSeparator < separatorIndexes.length) && (separatorIndexes[nextSeparator] == n))
+			{
+				dest[destIndex++ ] = this.separator;
+				nextSeparator++ ;
+			}
+			
+			tmpChar = productKey[start + n];
+			
+			if (this.lowerCase)
+			{
+				dest[destIndex++ ] = ((tmpChar >= 'A') && (tmpChar <= 'Z')) ? (char) (tmpChar + ('a' - 'A')) : tmpChar;
+			}
+			else
+			{
+				dest[destIndex++ ] = ((tmpChar >= 'a') && (tmpChar <= 'z')) ? (char) (tmpChar - ('a' - 'A')) : tmpChar;
+			}
+		}
+		
+		return destIndex - destOffset;
+	}
+	
+	/* PRIVATE METHODS */
+	/**
+	 * This method will get the indexes, within a product-key of the specified length, of the
+	 * characters that a separator is placed before.
+	 * 
+	 * @param productKeyLength
+	 * The number of characters in the product-key without styling.
+	 * @return
+	 * The indexes, in ascending order, of the characters that a separator is placed before.
+	 */
+	private int[] getSeparatorIndexes(final int productKeyLength)
+	{
+		SeparatorIndexes currentSeparatorIndexes = this.separatorIndexes;
+		
+		if (currentSeparatorIndexes.productKeyLength != productKeyLength)
+		{
+			currentSeparatorIndexes = new SeparatorIndexes(productKeyLength, this.layout.getSeparatorIndexes(productKeyLength));
+			
+			this.separatorIndexes = currentSeparatorIndexes;
+		}
+		
+		return currentSeparatorIndexes.indexes;
+	}
+	
+	/* PRIVATE CLASSES */
+	/**
+	 * This class holds the separator indexes computed for a single product-key length.
+	 * 
+	 * @author Matthew Weiler
+	 */
+	private static final class SeparatorIndexes
+	{
+		
+		
+		/* PRIVATE VARIABLES */
+		/**
+		 * This will store the number of characters in the product-key without styling.
+		 */
+		private final int productKeyLength;
+		/**
+		 * This will store the indexes of the characters that a separator is placed before.
+		 */
+		private final int[] indexes;
+		
+		/* CONSTRUCTORS */
+		/**
+		 * This will create a new instance of a {@link SeparatorIndexes}.
+		 * 
+		 * @param productKeyLength
+		 * The number of characters in the product-key without styling.
+		 * @param indexes
+		 * The indexes of the characters that a separator is placed before.
+		 */
+		private SeparatorIndexes(final int productKeyLength, final int[] indexes)
+		{
+			this.productKeyLength = productKeyLength;
+			this.indexes = indexes;
+		}
+		
+	}
+	
+}
@@ -0,0 +1,357 @@
+package com.weilerhaus.productKeys.impl.workers;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.LongBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import com.weilerhaus.productKeys.utils.ProductKeyUtils;
+import com.weilerhaus.productKeys.workers.BlacklistWorker;
+
+/**
+ * This class is a {@link BlacklistWorker} backed by a memory-mapped file of sorted, unique seeds.
+ * <br />
+ * <br />
+ * The seeds are kept off the heap as 8 bytes each and are looked up with an interpolation search
+ * that falls back to a binary search, so a lookup never allocates.
+ * <br />
+ * The file is made up of a header, holding {@link #MAGIC}, {@link #VERSION}, the number of
+ * HEXADECIMAL characters in each seed and the number of seeds, followed by the seeds as
+ * big-endian longs in ascending order.
+ * <br />
+ * <i>Only seeds of up to {@link ProductKeyUtils#MAX_LONG_HEX_LENGTH} characters can be stored, so
+ * this cannot be used by a {@link com.weilerhaus.productKeys.ProductKeyGenerator} with longer
+ * seeds.</i>
+ * <br />
+ * <i>Use {@link #writeBlacklistFile(Path, int, long[], int)} or
+ * {@link com.weilerhaus.productKeys.io.BlacklistImporter} to create the file.</i>
+ * 
+ * @author Matthew Weiler
+ */
+public class MappedBlacklistWorker implements BlacklistWorker
+{
+	
+	
+	/* PUBLIC CONSTANTS */
+	/**
+	 * This is the value that every blacklist file starts with ("PKBL").
+	 */
+	public static final int MAGIC = 0x504B424C;
+	/**
+	 * This is the version of the blacklist file format.
+	 */
+	public static final int VERSION = 1;
+	
+	/* PRIVATE CONSTANTS */
+	/**
+	 * This is the number of bytes in the header of a blacklist file.
+	 */
+	private static final int HEADER_LENGTH = 24;
+	/**
+	 * This is the maximum number of interpolation steps taken before falling back to a binary
+	 * search, which bounds the cost of a lookup when the seeds are not evenly distributed.
+	 */
+	private static final int MAX_INTERPOLATION_STEPS = 4;
+	
+	/* PRIVATE VARIABLES */
+	/**
+	 * This will store the number of HEXADECIMAL characters in each seed.
+	 */
+	private final int seedCharLength;
+	/**
+	 * This will store the sorted, unique seeds.
+	 */
+	private final LongBuffer seeds;
+	/**
+	 * This will store the number of seeds.
+	 */
+	private final int seedCount;
+	
+	/* CONSTRUCTORS */
+	/**
+	 * This will create a new instance of a {@link MappedBlacklistWorker}.
+	 * 
+	 * @param blacklistFile
+	 * The blacklist file to memory-map.
+	 * @throws IOException
+	 * If the blacklist file could not be read or is not a valid blacklist file.
+	 * @throws IllegalArgumentException
+	 * If the seeds in the blacklist file have more than
+	 * {@link ProductKeyUtils#MAX_LONG_HEX_LENGTH} characters.
+	 */
+	public MappedBlacklistWorker(final Path blacklistFile) throws IOException
+	{
+		try (final FileChannel fileChannel = FileChannel.open(blacklistFile, StandardOpenOption.READ))
+		{
+			final MappedByteBuffer mappedFile = fileChannel.map(FileChannel.MapMode.READ_ONLY, 0L, fileChannel.size());
+			
+			if ((mappedFile.capacity() < MappedBlacklistWorker.HEADER_LENGTH) || (mappedFile.getInt(0) != MappedBlacklistWorker.MAGIC) || (mappedFile.getInt(4) != MappedBlacklistWorker.VERSION))
+			{
+				throw new IOException("Not a blacklist file: " + blacklistFile);
+			}
+			
+			final long count = mappedFile.getLong(16);
+			
+			if ((count < 0) || (count > ((mappedFile.capacity() - MappedBlacklistWorker.HEADER_LENGTH) / 8)))
+			{
+				throw new IOException("Blacklist file is truncated: " + blacklistFile);
+			}
+			
+			this.seedCharLength = MappedBlacklistWorker.checkSeedCharLength(mappedFile.getInt(8));
+			this.seedCount = (int) count;
+			
+			mappedFile.position(MappedBlacklistWorker.HEADER_LENGTH);
+			
+			this.seeds = mappedFile.slice().asLongBuffer();
+		}
+	}
+	
+	/* PUBLIC METHODS */
+	@Override
+	public boolean isKeyBlackListed(final String productKey)
+	{
+		return this.isSeedBlackListed(ProductKeyUtils.parseHex(productKey, 0, this.seedCharLength));
+	}
+	
+	@Override
+	public boolean isKeyBlackListed(final char[] productKey, final int offset, final int length)
+	{
+		if (length < this.seedCharLength)
+		{
+			return false;
+		}
+		
+		return this.isSeedBlackListed(ProductKeyUtils.parseHex(productKey, offset, this.seedCharLength));
+	}
+	
+	@Override
+	public boolean isSeedBlackListed(final String seedHex)
+	{
+		return (seedHex != null) && this.isSeedBlackListed(ProductKeyUtils.parseHex(seedHex, 0, seedHex.length()));
+	}
+	
+	@Override
+	public boolean isSeedBlackListed(final long seed, final int seedCharLength)
+	{
+		return this.isSeedBlackListed(seed);
+	}
+	
+	/**
+	 * This method will check if the specified seed, of up to 128 bits, has been blacklisted.
+	 * <br />
+	 * <br />
+	 * <i>Only seeds of up to {@link ProductKeyUtils#MAX_LONG_HEX_LENGTH} characters can be stored
+	 * in the blacklist file; a longer seed fails rather than being reported as not blacklisted, so
+	 * a {@link com.weilerhaus.productKeys.ProductKeyGenerator} with longer seeds cannot silently
+	 * block nothing.</i>
+	 * 
+	 * @throws IllegalArgumentException
+	 * If the specified seed has more than {@link ProductKeyUtils#MAX_LONG_HEX_LENGTH} characters.
+	 */
+	@Override
+	public boolean isSeedBlackListed(final long seedHigh, final long seedLow, final int seedCharLength)
+	{
+		if (seedCharLength > ProductKeyUtils.MAX_LONG_HEX_LENGTH)
+		{
+			throw new IllegalArgumentException("Seed is too long for a mapped blacklist: " + seedCharLength);
+		}
+		
+		return (seedHigh == 0L) && this.isSeedBlackListed(seedLow);
+	}
+	
+	/**
+	 * This method will check if this blacklist reports a change to its content through
+	 * {@link #getVersion()}.
+	 * <br />
+	 * <br />
+	 * The mapped file is never changed once it has been opened, so its version never changes.
+	 * 
+	 * @return
+	 * <code>true</code>
+	 */
+	@Override
+	public boolean isVersioned()
+	{
+		return true;
+	}
+	
+	/**
+	 * This method will check if the specified seed has been blacklisted.
+	 * 
+	 * @param seed
+	 * The seed.
+	 * @return
+	 * The boolean flag to denote if the specified seed has been blacklisted.
+	 */
+	public boolean isSeedBlackListed(final long seed)
+	{
+		if ((seed < 0) || (this.seedCount == 0))
+		{
+			return false;
+		}
+		
+		int low = 0;
+		int high = this.seedCount - 1;
+		long tmpLowSeed;
+		long tmpHighSeed;
+		int tmpIndex;
+		long tmpSeed;
+		int tmpSteps = 0;
+		
+		while (low <= high)
+		{
+			tmpLowSeed = this.seeds.get(low);
+			tmpHighSeed = this.seeds.get(high);
+			
+			if ((seed < tmpLowSeed) || (seed > tmpHighSeed))
+			{
+				return false;
+			}
+			
+			if ((tmpSteps < MappedBlacklistWorker.MAX_INTERPOLATION_STEPS) && (tmpHighSeed > tmpLowSeed))
+			{
+				// Guess where the seed would be if the seeds were evenly distributed.
+				tmpIndex = low + (int) (((double) (seed - tmpLowSeed) / (double) (tmpHighSeed - tmpLowSeed)) * (high - low));
+				tmpSteps++ ;
+			}
+			else
+			{
+				tmpIndex = (low + high) >>> 1;
+			}
+			
+			tmpSeed = this.seeds.get(tmpIndex);
+			
+			if (tmpSeed < seed)
+			{
+				low = tmpIndex + 1;
+			}
+			else if (tmpSeed > seed)
+			{
+				high = tmpIndex - 1;
+			}
+			else
+			{
+				return true;
+			}
+		}
+		
+		return false;
+	}
+	
+	/**
+	 * This method will get the number of HEXADECIMAL characters in each seed.
+	 * 
+	 * @return
+	 * The number of HEXADECIMAL characters in each seed.
+	 */
+	public int getSeedCharLength()
+	{
+		return this.seedCharLength;
+	}
+	
+	/**
+	 * This method will get the number of blacklisted seeds.
+	 * 
+	 * @return
+	 * The number of blacklisted seeds.
+	 */
+	public int getSeedCount()
+	{
+		return this.seedCount;
+	}
+	
+	/**
+	 * This method will write a blacklist file.
+	 * 
+	 * @param blacklistFile
+	 * The blacklist file to write; it will be replaced if it exists.
+	 * @param seedCharLength
+	 * The number of HEXADECIMAL characters in each seed.
+	 * @param sortedSeeds
+	 * The seeds, which must be sorted in ascending order without duplicates.
+	 * @param seedCount
+	 * The number of seeds to write from the start of the array.
+	 * @throws IOException
+	 * If the blacklist file could not be written.
+	 * @throws IllegalArgumentException
+	 * If the specified number of HEXADECIMAL characters is not between 1 and
+	 * {@link ProductKeyUtils#MAX_LONG_HEX_LENGTH}.
+	 */
+	public static void writeBlacklistFile(final Path blacklistFile, final int seedCharLength, final long[] sortedSeeds, final int seedCount) throws IOException
+	{
+		MappedBlacklistWorker.checkSeedCharLength(seedCharLength);
+		
+		try (final FileChannel fileChannel = FileChannel.open(blacklistFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING))
+		{
+			final ByteBuffer buffer = ByteBuffer.allocateDirect(1024 * 1024);
+			
+			buffer.putInt(MappedBlacklistWorker.MAGIC);
+			buffer.putInt(MappedBlacklistWorker.VERSION);
+			buffer.putInt(seedCharLength);
+			buffer.putInt(0);
+			buffer.putLong(seedCount);
+			
+			for (int n = 0; n < seedCount; n++ )
+			{
+				if (buffer.remaining() < 8)
+				{
+					MappedBlacklistWorker.drain(buffer, fileChannel);
+				}
+				
+				buffer.putLong(sortedSeeds[n]);
+			}
+			
+			MappedBlacklistWorker.drain(buffer, fileChannel);
+		}
+	}
+	
+	/* PRIVATE METHODS */
+	/**
+	 * This method will check that seeds of the specified number of HEXADECIMAL characters can be
+	 * stored in a blacklist file.
+	 * 
+	 * @param seedCharLength
+	 * The number of HEXADECIMAL characters in each seed.
+	 * @return
+	 * The specified number of HEXADECIMAL characters.
+	 * @throws IllegalArgumentException
+	 * If the specified number of HEXADECIMAL characters is not between 1 and
+	 * {@link ProductKeyUtils#MAX_LONG_HEX_LENGTH}.
+	 */
+	private static int checkSeedCharLength(final int seedCharLength)
+	{
+		if ((seedCharLength < 1) || (seedCharLength > ProductKeyUtils.MAX_LONG_HEX_LENGTH))
+		{
+			throw new IllegalArgumentException("Seed is too long for a mapped blacklist: " + seedCharLength);
+		}
+		
+		return seedCharLength;
+	}
+	
+	/**
+	 * This method will write the contents of the specified buffer to the specified
+	 * {@link FileChannel} and clear it.
+	 * 
+	 * @param buffer
+	 * The buffer, in write mode.
+	 * @param fileChannel
+	 * The {@link FileChannel} to write to.
+	 * @throws IOException
+	 * If the buffer could not be written.
+	 */
+	private static void drain(final ByteBuffer buffer, final FileChannel fileChannel) throws IOException
+	{
+		buffer.flip();
+		
+		while (buffer.hasRemaining())
+		{
+			fileChannel.write(buffer);
+		}
+		
+		buffer.clear();
+	}
+	
+}
@@ -0,0 +1,143 @@
+package com.weilerhaus.productKeys.impl.workers;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.weilerhaus.productKeys.workers.SeedAllocationWorker;
+import com.weilerhaus.productKeys.workers.SeedAvailabilityWorker;
+
+/**
+ * This class is a {@link SeedAllocationWorker} that walks a keyed permutation of the seed space,
+ * so every seed is allocated exactly once, in an order that cannot be guessed without the key.
+ * <br />
+ * <br />
+ * The positions in the permutation are taken from a single shared counter, so how many seeds are
+ * used does not depend on which, or how many, threads allocate them; short-lived threads, such as
+ * a virtual thread per call, waste none of the seed space.
+ * <br />
+ * <i>Store the key and {@link #getPosition()} to continue the same permutation after a restart.
+ * A new key, or a position that was not stored, walks the seeds again from a different order and
+ * will hand out seeds that were already used, so a {@link SeedAvailabilityWorker} is required
+ * unless both are kept.</i>
+ * 
+ * @author Matthew Weiler
+ */
+public class ScrambledSeedAllocationWorker implements SeedAllocationWorker
+{
+	
+	
+	/* PRIVATE VARIABLES */
+	/**
+	 * This will store the number of bits in each seed.
+	 */
+	private final int seedBits;
+	/**
+	 * This will store the mask covering the bits of a seed.
+	 */
+	private final long seedMask;
+	/**
+	 * This will store the key that selects the permutation.
+	 */
+	private final long key;
+	/**
+	 * This will store the first position that has not yet been handed out.
+	 */
+	private final AtomicLong position;
+	
+	/* CONSTRUCTORS */
+	/**
+	 * This will create a new instance of a {@link ScrambledSeedAllocationWorker} that starts at
+	 * the beginning of its permutation.
+	 * 
+	 * @param seedBits
+	 * The number of bits in each seed; this must be between 1 and 60 inclusive.
+	 * @param key
+	 * The key that selects the permutation.
+	 */
+	public ScrambledSeedAllocationWorker(final int seedBits, final long key)
+	{
+		this(seedBits, key, 0L);
+	}
+	
+	/**
+	 * This will create a new instance of a {@link ScrambledSeedAllocationWorker}.
+	 * 
+	 * @param seedBits
+	 * The number of bits in each seed; this must be between 1 and 60 inclusive.
+	 * @param key
+	 * The key that selects the permutation.
+	 * @param position
+	 * The position in the permutation to start at, as returned by {@link #getPosition()}.
+	 */
+	public ScrambledSeedAllocationWorker(final int seedBits, final long key, final long position)
+	{
+		if ((seedBits < 1) || (seedBits > 60))
+		{
+			throw new IllegalArgumentException("Seed bits must be between 1 and 60: " + seedBits);
+		}
+		
+		if (position < 0L)
+		{
+			throw new IllegalArgumentException("Position cannot be negative: " + position);
+		}
+		
+		this.seedBits = seedBits;
+		this.seedMask = (1L << seedBits) - 1L;
+		this.key = key;
+		this.position = new AtomicLong(position);
+	}
+	
+	/* PUBLIC METHODS */
+	@Override
+	public long allocateSeed()
+	{
+		final long index = this.position.getAndIncrement();
+		
+		if (index > this.seedMask)
+		{
+			return -1L;
+		}
+		
+		return this.scramble(index);
+	}
+	
+	/**
+	 * This method will get the first position in the permutation that has not yet been handed out.
+	 * 
+	 * @return
+	 * The first position in the permutation that has not yet been handed out.
+	 */
+	public long getPosition()
+	{
+		return Math.min(this.position.get(), this.seedMask + 1L);
+	}
+	
+	/* PRIVATE METHODS */
+	/**
+	 * This method will map the specified position in the permutation to its seed.
+	 * <br />
+	 * <br />
+	 * Each step (adding or XOR-ing a constant, multiplying by an odd number and XOR-ing in the
+	 * upper half of the bits) can be reversed within the seed bits, so no two positions share a
+	 * seed.
+	 * 
+	 * @param index
+	 * The position in the permutation.
+	 * @return
+	 * The seed.
+	 */
+	private long scramble(final long index)
+	{
+		final int shift = (this.seedBits + 1) >>> 1;
+		long value = (index ^ this.key) & this.seedMask;
+		
+		value = (value * 0x9E3779B97F4A7C15L) & this.seedMask;
+		value ^= value >>> shift;
+		value = ((value + (this.key >>> 32)) * 0xBF58476D1CE4E5B9L) & this.seedMask;
+		value ^= value >>> shift;
+		value = (value * 0x94D049BB133111EBL) & this.seedMask;
+		value ^= value >>> shift;
+		
+		return value;
+	}
+	
+}
@@ -0,0 +1,172 @@
+package com.weilerhaus.productKeys.io;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+
+import com.weilerhaus.productKeys.ProductKeyGenerator;
+import com.weilerhaus.productKeys.impl.workers.MappedBlacklistWorker;
+import com.weilerhaus.productKeys.tasks.SeedExtractionTask;
+import com.weilerhaus.productKeys.utils.ProductKeyUtils;
+
+/**
+ * This class can be used to build the file backing a {@link MappedBlacklistWorker} from a file of
+ * ASCII text containing one leaked or revoked product-key per line.
+ * <br />
+ * <br />
+ * The product-keys are parsed and checksum-validated in parallel, straight from the
+ * memory-mapped file, and their seeds are then sorted in parallel and de-duplicated.
+ * <br />
+ * <i>Only product-keys with seeds of up to {@link ProductKeyUtils#MAX_LONG_HEX_LENGTH} characters
+ * can be imported, as those are the only seeds a {@link MappedBlacklistWorker} can hold.</i>
+ * 
+ * @author Matthew Weiler
+ */
+public class BlacklistImporter
+{
+	
+	
+	/* PRIVATE VARIABLES */
+	/**
+	 * This will store the {@link ProductKeyGenerator} that generated the product-keys.
+	 */
+	private final ProductKeyGenerator<?> productKeyGenerator;
+	/**
+	 * This will store the {@link ForkJoinPool} the product-keys will be parsed on.
+	 */
+	private final ForkJoinPool pool;
+	/**
+	 * This will store the number of lines rejected by the last import.
+	 */
+	private long rejectedCount = 0L;
+	
+	/* CONSTRUCTORS */
+	/**
+	 * This will create a new instance of a {@link BlacklistImporter} that parses on the common
+	 * {@link ForkJoinPool}.
+	 * 
+	 * @param productKeyGenerator
+	 * The {@link ProductKeyGenerator} that generated the product-keys.
+	 * @throws IllegalArgumentException
+	 * If the seeds of the specified {@link ProductKeyGenerator} have more than
+	 * {@link ProductKeyUtils#MAX_LONG_HEX_LENGTH} characters.
+	 */
+	public BlacklistImporter(final ProductKeyGenerator<?> productKeyGenerator)
+	{
+		this(productKeyGenerator, ForkJoinPool.commonPool());
+	}
+	
+	/**
+	 * This will create a new instance of a {@link BlacklistImporter}.
+	 * 
+	 * @param productKeyGenerator
+	 * The {@link ProductKeyGenerator} that generated the product-keys.
+	 * @param pool
+	 * The {@link ForkJoinPool} the product-keys will be parsed on.
+	 * @throws IllegalArgumentException
+	 * If the seeds of the specified {@link ProductKeyGenerator} have more than
+	 * {@link ProductKeyUtils#MAX_LONG_HEX_LENGTH} characters.
+	 */
+	public BlacklistImporter(final ProductKeyGenerator<?> productKeyGenerator, final ForkJoinPool pool)
+	{
+		if (productKeyGenerator.getSeedCharLength() > ProductKeyUtils.MAX_LONG_HEX_LENGTH)
+		{
+			// The seeds would not fit in a long, so every product-key would be rejected.
+			throw new IllegalArgumentException("Seed is too long for a mapped blacklist: " + productKeyGenerator.getSeedCharLength());
+		}
+		
+		this.productKeyGenerator = productKeyGenerator;
+		this.pool = pool;
+	}
+	
+	/* PUBLIC METHODS */
+	/**
+	 * This method will import the product-keys in the specified file into a blacklist file.
+	 * 
+	 * @param productKeyFile
+	 * The file containing one product-key per line.
+	 * @param blacklistFile
+	 * The blacklist file to write; it will be replaced if it exists.
+	 * @return
+	 * The number of unique seeds written to the blacklist file.
+	 * @throws IOException
+	 * If the product-key file could not be read or the blacklist file could not be written.
+	 */
+	public int importProductKeys(final Path productKeyFile, final Path blacklistFile) throws IOException
+	{
+		final SeedExtractionTask task;
+		
+		try (final FileChannel fileChannel = FileChannel.open(productKeyFile, StandardOpenOption.READ))
+		{
+			final long fileSize = fileChannel.size();
+			
+			task = new SeedExtractionTask(this.productKeyGenerator, fileChannel, fileSize, 0L, fileSize);
+			
+			try
+			{
+				this.pool.invoke(task);
+			}
+			catch (UncheckedIOException uioe)
+			{
+				throw uioe.getCause();
+			}
+		}
+		
+		this.rejectedCount = task.getRejectedCount();
+		
+		return BlacklistImporter.writeSeeds(blacklistFile, this.productKeyGenerator.getSeedCharLength(), task.getSeeds(), task.getSeedCount());
+	}
+	
+	/**
+	 * This method will get the number of lines rejected by the last import, because their checksum
+	 * was not correct or they did not start with a HEXADECIMAL seed.
+	 * 
+	 * @return
+	 * The number of lines rejected by the last import.
+	 */
+	public long getRejectedCount()
+	{
+		return this.rejectedCount;
+	}
+	
+	/**
+	 * This method will sort and de-duplicate the specified seeds and write them to a blacklist
+	 * file.
+	 * 
+	 * @param blacklistFile
+	 * The blacklist file to write; it will be replaced if it exists.
+	 * @param seedCharLength
+	 * The number of HEXADECIMAL characters in each seed.
+	 * @param seeds
+	 * The seeds, in any order; the array will be sorted in place.
+	 * @param seedCount
+	 * The number of seeds to use from the start of the array.
+	 * @return
+	 * The number of unique seeds written to the blacklist file.
+	 * @throws IOException
+	 * If the blacklist file could not be written.
+	 */
+	public static int writeSeeds(final Path blacklistFile, final int seedCharLength, final long[] seeds, final int seedCount) throws IOException
+	{
+		Arrays.parallelSort(seeds, 0, seedCount);
+		
+		int uniqueCount = 0;
+		
+		for (int n = 0; n < seedCount; n++ )
+		{
+			if ((uniqueCount == 0) || (seeds[n] != seeds[uniqueCount - 1]))
+			{
+				seeds[uniqueCount++ ] = seeds[n];
+			}
+		}
+		
+		MappedBlacklistWorker.writeBlacklistFile(blacklistFile, seedCharLength, seeds, uniqueCount);
+		
+		return uniqueCount;
+	}
+	
+}
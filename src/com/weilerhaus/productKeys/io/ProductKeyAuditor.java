@@ -0,0 +1,594 @@
+package com.weilerhaus.productKeys.io;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.ForkJoinPool;
+
+import com.weilerhaus.productKeys.ProductKeyGenerator;
+import com.weilerhaus.productKeys.beans.ProductKeyAuditReport;
+import com.weilerhaus.productKeys.tasks.RadixSortTask;
+import com.weilerhaus.productKeys.tasks.SeedExtractionTask;
+import com.weilerhaus.productKeys.utils.ProductKeyUtils;
+
+/**
+ * This class can be used to audit a corpus of issued product-keys, such as a file written by
+ * {@link ProductKeyExporter}, for seeds that were issued more than once and for how the seeds are
+ * spread over the seed space.
+ * <br />
+ * <br />
+ * The corpus is read in runs of at most {@link #getRunSize()} bytes; the seeds of each run are
+ * extracted in parallel, straight from the memory-mapped file, as primitives and sorted with a
+ * parallel radix sort. A corpus that fits in one run is audited in memory; otherwise each sorted
+ * run is written to a temporary file and the runs are merged, so the corpus may be larger than
+ * the available memory.
+ * 
+ * @author Matthew Weiler
+ */
+public class ProductKeyAuditor
+{
+	
+	
+	/* PUBLIC CONSTANTS */
+	/**
+	 * This is the default number of bytes of the corpus that are sorted in memory at a time.
+	 */
+	public static final long DEFAULT_RUN_SIZE = 256L * 1024L * 1024L;
+	/**
+	 * This is the largest number of bytes of the corpus that can be sorted in memory at a time.
+	 */
+	public static final long MAX_RUN_SIZE = 1024L * 1024L * 1024L;
+	/**
+	 * This is the largest number of duplicate seeds sampled in a {@link ProductKeyAuditReport}.
+	 */
+	public static final int DUPLICATE_SAMPLE_SIZE = 100;
+	/**
+	 * This is the number of bits of a seed used to pick its slice of the seed space.
+	 */
+	public static final int BUCKET_BITS = 8;
+	
+	/* PRIVATE CONSTANTS */
+	/**
+	 * This is the size of the buffer used to write and read each sorted run.
+	 */
+	private static final int RUN_BUFFER_SIZE = 64 * 1024;
+	
+	/* PRIVATE VARIABLES */
+	/**
+	 * This will store the {@link ProductKeyGenerator} that generated the product-keys.
+	 */
+	private final ProductKeyGenerator<?> productKeyGenerator;
+	/**
+	 * This will store the {@link ForkJoinPool} the product-keys will be parsed and sorted on.
+	 */
+	private final ForkJoinPool pool;
+	/**
+	 * This will store the number of bytes of the corpus that are sorted in memory at a time.
+	 */
+	private final long runSize;
+	
+	/* CONSTRUCTORS */
+	/**
+	 * This will create a new instance of a {@link ProductKeyAuditor} that works on the common
+	 * {@link ForkJoinPool}.
+	 * 
+	 * @param productKeyGenerator
+	 * The {@link ProductKeyGenerator} that generated the product-keys.
+	 */
+	public ProductKeyAuditor(final ProductKeyGenerator<?> productKeyGenerator)
+	{
+		this(productKeyGenerator, ForkJoinPool.commonPool());
+	}
+	
+	/**
+	 * This will create a new instance of a {@link ProductKeyAuditor} that sorts
+	 * {@link #DEFAULT_RUN_SIZE} bytes of the corpus in memory at a time.
+	 * 
+	 * @param productKeyGenerator
+	 * The {@link ProductKeyGenerator} that generated the product-keys.
+	 * @param pool
+	 * The {@link ForkJoinPool} the product-keys will be parsed and sorted on.
+	 */
+	public ProductKeyAuditor(final ProductKeyGenerator<?> productKeyGenerator, final ForkJoinPool pool)
+	{
+		this(productKeyGenerator, pool, ProductKeyAuditor.DEFAULT_RUN_SIZE);
+	}
+	
+	/**
+	 * This will create a new instance of a {@link ProductKeyAuditor}.
+	 * 
+	 * @param productKeyGenerator
+	 * The {@link ProductKeyGenerator} that generated the product-keys.
+	 * @param pool
+	 * The {@link ForkJoinPool} the product-keys will be parsed and sorted on.
+	 * @param runSize
+	 * The number of bytes of the corpus that are sorted in memory at a time; this must be between
+	 * 1 and {@link #MAX_RUN_SIZE} inclusive.
+	 * @throws IllegalArgumentException
+	 * If the run size is not valid, or the seeds of the {@link ProductKeyGenerator} have more than
+	 * {@link ProductKeyUtils#MAX_LONG_HEX_LENGTH} characters and so are not sorted as a
+	 * {@link Long}.
+	 */
+	public ProductKeyAuditor(final ProductKeyGenerator<?> productKeyGenerator, final ForkJoinPool pool, final long runSize)
+	{
+		if (productKeyGenerator.getSeedCharLength() > ProductKeyUtils.MAX_LONG_HEX_LENGTH)
+		{
+			throw new IllegalArgumentException("Seed length must be between 1 and " + ProductKeyUtils.MAX_LONG_HEX_LENGTH + ": " + productKeyGenerator.getSeedCharLength());
+		}
+		
+		if ((runSize < 1L) || (runSize > ProductKeyAuditor.MAX_RUN_SIZE))
+		{
+			throw new IllegalArgumentException("Run size must be between 1 and " + ProductKeyAuditor.MAX_RUN_SIZE + ": " + runSize);
+		}
+		
+		this.productKeyGenerator = productKeyGenerator;
+		this.pool = pool;
+		this.runSize = runSize;
+	}
+	
+	/* PUBLIC METHODS */
+	/**
+	 * This method will audit the product-keys in the specified corpus file.
+	 * 
+	 * @param corpusFile
+	 * The file containing one product-key per line, or a
+	 * {@link com.weilerhaus.productKeys.enums.ProductKeyExportFormat#CSV} export.
+	 * @param workDirectory
+	 * The directory the sorted runs are written to, if the corpus does not fit in one run; they
+	 * are deleted before this method returns.
+	 * @return
+	 * The {@link ProductKeyAuditReport} describing the corpus.
+	 * @throws IOException
+	 * If the corpus file could not be read or a sorted run could not be written or read.
+	 */
+	public ProductKeyAuditReport audit(final Path corpusFile, final Path workDirectory) throws IOException
+	{
+		final int seedBits = this.productKeyGenerator.getSeedCharLength() * 4;
+		final Tally tally = new Tally(seedBits);
+		final List<Path> runFiles = new ArrayList<>();
+		
+		try (final FileChannel fileChannel = FileChannel.open(corpusFile, StandardOpenOption.READ))
+		{
+			final long fileSize = fileChannel.size();
+			final int runCount = (int) Math.max(1L, (fileSize + this.runSize - 1L) / this.runSize);
+			
+			for (int r = 0; r < runCount; r++ )
+			{
+				final long start = r * this.runSize;
+				final SeedExtractionTask task = new SeedExtractionTask(this.productKeyGenerator, fileChannel, fileSize, start, Math.min(start + this.runSize, fileSize));
+				
+				this.pool.invoke(task);
+				
+				tally.rejectedCount += task.getRejectedCount();
+				
+				RadixSortTask.sort(task.getSeeds(), task.getSeedCount(), seedBits, this.pool);
+				
+				if (runCount == 1)
+				{
+					tally.addAll(task.getSeeds(), task.getSeedCount());
+				}
+				else
+				{
+					runFiles.add(ProductKeyAuditor.writeRun(workDirectory, task.getSeeds(), task.getSeedCount()));
+				}
+			}
+			
+			tally.runCount = runCount;
+		}
+		catch (UncheckedIOException uioe)
+		{
+			ProductKeyAuditor.deleteRuns(runFiles);
+			
+			throw uioe.getCause();
+		}
+		
+		try
+		{
+			if ( !runFiles.isEmpty())
+			{
+				ProductKeyAuditor.mergeRuns(runFiles, tally);
+			}
+		}
+		finally
+		{
+			ProductKeyAuditor.deleteRuns(runFiles);
+		}
+		
+		return tally.buildReport();
+	}
+	
+	/**
+	 * This method will get the number of bytes of the corpus that are sorted in memory at a time.
+	 * 
+	 * @return
+	 * The number of bytes of the corpus that are sorted in memory at a time.
+	 */
+	public long getRunSize()
+	{
+		return this.runSize;
+	}
+	
+	/* PRIVATE METHODS */
+	/**
+	 * This method will write the specified sorted seeds to a new temporary run file.
+	 * 
+	 * @param workDirectory
+	 * The directory to create the run file in.
+	 * @param seeds
+	 * The sorted seeds.
+	 * @param seedCount
+	 * The number of seeds to use from the start of the array.
+	 * @return
+	 * The run file, holding the seed count followed by the seeds.
+	 * @throws IOException
+	 * If the run file could not be written.
+	 */
+	private static Path writeRun(final Path workDirectory, final long[] seeds, final int seedCount) throws IOException
+	{
+		final Path runFile = Files.createTempFile(workDirectory, "audit-", ".run");
+		
+		try (final DataOutputStream output = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(runFile), ProductKeyAuditor.RUN_BUFFER_SIZE)))
+		{
+			output.writeInt(seedCount);
+			
+			for (int n = 0; n < seedCount; n++ )
+			{
+				output.writeLong(seeds[n]);
+			}
+		}
+		
+		return runFile;
+	}
+	
+	/**
+	 * This method will merge the specified sorted run files, feeding the seeds to the specified
+	 * {@link Tally} in ascending order.
+	 * 
+	 * @param runFiles
+	 * The sorted run files.
+	 * @param tally
+	 * The {@link Tally} to feed the seeds to.
+	 * @throws IOException
+	 * If a run file could not be read.
+	 */
+	private static void mergeRuns(final List<Path> runFiles, final Tally tally) throws IOException
+	{
+		final PriorityQueue<RunReader> queue = new PriorityQueue<>(runFiles.size());
+		
+		try
+		{
+			for (final Path runFile : runFiles)
+			{
+				final RunReader reader = new RunReader(runFile);
+				
+				if (reader.advance())
+				{
+					queue.add(reader);
+				}
+				else
+				{
+					reader.close();
+				}
+			}
+			
+			RunReader tmpReader;
+			
+			while ((tmpReader = queue.poll()) != null)
+			{
+				tally.add(tmpReader.current);
+				
+				if (tmpReader.advance())
+				{
+					queue.add(tmpReader);
+				}
+				else
+				{
+					tmpReader.close();
+				}
+			}
+			
+			tally.finish();
+		}
+		finally
+		{
+			for (final RunReader reader : queue)
+			{
+				reader.close();
+			}
+		}
+	}
+	
+	/**
+	 * This method will delete the specified run files, ignoring any that cannot be deleted.
+	 * 
+	 * @param runFiles
+	 * The run files to delete.
+	 */
+	private static void deleteRuns(final List<Path> runFiles)
+	{
+		for (final Path runFile : runFiles)
+		{
+			try
+			{
+				Files.deleteIfExists(runFile);
+			}
+			catch (IOException ioe)
+			{
+				// Leave it for the caller to clean up with the work directory.
+			}
+		}
+		
+		runFiles.clear();
+	}
+	
+	/* PRIVATE CLASSES */
+	/**
+	 * This class reads the seeds of a sorted run file, in order.
+	 * 
+	 * @author Matthew Weiler
+	 */
+	private static final class RunReader implements Closeable, Comparable<RunReader>
+	{
+		
+		
+		/* PRIVATE VARIABLES */
+		/**
+		 * This will store the stream the seeds are read from.
+		 */
+		private final DataInputStream input;
+		/**
+		 * This will store the number of seeds not yet read.
+		 */
+		private int remaining;
+		/**
+		 * This will store the last seed read.
+		 */
+		private long current;
+		
+		/* CONSTRUCTORS */
+		/**
+		 * This will create a new instance of a {@link RunReader}.
+		 * 
+		 * @param runFile
+		 * The sorted run file.
+		 * @throws IOException
+		 * If the run file could not be opened.
+		 */
+		private RunReader(final Path runFile) throws IOException
+		{
+			this.input = new DataInputStream(new BufferedInputStream(Files.newInputStream(runFile), ProductKeyAuditor.RUN_BUFFER_SIZE));
+			
+			try
+			{
+				this.remaining = this.input.readInt();
+			}
+			catch (IOException ioe)
+			{
+				this.input.close();
+				
+				throw ioe;
+			}
+		}
+		
+		/* PUBLIC METHODS */
+		/**
+		 * This method will read the next seed.
+		 * 
+		 * @return
+		 * The boolean flag to denote if a seed was read; <code>false</code> once the run is
+		 * exhausted.
+		 * @throws IOException
+		 * If the run file could not be read.
+		 */
+		private boolean advance() throws IOException
+		{
+			if (this.remaining == 0)
+			{
+				return false;
+			}
+			
+			this.current = this.input.readLong();
+			this.remaining-- ;
+			
+			return true;
+		}
+		
+		@Override
+		public int compareTo(final RunReader other)
+		{
+			return Long.compare(this.current, other.current);
+		}
+		
+		@Override
+		public void close() throws IOException
+		{
+			this.input.close();
+		}
+		
+	}
+	
+	/**
+	 * This class gathers the counts of a {@link ProductKeyAuditReport} from seeds fed to it in
+	 * ascending order.
+	 * 
+	 * @author Matthew Weiler
+	 */
+	private static final class Tally
+	{
+		
+		
+		/* PRIVATE VARIABLES */
+		/**
+		 * This will store the number of bits in a seed.
+		 */
+		private final int seedBits;
+		/**
+		 * This will store the shift applied to a seed to get its slice of the seed space.
+		 */
+		private final int bucketShift;
+		/**
+		 * This will store the number of distinct seeds in each slice of the seed space.
+		 */
+		private final long[] bucketCounts;
+		/**
+		 * This will store the sampled duplicate seeds.
+		 */
+		private final long[] duplicateSeeds = new long[ProductKeyAuditor.DUPLICATE_SAMPLE_SIZE];
+		/**
+		 * This will store the number of times each sampled duplicate seed was found.
+		 */
+		private final long[] duplicateOccurrences = new long[ProductKeyAuditor.DUPLICATE_SAMPLE_SIZE];
+		/**
+		 * This will store the number of sampled duplicate seeds.
+		 */
+		private int duplicateSampleCount = 0;
+		/**
+		 * This will store the number of seeds fed in.
+		 */
+		private long keyCount = 0L;
+		/**
+		 * This will store the number of lines rejected.
+		 */
+		private long rejectedCount = 0L;
+		/**
+		 * This will store the number of distinct seeds.
+		 */
+		private long uniqueSeedCount = 0L;
+		/**
+		 * This will store the number of seeds found more than once.
+		 */
+		private long duplicatedSeedCount = 0L;
+		/**
+		 * This will store the number of seeds that repeated a seed found earlier.
+		 */
+		private long duplicateKeyCount = 0L;
+		/**
+		 * This will store the smallest seed fed in.
+		 */
+		private long minSeed = -1L;
+		/**
+		 * This will store the seed currently being counted.
+		 */
+		private long currentSeed = -1L;
+		/**
+		 * This will store the number of times the seed currently being counted was fed in.
+		 */
+		private long currentOccurrences = 0L;
+		/**
+		 * This will store the number of sorted runs.
+		 */
+		private int runCount = 0;
+		
+		/* CONSTRUCTORS */
+		/**
+		 * This will create a new instance of a {@link Tally}.
+		 * 
+		 * @param seedBits
+		 * The number of bits in a seed.
+		 */
+		private Tally(final int seedBits)
+		{
+			final int bucketBits = Math.min(seedBits, ProductKeyAuditor.BUCKET_BITS);
+			
+			this.seedBits = seedBits;
+			this.bucketShift = seedBits - bucketBits;
+			this.bucketCounts = new long[1 << bucketBits];
+		}
+		
+		/* PUBLIC METHODS */
+		/**
+		 * This method will feed in the next seed, which must not be smaller than the previous one.
+		 * 
+		 * @param seed
+		 * The seed.
+		 */
+		private void add(final long seed)
+		{
+			this.keyCount++ ;
+			
+			if ((this.currentOccurrences > 0L) && (seed == this.currentSeed))
+			{
+				this.currentOccurrences++ ;
+				
+				return;
+			}
+			
+			this.finish();
+			
+			if (this.minSeed < 0L)
+			{
+				this.minSeed = seed;
+			}
+			
+			this.currentSeed = seed;
+			this.currentOccurrences = 1L;
+			this.uniqueSeedCount++ ;
+			this.bucketCounts[(int) (seed >>> this.bucketShift)]++ ;
+		}
+		
+		/**
+		 * This method will feed in the first seeds of the specified sorted array, then
+		 * {@link #finish()} the last seed.
+		 * 
+		 * @param seeds
+		 * The sorted seeds.
+		 * @param seedCount
+		 * The number of seeds to use from the start of the array.
+		 */
+		private void addAll(final long[] seeds, final int seedCount)
+		{
+			for (int n = 0; n < seedCount; n++ )
+			{
+				this.add(seeds[n]);
+			}
+			
+			this.finish();
+		}
+		
+		/**
+		 * This method will finish counting the seed currently being counted.
+		 */
+		private void finish()
+		{
+			if (this.currentOccurrences > 1L)
+			{
+				this.duplicatedSeedCount++ ;
+				this.duplicateKeyCount += this.currentOccurrences - 1L;
+				
+				if (this.duplicateSampleCount < this.duplicateSeeds.length)
+				{
+					this.duplicateSeeds[this.duplicateSampleCount] = this.currentSeed;
+					this.duplicateOccurrences[this.duplicateSampleCount++ ] = this.currentOccurrences;
+				}
+			}
+			
+			// Keep the current seed, so that the next seed is still compared against it.
+			this.currentOccurrences = Math.min(this.currentOccurrences, 1L);
+		}
+		
+		/**
+		 * This method will build the {@link ProductKeyAuditReport} from the counts.
+		 * 
+		 * @return
+		 * The {@link ProductKeyAuditReport}.
+		 */
+		private ProductKeyAuditReport buildReport()
+		{
+			return new ProductKeyAuditReport(this.keyCount, this.rejectedCount, this.uniqueSeedCount, this.duplicatedSeedCount, this.duplicateKeyCount, this.minSeed, this.currentSeed, this.seedBits, this.runCount, Arrays.copyOf(this.duplicateSeeds, this.duplicateSampleCount), Arrays.copyOf(this.duplicateOccurrences, this.duplicateSampleCount), this.bucketCounts);
+		}
+		
+	}
+	
+}
@@ -0,0 +1,629 @@
+package com.weilerhaus.productKeys.io;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+import com.weilerhaus.productKeys.ProductKeyGenerator;
+import com.weilerhaus.productKeys.beans.ProductKeyExportReport;
+import com.weilerhaus.productKeys.enums.ProductKeyExportFormat;
+import com.weilerhaus.productKeys.exceptions.ProductKeyGenerationException;
+import com.weilerhaus.productKeys.exceptions.SeedAlreadyTakenException;
+import com.weilerhaus.productKeys.exceptions.SeedIsBlacklistedException;
+import com.weilerhaus.productKeys.workers.SeedAvailabilityWorker;
+
+/**
+ * This class can be used to generate a range of product-keys straight into a file, without
+ * holding them in memory, so that the memory used stays the same regardless of the number of
+ * product-keys.
+ * <br />
+ * <br />
+ * The seeds are exported in windows of as many seeds as the buffer holds records. The
+ * product-keys are written as ASCII bytes into a single direct buffer that is written to the file
+ * whenever it fills up, or whenever a window has been tried; after every write the file is forced
+ * to disk and a checkpoint, holding the number of seeds exported, the size of the file and the
+ * current window, is atomically replaced. If the export is killed, running it again with the same
+ * arguments truncates the file back to the last checkpoint and carries on from the next seed, so
+ * no product-key is written twice.
+ * <br />
+ * <br />
+ * The records are written in one of the {@link ProductKeyExportFormat} formats:
+ * <ul>
+ * <li>{@link ProductKeyExportFormat#CSV}: a <code>seed,product_key</code> header line, then one
+ * <code>SEED,PRODUCT-KEY</code> line per product-key, with the seed in HEXADECIMAL.</li>
+ * <li>{@link ProductKeyExportFormat#FIXED_WIDTH}: one product-key per line, with no header; every
+ * record is {@link ProductKeyGenerator#getProductKeyLength()} + 1 bytes, so the file can be read
+ * back by {@link ProductKeyFileVerifier} and {@link BlacklistImporter}.</li>
+ * </ul>
+ * Seeds that are black-listed or already taken are skipped and counted.
+ * <br />
+ * <br />
+ * <br />
+ * Seeds generated after the last checkpoint of a killed export are generated again when it is
+ * resumed, so when the seeds are claimed in a store that survives the kill, the export has to know
+ * which of them it claimed itself. For that, the {@link SeedAvailabilityWorker} is given to the
+ * {@link ProductKeyExporter} rather than to the {@link ProductKeyGenerator}: at the start of each
+ * window every seed in it is claimed, and which of them were claimed is written to the checkpoint
+ * before any of their product-keys are generated. A resumed export generates the product-keys of
+ * the seeds its checkpoint says it claimed and skips the rest, so a seed taken by anything else,
+ * before or during the export, is never issued twice.
+ * <br />
+ * <i>Black-listed seeds in a window are claimed along with the others, so they stay unusable.
+ * Seeds claimed by a window whose checkpoint was never written, because the export was killed in
+ * between, are skipped by the resumed export and are not issued at all. If the
+ * {@link ProductKeyGenerator} claims seeds itself instead, the seeds generated after the last
+ * checkpoint are already taken when the export is resumed, so they are skipped in the same
+ * way.</i>
+ * 
+ * @author Matthew Weiler
+ */
+public class ProductKeyExporter
+{
+	
+	
+	/* PUBLIC CONSTANTS */
+	/**
+	 * This is the default size of the buffer the product-keys are written into.
+	 */
+	public static final int DEFAULT_BUFFER_SIZE = 4 * 1024 * 1024;
+	
+	/* PRIVATE CONSTANTS */
+	/**
+	 * This is the value, "PKEX", written at the start of a checkpoint file.
+	 */
+	private static final int CHECKPOINT_MAGIC = 0x504B4558;
+	/**
+	 * This is the size of a checkpoint file, in bytes, before the words holding which seeds of the
+	 * current window were claimed.
+	 */
+	private static final int CHECKPOINT_HEADER_SIZE = 4 + 4 + (8 * 9) + 4;
+	/**
+	 * This is the header line of a {@link ProductKeyExportFormat#CSV} export.
+	 */
+	private static final byte[] CSV_HEADER = "seed,product_key\n".getBytes(StandardCharsets.US_ASCII);
+	/**
+	 * This is the HEXADECIMAL digits, as ASCII bytes.
+	 */
+	private static final byte[] HEX_DIGITS = "0123456789ABCDEF".getBytes(StandardCharsets.US_ASCII);
+	
+	/* PRIVATE VARIABLES */
+	/**
+	 * This will store the {@link ProductKeyGenerator} used to generate the product-keys.
+	 */
+	private final ProductKeyGenerator<?> productKeyGenerator;
+	/**
+	 * This will store the {@link SeedAvailabilityWorker} the seeds of each window are claimed in,
+	 * or <code>null</code>.
+	 */
+	private final SeedAvailabilityWorker seedAvailabilityWorker;
+	/**
+	 * This will store the size of the buffer the product-keys are written into.
+	 */
+	private final int bufferSize;
+	
+	/* CONSTRUCTORS */
+	/**
+	 * This will create a new instance of a {@link ProductKeyExporter} that uses a buffer of
+	 * {@link #DEFAULT_BUFFER_SIZE} bytes.
+	 * 
+	 * @param productKeyGenerator
+	 * The {@link ProductKeyGenerator} used to generate the product-keys.
+	 */
+	public ProductKeyExporter(final ProductKeyGenerator<?> productKeyGenerator)
+	{
+		this(productKeyGenerator, ProductKeyExporter.DEFAULT_BUFFER_SIZE);
+	}
+	
+	/**
+	 * This will create a new instance of a {@link ProductKeyExporter}.
+	 * 
+	 * @param productKeyGenerator
+	 * The {@link ProductKeyGenerator} used to generate the product-keys.
+	 * @param bufferSize
+	 * The size of the buffer the product-keys are written into; the number of records it holds is
+	 * also the most seeds that will be generated again when a killed export is resumed.
+	 */
+	public ProductKeyExporter(final ProductKeyGenerator<?> productKeyGenerator, final int bufferSize)
+	{
+		this(productKeyGenerator, null, bufferSize);
+	}
+	
+	/**
+	 * This will create a new instance of a {@link ProductKeyExporter} that claims the seeds it
+	 * exports and uses a buffer of {@link #DEFAULT_BUFFER_SIZE} bytes.
+	 * 
+	 * @param productKeyGenerator
+	 * The {@link ProductKeyGenerator} used to generate the product-keys.
+	 * <br />
+	 * <i>This must not have a {@link SeedAvailabilityWorker} of its own.</i>
+	 * @param seedAvailabilityWorker
+	 * The {@link SeedAvailabilityWorker} the seeds of each window are claimed in.
+	 */
+	public ProductKeyExporter(final ProductKeyGenerator<?> productKeyGenerator, final SeedAvailabilityWorker seedAvailabilityWorker)
+	{
+		this(productKeyGenerator, seedAvailabilityWorker, ProductKeyExporter.DEFAULT_BUFFER_SIZE);
+	}
+	
+	/**
+	 * This will create a new instance of a {@link ProductKeyExporter} that claims the seeds it
+	 * exports.
+	 * 
+	 * @param productKeyGenerator
+	 * The {@link ProductKeyGenerator} used to generate the product-keys.
+	 * <br />
+	 * <i>This must not have a {@link SeedAvailabilityWorker} of its own.</i>
+	 * @param seedAvailabilityWorker
+	 * The {@link SeedAvailabilityWorker} the seeds of each window are claimed in, or
+	 * <code>null</code> to leave claiming the seeds to the {@link ProductKeyGenerator}.
+	 * @param bufferSize
+	 * The size of the buffer the product-keys are written into; the number of records it holds is
+	 * also the number of seeds in each window.
+	 */
+	public ProductKeyExporter(final ProductKeyGenerator<?> productKeyGenerator, final SeedAvailabilityWorker seedAvailabilityWorker, final int bufferSize)
+	{
+		if (bufferSize < 1024)
+		{
+			throw new IllegalArgumentException("Buffer size must be at least 1024 bytes: " + bufferSize);
+		}
+		
+		// The generator would otherwise claim every seed a second time, and fail.
+		if ((seedAvailabilityWorker != null) && productKeyGenerator.isClaimingSeeds())
+		{
+			throw new IllegalArgumentException("The product-key generator already claims seeds; give the seed availability worker to only one of them.");
+		}
+		
+		if ((seedAvailabilityWorker != null) && ( !seedAvailabilityWorker.isSeedCharLengthSupported(productKeyGenerator.getSeedCharLength())))
+		{
+			throw new IllegalArgumentException("Seed length is not supported by the seed availability worker: " + productKeyGenerator.getSeedCharLength());
+		}
+		
+		this.productKeyGenerator = productKeyGenerator;
+		this.seedAvailabilityWorker = seedAvailabilityWorker;
+		this.bufferSize = bufferSize;
+	}
+	
+	/* PUBLIC METHODS */
+	/**
+	 * This method will generate a product-key for each seed in the specified range and write them
+	 * to the specified file, resuming from the checkpoint file if it belongs to the same export.
+	 * 
+	 * @param firstSeed
+	 * The first seed in the range.
+	 * @param seedCount
+	 * The number of consecutive seeds in the range.
+	 * @param format
+	 * The {@link ProductKeyExportFormat} of the records.
+	 * @param exportFile
+	 * The file to write the product-keys to.
+	 * <br />
+	 * <i>Unless the export is being resumed, this will be replaced if it exists.</i>
+	 * @param checkpointFile
+	 * The file to record the progress of the export in.
+	 * <br />
+	 * <i>This is left in place when the export completes, so running the same export again does
+	 * nothing; delete it to start over.</i>
+	 * @return
+	 * The {@link ProductKeyExportReport} of the export.
+	 * @throws IOException
+	 * If the export file or the checkpoint file could not be read or written.
+	 * @throws ProductKeyGenerationException
+	 * If a product-key could not be generated for a reason other than its seed being black-listed
+	 * or already taken.
+	 */
+	public ProductKeyExportReport export(final long firstSeed, final long seedCount, final ProductKeyExportFormat format, final Path exportFile, final Path checkpointFile) throws IOException, ProductKeyGenerationException
+	{
+		if (seedCount < 0L)
+		{
+			throw new IllegalArgumentException("Seed count must not be negative: " + seedCount);
+		}
+		
+		final int productKeyLength = this.productKeyGenerator.getProductKeyLength();
+		final int seedCharLength = this.productKeyGenerator.getSeedCharLength();
+		final int recordLength = (format == ProductKeyExportFormat.CSV) ? (seedCharLength + 1 + productKeyLength + 1) : (productKeyLength + 1);
+		
+		if (recordLength > this.bufferSize)
+		{
+			throw new IllegalArgumentException("Records of " + recordLength + " bytes do not fit in the buffer.");
+		}
+		
+		final Checkpoint checkpoint = ProductKeyExporter.readCheckpoint(checkpointFile, firstSeed, seedCount, format, recordLength);
+		final long seedWindow = this.bufferSize / recordLength;
+		final long seedMask = (seedCharLength >= 16) ? -1L : ((1L << (seedCharLength * 4)) - 1L);
+		
+		if ((checkpoint.windowStart < checkpoint.windowEnd) && ((checkpoint.claimed != null) != (this.seedAvailabilityWorker != null)))
+		{
+			throw new IOException("Checkpoint belongs to a different export: " + checkpointFile);
+		}
+		
+		try (final FileChannel fileChannel = FileChannel.open(exportFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE))
+		{
+			final ByteBuffer buffer = ByteBuffer.allocateDirect(this.bufferSize);
+			
+			if (fileChannel.size() < checkpoint.fileSize)
+			{
+				throw new IOException("Export file is shorter than its checkpoint: " + exportFile);
+			}
+			
+			// Anything written after the last checkpoint is discarded and generated again.
+			fileChannel.truncate(checkpoint.fileSize);
+			fileChannel.position(checkpoint.fileSize);
+			
+			if ((checkpoint.fileSize == 0L) && (format == ProductKeyExportFormat.CSV))
+			{
+				buffer.put(ProductKeyExporter.CSV_HEADER);
+			}
+			
+			final long resumedSeedCount = checkpoint.nextSeedIndex;
+			long tmpSeed;
+			int tmpRecordStart;
+			
+			for (long n = checkpoint.nextSeedIndex; n < seedCount; n++ )
+			{
+				if ((n >= checkpoint.windowEnd) || (buffer.remaining() < recordLength))
+				{
+					ProductKeyExporter.drain(buffer, fileChannel);
+					
+					checkpoint.nextSeedIndex = n;
+					checkpoint.fileSize = fileChannel.position();
+					
+					if (n >= checkpoint.windowEnd)
+					{
+						checkpoint.windowStart = n;
+						checkpoint.windowEnd = Math.min(n + seedWindow, seedCount);
+						checkpoint.claimed = this.claimWindow(firstSeed, checkpoint.windowStart, checkpoint.windowEnd, seedMask, seedCharLength);
+					}
+					
+					// The claimed seeds must be in the checkpoint before any of them are exported.
+					ProductKeyExporter.writeCheckpoint(checkpoint, checkpointFile);
+				}
+				
+				if ((checkpoint.claimed != null) && ( !checkpoint.isClaimed(n)))
+				{
+					checkpoint.skippedCount++ ;
+					
+					continue;
+				}
+				
+				tmpSeed = firstSeed + n;
+				tmpRecordStart = buffer.position();
+				
+				if (format == ProductKeyExportFormat.CSV)
+				{
+					ProductKeyExporter.putHex(tmpSeed & seedMask, seedCharLength, buffer);
+					
+					buffer.put((byte) ',');
+				}
+				
+				try
+				{
+					this.productKeyGenerator.generateProductKeyInto(tmpSeed, buffer);
+				}
+				catch (SeedIsBlacklistedException | SeedAlreadyTakenException e)
+				{
+					buffer.position(tmpRecordStart);
+					
+					checkpoint.skippedCount++ ;
+					
+					continue;
+				}
+				
+				buffer.put((byte) '\n');
+				
+				checkpoint.exportedCount++ ;
+			}
+			
+			ProductKeyExporter.drain(buffer, fileChannel);
+			
+			checkpoint.nextSeedIndex = seedCount;
+			checkpoint.fileSize = fileChannel.position();
+			checkpoint.windowStart = seedCount;
+			checkpoint.windowEnd = seedCount;
+			checkpoint.claimed = null;
+			
+			ProductKeyExporter.writeCheckpoint(checkpoint, checkpointFile);
+			
+			return new ProductKeyExportReport(checkpoint.exportedCount, checkpoint.skippedCount, resumedSeedCount, checkpoint.fileSize);
+		}
+	}
+	
+	/* PRIVATE METHODS */
+	/**
+	 * This method will claim each seed of the specified window in the
+	 * {@link SeedAvailabilityWorker}.
+	 * 
+	 * @param firstSeed
+	 * The first seed in the range being exported.
+	 * @param windowStart
+	 * The index, within the range, of the first seed in the window.
+	 * @param windowEnd
+	 * The index, within the range, of the first seed after the window.
+	 * @param seedMask
+	 * The mask of the bits of a seed that are used.
+	 * @param seedCharLength
+	 * The number of HEXADECIMAL characters representing a seed.
+	 * @return
+	 * The bits denoting which seeds of the window were claimed, or <code>null</code> if there is no
+	 * {@link SeedAvailabilityWorker}.
+	 */
+	private long[] claimWindow(final long firstSeed, final long windowStart, final long windowEnd, final long seedMask, final int seedCharLength)
+	{
+		if (this.seedAvailabilityWorker == null)
+		{
+			return null;
+		}
+		
+		final int windowLength = (int) (windowEnd - windowStart);
+		final long[] claimed = new long[(windowLength + 63) >>> 6];
+		
+		for (int n = 0; n < windowLength; n++ )
+		{
+			if (this.seedAvailabilityWorker.tryClaimSeed(0L, (firstSeed + windowStart + n) & seedMask, seedCharLength))
+			{
+				claimed[n >>> 6] |= 1L << n;
+			}
+		}
+		
+		return claimed;
+	}
+	
+	/**
+	 * This method will put the specified value into the specified buffer as HEXADECIMAL ASCII
+	 * bytes.
+	 * 
+	 * @param value
+	 * The value.
+	 * @param length
+	 * The number of HEXADECIMAL characters to put.
+	 * @param buffer
+	 * The buffer.
+	 */
+	private static void putHex(final long value, final int length, final ByteBuffer buffer)
+	{
+		for (int n = length - 1; n >= 0; n-- )
+		{
+			// Characters above the 64 bits of the value are leading zeros.
+			buffer.put((n < 16) ? ProductKeyExporter.HEX_DIGITS[(int) ((value >>> (n * 4)) & 0x0F)] : (byte) '0');
+		}
+	}
+	
+	/**
+	 * This method will write the contents of the specified buffer to the specified
+	 * {@link FileChannel}, force it to disk and clear the buffer.
+	 * 
+	 * @param buffer
+	 * The buffer, in write mode.
+	 * @param fileChannel
+	 * The {@link FileChannel} to write to.
+	 * @throws IOException
+	 * If the buffer could not be written.
+	 */
+	private static void drain(final ByteBuffer buffer, final FileChannel fileChannel) throws IOException
+	{
+		buffer.flip();
+		
+		while (buffer.hasRemaining())
+		{
+			fileChannel.write(buffer);
+		}
+		
+		buffer.clear();
+		
+		// The records must be on disk before the checkpoint that covers them.
+		fileChannel.force(false);
+	}
+	
+	/**
+	 * This method will read the checkpoint of the specified export.
+	 * 
+	 * @param checkpointFile
+	 * The checkpoint file.
+	 * @param firstSeed
+	 * The first seed in the range being exported.
+	 * @param seedCount
+	 * The number of seeds in the range being exported.
+	 * @param format
+	 * The {@link ProductKeyExportFormat} of the records.
+	 * @param recordLength
+	 * The number of bytes in each record.
+	 * @return
+	 * The {@link Checkpoint} read from the file, or a new {@link Checkpoint} at the start of the
+	 * export if the file does not exist.
+	 * @throws IOException
+	 * If the checkpoint file could not be read or belongs to a different export.
+	 */
+	private static Checkpoint readCheckpoint(final Path checkpointFile, final long firstSeed, final long seedCount, final ProductKeyExportFormat format, final int recordLength) throws IOException
+	{
+		final Checkpoint checkpoint = new Checkpoint(firstSeed, seedCount, format.ordinal(), recordLength);
+		
+		if ( !Files.exists(checkpointFile))
+		{
+			return checkpoint;
+		}
+		
+		final ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(checkpointFile));
+		
+		if ((buffer.remaining() < ProductKeyExporter.CHECKPOINT_HEADER_SIZE) || (buffer.getInt() != ProductKeyExporter.CHECKPOINT_MAGIC))
+		{
+			throw new IOException("Not a product-key export checkpoint: " + checkpointFile);
+		}
+		
+		if ((buffer.getInt() != format.ordinal()) || (buffer.getLong() != firstSeed) || (buffer.getLong() != seedCount) || (buffer.getLong() != recordLength))
+		{
+			throw new IOException("Checkpoint belongs to a different export: " + checkpointFile);
+		}
+		
+		checkpoint.nextSeedIndex = buffer.getLong();
+		checkpoint.fileSize = buffer.getLong();
+		checkpoint.exportedCount = buffer.getLong();
+		checkpoint.skippedCount = buffer.getLong();
+		checkpoint.windowStart = buffer.getLong();
+		checkpoint.windowEnd = buffer.getLong();
+		
+		final int claimedLength = buffer.getInt();
+		
+		if ((checkpoint.windowStart > checkpoint.windowEnd) || (buffer.remaining() != (claimedLength * 8L)) || ((claimedLength != 0) && (claimedLength != ((checkpoint.windowEnd - checkpoint.windowStart + 63L) >>> 6))))
+		{
+			throw new IOException("Not a product-key export checkpoint: " + checkpointFile);
+		}
+		
+		if (claimedLength != 0)
+		{
+			checkpoint.claimed = new long[claimedLength];
+			
+			buffer.asLongBuffer().get(checkpoint.claimed);
+		}
+		
+		return checkpoint;
+	}
+	
+	/**
+	 * This method will atomically replace the specified checkpoint file.
+	 * 
+	 * @param checkpoint
+	 * The {@link Checkpoint} to write.
+	 * @param checkpointFile
+	 * The checkpoint file.
+	 * @throws IOException
+	 * If the checkpoint file could not be written.
+	 */
+	private static void writeCheckpoint(final Checkpoint checkpoint, final Path checkpointFile) throws IOException
+	{
+		final int claimedLength = (checkpoint.claimed != null) ? checkpoint.claimed.length : 0;
+		final ByteBuffer buffer = ByteBuffer.allocate(ProductKeyExporter.CHECKPOINT_HEADER_SIZE + (claimedLength * 8));
+		
+		buffer.putInt(ProductKeyExporter.CHECKPOINT_MAGIC);
+		buffer.putInt(checkpoint.format);
+		buffer.putLong(checkpoint.firstSeed);
+		buffer.putLong(checkpoint.seedCount);
+		buffer.putLong(checkpoint.recordLength);
+		buffer.putLong(checkpoint.nextSeedIndex);
+		buffer.putLong(checkpoint.fileSize);
+		buffer.putLong(checkpoint.exportedCount);
+		buffer.putLong(checkpoint.skippedCount);
+		buffer.putLong(checkpoint.windowStart);
+		buffer.putLong(checkpoint.windowEnd);
+		buffer.putInt(claimedLength);
+		
+		for (int n = 0; n < claimedLength; n++ )
+		{
+			buffer.putLong(checkpoint.claimed[n]);
+		}
+		
+		buffer.flip();
+		
+		final Path tmpFile = checkpointFile.resolveSibling(checkpointFile.getFileName() + ".tmp");
+		
+		try (final FileChannel fileChannel = FileChannel.open(tmpFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING))
+		{
+			while (buffer.hasRemaining())
+			{
+				fileChannel.write(buffer);
+			}
+			
+			fileChannel.force(false);
+		}
+		
+		Files.move(tmpFile, checkpointFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+	}
+	
+	/* PRIVATE CLASSES */
+	/**
+	 * This class holds the progress of an export.
+	 */
+	private static final class Checkpoint
+	{
+		
+		
+		/* PRIVATE VARIABLES */
+		/**
+		 * This will store the first seed in the range being exported.
+		 */
+		private final long firstSeed;
+		/**
+		 * This will store the number of seeds in the range being exported.
+		 */
+		private final long seedCount;
+		/**
+		 * This will store the ordinal of the {@link ProductKeyExportFormat} of the records.
+		 */
+		private final int format;
+		/**
+		 * This will store the number of bytes in each record.
+		 */
+		private final long recordLength;
+		/**
+		 * This will store the index, within the range, of the first seed not yet exported.
+		 */
+		private long nextSeedIndex = 0L;
+		/**
+		 * This will store the size of the export file covered by the checkpoint.
+		 */
+		private long fileSize = 0L;
+		/**
+		 * This will store the number of product-keys exported.
+		 */
+		private long exportedCount = 0L;
+		/**
+		 * This will store the number of seeds skipped.
+		 */
+		private long skippedCount = 0L;
+		/**
+		 * This will store the index, within the range, of the first seed in the current window.
+		 */
+		private long windowStart = 0L;
+		/**
+		 * This will store the index, within the range, of the first seed after the current window.
+		 */
+		private long windowEnd = 0L;
+		/**
+		 * This will store the bits denoting which seeds of the current window were claimed by this
+		 * export, or <code>null</code> if the export does not claim seeds.
+		 */
+		private long[] claimed = null;
+		
+		/* CONSTRUCTORS */
+		/**
+		 * This will create a new instance of a {@link Checkpoint} at the start of an export.
+		 * 
+		 * @param firstSeed
+		 * The first seed in the range being exported.
+		 * @param seedCount
+		 * The number of seeds in the range being exported.
+		 * @param format
+		 * The ordinal of the {@link ProductKeyExportFormat} of the records.
+		 * @param recordLength
+		 * The number of bytes in each record.
+		 */
+		private Checkpoint(final long firstSeed, final long seedCount, final int format, final long recordLength)
+		{
+			this.firstSeed = firstSeed;
+			this.seedCount = seedCount;
+			this.format = format;
+			this.recordLength = recordLength;
+		}
+		
+		/* PRIVATE METHODS */
+		/**
+		 * This method will check if the specified seed of the current window was claimed by this
+		 * export.
+		 * 
+		 * @param seedIndex
+		 * The index, within the range, of the seed.
+		 * @return
+		 * The boolean flag to denote if the seed was claimed by this export.
+		 */
+		private boolean isClaimed(final long seedIndex)
+		{
+			final long bit = seedIndex - this.windowStart;
+			
+			return (this.claimed[(int) (bit >>> 6)] & (1L << bit)) != 0L;
+		}
+		
+	}
+	
+}
@@ -0,0 +1,226 @@
+package com.weilerhaus.productKeys.io;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import com.weilerhaus.productKeys.ProductKeyGenerator;
+import com.weilerhaus.productKeys.beans.ProductKeyVerificationReport;
+import com.weilerhaus.productKeys.enums.ProductKeyState;
+import com.weilerhaus.productKeys.tasks.ProductKeyFileVerificationTask;
+
+/**
+ * This class can be used to verify files of ASCII text containing one product-key per line, such
+ * as dumps of customer-submitted product-keys.
+ * <br />
+ * <br />
+ * The file is memory-mapped in newline-aligned ranges that are verified in parallel; the raw
+ * bytes of each line are verified directly, without building a {@link String} for the line.
+ * Empty lines are skipped.
+ * <br />
+ * <br />
+ * The lines that fail verification are written to part files next to the failed lines file while
+ * the ranges are verified, and joined in file order once every range is done, so they are never
+ * held in memory.
+ * 
+ * @author Matthew Weiler
+ */
+public class ProductKeyFileVerifier
+{
+	
+	
+	/* PRIVATE VARIABLES */
+	/**
+	 * This will store the {@link ProductKeyGenerator} used to verify the product-keys.
+	 */
+	private final ProductKeyGenerator<?> productKeyGenerator;
+	/**
+	 * This will store the {@link ForkJoinPool} the product-keys will be verified on.
+	 */
+	private final ForkJoinPool pool;
+	
+	/* CONSTRUCTORS */
+	/**
+	 * This will create a new instance of a {@link ProductKeyFileVerifier} that verifies on the
+	 * common {@link ForkJoinPool}.
+	 * 
+	 * @param productKeyGenerator
+	 * The {@link ProductKeyGenerator} used to verify the product-keys.
+	 */
+	public ProductKeyFileVerifier(final ProductKeyGenerator<?> productKeyGenerator)
+	{
+		this(productKeyGenerator, ForkJoinPool.commonPool());
+	}
+	
+	/**
+	 * This will create a new instance of a {@link ProductKeyFileVerifier}.
+	 * 
+	 * @param productKeyGenerator
+	 * The {@link ProductKeyGenerator} used to verify the product-keys.
+	 * @param pool
+	 * The {@link ForkJoinPool} the product-keys will be verified on.
+	 */
+	public ProductKeyFileVerifier(final ProductKeyGenerator<?> productKeyGenerator, final ForkJoinPool pool)
+	{
+		this.productKeyGenerator = productKeyGenerator;
+		this.pool = pool;
+	}
+	
+	/* PUBLIC METHODS */
+	/**
+	 * This method will verify the product-keys in the specified file.
+	 * 
+	 * @param productKeyFile
+	 * The file containing one product-key per line.
+	 * @return
+	 * The {@link ProductKeyVerificationReport} holding the number of product-keys found in each
+	 * {@link ProductKeyState}.
+	 * @throws IOException
+	 * If the file could not be read.
+	 */
+	public ProductKeyVerificationReport verify(final Path productKeyFile) throws IOException
+	{
+		return this.verify(productKeyFile, null);
+	}
+	
+	/**
+	 * This method will verify the product-keys in the specified file and write the lines that fail
+	 * verification to another file.
+	 * 
+	 * @param productKeyFile
+	 * The file containing one product-key per line.
+	 * @param failedLinesFile
+	 * The file to write the lines that fail verification to, as one
+	 * <code>offset,state</code> line for each, where offset is the position of the first byte of
+	 * the line in the product-key file.
+	 * <br />
+	 * <i>This can be <code>null</code> if the lines that fail verification are not needed.</i>
+	 * @return
+	 * The {@link ProductKeyVerificationReport} holding the number of product-keys found in each
+	 * {@link ProductKeyState}.
+	 * @throws IOException
+	 * If the file could not be read or the failed lines file could not be written.
+	 */
+	public ProductKeyVerificationReport verify(final Path productKeyFile, final Path failedLinesFile) throws IOException
+	{
+		final Path failedLinesDirectory = (failedLinesFile == null) ? null : Files.createTempDirectory(failedLinesFile.toAbsolutePath().getParent(), failedLinesFile.getFileName() + ".");
+		
+		try (final FileChannel fileChannel = FileChannel.open(productKeyFile, StandardOpenOption.READ))
+		{
+			final long fileSize = fileChannel.size();
+			final ProductKeyFileVerificationTask task = new ProductKeyFileVerificationTask(this.productKeyGenerator, fileChannel, fileSize, 0L, fileSize, failedLinesDirectory);
+			
+			try
+			{
+				this.pool.invoke(task);
+			}
+			catch (UncheckedIOException uioe)
+			{
+				throw uioe.getCause();
+			}
+			
+			if (failedLinesFile != null)
+			{
+				ProductKeyFileVerifier.writeFailedLines(failedLinesDirectory, failedLinesFile);
+			}
+			
+			return new ProductKeyVerificationReport(task.getStateCounts());
+		}
+		finally
+		{
+			if (failedLinesDirectory != null)
+			{
+				ProductKeyFileVerifier.deleteFailedLinesDirectory(failedLinesDirectory);
+			}
+		}
+	}
+	
+	/* PRIVATE METHODS */
+	/**
+	 * This method will write the lines that failed verification to the specified file, by joining
+	 * the part files written by the {@link ProductKeyFileVerificationTask} in file order.
+	 * 
+	 * @param failedLinesDirectory
+	 * The directory holding the part files of the lines that failed verification.
+	 * @param failedLinesFile
+	 * The file to write the lines that failed verification to.
+	 * @throws IOException
+	 * If the part files could not be read or the file could not be written.
+	 */
+	private static void writeFailedLines(final Path failedLinesDirectory, final Path failedLinesFile) throws IOException
+	{
+		final List<Path> partFiles = ProductKeyFileVerifier.listPartFiles(failedLinesDirectory);
+		
+		// The part files are named after the zero-padded offset of their first line.
+		Collections.sort(partFiles);
+		
+		try (final FileChannel fileChannel = FileChannel.open(failedLinesFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING))
+		{
+			for (final Path partFile : partFiles)
+			{
+				try (final FileChannel partChannel = FileChannel.open(partFile, StandardOpenOption.READ))
+				{
+					final long partSize = partChannel.size();
+					long position = 0L;
+					
+					while (position < partSize)
+					{
+						position += partChannel.transferTo(position, partSize - position, fileChannel);
+					}
+				}
+			}
+		}
+	}
+	
+	/**
+	 * This method will delete the part files in the specified directory, and then the directory.
+	 * 
+	 * @param failedLinesDirectory
+	 * The directory holding the part files of the lines that failed verification.
+	 * @throws IOException
+	 * If the part files or the directory could not be deleted.
+	 */
+	private static void deleteFailedLinesDirectory(final Path failedLinesDirectory) throws IOException
+	{
+		for (final Path partFile : ProductKeyFileVerifier.listPartFiles(failedLinesDirectory))
+		{
+			Files.delete(partFile);
+		}
+		
+		Files.delete(failedLinesDirectory);
+	}
+	
+	/**
+	 * This method will list the part files in the specified directory.
+	 * 
+	 * @param failedLinesDirectory
+	 * The directory holding the part files of the lines that failed verification.
+	 * @return
+	 * The part files in the directory, in no particular order.
+	 * @throws IOException
+	 * If the directory could not be read.
+	 */
+	private static List<Path> listPartFiles(final Path failedLinesDirectory) throws IOException
+	{
+		final List<Path> partFiles = new ArrayList<Path>();
+		
+		try (final DirectoryStream<Path> directoryStream = Files.newDirectoryStream(failedLinesDirectory))
+		{
+			for (final Path partFile : directoryStream)
+			{
+				partFiles.add(partFile);
+			}
+		}
+		
+		return partFiles;
+	}
+	
+}
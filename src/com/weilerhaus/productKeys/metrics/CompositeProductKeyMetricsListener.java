@@ -0,0 +1,114 @@
+package com.weilerhaus.productKeys.metrics;
+
+import com.weilerhaus.productKeys.ProductKeyGenerator;
+import com.weilerhaus.productKeys.enums.ProductKeyStage;
+import com.weilerhaus.productKeys.enums.ProductKeyState;
+import com.weilerhaus.productKeys.exceptions.ProductKeyGenerationException;
+
+/**
+ * This class is a {@link ProductKeyMetricsListener} that passes every notification on to each of
+ * a fixed set of {@link ProductKeyMetricsListener} instances, in order, so that more than one can
+ * be registered with a {@link ProductKeyGenerator}.
+ * 
+ * @author Matthew Weiler
+ */
+public class CompositeProductKeyMetricsListener implements ProductKeyMetricsListener
+{
+	
+	
+	/* PRIVATE VARIABLES */
+	/**
+	 * This will store the {@link ProductKeyMetricsListener} instances to notify.
+	 */
+	private final ProductKeyMetricsListener[] listeners;
+	
+	/* CONSTRUCTORS */
+	/**
+	 * This will create a new instance of a {@link CompositeProductKeyMetricsListener}.
+	 * 
+	 * @param listeners
+	 * The {@link ProductKeyMetricsListener} instances to notify, in order.
+	 */
+	public CompositeProductKeyMetricsListener(final ProductKeyMetricsListener...listeners)
+	{
+		this.listeners = listeners.clone();
+	}
+	
+	/* PUBLIC METHODS */
+	/**
+	 * This method will check if any of the {@link ProductKeyMetricsListener} instances currently
+	 * wants to be notified.
+	 * 
+	 * @return
+	 * The boolean flag to denote if any of the {@link ProductKeyMetricsListener} instances is
+	 * enabled.
+	 */
+	@Override
+	public boolean isEnabled()
+	{
+		for (final ProductKeyMetricsListener listener : this.listeners)
+		{
+			if (listener.isEnabled())
+			{
+				return true;
+			}
+		}
+		
+		return false;
+	}
+	
+	@Override
+	public void productKeyGenerationStarted()
+	{
+		for (final ProductKeyMetricsListener listener : this.listeners)
+		{
+			listener.productKeyGenerationStarted();
+		}
+	}
+	
+	@Override
+	public void productKeyGenerated()
+	{
+		for (final ProductKeyMetricsListener listener : this.listeners)
+		{
+			listener.productKeyGenerated();
+		}
+	}
+	
+	@Override
+	public void productKeyGenerationFailed(final ProductKeyGenerationException failure)
+	{
+		for (final ProductKeyMetricsListener listener : this.listeners)
+		{
+			listener.productKeyGenerationFailed(failure);
+		}
+	}
+	
+	@Override
+	public void productKeyVerificationStarted()
+	{
+		for (final ProductKeyMetricsListener listener : this.listeners)
+		{
+			listener.productKeyVerificationStarted();
+		}
+	}
+	
+	@Override
+	public void productKeyVerified(final ProductKeyState productKeyState)
+	{
+		for (final ProductKeyMetricsListener listener : this.listeners)
+		{
+			listener.productKeyVerified(productKeyState);
+		}
+	}
+	
+	@Override
+	public void stageCompleted(final ProductKeyStage stage, final long nanos)
+	{
+		for (final ProductKeyMetricsListener listener : this.listeners)
+		{
+			listener.stageCompleted(stage, nanos);
+		}
+	}
+	
+}
@@ -0,0 +1,180 @@
+package com.weilerhaus.productKeys.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * This class records latencies into buckets whose bounds are powers of two nanoseconds.
+ * <br />
+ * <br />
+ * Every bucket is a {@link LongAdder}, so any number of threads can record latencies at the same
+ * time without contending with each other.
+ * 
+ * @author Matthew Weiler
+ */
+public class LatencyHistogram
+{
+	
+	
+	/* PUBLIC CONSTANTS */
+	/**
+	 * This is the number of buckets; bucket <code>n</code> holds the latencies of at least
+	 * <code>2<sup>n-1</sup></code> and less than <code>2<sup>n</sup></code> nanoseconds, with
+	 * bucket <code>0</code> holding the latencies of <code>0</code> nanoseconds.
+	 */
+	public static final int BUCKET_COUNT = 64;
+	
+	/* PRIVATE VARIABLES */
+	/**
+	 * This will store the number of latencies recorded in each bucket.
+	 */
+	private final LongAdder[] buckets = new LongAdder[LatencyHistogram.BUCKET_COUNT];
+	/**
+	 * This will store the sum of the latencies recorded.
+	 */
+	private final LongAdder totalNanos = new LongAdder();
+	
+	/* CONSTRUCTORS */
+	/**
+	 * This will create a new, empty, instance of a {@link LatencyHistogram}.
+	 */
+	public LatencyHistogram()
+	{
+		for (int n = 0; n < this.buckets.length; n++ )
+		{
+			this.buckets[n] = new LongAdder();
+		}
+	}
+	
+	/* PUBLIC METHODS */
+	/**
+	 * This method will record the specified latency.
+	 * 
+	 * @param nanos
+	 * The latency in nanoseconds; negative values are recorded as <code>0</code>.
+	 */
+	public void record(final long nanos)
+	{
+		final long latency = Math.max(nanos, 0L);
+		
+		this.buckets[Math.min(Long.SIZE - Long.numberOfLeadingZeros(latency), LatencyHistogram.BUCKET_COUNT - 1)].increment();
+		this.totalNanos.add(latency);
+	}
+	
+	/**
+	 * This method will get the number of latencies recorded.
+	 * 
+	 * @return
+	 * The number of latencies recorded.
+	 */
+	public long getCount()
+	{
+		long count = 0L;
+		
+		for (final LongAdder bucket : this.buckets)
+		{
+			count += bucket.sum();
+		}
+		
+		return count;
+	}
+	
+	/**
+	 * This method will get the sum of the latencies recorded.
+	 * 
+	 * @return
+	 * The sum of the latencies recorded, in nanoseconds.
+	 */
+	public long getTotalNanos()
+	{
+		return this.totalNanos.sum();
+	}
+	
+	/**
+	 * This method will get the number of latencies recorded in the specified bucket.
+	 * 
+	 * @param bucket
+	 * The index of the bucket.
+	 * @return
+	 * The number of latencies recorded in the specified bucket.
+	 */
+	public long getBucketCount(final int bucket)
+	{
+		return this.buckets[bucket].sum();
+	}
+	
+	/**
+	 * This method will get the exclusive upper bound of the latencies held in the specified
+	 * bucket.
+	 * 
+	 * @param bucket
+	 * The index of the bucket.
+	 * @return
+	 * The exclusive upper bound of the latencies held in the specified bucket, in nanoseconds.
+	 * <br />
+	 * <i>This will be {@link Long#MAX_VALUE} for the last bucket.</i>
+	 */
+	public static long getBucketUpperBound(final int bucket)
+	{
+		return (bucket < (LatencyHistogram.BUCKET_COUNT - 1)) ? (1L << bucket) : Long.MAX_VALUE;
+	}
+	
+	/**
+	 * This method will get an estimate of the latency at the specified percentile.
+	 * 
+	 * @param percentile
+	 * The percentile, between <code>0</code> and <code>100</code> inclusive.
+	 * @return
+	 * The exclusive upper bound of the bucket holding the latency at the specified percentile, in
+	 * nanoseconds.
+	 * <br />
+	 * <i>This will be <code>0</code> if no latencies have been recorded.</i>
+	 */
+	public long getLatencyAtPercentile(final double percentile)
+	{
+		final long[] counts = new long[LatencyHistogram.BUCKET_COUNT];
+		long count = 0L;
+		
+		for (int n = 0; n < counts.length; n++ )
+		{
+			counts[n] = this.buckets[n].sum();
+			count += counts[n];
+		}
+		
+		if (count == 0L)
+		{
+			return 0L;
+		}
+		
+		final long rank = Math.max(1L, (long) Math.ceil((Math.min(Math.max(percentile, 0.0), 100.0) / 100.0) * count));
+		long seen = 0L;
+		
+		for (int n = 0; n < counts.length; n++ )
+		{
+			seen += counts[n];
+			
+			if (seen >= rank)
+			{
+				return LatencyHistogram.getBucketUpperBound(n);
+			}
+		}
+		
+		return Long.MAX_VALUE;
+	}
+	
+	/**
+	 * This method will discard every latency recorded.
+	 * <br />
+	 * <br />
+	 * <i>Latencies recorded while this is running may or may not be discarded.</i>
+	 */
+	public void reset()
+	{
+		for (final LongAdder bucket : this.buckets)
+		{
+			bucket.reset();
+		}
+		
+		this.totalNanos.reset();
+	}
+	
+}
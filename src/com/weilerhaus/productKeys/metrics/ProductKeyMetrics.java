@@ -0,0 +1,196 @@
+package com.weilerhaus.productKeys.metrics;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.weilerhaus.productKeys.ProductKeyGenerator;
+import com.weilerhaus.productKeys.enums.ProductKeyStage;
+import com.weilerhaus.productKeys.enums.ProductKeyState;
+import com.weilerhaus.productKeys.exceptions.ProductKeyGenerationException;
+
+/**
+ * This class is a {@link ProductKeyMetricsListener} that counts the outcomes of generating and
+ * verifying product-keys and keeps a {@link LatencyHistogram} for each {@link ProductKeyStage}.
+ * <br />
+ * <br />
+ * Every counter is a {@link LongAdder}, so a single instance can be registered with any number of
+ * {@link ProductKeyGenerator} instances, shared by any number of threads, without adding
+ * contention.
+ * 
+ * @author Matthew Weiler
+ */
+public class ProductKeyMetrics implements ProductKeyMetricsListener
+{
+	
+	
+	/* PRIVATE VARIABLES */
+	/**
+	 * This will store the number of product-keys generated.
+	 */
+	private final LongAdder generatedCount = new LongAdder();
+	/**
+	 * This will store the number of failed product-key generations for each type of
+	 * {@link ProductKeyGenerationException}.
+	 */
+	private final Map<Class<?>, LongAdder> generationFailureCounts = new ConcurrentHashMap<Class<?>, LongAdder>();
+	/**
+	 * This will store the number of product-keys verified for each {@link ProductKeyState}.
+	 */
+	private final LongAdder[] verifiedCounts = new LongAdder[ProductKeyState.values().length];
+	/**
+	 * This will store the {@link LatencyHistogram} for each {@link ProductKeyStage}.
+	 */
+	private final LatencyHistogram[] stageLatencies = new LatencyHistogram[ProductKeyStage.values().length];
+	
+	/* CONSTRUCTORS */
+	/**
+	 * This will create a new instance of a {@link ProductKeyMetrics} with every counter at
+	 * <code>0</code>.
+	 */
+	public ProductKeyMetrics()
+	{
+		for (int n = 0; n < this.verifiedCounts.length; n++ )
+		{
+			this.verifiedCounts[n] = new LongAdder();
+		}
+		
+		for (int n = 0; n < this.stageLatencies.length; n++ )
+		{
+			this.stageLatencies[n] = new LatencyHistogram();
+		}
+	}
+	
+	/* PUBLIC METHODS */
+	@Override
+	public void productKeyGenerated()
+	{
+		this.generatedCount.increment();
+	}
+	
+	@Override
+	public void productKeyGenerationFailed(final ProductKeyGenerationException failure)
+	{
+		final Class<?> failureType = failure.getClass();
+		LongAdder failureCount = this.generationFailureCounts.get(failureType);
+		
+		if (failureCount == null)
+		{
+			failureCount = this.generationFailureCounts.computeIfAbsent(failureType, (type) -> new LongAdder());
+		}
+		
+		failureCount.increment();
+	}
+	
+	@Override
+	public void productKeyVerified(final ProductKeyState productKeyState)
+	{
+		this.verifiedCounts[productKeyState.ordinal()].increment();
+	}
+	
+	@Override
+	public void stageCompleted(final ProductKeyStage stage, final long nanos)
+	{
+		this.stageLatencies[stage.ordinal()].record(nanos);
+	}
+	
+	/**
+	 * This method will get the number of product-keys generated.
+	 * 
+	 * @return
+	 * The number of product-keys generated.
+	 */
+	public long getGeneratedCount()
+	{
+		return this.generatedCount.sum();
+	}
+	
+	/**
+	 * This method will get the number of product-key generations that failed with the specified
+	 * type of {@link ProductKeyGenerationException}.
+	 * 
+	 * @param failureType
+	 * The type of {@link ProductKeyGenerationException}; sub-types are counted separately.
+	 * @return
+	 * The number of product-key generations that failed with the specified type of
+	 * {@link ProductKeyGenerationException}.
+	 */
+	public long getGenerationFailureCount(final Class<? extends ProductKeyGenerationException> failureType)
+	{
+		final LongAdder failureCount = this.generationFailureCounts.get(failureType);
+		
+		return (failureCount != null) ? failureCount.sum() : 0L;
+	}
+	
+	/**
+	 * This method will get the number of product-key generations that failed, for any reason.
+	 * 
+	 * @return
+	 * The number of product-key generations that failed.
+	 */
+	public long getGenerationFailureCount()
+	{
+		long count = 0L;
+		
+		for (final LongAdder failureCount : this.generationFailureCounts.values())
+		{
+			count += failureCount.sum();
+		}
+		
+		return count;
+	}
+	
+	/**
+	 * This method will get the number of product-keys verified as the specified
+	 * {@link ProductKeyState}.
+	 * 
+	 * @param productKeyState
+	 * The {@link ProductKeyState}.
+	 * @return
+	 * The number of product-keys verified as the specified {@link ProductKeyState}.
+	 */
+	public long getVerifiedCount(final ProductKeyState productKeyState)
+	{
+		return this.verifiedCounts[productKeyState.ordinal()].sum();
+	}
+	
+	/**
+	 * This method will get the {@link LatencyHistogram} of the specified {@link ProductKeyStage}.
+	 * 
+	 * @param stage
+	 * The {@link ProductKeyStage}.
+	 * @return
+	 * The {@link LatencyHistogram} of the specified {@link ProductKeyStage}.
+	 */
+	public LatencyHistogram getStageLatency(final ProductKeyStage stage)
+	{
+		return this.stageLatencies[stage.ordinal()];
+	}
+	
+	/**
+	 * This method will reset every counter to <code>0</code>.
+	 * <br />
+	 * <br />
+	 * <i>Outcomes recorded while this is running may or may not be discarded.</i>
+	 */
+	public void reset()
+	{
+		this.generatedCount.reset();
+		
+		for (final LongAdder failureCount : this.generationFailureCounts.values())
+		{
+			failureCount.reset();
+		}
+		
+		for (final LongAdder verifiedCount : this.verifiedCounts)
+		{
+			verifiedCount.reset();
+		}
+		
+		for (final LatencyHistogram stageLatency : this.stageLatencies)
+		{
+			stageLatency.reset();
+		}
+	}
+	
+}
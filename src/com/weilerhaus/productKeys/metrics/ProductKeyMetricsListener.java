@@ -0,0 +1,100 @@
+package com.weilerhaus.productKeys.metrics;
+
+import com.weilerhaus.productKeys.ProductKeyGenerator;
+import com.weilerhaus.productKeys.enums.ProductKeyStage;
+import com.weilerhaus.productKeys.enums.ProductKeyState;
+import com.weilerhaus.productKeys.exceptions.ProductKeyGenerationException;
+
+/**
+ * This interface is notified by a {@link ProductKeyGenerator} of the outcome of every
+ * product-key it generates or verifies, and of the time spent in each {@link ProductKeyStage}.
+ * <br />
+ * <br />
+ * The methods are called on the thread generating or verifying the product-key, so they must be
+ * thread-safe and should return quickly.
+ * 
+ * @author Matthew Weiler
+ */
+public interface ProductKeyMetricsListener
+{
+	
+	
+	/* PUBLIC METHODS */
+	/**
+	 * This method will be called before each product-key is generated or verified to check if
+	 * this {@link ProductKeyMetricsListener} currently wants to be notified.
+	 * <br />
+	 * <br />
+	 * While this returns <code>false</code> the product-key is generated or verified without
+	 * timing any stage and without calling any other method of this
+	 * {@link ProductKeyMetricsListener}, as if no listener was registered.
+	 * <br />
+	 * <i>This returns <code>true</code> by default.</i>
+	 * 
+	 * @return
+	 * The boolean flag to denote if this {@link ProductKeyMetricsListener} currently wants to be
+	 * notified.
+	 */
+	public default boolean isEnabled()
+	{
+		return true;
+	}
+	
+	/**
+	 * This method will be called before a product-key is generated; it is always followed, on the
+	 * same thread, by the {@link #stageCompleted(ProductKeyStage, long)} calls for the generation
+	 * and then by either {@link #productKeyGenerated()} or
+	 * {@link #productKeyGenerationFailed(ProductKeyGenerationException)}.
+	 * <br />
+	 * <br />
+	 * <i>This does nothing by default.</i>
+	 */
+	public default void productKeyGenerationStarted()
+	{
+	}
+	
+	/**
+	 * This method will be called after a product-key has been generated.
+	 */
+	public void productKeyGenerated();
+	
+	/**
+	 * This method will be called after the generation of a product-key has failed.
+	 * 
+	 * @param failure
+	 * The reason the product-key could not be generated.
+	 */
+	public void productKeyGenerationFailed(ProductKeyGenerationException failure);
+	
+	/**
+	 * This method will be called before a product-key is verified; it is always followed, on the
+	 * same thread, by the {@link #stageCompleted(ProductKeyStage, long)} calls for the
+	 * verification and then by {@link #productKeyVerified(ProductKeyState)}.
+	 * <br />
+	 * <br />
+	 * <i>This does nothing by default.</i>
+	 */
+	public default void productKeyVerificationStarted()
+	{
+	}
+	
+	/**
+	 * This method will be called after a product-key has been verified.
+	 * 
+	 * @param productKeyState
+	 * The {@link ProductKeyState} that best describes the product-key.
+	 */
+	public void productKeyVerified(ProductKeyState productKeyState);
+	
+	/**
+	 * This method will be called after a {@link ProductKeyStage} of the generation or verification
+	 * of a product-key has completed.
+	 * 
+	 * @param stage
+	 * The {@link ProductKeyStage}.
+	 * @param nanos
+	 * The number of nanoseconds spent in the {@link ProductKeyStage}.
+	 */
+	public void stageCompleted(ProductKeyStage stage, long nanos);
+	
+}
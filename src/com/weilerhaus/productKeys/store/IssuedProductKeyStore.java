@@ -0,0 +1,986 @@
+package com.weilerhaus.productKeys.store;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import com.weilerhaus.productKeys.ProductKeyGenerator;
+import com.weilerhaus.productKeys.beans.IssuedProductKey;
+import com.weilerhaus.productKeys.beans.ProductKey;
+import com.weilerhaus.productKeys.exceptions.ProductKeyGenerationException;
+import com.weilerhaus.productKeys.utils.ProductKeyUtils;
+import com.weilerhaus.productKeys.workers.ProductKeyStylingWorker;
+import com.weilerhaus.productKeys.workers.SeedAvailabilityWorker;
+
+/**
+ * This class keeps a record of every product-key issued, off the heap, in memory-mapped segment
+ * files, and is also a {@link SeedAvailabilityWorker} so that generation and lookups share the
+ * same structure.
+ * <br />
+ * <br />
+ * Each record holds the seed, the packed {@link ProductKey}, the time it was issued and whether it
+ * has been revoked, in {@link #RECORD_LENGTH} bytes. Records are found through an open-addressing
+ * index keyed by the seed, held in two primitive arrays, so a lookup is a few probes and never
+ * creates garbage for the collector to trace; seeds are claimed and records are appended with
+ * compare-and-set operations rather than locks.
+ * <br />
+ * Each segment file is made up of a header, holding {@link #MAGIC}, {@link #VERSION}, the number
+ * of HEXADECIMAL characters in each seed and the number of records in each segment, followed by
+ * the records; segment files are created as they are needed and the index is rebuilt from them
+ * when the store is opened.
+ * <br />
+ * A seed claimed through {@link #tryClaimSeed(long, int)}, as when this store is the
+ * {@link SeedAvailabilityWorker} of a {@link ProductKeyGenerator}, is written straight away as a
+ * record with no product-key, so it is still taken once the store is reopened; recording its
+ * product-key as issued fills in the same record.
+ * <br />
+ * <i>The capacity is fixed when the store is opened and covers every seed claimed, whether or not
+ * its product-key has been issued; the index is sized so that it is never more than half full,
+ * and takes between 24 and 48 bytes of heap for each seed of capacity.</i>
+ * 
+ * @author Matthew Weiler
+ */
+public class IssuedProductKeyStore implements SeedAvailabilityWorker, AutoCloseable
+{
+	
+	
+	/* PUBLIC CONSTANTS */
+	/**
+	 * This is the value that every segment file starts with ("PKIS").
+	 */
+	public static final int MAGIC = 0x504B4953;
+	/**
+	 * This is the version of the segment file format.
+	 */
+	public static final int VERSION = 1;
+	/**
+	 * This is the number of bytes in each record.
+	 */
+	public static final int RECORD_LENGTH = 40;
+	/**
+	 * This is the default number of records in each segment file.
+	 */
+	public static final int DEFAULT_RECORDS_PER_SEGMENT = 1 << 20;
+	/**
+	 * This is the maximum number of seeds a store can hold.
+	 */
+	public static final int MAX_CAPACITY = 1 << 29;
+	
+	/* PRIVATE CONSTANTS */
+	/**
+	 * This is the number of bytes in the header of a segment file.
+	 */
+	private static final int HEADER_LENGTH = 16;
+	/**
+	 * This is the flag set in a record once its product-key has been revoked.
+	 */
+	private static final int REVOKED_FLAG = 1;
+	/**
+	 * This is the length written in a record whose seed has been claimed but whose product-key
+	 * has not yet been issued.
+	 */
+	private static final int CLAIMED_LENGTH = -1;
+	/**
+	 * This is the value held in the index, in place of a record number, while the record for a
+	 * seed is being written.
+	 */
+	private static final int WRITING = Integer.MIN_VALUE;
+	
+	/* PRIVATE VARIABLES */
+	/**
+	 * This will store the directory holding the segment files.
+	 */
+	private final Path directory;
+	/**
+	 * This will store the number of HEXADECIMAL characters in each seed.
+	 */
+	private final int seedCharLength;
+	/**
+	 * This will store the maximum number of seeds this store can hold.
+	 */
+	private final int capacity;
+	/**
+	 * This will store the number of records in each segment file.
+	 */
+	private final int recordsPerSegment;
+	/**
+	 * This will store the seed, plus one, held in each slot of the index; <code>0</code> denotes an
+	 * empty slot.
+	 */
+	private final AtomicLongArray indexSeeds;
+	/**
+	 * This will store the record of the seed in each slot of the index: <code>0</code> while the
+	 * seed is claimed but not yet issued, the record number plus one once it has been issued, or
+	 * the negation of that once it has been revoked.
+	 */
+	private final AtomicIntegerArray indexRecords;
+	/**
+	 * This will store the mask applied to a hash to get a slot of the index.
+	 */
+	private final int indexMask;
+	/**
+	 * This will store the number of bits in a slot of the index.
+	 */
+	private final int indexBits;
+	/**
+	 * This will store the mapped segment files; a segment is <code>null</code> until it is first
+	 * needed.
+	 */
+	private final AtomicReferenceArray<MappedByteBuffer> segments;
+	/**
+	 * This will store the number of seeds claimed.
+	 */
+	private final AtomicInteger claimedCount = new AtomicInteger(0);
+	/**
+	 * This will store the number of product-keys issued.
+	 */
+	private final AtomicInteger issuedCount = new AtomicInteger(0);
+	/**
+	 * This will store the next record number to be written.
+	 */
+	private final AtomicInteger nextRecord = new AtomicInteger(0);
+	
+	/* CONSTRUCTORS */
+	/**
+	 * This will create a new instance of an {@link IssuedProductKeyStore} with
+	 * {@link #DEFAULT_RECORDS_PER_SEGMENT} records in each segment file.
+	 * 
+	 * @param directory
+	 * The directory holding the segment files; it is created if it does not exist.
+	 * @param seedCharLength
+	 * The number of HEXADECIMAL characters in each seed.
+	 * @param capacity
+	 * The maximum number of seeds this store can hold.
+	 * @throws IOException
+	 * If the segment files could not be read or are not valid segment files.
+	 */
+	public IssuedProductKeyStore(final Path directory, final int seedCharLength, final int capacity) throws IOException
+	{
+		this(directory, seedCharLength, capacity, IssuedProductKeyStore.DEFAULT_RECORDS_PER_SEGMENT);
+	}
+	
+	/**
+	 * This will create a new instance of an {@link IssuedProductKeyStore}.
+	 * 
+	 * @param directory
+	 * The directory holding the segment files; it is created if it does not exist.
+	 * @param seedCharLength
+	 * The number of HEXADECIMAL characters in each seed; this must be between 1 and 15
+	 * inclusive.
+	 * @param capacity
+	 * The maximum number of seeds this store can hold; this must be between 1 and
+	 * {@link #MAX_CAPACITY} inclusive.
+	 * @param recordsPerSegment
+	 * The number of records in each segment file; this must match the existing segment files.
+	 * @throws IOException
+	 * If the segment files could not be read or are not valid segment files.
+	 */
+	public IssuedProductKeyStore(final Path directory, final int seedCharLength, final int capacity, final int recordsPerSegment) throws IOException
+	{
+		if ((seedCharLength < 1) || (seedCharLength > 15))
+		{
+			throw new IllegalArgumentException("Seed length must be between 1 and 15: " + seedCharLength);
+		}
+		
+		if ((capacity < 1) || (capacity > IssuedProductKeyStore.MAX_CAPACITY))
+		{
+			throw new IllegalArgumentException("Capacity must be between 1 and " + IssuedProductKeyStore.MAX_CAPACITY + ": " + capacity);
+		}
+		
+		if ((recordsPerSegment < 1) || (recordsPerSegment > ((Integer.MAX_VALUE - IssuedProductKeyStore.HEADER_LENGTH) / IssuedProductKeyStore.RECORD_LENGTH)))
+		{
+			throw new IllegalArgumentException("Records per segment is not valid: " + recordsPerSegment);
+		}
+		
+		this.directory = directory;
+		this.seedCharLength = seedCharLength;
+		this.capacity = capacity;
+		this.recordsPerSegment = recordsPerSegment;
+		
+		// The index holds at least twice as many slots as the capacity, so probes stay short.
+		final int indexSize = Integer.highestOneBit((capacity * 2) - 1) << 1;
+		
+		this.indexSeeds = new AtomicLongArray(indexSize);
+		this.indexRecords = new AtomicIntegerArray(indexSize);
+		this.indexMask = indexSize - 1;
+		this.indexBits = Integer.numberOfTrailingZeros(indexSize);
+		this.segments = new AtomicReferenceArray<MappedByteBuffer>((int) (((long) capacity + recordsPerSegment - 1L) / recordsPerSegment));
+		
+		Files.createDirectories(directory);
+		
+		this.load();
+	}
+	
+	/* PUBLIC METHODS */
+	/**
+	 * This method will get the number of HEXADECIMAL characters in each seed.
+	 * 
+	 * @return
+	 * The number of HEXADECIMAL characters in each seed.
+	 */
+	public int getSeedCharLength()
+	{
+		return this.seedCharLength;
+	}
+	
+	/**
+	 * This method will get the maximum number of seeds this store can hold.
+	 * 
+	 * @return
+	 * The maximum number of seeds this store can hold.
+	 */
+	public int getCapacity()
+	{
+		return this.capacity;
+	}
+	
+	/**
+	 * This method will get the number of product-keys issued.
+	 * 
+	 * @return
+	 * The number of product-keys issued.
+	 */
+	public int getIssuedCount()
+	{
+		return this.issuedCount.get();
+	}
+	
+	@Override
+	public boolean isSeedAvailable(final String seedHex)
+	{
+		return (seedHex != null) && this.isSeedAvailable(ProductKeyUtils.parseHex(seedHex, 0, seedHex.length()), this.seedCharLength);
+	}
+	
+	@Override
+	public boolean isSeedAvailable(final long seed, final int seedCharLength)
+	{
+		this.checkSeedCharLength(seedCharLength);
+		
+		return this.isStorable(seed) && (this.findSlot(seed) < 0);
+	}
+	
+	@Override
+	public boolean tryClaimSeed(final long seed, final int seedCharLength)
+	{
+		this.checkSeedCharLength(seedCharLength);
+		this.checkStorable(seed);
+		
+		final int slot = this.claimSlot(seed);
+		
+		if (slot < 0)
+		{
+			return false;
+		}
+		
+		// If the product-key is already being recorded as issued, its record covers the claim.
+		if (this.indexRecords.compareAndSet(slot, 0, IssuedProductKeyStore.WRITING))
+		{
+			final int record;
+			
+			try
+			{
+				record = this.appendRecord(seed, 0L, 0L, System.currentTimeMillis(), IssuedProductKeyStore.CLAIMED_LENGTH);
+			}
+			catch (final RuntimeException e)
+			{
+				this.indexRecords.set(slot, 0);
+				
+				throw e;
+			}
+			
+			this.indexRecords.set(slot, record + 1);
+		}
+		
+		return true;
+	}
+	
+	@Override
+	public boolean isSeedAvailable(final long seedHigh, final long seedLow, final int seedCharLength)
+	{
+		// A seed too long for this store is rejected as a seed of the wrong length.
+		return this.isSeedAvailable(seedLow, seedCharLength);
+	}
+	
+	@Override
+	public boolean tryClaimSeed(final long seedHigh, final long seedLow, final int seedCharLength)
+	{
+		// A seed too long for this store is rejected as a seed of the wrong length.
+		return this.tryClaimSeed(seedLow, seedCharLength);
+	}
+	
+	@Override
+	public boolean isSeedCharLengthSupported(final int seedCharLength)
+	{
+		return seedCharLength == this.seedCharLength;
+	}
+	
+	/**
+	 * This method will generate a product-key for the specified seed and record that it has been
+	 * issued.
+	 * 
+	 * @param productKeyGenerator
+	 * The {@link ProductKeyGenerator} to generate the product-key with.
+	 * @param seed
+	 * The seed of the product-key.
+	 * @return
+	 * The packed product-key that was issued.
+	 * @throws ProductKeyGenerationException
+	 * If the generation of the product-key failed.
+	 * @throws IllegalArgumentException
+	 * If the seeds of the {@link ProductKeyGenerator} are not the length of the seeds of this
+	 * store.
+	 */
+	public ProductKey issueProductKey(final ProductKeyGenerator<?> productKeyGenerator, final long seed) throws ProductKeyGenerationException
+	{
+		this.checkSeedCharLength(productKeyGenerator.getSeedCharLength());
+		
+		final ProductKey productKey = productKeyGenerator.generatePackedProductKey(seed);
+		
+		this.recordIssued(productKey, System.currentTimeMillis());
+		
+		return productKey;
+	}
+	
+	/**
+	 * This method will record that the specified product-key has been issued, claiming its seed
+	 * if it has not already been claimed.
+	 * <br />
+	 * <br />
+	 * If the seed was claimed through {@link #tryClaimSeed(long, int)}, the record of the claim is
+	 * filled in; otherwise a new record is written.
+	 * 
+	 * @param productKey
+	 * The packed product-key.
+	 * @param issuedAt
+	 * The time the product-key was issued, in milliseconds since the epoch.
+	 * @throws IllegalStateException
+	 * If a product-key has already been issued for the seed, or the store is full.
+	 */
+	public void recordIssued(final ProductKey productKey, final long issuedAt)
+	{
+		final long seed = productKey.getSeed(this.seedCharLength);
+		
+		this.checkStorable(seed);
+		
+		int slot = this.claimSlot(seed);
+		
+		if (slot < 0)
+		{
+			slot = ~slot;
+		}
+		
+		int indexRecord;
+		
+		while (true)
+		{
+			indexRecord = this.indexRecords.get(slot);
+			
+			// The record of the claim, or of another issue of the same seed, is still being
+			// written.
+			if (indexRecord == IssuedProductKeyStore.WRITING)
+			{
+				Thread.yield();
+				
+				continue;
+			}
+			
+			if ((indexRecord < 0) || ((indexRecord > 0) && !this.isClaimRecord(indexRecord - 1)))
+			{
+				throw new IllegalStateException("A product-key has already been issued for seed: " + seed);
+			}
+			
+			if (this.indexRecords.compareAndSet(slot, indexRecord, IssuedProductKeyStore.WRITING))
+			{
+				break;
+			}
+		}
+		
+		final int record;
+		
+		if (indexRecord == 0)
+		{
+			try
+			{
+				record = this.appendRecord(seed, productKey.getHigh(), productKey.getLow(), issuedAt, productKey.getLength());
+			}
+			catch (final RuntimeException e)
+			{
+				this.indexRecords.set(slot, 0);
+				
+				throw e;
+			}
+		}
+		else
+		{
+			record = indexRecord - 1;
+			
+			this.writeRecord(record, seed, productKey.getHigh(), productKey.getLow(), issuedAt, productKey.getLength());
+		}
+		
+		// Publishing the record number makes the writes above visible to any thread that reads it.
+		this.indexRecords.set(slot, record + 1);
+		this.issuedCount.incrementAndGet();
+	}
+	
+	/**
+	 * This method will get the record of the product-key issued for the specified seed.
+	 * 
+	 * @param seed
+	 * The seed.
+	 * @return
+	 * The {@link IssuedProductKey}, or <code>null</code> if no product-key has been issued for the
+	 * seed.
+	 */
+	public IssuedProductKey lookup(final long seed)
+	{
+		if ( !this.isStorable(seed))
+		{
+			return null;
+		}
+		
+		final int slot = this.findSlot(seed);
+		
+		if (slot < 0)
+		{
+			return null;
+		}
+		
+		final int indexRecord = this.indexRecords.get(slot);
+		
+		if ((indexRecord == 0) || (indexRecord == IssuedProductKeyStore.WRITING))
+		{
+			return null;
+		}
+		
+		final int record = Math.abs(indexRecord) - 1;
+		final MappedByteBuffer segment = this.segments.get(record / this.recordsPerSegment);
+		final int position = IssuedProductKeyStore.getRecordPosition(record % this.recordsPerSegment);
+		
+		if (segment.getInt(position + 32) == IssuedProductKeyStore.CLAIMED_LENGTH)
+		{
+			return null;
+		}
+		
+		final ProductKey productKey = new ProductKey(segment.getLong(position + 8), segment.getLong(position + 16), segment.getInt(position + 32));
+		
+		return new IssuedProductKey(seed, productKey, segment.getLong(position + 24), indexRecord < 0);
+	}
+	
+	/**
+	 * This method will get the record of the specified product-key.
+	 * 
+	 * @param productKey
+	 * The packed product-key.
+	 * @return
+	 * The {@link IssuedProductKey}, or <code>null</code> if the product-key was not issued; a
+	 * product-key whose seed was issued with different characters was not issued.
+	 */
+	public IssuedProductKey lookup(final ProductKey productKey)
+	{
+		if (productKey.getLength() < this.seedCharLength)
+		{
+			return null;
+		}
+		
+		final IssuedProductKey issuedProductKey = this.lookup(productKey.getSeed(this.seedCharLength));
+		
+		return ((issuedProductKey != null) && issuedProductKey.getProductKey().equals(productKey)) ? issuedProductKey : null;
+	}
+	
+	/**
+	 * This method will get the record of the specified product-key, which may have styling and be
+	 * in either case.
+	 * 
+	 * @param productKey
+	 * The product-key.
+	 * @param stylingWorker
+	 * The {@link ProductKeyStylingWorker} that styled the product-key, or <code>null</code> if it
+	 * has no styling.
+	 * @return
+	 * The {@link IssuedProductKey}, or <code>null</code> if the product-key was not issued or
+	 * could not be parsed.
+	 */
+	public IssuedProductKey lookup(final CharSequence productKey, final ProductKeyStylingWorker stylingWorker)
+	{
+		final ProductKey packedProductKey;
+		
+		try
+		{
+			packedProductKey = ProductKey.parse(productKey, stylingWorker);
+		}
+		catch (IllegalArgumentException iae)
+		{
+			return null;
+		}
+		
+		return this.lookup(packedProductKey);
+	}
+	
+	/**
+	 * This method will revoke the product-key issued for the specified seed.
+	 * 
+	 * @param seed
+	 * The seed.
+	 * @return
+	 * The boolean flag to denote if the product-key was revoked by this call; this will be
+	 * <code>false</code> if no product-key has been issued for the seed or it was already
+	 * revoked.
+	 */
+	public boolean revoke(final long seed)
+	{
+		if ( !this.isStorable(seed))
+		{
+			return false;
+		}
+		
+		final int slot = this.findSlot(seed);
+		
+		if (slot < 0)
+		{
+			return false;
+		}
+		
+		int indexRecord;
+		
+		do
+		{
+			indexRecord = this.indexRecords.get(slot);
+			
+			if ((indexRecord <= 0) || this.isClaimRecord(indexRecord - 1))
+			{
+				return false;
+			}
+		}
+		while ( !this.indexRecords.compareAndSet(slot, indexRecord, -indexRecord));
+		
+		final int record = indexRecord - 1;
+		
+		this.segments.get(record / this.recordsPerSegment).putInt(IssuedProductKeyStore.getRecordPosition(record % this.recordsPerSegment) + 36, IssuedProductKeyStore.REVOKED_FLAG);
+		
+		return true;
+	}
+	
+	/**
+	 * This method will write any records that have changed through to the segment files.
+	 */
+	public void flush()
+	{
+		MappedByteBuffer tmpSegment;
+		
+		for (int n = 0; n < this.segments.length(); n++ )
+		{
+			tmpSegment = this.segments.get(n);
+			
+			if (tmpSegment != null)
+			{
+				tmpSegment.force();
+			}
+		}
+	}
+	
+	@Override
+	public void close()
+	{
+		this.flush();
+	}
+	
+	/* PRIVATE METHODS */
+	/**
+	 * This method will rebuild the index from the existing segment files.
+	 * 
+	 * @throws IOException
+	 * If the segment files could not be read or are not valid segment files.
+	 */
+	private void load() throws IOException
+	{
+		int lastRecord = -1;
+		MappedByteBuffer tmpSegment;
+		int tmpPosition;
+		int tmpLength;
+		long tmpSeed;
+		int tmpSlot;
+		int tmpRecord;
+		
+		for (int n = 0; n < this.segments.length(); n++ )
+		{
+			// A segment can be missing if a later one was created first and the store was not
+			// closed cleanly.
+			if ( !Files.exists(this.getSegmentFile(n)))
+			{
+				continue;
+			}
+			
+			tmpSegment = this.mapSegment(n);
+			this.segments.set(n, tmpSegment);
+			
+			for (int i = 0; i < this.recordsPerSegment; i++ )
+			{
+				tmpPosition = IssuedProductKeyStore.getRecordPosition(i);
+				tmpLength = tmpSegment.getInt(tmpPosition + 32);
+				
+				if (tmpLength == 0)
+				{
+					continue;
+				}
+				
+				tmpSeed = tmpSegment.getLong(tmpPosition);
+				tmpRecord = (n * this.recordsPerSegment) + i;
+				
+				if ( !this.isStorable(tmpSeed) || (tmpRecord >= this.capacity) || ((tmpSlot = this.claimSlot(tmpSeed)) < 0))
+				{
+					throw new IOException("Segment file is corrupt: " + this.getSegmentFile(n));
+				}
+				
+				this.indexRecords.set(tmpSlot, ((tmpSegment.getInt(tmpPosition + 36) & IssuedProductKeyStore.REVOKED_FLAG) != 0) ? -(tmpRecord + 1) : (tmpRecord + 1));
+				
+				if (tmpLength != IssuedProductKeyStore.CLAIMED_LENGTH)
+				{
+					this.issuedCount.incrementAndGet();
+				}
+				
+				lastRecord = tmpRecord;
+			}
+		}
+		
+		this.nextRecord.set(lastRecord + 1);
+	}
+	
+	/**
+	 * This method will find the slot of the index holding the specified seed.
+	 * 
+	 * @param seed
+	 * The seed.
+	 * @return
+	 * The slot holding the seed, or <code>-1</code> if the seed has not been claimed.
+	 */
+	private int findSlot(final long seed)
+	{
+		final long storedSeed = seed + 1L;
+		int slot = this.getHomeSlot(seed);
+		long tmpStoredSeed;
+		
+		while ((tmpStoredSeed = this.indexSeeds.get(slot)) != 0L)
+		{
+			if (tmpStoredSeed == storedSeed)
+			{
+				return slot;
+			}
+			
+			slot = (slot + 1) & this.indexMask;
+		}
+		
+		return -1;
+	}
+	
+	/**
+	 * This method will claim a slot of the index for the specified seed.
+	 * 
+	 * @param seed
+	 * The seed.
+	 * @return
+	 * The slot that was claimed for the seed, or the bitwise complement of the slot already
+	 * holding the seed if it had already been claimed.
+	 * @throws IllegalStateException
+	 * If the store is full.
+	 */
+	private int claimSlot(final long seed)
+	{
+		final long storedSeed = seed + 1L;
+		int slot = this.getHomeSlot(seed);
+		long tmpStoredSeed;
+		
+		while (true)
+		{
+			tmpStoredSeed = this.indexSeeds.get(slot);
+			
+			if (tmpStoredSeed == storedSeed)
+			{
+				return ~slot;
+			}
+			
+			if (tmpStoredSeed == 0L)
+			{
+				// The capacity is reserved before the slot is taken, so concurrent claims cannot
+				// go past it.
+				if (this.claimedCount.incrementAndGet() > this.capacity)
+				{
+					this.claimedCount.decrementAndGet();
+					
+					throw new IllegalStateException("Issued-key store is full");
+				}
+				
+				if (this.indexSeeds.compareAndSet(slot, 0L, storedSeed))
+				{
+					return slot;
+				}
+				
+				this.claimedCount.decrementAndGet();
+				
+				// Another thread claimed this slot first; it may have been for the same seed.
+				continue;
+			}
+			
+			slot = (slot + 1) & this.indexMask;
+		}
+	}
+	
+	/**
+	 * This method will write a new record.
+	 * 
+	 * @param seed
+	 * The seed.
+	 * @param productKeyHigh
+	 * The upper 64 bits of the packed product-key.
+	 * @param productKeyLow
+	 * The lower 64 bits of the packed product-key.
+	 * @param issuedAt
+	 * The time the seed was claimed or the product-key was issued, in milliseconds since the
+	 * epoch.
+	 * @param length
+	 * The number of characters in the product-key, or {@link #CLAIMED_LENGTH} if the seed has only
+	 * been claimed.
+	 * @return
+	 * The record number.
+	 * @throws IllegalStateException
+	 * If the store is full.
+	 */
+	private int appendRecord(final long seed, final long productKeyHigh, final long productKeyLow, final long issuedAt, final int length)
+	{
+		final int record = this.nextRecord.getAndIncrement();
+		
+		if (record >= this.capacity)
+		{
+			throw new IllegalStateException("Issued-key store is full");
+		}
+		
+		this.writeRecord(record, seed, productKeyHigh, productKeyLow, issuedAt, length);
+		
+		return record;
+	}
+	
+	/**
+	 * This method will write the specified record.
+	 * 
+	 * @param record
+	 * The record number.
+	 * @param seed
+	 * The seed.
+	 * @param productKeyHigh
+	 * The upper 64 bits of the packed product-key.
+	 * @param productKeyLow
+	 * The lower 64 bits of the packed product-key.
+	 * @param issuedAt
+	 * The time the seed was claimed or the product-key was issued, in milliseconds since the
+	 * epoch.
+	 * @param length
+	 * The number of characters in the product-key, or {@link #CLAIMED_LENGTH} if the seed has only
+	 * been claimed.
+	 */
+	private void writeRecord(final int record, final long seed, final long productKeyHigh, final long productKeyLow, final long issuedAt, final int length)
+	{
+		final MappedByteBuffer segment = this.getSegment(record / this.recordsPerSegment);
+		final int position = IssuedProductKeyStore.getRecordPosition(record % this.recordsPerSegment);
+		
+		segment.putLong(position, seed);
+		segment.putLong(position + 8, productKeyHigh);
+		segment.putLong(position + 16, productKeyLow);
+		segment.putLong(position + 24, issuedAt);
+		segment.putInt(position + 36, 0);
+		
+		// The length is written last, as it marks the record as complete, or a claim as issued,
+		// when the store is opened again.
+		segment.putInt(position + 32, length);
+	}
+	
+	/**
+	 * This method will determine if the specified record only holds the claim of its seed.
+	 * 
+	 * @param record
+	 * The record number.
+	 * @return
+	 * The boolean flag to denote if the product-key of the seed has not yet been issued.
+	 */
+	private boolean isClaimRecord(final int record)
+	{
+		return this.segments.get(record / this.recordsPerSegment).getInt(IssuedProductKeyStore.getRecordPosition(record % this.recordsPerSegment) + 32) == IssuedProductKeyStore.CLAIMED_LENGTH;
+	}
+	
+	/**
+	 * This method will get the slot of the index that the search for the specified seed starts
+	 * at.
+	 * 
+	 * @param seed
+	 * The seed.
+	 * @return
+	 * The slot of the index that the search for the seed starts at.
+	 */
+	private int getHomeSlot(final long seed)
+	{
+		return (int) ((seed * 0x9E3779B97F4A7C15L) >>> (64 - this.indexBits)) & this.indexMask;
+	}
+	
+	/**
+	 * This method will get the specified segment, creating and mapping its file if this is the
+	 * first time it is needed.
+	 * <br />
+	 * <br />
+	 * Two threads may both map a new segment file; they map the same file, and the mapping that
+	 * is published first is the one used.
+	 * 
+	 * @param segmentIndex
+	 * The index of the segment.
+	 * @return
+	 * The mapped segment file.
+	 */
+	private MappedByteBuffer getSegment(final int segmentIndex)
+	{
+		MappedByteBuffer segment = this.segments.get(segmentIndex);
+		
+		if (segment == null)
+		{
+			try
+			{
+				segment = this.mapSegment(segmentIndex);
+			}
+			catch (IOException ioe)
+			{
+				throw new UncheckedIOException(ioe);
+			}
+			
+			if ( !this.segments.compareAndSet(segmentIndex, null, segment))
+			{
+				segment = this.segments.get(segmentIndex);
+			}
+		}
+		
+		return segment;
+	}
+	
+	/**
+	 * This method will map the file of the specified segment, creating it if it does not exist.
+	 * 
+	 * @param segmentIndex
+	 * The index of the segment.
+	 * @return
+	 * The mapped segment file.
+	 * @throws IOException
+	 * If the segment file could not be created or mapped, or is not a valid segment file.
+	 */
+	private MappedByteBuffer mapSegment(final int segmentIndex) throws IOException
+	{
+		final Path segmentFile = this.getSegmentFile(segmentIndex);
+		final int segmentLength = IssuedProductKeyStore.getRecordPosition(this.recordsPerSegment);
+		
+		try (final FileChannel fileChannel = FileChannel.open(segmentFile, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE))
+		{
+			if ((fileChannel.size() != 0L) && (fileChannel.size() != segmentLength))
+			{
+				throw new IOException("Segment file has the wrong length: " + segmentFile);
+			}
+			
+			final MappedByteBuffer segment = fileChannel.map(FileChannel.MapMode.READ_WRITE, 0L, segmentLength);
+			
+			// A header of zeros belongs to a file that was just created, possibly by another
+			// thread; writing the same header again is harmless.
+			if (segment.getInt(0) == 0)
+			{
+				segment.putInt(4, IssuedProductKeyStore.VERSION);
+				segment.putInt(8, this.seedCharLength);
+				segment.putInt(12, this.recordsPerSegment);
+				segment.putInt(0, IssuedProductKeyStore.MAGIC);
+			}
+			else if ((segment.getInt(0) != IssuedProductKeyStore.MAGIC) || (segment.getInt(4) != IssuedProductKeyStore.VERSION) || (segment.getInt(8) != this.seedCharLength) || (segment.getInt(12) != this.recordsPerSegment))
+			{
+				throw new IOException("Not a segment file of this store: " + segmentFile);
+			}
+			
+			return segment;
+		}
+	}
+	
+	/**
+	 * This method will get the file of the specified segment.
+	 * 
+	 * @param segmentIndex
+	 * The index of the segment.
+	 * @return
+	 * The file of the segment.
+	 */
+	private Path getSegmentFile(final int segmentIndex)
+	{
+		return this.directory.resolve(String.format("issued-%05d.pks", segmentIndex));
+	}
+	
+	/**
+	 * This method will get the position of the specified record within its segment file.
+	 * 
+	 * @param recordInSegment
+	 * The index of the record within its segment.
+	 * @return
+	 * The position of the record, in bytes.
+	 */
+	private static int getRecordPosition(final int recordInSegment)
+	{
+		return IssuedProductKeyStore.HEADER_LENGTH + (recordInSegment * IssuedProductKeyStore.RECORD_LENGTH);
+	}
+	
+	/**
+	 * This method will determine if the specified seed can be held in this store.
+	 * 
+	 * @param seed
+	 * The seed.
+	 * @return
+	 * The boolean flag to denote if the seed fits in the number of HEXADECIMAL characters of this
+	 * store.
+	 */
+	private boolean isStorable(final long seed)
+	{
+		return (seed >= 0L) && ((seed >>> (this.seedCharLength * 4)) == 0L);
+	}
+	
+	/**
+	 * This method will ensure that the specified seed can be held in this store.
+	 * 
+	 * @param seed
+	 * The seed.
+	 * @throws IllegalArgumentException
+	 * If the seed does not fit in the number of HEXADECIMAL characters of this store.
+	 */
+	private void checkStorable(final long seed)
+	{
+		if ( !this.isStorable(seed))
+		{
+			throw new IllegalArgumentException("Seed does not fit in " + this.seedCharLength + " HEXADECIMAL characters: " + seed);
+		}
+	}
+	
+	/**
+	 * This method will ensure that seeds of the specified number of HEXADECIMAL characters are the
+	 * seeds of this store.
+	 * <br />
+	 * <br />
+	 * Seeds of another length, including those too long to fit in a <code>long</code>, would be
+	 * read from different characters of the product-keys than the seeds already held.
+	 * 
+	 * @param seedCharLength
+	 * The number of HEXADECIMAL characters representing the seed.
+	 * @throws IllegalArgumentException
+	 * If the number of HEXADECIMAL characters is not the number of this store.
+	 */
+	private void checkSeedCharLength(final int seedCharLength)
+	{
+		if (seedCharLength != this.seedCharLength)
+		{
+			throw new IllegalArgumentException("Seed length does not match the issued-key store (" + this.seedCharLength + "): " + seedCharLength);
+		}
+	}
+	
+}
@@ -0,0 +1,240 @@
+package com.weilerhaus.productKeys.tasks;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.Arrays;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * This class is a fork-join task that processes the lines of a range of a file of ASCII text,
+ * splitting the range in half until it is small enough to be memory-mapped and processed serially.
+ * <br />
+ * <br />
+ * A line belongs to the range in which it starts; each range skips the partial line it starts
+ * in, if any, and finishes the last line it starts even if that line runs past the end of the
+ * range.
+ * <br />
+ * Each line is handed to {@link #processLine(char[], int, long)} as characters copied into a
+ * reusable buffer, without its line terminator; empty lines are skipped.
+ * 
+ * @author Matthew Weiler
+ * @param <T>
+ * The type of the concrete task, which its sub-tasks share.
+ */
+public abstract class MappedFileLineTask<T extends MappedFileLineTask<T>> extends RecursiveAction
+{
+	
+	
+	/* PRIVATE CONSTANTS */
+	private static final long serialVersionUID = 1L;
+	/**
+	 * This is the number of bytes at, or below, which a range will be memory-mapped and processed
+	 * serially rather than split further.
+	 */
+	private static final long SERIAL_THRESHOLD = 32L * 1024L * 1024L;
+	/**
+	 * This is the maximum number of bytes that the last line of a range may run past the end of
+	 * the range; longer lines will be truncated, which no valid product-key could need.
+	 */
+	private static final int MAX_LINE_OVERHANG = 64 * 1024;
+	
+	/* PRIVATE VARIABLES */
+	/**
+	 * This will store the {@link FileChannel} of the file being processed.
+	 */
+	private final FileChannel fileChannel;
+	/**
+	 * This will store the size of the file being processed.
+	 */
+	private final long fileSize;
+	/**
+	 * This will store the position of the first byte of the range (inclusive).
+	 */
+	private final long start;
+	/**
+	 * This will store the position of the last byte of the range (exclusive).
+	 */
+	private final long end;
+	
+	/* CONSTRUCTORS */
+	/**
+	 * This will create a new instance of a {@link MappedFileLineTask}.
+	 * 
+	 * @param fileChannel
+	 * The {@link FileChannel} of the file being processed.
+	 * @param fileSize
+	 * The size of the file being processed.
+	 * @param start
+	 * The position of the first byte of the range (inclusive).
+	 * @param end
+	 * The position of the last byte of the range (exclusive).
+	 */
+	protected MappedFileLineTask(final FileChannel fileChannel, final long fileSize, final long start, final long end)
+	{
+		this.fileChannel = fileChannel;
+		this.fileSize = fileSize;
+		this.start = start;
+		this.end = end;
+	}
+	
+	/* PROTECTED METHODS */
+	@Override
+	protected void compute()
+	{
+		if ((this.end - this.start) <= MappedFileLineTask.SERIAL_THRESHOLD)
+		{
+			try
+			{
+				try
+				{
+					this.processRange();
+				}
+				finally
+				{
+					this.completeRange();
+				}
+			}
+			catch (IOException ioe)
+			{
+				throw new UncheckedIOException(ioe);
+			}
+		}
+		else
+		{
+			final long middle = (this.start + this.end) >>> 1;
+			final T left = this.createSubTask(this.fileChannel, this.fileSize, this.start, middle);
+			final T right = this.createSubTask(this.fileChannel, this.fileSize, middle, this.end);
+			
+			MappedFileLineTask.invokeAll(left, right);
+			
+			this.merge(left);
+			this.merge(right);
+		}
+	}
+	
+	/**
+	 * This method will create a sub-task for part of the range of this task.
+	 * 
+	 * @param fileChannel
+	 * The {@link FileChannel} of the file being processed.
+	 * @param fileSize
+	 * The size of the file being processed.
+	 * @param start
+	 * The position of the first byte of the sub-range (inclusive).
+	 * @param end
+	 * The position of the last byte of the sub-range (exclusive).
+	 * @return
+	 * The sub-task.
+	 */
+	protected abstract T createSubTask(final FileChannel fileChannel, final long fileSize, final long start, final long end);
+	
+	/**
+	 * This method will process a line.
+	 * 
+	 * @param line
+	 * The characters of the line; this buffer is reused for the next line.
+	 * @param length
+	 * The number of characters in the line.
+	 * @param lineOffset
+	 * The position of the first byte of the line in the file.
+	 */
+	protected abstract void processLine(final char[] line, final int length, final long lineOffset);
+	
+	/**
+	 * This method will be called once this task has processed the lines of its range, or failed
+	 * to, when the range was processed serially rather than split.
+	 * <br />
+	 * <br />
+	 * <i>This does nothing by default.</i>
+	 * 
+	 * @throws IOException
+	 * If the results of the range could not be written.
+	 */
+	protected void completeRange() throws IOException
+	{
+	}
+	
+	/**
+	 * This method will merge the results of the specified completed sub-task into this task;
+	 * sub-tasks are merged in file order.
+	 * 
+	 * @param subTask
+	 * The sub-task whose results are to be merged.
+	 */
+	protected abstract void merge(final T subTask);
+	
+	/* PRIVATE METHODS */
+	/**
+	 * This method will memory-map the range and process each line that starts within it.
+	 * 
+	 * @throws IOException
+	 * If the range could not be memory-mapped.
+	 */
+	private void processRange() throws IOException
+	{
+		// Map one byte before the range, to see if the range starts a line, and enough after it to
+		// finish the last line started within it.
+		final long mapStart = (this.start > 0) ? (this.start - 1) : 0;
+		final long mapEnd = Math.min(this.fileSize, this.end + MappedFileLineTask.MAX_LINE_OVERHANG);
+		
+		if (mapEnd <= mapStart)
+		{
+			return;
+		}
+		
+		final MappedByteBuffer mappedRange = this.fileChannel.map(FileChannel.MapMode.READ_ONLY, mapStart, mapEnd - mapStart);
+		final int mappedLength = (int) (mapEnd - mapStart);
+		final int rangeEnd = (int) (Math.min(this.end, mapEnd) - mapStart);
+		
+		int index = (int) (this.start - mapStart);
+		
+		// Skip the partial line that belongs to the previous range.
+		if ((this.start > 0) && (mappedRange.get(0) != '\n'))
+		{
+			while ((index < mappedLength) && (mappedRange.get(index) != '\n'))
+			{
+				index++ ;
+			}
+			
+			index++ ;
+		}
+		
+		char[] line = new char[256];
+		int tmpLineStart;
+		int tmpLineLength;
+		byte tmpByte;
+		
+		while (index < rangeEnd)
+		{
+			tmpLineStart = index;
+			tmpLineLength = 0;
+			
+			while ((index < mappedLength) && ((tmpByte = mappedRange.get(index)) != '\n'))
+			{
+				if (tmpLineLength == line.length)
+				{
+					line = Arrays.copyOf(line, line.length * 2);
+				}
+				
+				line[tmpLineLength++ ] = (char) (tmpByte & 0x00FF);
+				index++ ;
+			}
+			
+			// Skip the new-line.
+			index++ ;
+			
+			if ((tmpLineLength > 0) && (line[tmpLineLength - 1] == '\r'))
+			{
+				tmpLineLength-- ;
+			}
+			
+			if (tmpLineLength > 0)
+			{
+				this.processLine(line, tmpLineLength, mapStart + tmpLineStart);
+			}
+		}
+	}
+	
+}
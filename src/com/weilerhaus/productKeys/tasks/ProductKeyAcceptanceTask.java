@@ -0,0 +1,259 @@
+package com.weilerhaus.productKeys.tasks;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.RecursiveAction;
+
+import com.weilerhaus.productKeys.utils.ProductKeyUtils;
+import com.weilerhaus.productKeys.workers.ChecksumWorker;
+import com.weilerhaus.productKeys.workers.ProductKeySectionPlan;
+
+/**
+ * This class is a fork-join task that tries a range of candidate product-keys against a checksum
+ * and the present sections of a {@link ProductKeySectionPlan}, splitting the range in half until
+ * it is no more than {@link #LEAF_SIZE} candidates.
+ * <br />
+ * <br />
+ * A candidate is a string of upper-case HEXADECIMAL characters, without styling, of the length of
+ * the product-keys; it is either the index of the trial itself, when every candidate is tried, or
+ * drawn from a {@link SplittableRandom} seeded from the random seed and the start of the range, so
+ * the counts do not depend on how the range was split.
+ * <br />
+ * <i>Each leaf reuses the same characters and section bytes for all of its candidates, so the
+ * trials allocate nothing.</i>
+ * 
+ * @author Matthew Weiler
+ */
+public class ProductKeyAcceptanceTask extends RecursiveAction
+{
+	
+	
+	/* PUBLIC CONSTANTS */
+	/**
+	 * This is the index, in the counts, of the number of candidates whose checksum was correct.
+	 */
+	public static final int CHECKSUM_COUNT = 0;
+	/**
+	 * This is the index, in the counts, of the number of candidates whose present sections were
+	 * all correct.
+	 */
+	public static final int SECTIONS_COUNT = 1;
+	/**
+	 * This is the index, in the counts, of the number of candidates that were accepted.
+	 */
+	public static final int ACCEPTED_COUNT = 2;
+	/**
+	 * This is the index, in the counts, of the number of candidates for which the first present
+	 * section was correct; the other present sections follow it in order.
+	 */
+	public static final int FIRST_SECTION_COUNT = 3;
+	/**
+	 * This is the largest number of candidates tried by a single task.
+	 */
+	public static final long LEAF_SIZE = 1L << 20;
+	
+	/* PRIVATE CONSTANTS */
+	private static final long serialVersionUID = 1L;
+	
+	/* PRIVATE VARIABLES */
+	/**
+	 * This will store the {@link ChecksumWorker} the candidates are checked with, or
+	 * <code>null</code> if every checksum is correct.
+	 */
+	private final ChecksumWorker checksumWorker;
+	/**
+	 * This will store the {@link ProductKeySectionPlan} the present sections are built with, or
+	 * <code>null</code> if no candidate has correct sections.
+	 */
+	private final ProductKeySectionPlan sectionPlan;
+	/**
+	 * This will store the number of HEXADECIMAL characters representing the seed.
+	 */
+	private final int seedCharLength;
+	/**
+	 * This will store the number of characters in each candidate.
+	 */
+	private final int candidateLength;
+	/**
+	 * This will store the boolean flag to denote if each candidate is the index of its trial,
+	 * rather than random.
+	 */
+	private final boolean exhaustive;
+	/**
+	 * This will store the seed of the random candidates.
+	 */
+	private final long randomSeed;
+	/**
+	 * This will store the index of the first trial of the range (inclusive).
+	 */
+	private final long start;
+	/**
+	 * This will store the index of the last trial of the range (exclusive).
+	 */
+	private final long end;
+	/**
+	 * This will store the counts for the range.
+	 */
+	private long[] counts = null;
+	
+	/* CONSTRUCTORS */
+	/**
+	 * This will create a new instance of a {@link ProductKeyAcceptanceTask}.
+	 * 
+	 * @param checksumWorker
+	 * The {@link ChecksumWorker} the candidates are checked with, or <code>null</code> if every
+	 * checksum is correct.
+	 * @param sectionPlan
+	 * The {@link ProductKeySectionPlan} the present sections are built with, or <code>null</code>
+	 * if no candidate has correct sections.
+	 * @param seedCharLength
+	 * The number of HEXADECIMAL characters representing the seed.
+	 * @param candidateLength
+	 * The number of characters in each candidate.
+	 * @param exhaustive
+	 * The boolean flag to denote if each candidate is the index of its trial, rather than random.
+	 * @param randomSeed
+	 * The seed of the random candidates.
+	 * @param start
+	 * The index of the first trial of the range (inclusive).
+	 * @param end
+	 * The index of the last trial of the range (exclusive).
+	 */
+	public ProductKeyAcceptanceTask(final ChecksumWorker checksumWorker, final ProductKeySectionPlan sectionPlan, final int seedCharLength, final int candidateLength, final boolean exhaustive, final long randomSeed, final long start, final long end)
+	{
+		this.checksumWorker = checksumWorker;
+		this.sectionPlan = sectionPlan;
+		this.seedCharLength = seedCharLength;
+		this.candidateLength = candidateLength;
+		this.exhaustive = exhaustive;
+		this.randomSeed = randomSeed;
+		this.start = start;
+		this.end = end;
+	}
+	
+	/* PUBLIC METHODS */
+	/**
+	 * This method will get the counts for the range, indexed by {@link #CHECKSUM_COUNT},
+	 * {@link #SECTIONS_COUNT}, {@link #ACCEPTED_COUNT} and {@link #FIRST_SECTION_COUNT} onwards.
+	 * 
+	 * @return
+	 * The counts for the range; this is only available once the task has completed.
+	 */
+	public long[] getCounts()
+	{
+		return this.counts;
+	}
+	
+	/* PROTECTED METHODS */
+	@Override
+	protected void compute()
+	{
+		if ((this.end - this.start) > ProductKeyAcceptanceTask.LEAF_SIZE)
+		{
+			final long middle = this.start + ((this.end - this.start) >>> 1);
+			final ProductKeyAcceptanceTask left = new ProductKeyAcceptanceTask(this.checksumWorker, this.sectionPlan, this.seedCharLength, this.candidateLength, this.exhaustive, this.randomSeed, this.start, middle);
+			final ProductKeyAcceptanceTask right = new ProductKeyAcceptanceTask(this.checksumWorker, this.sectionPlan, this.seedCharLength, this.candidateLength, this.exhaustive, this.randomSeed, middle, this.end);
+			
+			ProductKeyAcceptanceTask.invokeAll(left, right);
+			
+			this.counts = left.counts;
+			
+			for (int n = 0; n < this.counts.length; n++ )
+			{
+				this.counts[n] += right.counts[n];
+			}
+			
+			return;
+		}
+		
+		this.counts = this.tryCandidates();
+	}
+	
+	/* PRIVATE METHODS */
+	/**
+	 * This method will try every candidate of the range.
+	 * 
+	 * @return
+	 * The counts for the range.
+	 */
+	private long[] tryCandidates()
+	{
+		final int presentCount = (this.sectionPlan != null) ? this.sectionPlan.getPresentSectionCount() : 0;
+		final long[] rangeCounts = new long[ProductKeyAcceptanceTask.FIRST_SECTION_COUNT + presentCount];
+		final char[] candidate = new char[this.candidateLength];
+		final byte[] sectionBytes = new byte[(this.sectionPlan != null) ? Math.max(this.sectionPlan.getSectionCount(), 1) : 1];
+		final long[] wideSeed = new long[2];
+		final SplittableRandom random = this.exhaustive ? null : new SplittableRandom(ProductKeyUtils.foldSeed(this.start, this.randomSeed));
+		
+		boolean tmpChecksumCorrect;
+		boolean tmpSectionsCorrect;
+		int tmpSectionIndex;
+		int tmpKeyCharIndex;
+		int tmpSectionValue;
+		
+		for (long trial = this.start; trial < this.end; trial++ )
+		{
+			if (random != null)
+			{
+				for (int n = 0; n < this.candidateLength; n += 16)
+				{
+					ProductKeyUtils.writeHex(random.nextLong(), candidate, n, Math.min(16, this.candidateLength - n));
+				}
+			}
+			else
+			{
+				ProductKeyUtils.writeHex(trial, candidate, 0, this.candidateLength);
+			}
+			
+			tmpChecksumCorrect = (this.checksumWorker == null) || this.checksumWorker.verifyProductKeyChecksum(candidate, 0, this.candidateLength);
+			tmpSectionsCorrect = (this.sectionPlan != null);
+			
+			if (tmpSectionsCorrect)
+			{
+				// Every character is HEXADECIMAL, so the seed always parses.
+				if (this.seedCharLength > ProductKeyUtils.MAX_LONG_HEX_LENGTH)
+				{
+					ProductKeyUtils.parseHex(candidate, 0, this.seedCharLength, wideSeed);
+					this.sectionPlan.buildProductKeySections(wideSeed[0], wideSeed[1], sectionBytes);
+				}
+				else
+				{
+					this.sectionPlan.buildProductKeySections(ProductKeyUtils.parseHex(candidate, 0, this.seedCharLength), sectionBytes);
+				}
+				
+				for (int n = 0; n < presentCount; n++ )
+				{
+					tmpSectionIndex = this.sectionPlan.getPresentSectionIndex(n);
+					tmpKeyCharIndex = this.seedCharLength + (tmpSectionIndex * 2);
+					tmpSectionValue = (ProductKeyUtils.parseHexChar(candidate[tmpKeyCharIndex]) << 4) | ProductKeyUtils.parseHexChar(candidate[tmpKeyCharIndex + 1]);
+					
+					if (tmpSectionValue == (sectionBytes[tmpSectionIndex] & 0x00FF))
+					{
+						rangeCounts[ProductKeyAcceptanceTask.FIRST_SECTION_COUNT + n]++ ;
+					}
+					else
+					{
+						tmpSectionsCorrect = false;
+					}
+				}
+			}
+			
+			if (tmpChecksumCorrect)
+			{
+				rangeCounts[ProductKeyAcceptanceTask.CHECKSUM_COUNT]++ ;
+			}
+			
+			if (tmpSectionsCorrect)
+			{
+				rangeCounts[ProductKeyAcceptanceTask.SECTIONS_COUNT]++ ;
+			}
+			
+			if (tmpChecksumCorrect && tmpSectionsCorrect)
+			{
+				rangeCounts[ProductKeyAcceptanceTask.ACCEPTED_COUNT]++ ;
+			}
+		}
+		
+		return rangeCounts;
+	}
+	
+}
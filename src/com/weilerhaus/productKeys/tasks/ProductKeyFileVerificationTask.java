@@ -0,0 +1,272 @@
+package com.weilerhaus.productKeys.tasks;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import com.weilerhaus.productKeys.ProductKeyGenerator;
+import com.weilerhaus.productKeys.enums.ProductKeyState;
+
+/**
+ * This class is a fork-join task that verifies the product-keys, one per line, in a range of a
+ * file of ASCII text.
+ * <br />
+ * <br />
+ * The lines that fail verification can be written, as one <code>offset,state</code> line for
+ * each, while the range is verified: each range that has a failed line writes them to its own part
+ * file, named after the offset of its first failed line padded to
+ * {@link #PART_FILE_NAME_LENGTH} digits, so the part files sorted by name hold the failed lines in
+ * file order. The failed lines are never held in memory, however many there are.
+ * 
+ * @author Matthew Weiler
+ */
+public class ProductKeyFileVerificationTask extends MappedFileLineTask<ProductKeyFileVerificationTask>
+{
+	
+	
+	/* PUBLIC CONSTANTS */
+	/**
+	 * This is the number of digits in the name of a part file, before its extension.
+	 */
+	public static final int PART_FILE_NAME_LENGTH = 20;
+	
+	/* PRIVATE CONSTANTS */
+	private static final long serialVersionUID = 1L;
+	/**
+	 * This will store all of the {@link ProductKeyState} values, indexed by their ordinal.
+	 */
+	private static final ProductKeyState[] PRODUCT_KEY_STATES = ProductKeyState.values();
+	/**
+	 * This will store the ASCII name of each {@link ProductKeyState}, indexed by its ordinal.
+	 */
+	private static final byte[][] PRODUCT_KEY_STATE_NAMES = ProductKeyFileVerificationTask.buildProductKeyStateNames();
+	/**
+	 * This is the size of the buffer the failed lines of a range are written into.
+	 */
+	private static final int WRITE_BUFFER_SIZE = 64 * 1024;
+	/**
+	 * This is the most bytes a single failed line record can take.
+	 */
+	private static final int MAX_RECORD_LENGTH = 64;
+	
+	/* PRIVATE VARIABLES */
+	/**
+	 * This will store the {@link ProductKeyGenerator} used to verify the product-keys.
+	 */
+	private final ProductKeyGenerator<?> productKeyGenerator;
+	/**
+	 * This will store the directory the part files of the failed lines are written to, or
+	 * <code>null</code> if the failed lines are not recorded.
+	 */
+	private final Path failedLinesDirectory;
+	/**
+	 * This will store the number of product-keys found in each {@link ProductKeyState}, indexed by
+	 * the ordinal of the {@link ProductKeyState}.
+	 */
+	private final long[] stateCounts = new long[ProductKeyFileVerificationTask.PRODUCT_KEY_STATES.length];
+	/**
+	 * This will store the buffer the failed lines of the range are written into, once there is
+	 * one.
+	 */
+	private ByteBuffer failedLinesBuffer = null;
+	/**
+	 * This will store the {@link FileChannel} of the part file of the range, once there is a
+	 * failed line.
+	 */
+	private FileChannel failedLinesChannel = null;
+	/**
+	 * This will store the scratch space the digits of an offset are formatted into.
+	 */
+	private final byte[] digits = new byte[ProductKeyFileVerificationTask.PART_FILE_NAME_LENGTH];
+	
+	/* CONSTRUCTORS */
+	/**
+	 * This will create a new instance of a {@link ProductKeyFileVerificationTask}.
+	 * 
+	 * @param productKeyGenerator
+	 * The {@link ProductKeyGenerator} used to verify the product-keys.
+	 * @param fileChannel
+	 * The {@link FileChannel} of the file containing the product-keys.
+	 * @param fileSize
+	 * The size of the file containing the product-keys.
+	 * @param start
+	 * The position of the first byte of the range (inclusive).
+	 * @param end
+	 * The position of the last byte of the range (exclusive).
+	 * @param failedLinesDirectory
+	 * The empty directory to write the part files of the lines that fail verification to.
+	 * <br />
+	 * <i>This can be <code>null</code> if the lines that fail verification are not needed.</i>
+	 */
+	public ProductKeyFileVerificationTask(final ProductKeyGenerator<?> productKeyGenerator, final FileChannel fileChannel, final long fileSize, final long start, final long end, final Path failedLinesDirectory)
+	{
+		super(fileChannel, fileSize, start, end);
+		
+		this.productKeyGenerator = productKeyGenerator;
+		this.failedLinesDirectory = failedLinesDirectory;
+	}
+	
+	/* PUBLIC METHODS */
+	/**
+	 * This method will get the number of product-keys found in each {@link ProductKeyState}.
+	 * 
+	 * @return
+	 * The number of product-keys found in each {@link ProductKeyState}, indexed by the ordinal of
+	 * the {@link ProductKeyState}.
+	 */
+	public long[] getStateCounts()
+	{
+		return this.stateCounts;
+	}
+	
+	/* PROTECTED METHODS */
+	@Override
+	protected ProductKeyFileVerificationTask createSubTask(final FileChannel fileChannel, final long fileSize, final long start, final long end)
+	{
+		return new ProductKeyFileVerificationTask(this.productKeyGenerator, fileChannel, fileSize, start, end, this.failedLinesDirectory);
+	}
+	
+	@Override
+	protected void processLine(final char[] line, final int length, final long lineOffset)
+	{
+		final ProductKeyState productKeyState = this.productKeyGenerator.verifyProductKey(line, 0, length);
+		
+		this.stateCounts[productKeyState.ordinal()]++ ;
+		
+		if ((this.failedLinesDirectory != null) && (productKeyState != ProductKeyState.KEY_GOOD))
+		{
+			try
+			{
+				this.writeFailedLine(lineOffset, productKeyState);
+			}
+			catch (IOException ioe)
+			{
+				throw new UncheckedIOException(ioe);
+			}
+		}
+	}
+	
+	@Override
+	protected void completeRange() throws IOException
+	{
+		if (this.failedLinesChannel == null)
+		{
+			return;
+		}
+		
+		try
+		{
+			this.drain();
+		}
+		finally
+		{
+			this.failedLinesChannel.close();
+			this.failedLinesChannel = null;
+			this.failedLinesBuffer = null;
+		}
+	}
+	
+	@Override
+	protected void merge(final ProductKeyFileVerificationTask subTask)
+	{
+		for (int n = 0; n < this.stateCounts.length; n++ )
+		{
+			this.stateCounts[n] += subTask.stateCounts[n];
+		}
+	}
+	
+	/* PRIVATE METHODS */
+	/**
+	 * This method will build the ASCII name of each {@link ProductKeyState}.
+	 * 
+	 * @return
+	 * The ASCII name of each {@link ProductKeyState}, indexed by its ordinal.
+	 */
+	private static byte[][] buildProductKeyStateNames()
+	{
+		final byte[][] productKeyStateNames = new byte[ProductKeyFileVerificationTask.PRODUCT_KEY_STATES.length][];
+		
+		for (int n = 0; n < productKeyStateNames.length; n++ )
+		{
+			productKeyStateNames[n] = ProductKeyFileVerificationTask.PRODUCT_KEY_STATES[n].name().getBytes(StandardCharsets.US_ASCII);
+		}
+		
+		return productKeyStateNames;
+	}
+	
+	/**
+	 * This method will write a line that failed verification to the part file of the range,
+	 * creating the part file for the first one.
+	 * 
+	 * @param lineOffset
+	 * The position of the first byte of the line.
+	 * @param productKeyState
+	 * The {@link ProductKeyState} of the line.
+	 * @throws IOException
+	 * If the part file could not be created or written.
+	 */
+	private void writeFailedLine(final long lineOffset, final ProductKeyState productKeyState) throws IOException
+	{
+		if (this.failedLinesChannel == null)
+		{
+			final StringBuilder partFileName = new StringBuilder(ProductKeyFileVerificationTask.PART_FILE_NAME_LENGTH + 5).append(lineOffset);
+			
+			while (partFileName.length() < ProductKeyFileVerificationTask.PART_FILE_NAME_LENGTH)
+			{
+				partFileName.insert(0, '0');
+			}
+			
+			this.failedLinesChannel = FileChannel.open(this.failedLinesDirectory.resolve(partFileName.append(".part").toString()), StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+			this.failedLinesBuffer = ByteBuffer.allocate(ProductKeyFileVerificationTask.WRITE_BUFFER_SIZE);
+		}
+		else if (this.failedLinesBuffer.remaining() < ProductKeyFileVerificationTask.MAX_RECORD_LENGTH)
+		{
+			this.drain();
+		}
+		
+		final ByteBuffer buffer = this.failedLinesBuffer;
+		final byte[] digits = this.digits;
+		long tmpOffset = lineOffset;
+		int tmpDigitCount = 0;
+		
+		do
+		{
+			digits[tmpDigitCount++ ] = (byte) ('0' + (tmpOffset % 10));
+			tmpOffset /= 10;
+		}
+		while (tmpOffset > 0);
+		
+		while (tmpDigitCount > 0)
+		{
+			buffer.put(digits[--tmpDigitCount]);
+		}
+		
+		buffer.put((byte) ',');
+		buffer.put(ProductKeyFileVerificationTask.PRODUCT_KEY_STATE_NAMES[productKeyState.ordinal()]);
+		buffer.put((byte) '\n');
+	}
+	
+	/**
+	 * This method will write the contents of the buffer of failed lines to the part file of the
+	 * range and clear it.
+	 * 
+	 * @throws IOException
+	 * If the buffer could not be written.
+	 */
+	private void drain() throws IOException
+	{
+		this.failedLinesBuffer.flip();
+		
+		while (this.failedLinesBuffer.hasRemaining())
+		{
+			this.failedLinesChannel.write(this.failedLinesBuffer);
+		}
+		
+		this.failedLinesBuffer.clear();
+	}
+	
+}
@@ -0,0 +1,107 @@
+package com.weilerhaus.productKeys.tasks;
+
+import java.util.concurrent.RecursiveAction;
+import java.util.function.IntToLongFunction;
+
+import com.weilerhaus.productKeys.ProductKeyGenerator;
+import com.weilerhaus.productKeys.exceptions.ProductKeyGenerationException;
+
+/**
+ * This class is a fork-join task that generates the product-keys for a range of slots in a batch,
+ * splitting the range in half until it is small enough to be generated serially.
+ * 
+ * @author Matthew Weiler
+ */
+public class ProductKeyGenerationTask extends RecursiveAction
+{
+	
+	
+	/* PRIVATE CONSTANTS */
+	private static final long serialVersionUID = 1L;
+	/**
+	 * This is the number of slots at, or below, which a range will be generated serially rather
+	 * than split further.
+	 */
+	private static final int SERIAL_THRESHOLD = 1024;
+	
+	/* PRIVATE VARIABLES */
+	/**
+	 * This will store the {@link ProductKeyGenerator} used to generate the product-keys.
+	 */
+	private final ProductKeyGenerator<?> productKeyGenerator;
+	/**
+	 * This will store the function that supplies the seed for each slot.
+	 */
+	private final IntToLongFunction seedSource;
+	/**
+	 * This will store the generated product-keys for the whole batch.
+	 */
+	private final String[] productKeys;
+	/**
+	 * This will store the {@link ProductKeyGenerationException} thrown for each slot of the whole
+	 * batch.
+	 */
+	private final ProductKeyGenerationException[] failures;
+	/**
+	 * This will store the index of the first slot to be generated by this task (inclusive).
+	 */
+	private final int start;
+	/**
+	 * This will store the index of the last slot to be generated by this task (exclusive).
+	 */
+	private final int end;
+	
+	/* CONSTRUCTORS */
+	/**
+	 * This will create a new instance of a {@link ProductKeyGenerationTask}.
+	 * 
+	 * @param productKeyGenerator
+	 * The {@link ProductKeyGenerator} used to generate the product-keys.
+	 * @param seedSource
+	 * The function that supplies the seed for each slot.
+	 * @param productKeys
+	 * The generated product-keys for the whole batch.
+	 * @param failures
+	 * The {@link ProductKeyGenerationException} thrown for each slot of the whole batch.
+	 * @param start
+	 * The index of the first slot to be generated by this task (inclusive).
+	 * @param end
+	 * The index of the last slot to be generated by this task (exclusive).
+	 */
+	public ProductKeyGenerationTask(final ProductKeyGenerator<?> productKeyGenerator, final IntToLongFunction seedSource, final String[] productKeys, final ProductKeyGenerationException[] failures, final int start, final int end)
+	{
+		this.productKeyGenerator = productKeyGenerator;
+		this.seedSource = seedSource;
+		this.productKeys = productKeys;
+		this.failures = failures;
+		this.start = start;
+		this.end = end;
+	}
+	
+	/* PROTECTED METHODS */
+	@Override
+	protected void compute()
+	{
+		if ((this.end - this.start) <= ProductKeyGenerationTask.SERIAL_THRESHOLD)
+		{
+			for (int n = this.start; n < this.end; n++ )
+			{
+				try
+				{
+					this.productKeys[n] = this.productKeyGenerator.generateProductKey(this.seedSource.applyAsLong(n));
+				}
+				catch (ProductKeyGenerationException pkge)
+				{
+					this.failures[n] = pkge;
+				}
+			}
+		}
+		else
+		{
+			final int middle = (this.start + this.end) >>> 1;
+			
+			ProductKeyGenerationTask.invokeAll(new ProductKeyGenerationTask(this.productKeyGenerator, this.seedSource, this.productKeys, this.failures, this.start, middle), new ProductKeyGenerationTask(this.productKeyGenerator, this.seedSource, this.productKeys, this.failures, middle, this.end));
+		}
+	}
+	
+}
@@ -0,0 +1,235 @@
+package com.weilerhaus.productKeys.tasks;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * This class is a fork-join task that runs one phase of one pass of a parallel, least significant
+ * digit first, radix sort of <code>long</code> values, in unsigned order, over a range of blocks,
+ * splitting the range in half until it is a single block.
+ * <br />
+ * <br />
+ * Each pass sorts on 8 bits: every block first counts the digits of its values, the counts are
+ * turned into the position each block writes each digit to, and every block then scatters its
+ * values to those positions, so the sort is stable and each pass is linear.
+ * <br />
+ * <i>Use {@link #sort(long[], int, int, ForkJoinPool)} to sort an array.</i>
+ * 
+ * @author Matthew Weiler
+ */
+public class RadixSortTask extends RecursiveAction
+{
+	
+	
+	/* PRIVATE CONSTANTS */
+	private static final long serialVersionUID = 1L;
+	/**
+	 * This is the number of bits sorted on in each pass.
+	 */
+	private static final int DIGIT_BITS = 8;
+	/**
+	 * This is the number of distinct digits in each pass.
+	 */
+	private static final int DIGIT_COUNT = 1 << RadixSortTask.DIGIT_BITS;
+	/**
+	 * This is the smallest number of values in a block; fewer values are not worth a task.
+	 */
+	private static final int MIN_BLOCK_SIZE = 64 * 1024;
+	
+	/* PRIVATE VARIABLES */
+	/**
+	 * This will store the boolean flag to denote if this task scatters the values, rather than
+	 * counting their digits.
+	 */
+	private final boolean scatter;
+	/**
+	 * This will store the values being sorted.
+	 */
+	private final long[] source;
+	/**
+	 * This will store the array the values are scattered into.
+	 */
+	private final long[] dest;
+	/**
+	 * This will store the number of values being sorted.
+	 */
+	private final int count;
+	/**
+	 * This will store the number of values in each block.
+	 */
+	private final int blockSize;
+	/**
+	 * This will store the shift applied to a value to get its digit for this pass.
+	 */
+	private final int shift;
+	/**
+	 * This will store, for each block, the count of each digit, or the position each digit is
+	 * scattered to.
+	 */
+	private final int[][] digits;
+	/**
+	 * This will store the index of the first block handled by this task (inclusive).
+	 */
+	private final int firstBlock;
+	/**
+	 * This will store the index of the last block handled by this task (exclusive).
+	 */
+	private final int lastBlock;
+	
+	/* CONSTRUCTORS */
+	/**
+	 * This will create a new instance of a {@link RadixSortTask}.
+	 * 
+	 * @param scatter
+	 * The boolean flag to denote if this task scatters the values, rather than counting their
+	 * digits.
+	 * @param source
+	 * The values being sorted.
+	 * @param dest
+	 * The array the values are scattered into.
+	 * @param count
+	 * The number of values being sorted.
+	 * @param blockSize
+	 * The number of values in each block.
+	 * @param shift
+	 * The shift applied to a value to get its digit for this pass.
+	 * @param digits
+	 * For each block, the count of each digit, or the position each digit is scattered to.
+	 * @param firstBlock
+	 * The index of the first block handled by this task (inclusive).
+	 * @param lastBlock
+	 * The index of the last block handled by this task (exclusive).
+	 */
+	private RadixSortTask(final boolean scatter, final long[] source, final long[] dest, final int count, final int blockSize, final int shift, final int[][] digits, final int firstBlock, final int lastBlock)
+	{
+		this.scatter = scatter;
+		this.source = source;
+		this.dest = dest;
+		this.count = count;
+		this.blockSize = blockSize;
+		this.shift = shift;
+		this.digits = digits;
+		this.firstBlock = firstBlock;
+		this.lastBlock = lastBlock;
+	}
+	
+	/* PUBLIC METHODS */
+	/**
+	 * This method will sort the first values of the specified array, in parallel on the specified
+	 * {@link ForkJoinPool}.
+	 * 
+	 * @param values
+	 * The values; the array will be sorted in place, in unsigned order.
+	 * @param count
+	 * The number of values to sort from the start of the array.
+	 * @param bits
+	 * The number of low bits that the values can use; only passes over these bits are made.
+	 * @param pool
+	 * The {@link ForkJoinPool} to sort on.
+	 */
+	public static void sort(final long[] values, final int count, final int bits, final ForkJoinPool pool)
+	{
+		if (count < 2)
+		{
+			return;
+		}
+		
+		final int blockCount = Math.max(1, Math.min(count / RadixSortTask.MIN_BLOCK_SIZE, pool.getParallelism() * 4));
+		final int blockSize = (count + blockCount - 1) / blockCount;
+		final int[][] digits = new int[blockCount][RadixSortTask.DIGIT_COUNT];
+		
+		long[] source = values;
+		long[] dest = new long[count];
+		long[] tmpSwap;
+		int tmpPosition;
+		boolean tmpSingleDigit;
+		
+		for (int shift = 0; shift < bits; shift += RadixSortTask.DIGIT_BITS)
+		{
+			for (int b = 0; b < blockCount; b++ )
+			{
+				Arrays.fill(digits[b], 0);
+			}
+			
+			pool.invoke(new RadixSortTask(false, source, dest, count, blockSize, shift, digits, 0, blockCount));
+			
+			// Turn the counts into the position each block writes each digit to, in digit order and
+			// then block order so that the sort is stable.
+			tmpPosition = 0;
+			tmpSingleDigit = false;
+			
+			for (int d = 0; d < RadixSortTask.DIGIT_COUNT; d++ )
+			{
+				final int digitStart = tmpPosition;
+				
+				for (int b = 0; b < blockCount; b++ )
+				{
+					final int digitCount = digits[b][d];
+					
+					digits[b][d] = tmpPosition;
+					tmpPosition += digitCount;
+				}
+				
+				if ((tmpPosition - digitStart) == count)
+				{
+					tmpSingleDigit = true;
+				}
+			}
+			
+			// A pass in which every value has the same digit would not move anything.
+			if (tmpSingleDigit)
+			{
+				continue;
+			}
+			
+			pool.invoke(new RadixSortTask(true, source, dest, count, blockSize, shift, digits, 0, blockCount));
+			
+			tmpSwap = source;
+			source = dest;
+			dest = tmpSwap;
+		}
+		
+		if (source != values)
+		{
+			System.arraycopy(source, 0, values, 0, count);
+		}
+	}
+	
+	/* PROTECTED METHODS */
+	@Override
+	protected void compute()
+	{
+		if ((this.lastBlock - this.firstBlock) > 1)
+		{
+			final int middle = (this.firstBlock + this.lastBlock) >>> 1;
+			
+			RadixSortTask.invokeAll(new RadixSortTask(this.scatter, this.source, this.dest, this.count, this.blockSize, this.shift, this.digits, this.firstBlock, middle), new RadixSortTask(this.scatter, this.source, this.dest, this.count, this.blockSize, this.shift, this.digits, middle, this.lastBlock));
+			
+			return;
+		}
+		
+		final int[] blockDigits = this.digits[this.firstBlock];
+		final int start = this.firstBlock * this.blockSize;
+		final int end = Math.min(start + this.blockSize, this.count);
+		
+		if (this.scatter)
+		{
+			long tmpValue;
+			
+			for (int n = start; n < end; n++ )
+			{
+				tmpValue = this.source[n];
+				this.dest[blockDigits[(int) (tmpValue >>> this.shift) & (RadixSortTask.DIGIT_COUNT - 1)]++ ] = tmpValue;
+			}
+		}
+		else
+		{
+			for (int n = start; n < end; n++ )
+			{
+				blockDigits[(int) (this.source[n] >>> this.shift) & (RadixSortTask.DIGIT_COUNT - 1)]++ ;
+			}
+		}
+	}
+	
+}
@@ -0,0 +1,154 @@
+package com.weilerhaus.productKeys.tasks;
+
+import java.nio.channels.FileChannel;
+import java.util.Arrays;
+
+import com.weilerhaus.productKeys.ProductKeyGenerator;
+
+/**
+ * This class is a fork-join task that extracts the seeds of the product-keys, one per line, in a
+ * range of a file of ASCII text.
+ * <br />
+ * <br />
+ * Lines whose checksum is not correct, or that do not start with a HEXADECIMAL seed, are counted
+ * as rejected and contribute no seed.
+ * <br />
+ * <i>If a line contains a comma, only the characters after the last comma are read as the
+ * product-key, so a {@link com.weilerhaus.productKeys.enums.ProductKeyExportFormat#CSV} export can
+ * be read as is; its header line is counted as rejected.</i>
+ * 
+ * @author Matthew Weiler
+ */
+public class SeedExtractionTask extends MappedFileLineTask<SeedExtractionTask>
+{
+	
+	
+	/* PRIVATE CONSTANTS */
+	private static final long serialVersionUID = 1L;
+	
+	/* PRIVATE VARIABLES */
+	/**
+	 * This will store the {@link ProductKeyGenerator} used to extract the seeds.
+	 */
+	private final ProductKeyGenerator<?> productKeyGenerator;
+	/**
+	 * This will store the extracted seeds, in file order.
+	 */
+	private long[] seeds = new long[0];
+	/**
+	 * This will store the number of extracted seeds.
+	 */
+	private int seedCount = 0;
+	/**
+	 * This will store the number of lines that were rejected.
+	 */
+	private long rejectedCount = 0L;
+	
+	/* CONSTRUCTORS */
+	/**
+	 * This will create a new instance of a {@link SeedExtractionTask}.
+	 * 
+	 * @param productKeyGenerator
+	 * The {@link ProductKeyGenerator} used to extract the seeds.
+	 * @param fileChannel
+	 * The {@link FileChannel} of the file containing the product-keys.
+	 * @param fileSize
+	 * The size of the file containing the product-keys.
+	 * @param start
+	 * The position of the first byte of the range (inclusive).
+	 * @param end
+	 * The position of the last byte of the range (exclusive).
+	 */
+	public SeedExtractionTask(final ProductKeyGenerator<?> productKeyGenerator, final FileChannel fileChannel, final long fileSize, final long start, final long end)
+	{
+		super(fileChannel, fileSize, start, end);
+		
+		this.productKeyGenerator = productKeyGenerator;
+	}
+	
+	/* PUBLIC METHODS */
+	/**
+	 * This method will get the extracted seeds, in file order.
+	 * 
+	 * @return
+	 * The extracted seeds; only the first {@link #getSeedCount()} elements are used.
+	 */
+	public long[] getSeeds()
+	{
+		return this.seeds;
+	}
+	
+	/**
+	 * This method will get the number of extracted seeds.
+	 * 
+	 * @return
+	 * The number of extracted seeds.
+	 */
+	public int getSeedCount()
+	{
+		return this.seedCount;
+	}
+	
+	/**
+	 * This method will get the number of lines that were rejected.
+	 * 
+	 * @return
+	 * The number of lines that were rejected.
+	 */
+	public long getRejectedCount()
+	{
+		return this.rejectedCount;
+	}
+	
+	/* PROTECTED METHODS */
+	@Override
+	protected SeedExtractionTask createSubTask(final FileChannel fileChannel, final long fileSize, final long start, final long end)
+	{
+		return new SeedExtractionTask(this.productKeyGenerator, fileChannel, fileSize, start, end);
+	}
+	
+	@Override
+	protected void processLine(final char[] line, final int length, final long lineOffset)
+	{
+		int keyStart = length;
+		
+		while ((keyStart > 0) && (line[keyStart - 1] != ','))
+		{
+			keyStart-- ;
+		}
+		
+		final long seed = this.productKeyGenerator.extractSeed(line, keyStart, length - keyStart);
+		
+		if (seed < 0)
+		{
+			this.rejectedCount++ ;
+			
+			return;
+		}
+		
+		if (this.seedCount == this.seeds.length)
+		{
+			this.seeds = Arrays.copyOf(this.seeds, Math.max(1024, this.seeds.length * 2));
+		}
+		
+		this.seeds[this.seedCount++ ] = seed;
+	}
+	
+	@Override
+	protected void merge(final SeedExtractionTask subTask)
+	{
+		this.rejectedCount += subTask.rejectedCount;
+		
+		if (subTask.seedCount > 0)
+		{
+			final int newCount = this.seedCount + subTask.seedCount;
+			
+			this.seeds = Arrays.copyOf(this.seeds, newCount);
+			
+			System.arraycopy(subTask.seeds, 0, this.seeds, this.seedCount, subTask.seedCount);
+			
+			this.seedCount = newCount;
+		}
+	}
+	
+}
@@ -1,9 +1,46 @@
 package com.weilerhaus.productKeys.utils;
 
+import java.util.Arrays;
+
 public class ProductKeyUtils
 {
 	
 	
+	/* PUBLIC CONSTANTS */
+	/**
+	 * This is the largest number of HEXADECIMAL characters that always fit in a positive
+	 * {@link Long}; longer values are carried as two {@link Long} values.
+	 */
+	public static final int MAX_LONG_HEX_LENGTH = 15;
+	/**
+	 * This is the largest number of HEXADECIMAL characters that fit in two {@link Long} values.
+	 */
+	public static final int MAX_WIDE_HEX_LENGTH = 32;
+	
+	/* PRIVATE CONSTANTS */
+	/**
+	 * This will store the upper-case HEXADECIMAL character for each value between 0 and 15
+	 * inclusive.
+	 */
+	private static final char[] HEX_CHARS = "0123456789ABCDEF".toCharArray();
+	/**
+	 * This will store the numeric value of each ASCII character when treated as a HEXADECIMAL
+	 * character; characters that are not HEXADECIMAL characters will map to <code>-1</code>.
+	 */
+	private static final byte[] HEX_VALUES = new byte[128];
+	
+	static
+	{
+		Arrays.fill(ProductKeyUtils.HEX_VALUES, (byte) -1);
+		
+		for (int n = 0; n < 16; n++ )
+		{
+			ProductKeyUtils.HEX_VALUES[ProductKeyUtils.HEX_CHARS[n]] = (byte) n;
+			ProductKeyUtils.HEX_VALUES[Character.toLowerCase(ProductKeyUtils.HEX_CHARS[n])] = (byte) n;
+		}
+	}
+	
+	/* PUBLIC METHODS */
 	/**
 	 * This method will build a HEXADECIMAL {@link String} that will be of the specified length
 	 * using the specified content.
@@ -18,19 +55,284 @@ public class ProductKeyUtils
 	 */
 	public static String buildHexStr(final int expectedLength, final long content)
 	{
-		String hexStr = String.format("%0" + expectedLength + "X", content);
+		if (expectedLength <= 0)
+		{
+			return "";
+		}
+		
+		final char[] hexChars = new char[expectedLength];
+		
+		ProductKeyUtils.writeHex(content, hexChars, 0, expectedLength);
+		
+		return new String(hexChars);
+	}
+	
+	/**
+	 * This method will build a HEXADECIMAL {@link String} that will be of the specified length
+	 * using the specified 128-bit content.
+	 * 
+	 * @param expectedLength
+	 * The expected length of the string... if the HEXADECIMAL {@link String} is longer than this,
+	 * the leading characters will be removed.
+	 * @param contentHigh
+	 * The upper 64 bits of the content.
+	 * @param contentLow
+	 * The lower 64 bits of the content.
+	 * @return
+	 * The HEXADECIMAL {@link String}.
+	 */
+	public static String buildHexStr(final int expectedLength, final long contentHigh, final long contentLow)
+	{
+		if (expectedLength <= 0)
+		{
+			return "";
+		}
+		
+		final char[] hexChars = new char[expectedLength];
+		final int lowLength = Math.min(expectedLength, 16);
+		
+		ProductKeyUtils.writeHex(contentHigh, hexChars, 0, expectedLength - lowLength);
+		ProductKeyUtils.writeHex(contentLow, hexChars, expectedLength - lowLength, lowLength);
+		
+		return new String(hexChars);
+	}
+	
+	/**
+	 * This method will write the specified content as upper-case HEXADECIMAL characters into the
+	 * specified range of characters.
+	 * <br />
+	 * <br />
+	 * This behaves like {@link #buildHexStr(int, long)} without building a {@link String}; if the
+	 * HEXADECIMAL value is longer than the specified length the leading characters will be
+	 * dropped, and if it is shorter it will be padded with leading zeros.
+	 * 
+	 * @param content
+	 * The content to be written.
+	 * @param dest
+	 * The characters to write the HEXADECIMAL value into.
+	 * @param offset
+	 * The index of the first character to be written.
+	 * @param length
+	 * The number of HEXADECIMAL characters to be written.
+	 */
+	public static void writeHex(final long content, final char[] dest, final int offset, final int length)
+	{
+		int tmpShift = 0;
+		
+		for (int n = (offset + length - 1); n >= offset; n-- )
+		{
+			dest[n] = (tmpShift < 64) ? ProductKeyUtils.HEX_CHARS[(int) ((content >>> tmpShift) & 0x0F)] : '0';
+			tmpShift += 4;
+		}
+	}
+	
+	/**
+	 * This method will get the upper-case HEXADECIMAL character for the lowest four bits of the
+	 * specified value.
+	 * 
+	 * @param value
+	 * The value; only its lowest four bits are used.
+	 * @return
+	 * The upper-case HEXADECIMAL character.
+	 */
+	public static char toHexChar(final int value)
+	{
+		return ProductKeyUtils.HEX_CHARS[value & 0x0F];
+	}
+	
+	/**
+	 * This method will get the numeric value of the specified HEXADECIMAL character.
+	 * <br />
+	 * <br />
+	 * Both upper-case and lower-case HEXADECIMAL characters are accepted.
+	 * 
+	 * @param hexChar
+	 * The HEXADECIMAL character.
+	 * @return
+	 * The numeric value (0 to 15 inclusive) of the specified HEXADECIMAL character.
+	 * <br />
+	 * <i>This will be <code>-1</code> if the specified character is not a HEXADECIMAL
+	 * character.</i>
+	 */
+	public static int parseHexChar(final char hexChar)
+	{
+		return (hexChar < ProductKeyUtils.HEX_VALUES.length) ? ProductKeyUtils.HEX_VALUES[hexChar] : -1;
+	}
+	
+	/**
+	 * This method will parse the specified range of HEXADECIMAL characters without allocating
+	 * anything and without throwing a {@link NumberFormatException}.
+	 * 
+	 * @param hexChars
+	 * The characters containing the HEXADECIMAL value.
+	 * @param offset
+	 * The index of the first HEXADECIMAL character.
+	 * @param length
+	 * The number of HEXADECIMAL characters to parse.
+	 * <br />
+	 * <i>This must be between 1 and 15 inclusive so that the value always fits in a positive
+	 * {@link Long}.</i>
+	 * @return
+	 * The parsed value.
+	 * <br />
+	 * <i>This will be <code>-1</code> if the range is out of bounds, its length is not valid or it
+	 * contains a character that is not a HEXADECIMAL character.</i>
+	 */
+	public static long parseHex(final char[] hexChars, final int offset, final int length)
+	{
+		if ((hexChars == null) || (length < 1) || (length > ProductKeyUtils.MAX_LONG_HEX_LENGTH) || (offset < 0) || (offset + length > hexChars.length))
+		{
+			return -1L;
+		}
+		
+		long value = 0L;
+		int tmpDigit;
+		
+		for (int n = offset; n < (offset + length); n++ )
+		{
+			tmpDigit = ProductKeyUtils.parseHexChar(hexChars[n]);
+			
+			if (tmpDigit < 0)
+			{
+				return -1L;
+			}
+			
+			value = (value << 4) | tmpDigit;
+		}
+		
+		return value;
+	}
+	
+	/**
+	 * This method will parse the specified range of HEXADECIMAL characters without allocating
+	 * anything and without throwing a {@link NumberFormatException}.
+	 * 
+	 * @param hexChars
+	 * The {@link CharSequence} containing the HEXADECIMAL value.
+	 * @param offset
+	 * The index of the first HEXADECIMAL character.
+	 * @param length
+	 * The number of HEXADECIMAL characters to parse.
+	 * <br />
+	 * <i>This must be between 1 and 15 inclusive so that the value always fits in a positive
+	 * {@link Long}.</i>
+	 * @return
+	 * The parsed value.
+	 * <br />
+	 * <i>This will be <code>-1</code> if the range is out of bounds, its length is not valid or it
+	 * contains a character that is not a HEXADECIMAL character.</i>
+	 */
+	public static long parseHex(final CharSequence hexChars, final int offset, final int length)
+	{
+		if ((hexChars == null) || (length < 1) || (length > ProductKeyUtils.MAX_LONG_HEX_LENGTH) || (offset < 0) || (offset + length > hexChars.length()))
+		{
+			return -1L;
+		}
+		
+		long value = 0L;
+		int tmpDigit;
 		
-		if (hexStr.length() > expectedLength)
+		for (int n = offset; n < (offset + length); n++ )
 		{
-			hexStr = hexStr.substring(hexStr.length() - expectedLength);
+			tmpDigit = ProductKeyUtils.parseHexChar(hexChars.charAt(n));
+			
+			if (tmpDigit < 0)
+			{
+				return -1L;
+			}
+			
+			value = (value << 4) | tmpDigit;
 		}
 		
-		while (hexStr.length() < expectedLength)
+		return value;
+	}
+	
+	/**
+	 * This method will parse the specified range of up to 32 HEXADECIMAL characters into two
+	 * {@link Long} values without allocating anything and without throwing a
+	 * {@link NumberFormatException}.
+	 * <br />
+	 * <br />
+	 * The last 16 characters (or fewer) are parsed into the lower 64 bits and any characters
+	 * before them into the upper 64 bits, so both values may be negative.
+	 * 
+	 * @param hexChars
+	 * The characters containing the HEXADECIMAL value.
+	 * @param offset
+	 * The index of the first HEXADECIMAL character.
+	 * @param length
+	 * The number of HEXADECIMAL characters to parse; this must be between 1 and
+	 * {@link #MAX_WIDE_HEX_LENGTH} inclusive.
+	 * @param dest
+	 * The array to store the upper 64 bits (at index 0) and the lower 64 bits (at index 1) in;
+	 * it is only changed if the value is parsed.
+	 * @return
+	 * The boolean flag to denote if the value was parsed; this will be <code>false</code> if the
+	 * range is out of bounds, its length is not valid or it contains a character that is not a
+	 * HEXADECIMAL character.
+	 */
+	public static boolean parseHex(final char[] hexChars, final int offset, final int length, final long[] dest)
+	{
+		if ((hexChars == null) || (length < 1) || (length > ProductKeyUtils.MAX_WIDE_HEX_LENGTH) || (offset < 0) || (offset + length > hexChars.length))
 		{
-			hexStr = "0" + hexStr;
+			return false;
 		}
 		
-		return hexStr;
+		final int lowStart = offset + length - Math.min(length, 16);
+		long valueHigh = 0L;
+		long valueLow = 0L;
+		int tmpDigit;
+		
+		for (int n = offset; n < (offset + length); n++ )
+		{
+			tmpDigit = ProductKeyUtils.parseHexChar(hexChars[n]);
+			
+			if (tmpDigit < 0)
+			{
+				return false;
+			}
+			
+			if (n < lowStart)
+			{
+				valueHigh = (valueHigh << 4) | tmpDigit;
+			}
+			else
+			{
+				valueLow = (valueLow << 4) | tmpDigit;
+			}
+		}
+		
+		dest[0] = valueHigh;
+		dest[1] = valueLow;
+		
+		return true;
+	}
+	
+	/**
+	 * This method will fold a 128-bit seed into a single {@link Long}, for workers that only
+	 * derive their values from a {@link Long} seed.
+	 * <br />
+	 * <br />
+	 * The upper 64 bits are mixed so that each of them affects every bit of the result, then
+	 * combined with the lower 64 bits; a seed whose upper 64 bits are zero folds to its lower 64
+	 * bits unchanged.
+	 * 
+	 * @param seedHigh
+	 * The upper 64 bits of the seed.
+	 * @param seedLow
+	 * The lower 64 bits of the seed.
+	 * @return
+	 * The folded seed.
+	 */
+	public static long foldSeed(final long seedHigh, final long seedLow)
+	{
+		long mixed = seedHigh;
+		
+		mixed = (mixed ^ (mixed >>> 30)) * 0xBF58476D1CE4E5B9L;
+		mixed = (mixed ^ (mixed >>> 27)) * 0x94D049BB133111EBL;
+		mixed ^= mixed >>> 31;
+		
+		return seedLow ^ mixed;
 	}
 	
 }
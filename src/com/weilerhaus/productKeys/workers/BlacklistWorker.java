@@ -1,5 +1,7 @@
 package com.weilerhaus.productKeys.workers;
 
+import com.weilerhaus.productKeys.utils.ProductKeyUtils;
+
 public interface BlacklistWorker
 {
 	
@@ -24,4 +26,116 @@ public interface BlacklistWorker
 	 */
 	boolean isSeedBlackListed(String seedHex);
 	
-}
+	/**
+	 * This method will check if the specified seed has been blacklisted.
+	 * <br />
+	 * <br />
+	 * <i>The default implementation will build a {@link String} and defer to
+	 * {@link #isSeedBlackListed(String)}; implementations should override this to avoid
+	 * allocating on each generation.</i>
+	 * 
+	 * @param seed
+	 * The seed.
+	 * @param seedCharLength
+	 * The number of HEXADECIMAL characters representing the seed.
+	 * @return
+	 * The boolean flag to denote if the specified seed has been blacklisted.
+	 */
+	default boolean isSeedBlackListed(final long seed, final int seedCharLength)
+	{
+		return this.isSeedBlackListed(ProductKeyUtils.buildHexStr(seedCharLength, seed));
+	}
+	
+	/**
+	 * This method will check if the specified seed, of up to 128 bits, has been blacklisted.
+	 * <br />
+	 * <br />
+	 * <i>The default implementation will defer to {@link #isSeedBlackListed(long, int)} for seeds
+	 * of no more than {@link ProductKeyUtils#MAX_LONG_HEX_LENGTH} characters, and otherwise build
+	 * a {@link String} and defer to {@link #isSeedBlackListed(String)}.</i>
+	 * 
+	 * @param seedHigh
+	 * The upper 64 bits of the seed.
+	 * @param seedLow
+	 * The lower 64 bits of the seed.
+	 * @param seedCharLength
+	 * The number of HEXADECIMAL characters representing the seed.
+	 * @return
+	 * The boolean flag to denote if the specified seed has been blacklisted.
+	 */
+	default boolean isSeedBlackListed(final long seedHigh, final long seedLow, final int seedCharLength)
+	{
+		if (seedCharLength <= ProductKeyUtils.MAX_LONG_HEX_LENGTH)
+		{
+			return this.isSeedBlackListed(seedLow, seedCharLength);
+		}
+		
+		return this.isSeedBlackListed(ProductKeyUtils.buildHexStr(seedCharLength, seedHigh, seedLow));
+	}
+	
+	/**
+	 * This method will check if the product-key in the specified range of characters has been
+	 * blacklisted.
+	 * <br />
+	 * <br />
+	 * The characters will have had their styling removed and been converted to upper-case.
+	 * <br />
+	 * <i>The default implementation will build a {@link String} and defer to
+	 * {@link #isKeyBlackListed(String)}; implementations should override this to avoid allocating
+	 * on each verification.</i>
+	 * 
+	 * @param productKey
+	 * The characters containing the product-key to check.
+	 * @param offset
+	 * The index of the first character of the product-key.
+	 * @param length
+	 * The number of characters in the product-key.
+	 * @return
+	 * The boolean flag to denote if the specified product-key has been blacklisted.
+	 */
+	default boolean isKeyBlackListed(final char[] productKey, final int offset, final int length)
+	{
+		return this.isKeyBlackListed(new String(productKey, offset, length));
+	}
+	
+	/**
+	 * This method will get the version of the content of this blacklist.
+	 * <br />
+	 * <br />
+	 * The version must change, after the content has changed, whenever a product-key or seed is
+	 * added to, or removed from, the blacklist, and must never go back to an earlier value; it is
+	 * used to discard cached verification results that may no longer be correct.
+	 * <br />
+	 * <i>This is only consulted if {@link #isVersioned()} returns <code>true</code>; the default
+	 * implementation returns <code>0</code>.</i>
+	 * 
+	 * @return
+	 * The version of the content of this blacklist.
+	 */
+	default long getVersion()
+	{
+		return 0L;
+	}
+	
+	/**
+	 * This method will check if this blacklist reports a change to its content through
+	 * {@link #getVersion()}.
+	 * <br />
+	 * <br />
+	 * Verification results are only cached against a blacklist that is versioned; a blacklist
+	 * that is not versioned may change at any time, so every product-key is checked against it.
+	 * <br />
+	 * <i>The default implementation returns <code>false</code>; implementations that override
+	 * {@link #getVersion()}, or whose content never changes, should override this to return
+	 * <code>true</code>.</i>
+	 * 
+	 * @return
+	 * The boolean flag to denote if this blacklist reports a change to its content through
+	 * {@link #getVersion()}.
+	 */
+	default boolean isVersioned()
+	{
+		return false;
+	}
+	
+}
\ No newline at end of file
@@ -24,4 +24,82 @@ public interface ChecksumWorker
 	 */
 	boolean verifyProductKeyChecksum(String productKey);
 	
+	/**
+	 * This method will get the number of characters in the checksum section of the product-key.
+	 * <br />
+	 * <br />
+	 * <i>The default implementation will build a checksum for a sample product-key and use its
+	 * length; implementations should override this if the length is fixed.</i>
+	 * 
+	 * @return
+	 * The number of characters in the checksum section of the product-key.
+	 */
+	default int getChecksumLength()
+	{
+		final String checksum = this.buildProductKeyChecksum("0");
+		
+		return (checksum != null) ? checksum.length() : 0;
+	}
+	
+	/**
+	 * This method will build the checksum section of the product-key in the specified range of
+	 * characters and write it into the specified destination.
+	 * <br />
+	 * <br />
+	 * <i>The default implementation will build a {@link String} and defer to
+	 * {@link #buildProductKeyChecksum(String)}; implementations should override this to avoid
+	 * allocating on each generation.</i>
+	 * 
+	 * @param productKey
+	 * The characters containing the product-key, everything up-to the checksum.
+	 * @param offset
+	 * The index of the first character of the product-key.
+	 * @param length
+	 * The number of characters in the product-key.
+	 * @param dest
+	 * The characters to write the checksum section into.
+	 * @param destOffset
+	 * The index of the first character of the checksum section within the destination.
+	 * @return
+	 * The number of characters written to the destination.
+	 */
+	default int buildProductKeyChecksum(final char[] productKey, final int offset, final int length, final char[] dest, final int destOffset)
+	{
+		final String checksum = this.buildProductKeyChecksum(new String(productKey, offset, length));
+		
+		if (checksum != null)
+		{
+			checksum.getChars(0, checksum.length(), dest, destOffset);
+			
+			return checksum.length();
+		}
+		
+		return 0;
+	}
+	
+	/**
+	 * This method will verify if the checksum from the specified range of product-key characters
+	 * is correct.
+	 * <br />
+	 * <br />
+	 * The characters will have had their styling removed and been converted to upper-case.
+	 * <br />
+	 * <i>The default implementation will build a {@link String} and defer to
+	 * {@link #verifyProductKeyChecksum(String)}; implementations should override this to avoid
+	 * allocating on each verification.</i>
+	 * 
+	 * @param productKey
+	 * The characters containing the product-key to verify.
+	 * @param offset
+	 * The index of the first character of the product-key.
+	 * @param length
+	 * The number of characters in the product-key.
+	 * @return
+	 * The boolean flag to denote if the checksum from the specified product-key is correct.
+	 */
+	default boolean verifyProductKeyChecksum(final char[] productKey, final int offset, final int length)
+	{
+		return this.verifyProductKeyChecksum(new String(productKey, offset, length));
+	}
+	
 }
@@ -0,0 +1,61 @@
+package com.weilerhaus.productKeys.workers;
+
+import com.weilerhaus.productKeys.ProductKeyGenerator;
+
+/**
+ * This interface is a {@link ChecksumWorker} whose checksum can be accumulated one character at a
+ * time, as the characters of the product-key are written, so that generating a product-key never
+ * has to read its characters back to build the checksum.
+ * <br />
+ * <br />
+ * The state of the checksum is held in a <code>long</code> that is passed back in with each
+ * character, so accumulating a checksum never allocates anything.
+ * <br />
+ * <i>The {@link ProductKeyGenerator} only feeds HEXADECIMAL characters, so accumulating the
+ * characters of a product-key must give the same checksum as
+ * {@link #buildProductKeyChecksum(char[], int, int, char[], int)} for the same characters.</i>
+ * 
+ * @author Matthew Weiler
+ */
+public interface IncrementalChecksumWorker extends ChecksumWorker
+{
+	
+	
+	/**
+	 * This method will get the state of the checksum before any characters have been accumulated.
+	 * 
+	 * @return
+	 * The state of the checksum before any characters have been accumulated.
+	 */
+	long startChecksum();
+	
+	/**
+	 * This method will accumulate the specified product-key character into the specified state of
+	 * the checksum.
+	 * 
+	 * @param checksumState
+	 * The state of the checksum.
+	 * @param productKeyChar
+	 * The next character of the product-key.
+	 * @return
+	 * The state of the checksum including the specified character.
+	 */
+	long updateChecksum(long checksumState, char productKeyChar);
+	
+	/**
+	 * This method will write the checksum section of the product-key, for the specified state of
+	 * the checksum, into the specified destination.
+	 * 
+	 * @param checksumState
+	 * The state of the checksum after every character of the product-key, up-to the checksum, has
+	 * been accumulated.
+	 * @param dest
+	 * The characters to write the checksum section into.
+	 * @param destOffset
+	 * The index of the first character of the checksum section within the destination.
+	 * @return
+	 * The number of characters written to the destination.
+	 */
+	int writeChecksum(long checksumState, char[] dest, int destOffset);
+	
+}
@@ -0,0 +1,202 @@
+package com.weilerhaus.productKeys.workers;
+
+import com.weilerhaus.productKeys.beans.ProductKeyEncodingData;
+import com.weilerhaus.productKeys.utils.ProductKeyUtils;
+
+/**
+ * This class is the compiled form of an array of {@link ProductKeyEncodingData} elements, which
+ * builds the bytes of every present product-key section for a seed in one call.
+ * <br />
+ * <br />
+ * Sections whose {@link ProductKeyEncodingData} element is <code>null</code> are omitted; the
+ * indexes of the present sections are worked out once, when the plan is built.
+ * 
+ * @author Matthew Weiler
+ */
+public abstract class ProductKeySectionPlan
+{
+	
+	
+	/* PRIVATE VARIABLES */
+	/**
+	 * This will store the total number of sections, including omitted sections.
+	 */
+	private final int sectionCount;
+	/**
+	 * This will store the index of each present section, in ascending order.
+	 */
+	private final int[] presentSectionIndexes;
+	
+	/* CONSTRUCTORS */
+	/**
+	 * This will create a new instance of a {@link ProductKeySectionPlan}.
+	 * 
+	 * @param productKeyEncodingData
+	 * The array of {@link ProductKeyEncodingData} elements being compiled; <code>null</code>
+	 * elements denote omitted sections.
+	 */
+	protected ProductKeySectionPlan(final ProductKeyEncodingData[] productKeyEncodingData)
+	{
+		this.sectionCount = productKeyEncodingData.length;
+		
+		int tmpPresentCount = 0;
+		
+		for (int n = 0; n < productKeyEncodingData.length; n++ )
+		{
+			if (productKeyEncodingData[n] != null)
+			{
+				tmpPresentCount++ ;
+			}
+		}
+		
+		this.presentSectionIndexes = new int[tmpPresentCount];
+		
+		tmpPresentCount = 0;
+		
+		for (int n = 0; n < productKeyEncodingData.length; n++ )
+		{
+			if (productKeyEncodingData[n] != null)
+			{
+				this.presentSectionIndexes[tmpPresentCount++ ] = n;
+			}
+		}
+	}
+	
+	/* PUBLIC METHODS */
+	/**
+	 * This method will get the total number of sections, including omitted sections.
+	 * 
+	 * @return
+	 * The total number of sections, including omitted sections.
+	 */
+	public int getSectionCount()
+	{
+		return this.sectionCount;
+	}
+	
+	/**
+	 * This method will get the number of present sections.
+	 * 
+	 * @return
+	 * The number of present sections.
+	 */
+	public int getPresentSectionCount()
+	{
+		return this.presentSectionIndexes.length;
+	}
+	
+	/**
+	 * This method will get the index of the specified present section.
+	 * 
+	 * @param n
+	 * The position of the present section, between zero (inclusive) and
+	 * {@link #getPresentSectionCount()} (exclusive).
+	 * @return
+	 * The index of the specified present section among all sections.
+	 */
+	public int getPresentSectionIndex(final int n)
+	{
+		return this.presentSectionIndexes[n];
+	}
+	
+	/**
+	 * This method will determine if no sections have been omitted, which is required to generate
+	 * product-keys.
+	 * 
+	 * @return
+	 * The boolean flag to denote if no sections have been omitted.
+	 */
+	public boolean isComplete()
+	{
+		return this.presentSectionIndexes.length == this.sectionCount;
+	}
+	
+	/**
+	 * This method will build the bytes of every present section for the specified seed.
+	 * 
+	 * @param seed
+	 * The seed that is being used by the product-key.
+	 * @param dest
+	 * The array to store the bytes in, indexed by section index; the bytes of omitted sections
+	 * are left unchanged.
+	 * <br />
+	 * <i>This must hold at least {@link #getSectionCount()} bytes.</i>
+	 */
+	public abstract void buildProductKeySections(final long seed, final byte[] dest);
+	
+	/**
+	 * This method will build the bytes of every present section for the specified seed of more
+	 * than {@link ProductKeyUtils#MAX_LONG_HEX_LENGTH} HEXADECIMAL characters, which is carried as
+	 * two {@link Long} values.
+	 * <br />
+	 * <br />
+	 * <i>The default implementation will fold the seed with
+	 * {@link ProductKeyUtils#foldSeed(long, long)} and defer to
+	 * {@link #buildProductKeySections(long, byte[])}, which matches the default implementation of
+	 * {@link ProductKeySectionWorker#buildProductKeySection(long, long, ProductKeyEncodingData)}.</i>
+	 * 
+	 * @param seedHigh
+	 * The upper 64 bits of the seed that is being used by the product-key.
+	 * @param seedLow
+	 * The lower 64 bits of the seed that is being used by the product-key.
+	 * @param dest
+	 * The array to store the bytes in, indexed by section index; the bytes of omitted sections
+	 * are left unchanged.
+	 * <br />
+	 * <i>This must hold at least {@link #getSectionCount()} bytes.</i>
+	 */
+	public void buildProductKeySections(final long seedHigh, final long seedLow, final byte[] dest)
+	{
+		this.buildProductKeySections(ProductKeyUtils.foldSeed(seedHigh, seedLow), dest);
+	}
+	
+	/**
+	 * This method will build a {@link ProductKeySectionPlan} that defers to the specified
+	 * {@link ProductKeySectionWorker} for each present section.
+	 * 
+	 * @param productKeySectionWorker
+	 * The {@link ProductKeySectionWorker} to build each section with.
+	 * @param productKeyEncodingData
+	 * The array of {@link ProductKeyEncodingData} elements being compiled; <code>null</code>
+	 * elements denote omitted sections.
+	 * @return
+	 * The {@link ProductKeySectionPlan}.
+	 */
+	public static <ED extends ProductKeyEncodingData> ProductKeySectionPlan of(final ProductKeySectionWorker<ED> productKeySectionWorker, final ED[] productKeyEncodingData)
+	{
+		final ED[] encodingData = productKeyEncodingData.clone();
+		
+		return new ProductKeySectionPlan(encodingData)
+		{
+			
+			
+			@Override
+			public void buildProductKeySections(final long seed, final byte[] dest)
+			{
+				int tmpSectionIndex;
+				
+				for (int n = 0; n < this.getPresentSectionCount(); n++ )
+				{
+					tmpSectionIndex = this.getPresentSectionIndex(n);
+					
+					dest[tmpSectionIndex] = productKeySectionWorker.buildProductKeySection(seed, encodingData[tmpSectionIndex]);
+				}
+			}
+			
+			@Override
+			public void buildProductKeySections(final long seedHigh, final long seedLow, final byte[] dest)
+			{
+				int tmpSectionIndex;
+				
+				for (int n = 0; n < this.getPresentSectionCount(); n++ )
+				{
+					tmpSectionIndex = this.getPresentSectionIndex(n);
+					
+					dest[tmpSectionIndex] = productKeySectionWorker.buildProductKeySection(seedHigh, seedLow, encodingData[tmpSectionIndex]);
+				}
+			}
+			
+		};
+	}
+	
+}
@@ -1,6 +1,7 @@
 package com.weilerhaus.productKeys.workers;
 
 import com.weilerhaus.productKeys.beans.ProductKeyEncodingData;
+import com.weilerhaus.productKeys.utils.ProductKeyUtils;
 
 public interface ProductKeySectionWorker<ED extends ProductKeyEncodingData>
 {
@@ -18,4 +19,51 @@ public interface ProductKeySectionWorker<ED extends ProductKeyEncodingData>
 	 */
 	byte buildProductKeySection(final long seed, ED productKeyEncodingDate);
 	
+	/**
+	 * This method will build a product-key section for a seed of more than
+	 * {@link ProductKeyUtils#MAX_LONG_HEX_LENGTH} HEXADECIMAL characters, which is carried as two
+	 * {@link Long} values.
+	 * <br />
+	 * <br />
+	 * <i>The default implementation will fold the seed with
+	 * {@link ProductKeyUtils#foldSeed(long, long)} and defer to
+	 * {@link #buildProductKeySection(long, ProductKeyEncodingData)}; an implementation that
+	 * overrides this must override
+	 * {@link ProductKeySectionPlan#buildProductKeySections(long, long, byte[])} to match in any
+	 * {@link ProductKeySectionPlan} it builds.</i>
+	 * 
+	 * @param seedHigh
+	 * The upper 64 bits of the seed that is being used by this product-key.
+	 * @param seedLow
+	 * The lower 64 bits of the seed that is being used by this product-key.
+	 * @param productKeyEncodingDate
+	 * The {@link ProductKeyEncodingData} to be used for encoding.
+	 * @return
+	 * The product-key section.
+	 */
+	default byte buildProductKeySection(final long seedHigh, final long seedLow, final ED productKeyEncodingDate)
+	{
+		return this.buildProductKeySection(ProductKeyUtils.foldSeed(seedHigh, seedLow), productKeyEncodingDate);
+	}
+	
+	/**
+	 * This method will compile the specified array of {@link ProductKeyEncodingData} elements into
+	 * a {@link ProductKeySectionPlan} that builds every present section for a seed in one call.
+	 * <br />
+	 * <br />
+	 * <i>The default implementation will defer to {@link #buildProductKeySection(long,
+	 * ProductKeyEncodingData)} for each present section; implementations should override this to
+	 * flatten the encoding-data into primitives.</i>
+	 * 
+	 * @param productKeyEncodingData
+	 * The array of {@link ProductKeyEncodingData} elements; <code>null</code> elements denote
+	 * omitted sections.
+	 * @return
+	 * The {@link ProductKeySectionPlan}.
+	 */
+	default ProductKeySectionPlan buildProductKeySectionPlan(final ED[] productKeyEncodingData)
+	{
+		return ProductKeySectionPlan.of(this, productKeyEncodingData);
+	}
+	
 }
@@ -1,5 +1,7 @@
 package com.weilerhaus.productKeys.workers;
 
+import java.util.Arrays;
+
 public interface ProductKeyStylingWorker
 {
 	
@@ -24,4 +26,84 @@ public interface ProductKeyStylingWorker
 	 */
 	String removeStyling(String productKey);
 	
+	/**
+	 * This method will get the number of characters in a product-key of the specified length once
+	 * styling has been added to it.
+	 * <br />
+	 * <br />
+	 * <i>The default implementation will add styling to a sample product-key of the specified
+	 * length and use its length; implementations should override this to avoid allocating.</i>
+	 * 
+	 * @param productKeyLength
+	 * The number of characters in the product-key without styling.
+	 * @return
+	 * The number of characters in the product-key with styling added.
+	 */
+	default int getStyledLength(final int productKeyLength)
+	{
+		final char[] sampleProductKey = new char[productKeyLength];
+		
+		Arrays.fill(sampleProductKey, '0');
+		
+		final String styledProductKey = this.addStyling(new String(sampleProductKey));
+		
+		return (styledProductKey != null) ? styledProductKey.length() : 0;
+	}
+	
+	/**
+	 * This method will add styling to the product-key in the specified range of characters and
+	 * write the result into the specified destination.
+	 * <br />
+	 * <br />
+	 * <i>The default implementation will build a {@link String} and defer to
+	 * {@link #addStyling(String)}; implementations should override this to avoid allocating on
+	 * each generation.</i>
+	 * 
+	 * @param productKey
+	 * The characters containing the product-key.
+	 * @param offset
+	 * The index of the first character of the product-key.
+	 * @param length
+	 * The number of characters in the product-key.
+	 * @param dest
+	 * The characters to write the product-key with styling added into.
+	 * @param destOffset
+	 * The index of the first character of the product-key within the destination.
+	 * @return
+	 * The number of characters written to the destination.
+	 */
+	default int addStyling(final char[] productKey, final int offset, final int length, final char[] dest, final int destOffset)
+	{
+		final String styledProductKey = this.addStyling(new String(productKey, offset, length));
+		
+		styledProductKey.getChars(0, styledProductKey.length(), dest, destOffset);
+		
+		return styledProductKey.length();
+	}
+	
+	/**
+	 * This method will determine if the specified character is part of the styling that
+	 * {@link #removeStyling(String)} would remove from a product-key.
+	 * <br />
+	 * <br />
+	 * This allows a product-key to be verified without building a new {@link String} with the
+	 * styling removed.
+	 * <br />
+	 * <i>The default implementation will defer to {@link #removeStyling(String)} for the single
+	 * character; implementations should override this to avoid allocating on each
+	 * verification.</i>
+	 * 
+	 * @param productKeyChar
+	 * The product-key character.
+	 * @return
+	 * The boolean flag to denote if the specified character is part of the styling.
+	 */
+	default boolean isStylingCharacter(final char productKeyChar)
+	{
+		final String styledChar = String.valueOf(productKeyChar);
+		final String cleanedChar = this.removeStyling(styledChar);
+		
+		return (cleanedChar != null) && (cleanedChar.length() == 0);
+	}
+	
 }
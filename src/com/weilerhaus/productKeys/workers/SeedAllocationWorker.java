@@ -0,0 +1,21 @@
+package com.weilerhaus.productKeys.workers;
+
+public interface SeedAllocationWorker
+{
+	
+	
+	/**
+	 * This method will allocate the next seed to build a product-key from.
+	 * <br />
+	 * <br />
+	 * Implementations must be thread-safe and must never allocate the same seed twice, so that a
+	 * seed which turns out to be black-listed or already taken can simply be skipped.
+	 * 
+	 * @return
+	 * The seed, which will fit in the HEXADECIMAL characters representing seeds.
+	 * <br />
+	 * <i>This will be <code>-1</code> if every seed has already been allocated.</i>
+	 */
+	long allocateSeed();
+	
+}
@@ -1,5 +1,7 @@
 package com.weilerhaus.productKeys.workers;
 
+import com.weilerhaus.productKeys.utils.ProductKeyUtils;
+
 public interface SeedAvailabilityWorker
 {
 	
@@ -16,4 +18,124 @@ public interface SeedAvailabilityWorker
 	 */
 	boolean isSeedAvailable(String seedHex);
 	
+	/**
+	 * This method will determine if the specified seed is not currently being used by another
+	 * key.
+	 * <br />
+	 * <br />
+	 * <i>The default implementation will build a {@link String} and defer to
+	 * {@link #isSeedAvailable(String)}; implementations should override this to avoid
+	 * allocating.</i>
+	 * 
+	 * @param seed
+	 * The seed.
+	 * @param seedCharLength
+	 * The number of HEXADECIMAL characters representing the seed.
+	 * @return
+	 * The boolean flag to denote if the seed is not currently being used by another key.
+	 */
+	default boolean isSeedAvailable(final long seed, final int seedCharLength)
+	{
+		return this.isSeedAvailable(ProductKeyUtils.buildHexStr(seedCharLength, seed));
+	}
+	
+	/**
+	 * This method will attempt to claim the specified seed for a new key.
+	 * <br />
+	 * <br />
+	 * If this returns <code>true</code> the seed was available and is now taken by the caller; if
+	 * it returns <code>false</code> the seed was already being used by another key.
+	 * <br />
+	 * <i>The default implementation will build a {@link String} and defer to
+	 * {@link #isSeedAvailable(String)}, which does not take the seed; implementations should
+	 * override this so that two threads can never both claim the same seed.</i>
+	 * 
+	 * @param seed
+	 * The seed.
+	 * @param seedCharLength
+	 * The number of HEXADECIMAL characters representing the seed.
+	 * @return
+	 * The boolean flag to denote if the seed was claimed.
+	 */
+	default boolean tryClaimSeed(final long seed, final int seedCharLength)
+	{
+		return this.isSeedAvailable(ProductKeyUtils.buildHexStr(seedCharLength, seed));
+	}
+	
+	/**
+	 * This method will determine if the specified seed, of up to 128 bits, is not currently being
+	 * used by another key.
+	 * <br />
+	 * <br />
+	 * <i>The default implementation will defer to {@link #isSeedAvailable(long, int)} for seeds of
+	 * no more than {@link ProductKeyUtils#MAX_LONG_HEX_LENGTH} characters, and otherwise build a
+	 * {@link String} and defer to {@link #isSeedAvailable(String)}.</i>
+	 * 
+	 * @param seedHigh
+	 * The upper 64 bits of the seed.
+	 * @param seedLow
+	 * The lower 64 bits of the seed.
+	 * @param seedCharLength
+	 * The number of HEXADECIMAL characters representing the seed.
+	 * @return
+	 * The boolean flag to denote if the seed is not currently being used by another key.
+	 */
+	default boolean isSeedAvailable(final long seedHigh, final long seedLow, final int seedCharLength)
+	{
+		if (seedCharLength <= ProductKeyUtils.MAX_LONG_HEX_LENGTH)
+		{
+			return this.isSeedAvailable(seedLow, seedCharLength);
+		}
+		
+		return this.isSeedAvailable(ProductKeyUtils.buildHexStr(seedCharLength, seedHigh, seedLow));
+	}
+	
+	/**
+	 * This method will attempt to claim the specified seed, of up to 128 bits, for a new key.
+	 * <br />
+	 * <br />
+	 * <i>The default implementation will defer to {@link #tryClaimSeed(long, int)} for seeds of
+	 * no more than {@link ProductKeyUtils#MAX_LONG_HEX_LENGTH} characters, and otherwise build a
+	 * {@link String} and defer to {@link #isSeedAvailable(String)}, which does not take the
+	 * seed.</i>
+	 * 
+	 * @param seedHigh
+	 * The upper 64 bits of the seed.
+	 * @param seedLow
+	 * The lower 64 bits of the seed.
+	 * @param seedCharLength
+	 * The number of HEXADECIMAL characters representing the seed.
+	 * @return
+	 * The boolean flag to denote if the seed was claimed.
+	 */
+	default boolean tryClaimSeed(final long seedHigh, final long seedLow, final int seedCharLength)
+	{
+		if (seedCharLength <= ProductKeyUtils.MAX_LONG_HEX_LENGTH)
+		{
+			return this.tryClaimSeed(seedLow, seedCharLength);
+		}
+		
+		return this.isSeedAvailable(ProductKeyUtils.buildHexStr(seedCharLength, seedHigh, seedLow));
+	}
+	
+	/**
+	 * This method will determine if this worker can hold seeds of the specified number of
+	 * HEXADECIMAL characters.
+	 * <br />
+	 * <br />
+	 * A {@link com.weilerhaus.productKeys.ProductKeyGenerator} will not accept a worker that cannot
+	 * hold its seeds, as every seed would otherwise be rejected when it is claimed.
+	 * <br />
+	 * <i>The default implementation will accept any number of HEXADECIMAL characters.</i>
+	 * 
+	 * @param seedCharLength
+	 * The number of HEXADECIMAL characters representing the seed.
+	 * @return
+	 * The boolean flag to denote if this worker can hold seeds of the specified number of
+	 * HEXADECIMAL characters.
+	 */
+	default boolean isSeedCharLengthSupported(final int seedCharLength)
+	{
+		return true;
+	}
 }
@@ -0,0 +1,67 @@
+package com.weilerhaus.productKeys;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import com.weilerhaus.productKeys.enums.ProductKeyState;
+import com.weilerhaus.productKeys.impl.BasicProductKeyGenerator;
+import com.weilerhaus.productKeys.impl.beans.BasicProductKeyEncodingData;
+
+/**
+ * This class tests {@link MultiReleaseProductKeyVerifier}.
+ * 
+ * @author Matthew Weiler
+ */
+public class MultiReleaseProductKeyVerifierTest extends ProductKeyTestFixture
+{
+	
+	
+	/* TESTS */
+	@Test
+	public void equalEncodingDataIsBuiltOnce() throws Exception
+	{
+		// Each release is built from its own instances, as it would be when loaded separately.
+		final BasicProductKeyEncodingData[][] releases = new BasicProductKeyEncodingData[4][];
+		
+		for (int n = 0; n < releases.length; n++ )
+		{
+			releases[n] = ProductKeyTestFixture.buildEncodingData();
+			releases[n][n] = null;
+		}
+		
+		final BasicProductKeyGenerator productKeyGenerator = ProductKeyTestFixture.buildGenerator();
+		final MultiReleaseProductKeyVerifier<BasicProductKeyEncodingData> verifier = new MultiReleaseProductKeyVerifier<BasicProductKeyEncodingData>(productKeyGenerator, releases);
+		
+		assertEquals(releases.length, verifier.getReleaseCount());
+		assertEquals(ProductKeyTestFixture.buildEncodingData().length, verifier.getDistinctSectionCount());
+		
+		final Random random = new Random(22L);
+		
+		for (int n = 0; n < 500; n++ )
+		{
+			assertEquals((1L << releases.length) - 1L, verifier.verifyProductKey(productKeyGenerator.generateProductKey(random.nextLong())));
+		}
+		
+		// A product-key whose section does not match is only accepted by the release that omits it.
+		for (int section = 0; section < releases.length; section++ )
+		{
+			final BasicProductKeyEncodingData[] otherEncodingData = ProductKeyTestFixture.buildEncodingData();
+			
+			otherEncodingData[section] = new BasicProductKeyEncodingData((byte) 99, (byte) 98, (byte) 97);
+			
+			final BasicProductKeyGenerator otherGenerator = new BasicProductKeyGenerator(otherEncodingData);
+			
+			for (int n = 0; n < 100; n++ )
+			{
+				final String productKey = otherGenerator.generateProductKey(random.nextLong());
+				final long expected = (productKeyGenerator.verifyProductKey(productKey) == ProductKeyState.KEY_GOOD) ? ((1L << releases.length) - 1L) : (1L << section);
+				
+				assertEquals(expected, verifier.verifyProductKey(productKey), productKey);
+			}
+		}
+	}
+	
+}
@@ -0,0 +1,57 @@
+package com.weilerhaus.productKeys;
+
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.io.TempDir;
+
+import com.weilerhaus.productKeys.impl.BasicProductKeyGenerator;
+import com.weilerhaus.productKeys.impl.beans.BasicProductKeyEncodingData;
+
+/**
+ * This class holds the encoding data and the temporary directory shared by the tests.
+ * 
+ * @author Matthew Weiler
+ */
+public abstract class ProductKeyTestFixture
+{
+	
+	
+	/* PROTECTED VARIABLES */
+	/**
+	 * This will store a directory that is removed after each test.
+	 */
+	@TempDir
+	protected Path tempDirectory;
+	
+	/* PROTECTED METHODS */
+	/**
+	 * This method will build the encoding data of the product-keys generated by the tests.
+	 * 
+	 * @return
+	 * A new array of the {@link BasicProductKeyEncodingData} of each key-section.
+	 */
+	protected static BasicProductKeyEncodingData[] buildEncodingData()
+	{
+		// @formatter:off
+		return new BasicProductKeyEncodingData[] {
+		        new BasicProductKeyEncodingData((byte) 24, (byte) 3, (byte) 101),
+		        new BasicProductKeyEncodingData((byte) 10, (byte) 4, (byte) 56),
+		        new BasicProductKeyEncodingData((byte) 1, (byte) 2, (byte) 91),
+		        new BasicProductKeyEncodingData((byte) 7, (byte) 1, (byte) 100)
+		};
+		// @formatter:on
+	}
+	
+	/**
+	 * This method will build a {@link BasicProductKeyGenerator} with the encoding data of
+	 * {@link #buildEncodingData()} and no workers.
+	 * 
+	 * @return
+	 * The new {@link BasicProductKeyGenerator}.
+	 */
+	protected static BasicProductKeyGenerator buildGenerator()
+	{
+		return new BasicProductKeyGenerator(ProductKeyTestFixture.buildEncodingData());
+	}
+	
+}
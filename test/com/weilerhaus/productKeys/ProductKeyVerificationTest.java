@@ -0,0 +1,263 @@
+package com.weilerhaus.productKeys;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+import com.weilerhaus.productKeys.enums.ProductKeyStage;
+import com.weilerhaus.productKeys.enums.ProductKeyState;
+import com.weilerhaus.productKeys.exceptions.ProductKeyGenerationException;
+import com.weilerhaus.productKeys.impl.BasicProductKeyGenerator;
+import com.weilerhaus.productKeys.impl.beans.BasicProductKeyEncodingData;
+import com.weilerhaus.productKeys.metrics.ProductKeyMetricsListener;
+import com.weilerhaus.productKeys.workers.BlacklistWorker;
+
+/**
+ * This class tests the verification of product-keys by {@link ProductKeyGenerator}.
+ * 
+ * @author Matthew Weiler
+ */
+public class ProductKeyVerificationTest extends ProductKeyTestFixture
+{
+	
+	
+	/* TESTS */
+	@Test
+	public void rejectionsTakePrecedenceInStageOrder() throws Exception
+	{
+		final SeedBlacklistWorker blacklistWorker = new SeedBlacklistWorker();
+		final BasicProductKeyGenerator productKeyGenerator = new BasicProductKeyGenerator(ProductKeyTestFixture.buildEncodingData(), blacklistWorker);
+		final StageRecorder stageRecorder = new StageRecorder();
+		
+		productKeyGenerator.setMetricsListener(stageRecorder);
+		
+		// Every combination of a bad checksum, a blacklisted seed and phony sections.
+		for (int flags = 0; flags < 8; flags++ )
+		{
+			final boolean badChecksum = (flags & 1) != 0;
+			final boolean blacklisted = (flags & 2) != 0;
+			final boolean phony = (flags & 4) != 0;
+			final long seed = 0x1000L + flags;
+			String productKey = phony ? ProductKeyVerificationTest.buildPhonyGenerator().generateProductKey(seed) : productKeyGenerator.generateProductKey(seed);
+			
+			if (badChecksum)
+			{
+				productKey = ProductKeyVerificationTest.breakChecksum(productKey);
+			}
+			
+			if (blacklisted)
+			{
+				blacklistWorker.blacklist(productKey.substring(0, 8));
+			}
+			
+			final ProductKeyState expected;
+			final List<ProductKeyStage> expectedStages;
+			
+			if (badChecksum)
+			{
+				expected = ProductKeyState.KEY_INVALID;
+				expectedStages = Arrays.asList(ProductKeyStage.STYLING, ProductKeyStage.CHECKSUM);
+			}
+			else if (blacklisted)
+			{
+				expected = ProductKeyState.KEY_BLACKLISTED;
+				expectedStages = Arrays.asList(ProductKeyStage.STYLING, ProductKeyStage.CHECKSUM, ProductKeyStage.BLACKLIST);
+			}
+			else
+			{
+				expected = phony ? ProductKeyState.KEY_PHONY : ProductKeyState.KEY_GOOD;
+				expectedStages = Arrays.asList(ProductKeyStage.STYLING, ProductKeyStage.CHECKSUM, ProductKeyStage.BLACKLIST, ProductKeyStage.SECTIONS);
+			}
+			
+			stageRecorder.stages.clear();
+			
+			assertEquals(expected, productKeyGenerator.verifyProductKey(productKey), productKey);
+			
+			// A stage is only run while its rejection could still change the outcome.
+			assertEquals(expectedStages, stageRecorder.stages, productKey);
+		}
+	}
+	
+	@Test
+	public void overloadsAgree() throws Exception
+	{
+		final SeedBlacklistWorker blacklistWorker = new SeedBlacklistWorker();
+		final BasicProductKeyGenerator productKeyGenerator = new BasicProductKeyGenerator(ProductKeyTestFixture.buildEncodingData(), blacklistWorker);
+		final BasicProductKeyGenerator phonyGenerator = ProductKeyVerificationTest.buildPhonyGenerator();
+		final List<String> productKeys = new ArrayList<String>();
+		final Set<ProductKeyState> productKeyStates = new HashSet<ProductKeyState>();
+		
+		for (long seed = 0L; seed < 64L; seed++ )
+		{
+			final String productKey = productKeyGenerator.generateProductKey(seed * 0x01010101L);
+			
+			if ((seed % 8L) == 7L)
+			{
+				blacklistWorker.blacklist(productKey.substring(0, 8));
+			}
+			
+			productKeys.add(productKey);
+			productKeys.add(productKey.toLowerCase());
+			productKeys.add(" " + productKey + "\t");
+			productKeys.add(productKey.replace("-", ""));
+			productKeys.add(productKey.substring(0, productKey.length() - 1));
+			productKeys.add(ProductKeyVerificationTest.breakChecksum(productKey));
+			productKeys.add(phonyGenerator.generateProductKey(seed));
+			
+			// Change each character in turn, including the separators.
+			for (int n = 0; n < productKey.length(); n++ )
+			{
+				productKeys.add(productKey.substring(0, n) + ((productKey.charAt(n) == 'A') ? 'B' : 'A') + productKey.substring(n + 1));
+			}
+		}
+		
+		productKeys.add("");
+		productKeys.add("-");
+		productKeys.add("NOT-A-PRODUCT-KEY");
+		
+		for (final String productKey : productKeys)
+		{
+			final ProductKeyState expected = productKeyGenerator.verifyProductKey(productKey);
+			final char[] chars = ("#-#" + productKey + "#-#").toCharArray();
+			
+			assertEquals(expected, productKeyGenerator.verifyProductKey(new StringBuilder(productKey)), productKey);
+			assertEquals(expected, productKeyGenerator.verifyProductKey(chars, 3, productKey.length()), productKey);
+			assertEquals(expected, productKeyGenerator.verifyProductKey(productKey.toCharArray(), 0, productKey.length()), productKey);
+			
+			productKeyStates.add(expected);
+		}
+		
+		assertEquals(EnumSet.allOf(ProductKeyState.class), productKeyStates);
+		assertEquals(ProductKeyState.KEY_PHONY, productKeyGenerator.verifyProductKey((String) null));
+		assertEquals(ProductKeyState.KEY_PHONY, productKeyGenerator.verifyProductKey(new char[4], 2, 4));
+	}
+	
+	/* PRIVATE METHODS */
+	/**
+	 * This method will build a {@link BasicProductKeyGenerator} whose product-keys have a valid
+	 * checksum but sections that do not match {@link ProductKeyTestFixture#buildEncodingData()}.
+	 * 
+	 * @return
+	 * The new {@link BasicProductKeyGenerator}.
+	 */
+	private static BasicProductKeyGenerator buildPhonyGenerator()
+	{
+		// @formatter:off
+		return new BasicProductKeyGenerator(
+		        new BasicProductKeyEncodingData((byte) 5, (byte) 17, (byte) 33),
+		        new BasicProductKeyEncodingData((byte) 19, (byte) 8, (byte) 70),
+		        new BasicProductKeyEncodingData((byte) 12, (byte) 29, (byte) 3),
+		        new BasicProductKeyEncodingData((byte) 27, (byte) 6, (byte) 88)
+		);
+		// @formatter:on
+	}
+	
+	/**
+	 * This method will change the last character of the specified product-key, which is part of
+	 * its checksum.
+	 * 
+	 * @param productKey
+	 * The product-key.
+	 * @return
+	 * The product-key with a checksum that does not match.
+	 */
+	private static String breakChecksum(final String productKey)
+	{
+		final char lastChar = productKey.charAt(productKey.length() - 1);
+		
+		return productKey.substring(0, productKey.length() - 1) + ((lastChar == '0') ? '1' : '0');
+	}
+	
+	/* PRIVATE CLASSES */
+	/**
+	 * This class is a {@link BlacklistWorker} that holds a set of seeds.
+	 * 
+	 * @author Matthew Weiler
+	 */
+	private static final class SeedBlacklistWorker implements BlacklistWorker
+	{
+		
+		
+		/* PRIVATE VARIABLES */
+		/**
+		 * This will store the blacklisted seeds, in upper case.
+		 */
+		private final Set<String> seeds = new HashSet<String>();
+		
+		/* PUBLIC METHODS */
+		@Override
+		public boolean isKeyBlackListed(final String productKey)
+		{
+			return (productKey.length() >= 8) && this.seeds.contains(productKey.substring(0, 8).toUpperCase());
+		}
+		
+		@Override
+		public boolean isSeedBlackListed(final String seedHex)
+		{
+			return this.seeds.contains(seedHex.toUpperCase());
+		}
+		
+		/**
+		 * This method will blacklist the specified seed.
+		 * 
+		 * @param seedHex
+		 * The HEXADECIMAL representation of the seed.
+		 */
+		void blacklist(final String seedHex)
+		{
+			this.seeds.add(seedHex.toUpperCase());
+		}
+		
+	}
+	
+	/**
+	 * This class is a {@link ProductKeyMetricsListener} that records the stages run by a
+	 * verification.
+	 * 
+	 * @author Matthew Weiler
+	 */
+	private static final class StageRecorder implements ProductKeyMetricsListener
+	{
+		
+		
+		/* PRIVATE VARIABLES */
+		/**
+		 * This will store the stages run, in order.
+		 */
+		private final List<ProductKeyStage> stages = new ArrayList<ProductKeyStage>();
+		
+		/* PUBLIC METHODS */
+		@Override
+		public void productKeyGenerated()
+		{
+			
+		}
+		
+		@Override
+		public void productKeyGenerationFailed(final ProductKeyGenerationException failure)
+		{
+			
+		}
+		
+		@Override
+		public void productKeyVerified(final ProductKeyState productKeyState)
+		{
+			
+		}
+		
+		@Override
+		public void stageCompleted(final ProductKeyStage stage, final long nanos)
+		{
+			this.stages.add(stage);
+		}
+		
+	}
+	
+}
@@ -0,0 +1,269 @@
+package com.weilerhaus.productKeys.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+import com.weilerhaus.productKeys.ProductKeyTestFixture;
+import com.weilerhaus.productKeys.enums.ProductKeyState;
+import com.weilerhaus.productKeys.exceptions.ProductKeyGenerationException;
+import com.weilerhaus.productKeys.impl.BasicProductKeyGenerator;
+import com.weilerhaus.productKeys.workers.BlacklistWorker;
+
+/**
+ * This class tests {@link ProductKeyVerificationCache}.
+ * 
+ * @author Matthew Weiler
+ */
+public class ProductKeyVerificationCacheTest extends ProductKeyTestFixture
+{
+	
+	
+	/* TESTS */
+	@Test
+	public void cachedResultsMatchDirectVerification() throws Exception
+	{
+		final BasicProductKeyGenerator productKeyGenerator = new BasicProductKeyGenerator(ProductKeyTestFixture.buildEncodingData(), new TestBlacklistWorker(true));
+		final ProductKeyVerificationCache cache = new ProductKeyVerificationCache(productKeyGenerator, 4096);
+		final List<String> productKeys = ProductKeyVerificationCacheTest.buildProductKeys(productKeyGenerator, 1000, 1L);
+		
+		for (int pass = 0; pass < 2; pass++ )
+		{
+			for (final String productKey : productKeys)
+			{
+				final ProductKeyState expected = productKeyGenerator.verifyProductKey(productKey);
+				
+				assertEquals(expected, cache.verifyProductKey(productKey), productKey);
+				assertEquals(expected, cache.verifyProductKey(("x" + productKey).toCharArray(), 1, productKey.length()), productKey);
+			}
+		}
+		
+		assertTrue(cache.getHitCount() > 0L, "Repeated product-keys should be answered from the cache");
+	}
+	
+	@Test
+	public void concurrentLookupsMatchDirectVerification() throws Exception
+	{
+		final BasicProductKeyGenerator productKeyGenerator = new BasicProductKeyGenerator(ProductKeyTestFixture.buildEncodingData(), new TestBlacklistWorker(true));
+		// Keep the cache smaller than the product-keys so that slots are replaced while being read.
+		final ProductKeyVerificationCache cache = new ProductKeyVerificationCache(productKeyGenerator, 256);
+		final List<String> productKeys = ProductKeyVerificationCacheTest.buildProductKeys(productKeyGenerator, 2000, 2L);
+		final ProductKeyState[] expected = new ProductKeyState[productKeys.size()];
+		
+		for (int n = 0; n < expected.length; n++ )
+		{
+			expected[n] = productKeyGenerator.verifyProductKey(productKeys.get(n));
+		}
+		
+		final ExecutorService executor = Executors.newFixedThreadPool(8);
+		
+		try
+		{
+			final List<Future<?>> futures = new ArrayList<Future<?>>();
+			
+			for (int t = 0; t < 8; t++ )
+			{
+				final long threadSeed = t;
+				
+				futures.add(executor.submit(() ->
+				{
+					final Random random = new Random(threadSeed);
+					
+					for (int n = 0; n < 50000; n++ )
+					{
+						final int index = random.nextInt(expected.length);
+						
+						assertEquals(expected[index], cache.verifyProductKey(productKeys.get(index)), productKeys.get(index));
+					}
+				}));
+			}
+			
+			for (final Future<?> future : futures)
+			{
+				future.get();
+			}
+		}
+		finally
+		{
+			executor.shutdown();
+			executor.awaitTermination(1L, TimeUnit.MINUTES);
+		}
+		
+		assertTrue(cache.getHitCount() > 0L, "Repeated product-keys should be answered from the cache");
+	}
+	
+	@Test
+	public void versionedBlacklistChangeInvalidatesResults() throws Exception
+	{
+		final TestBlacklistWorker blacklistWorker = new TestBlacklistWorker(true);
+		final BasicProductKeyGenerator productKeyGenerator = new BasicProductKeyGenerator(ProductKeyTestFixture.buildEncodingData(), blacklistWorker);
+		final ProductKeyVerificationCache cache = new ProductKeyVerificationCache(productKeyGenerator, 64);
+		final String productKey = productKeyGenerator.generateProductKey(0x1234ABCDL);
+		
+		assertEquals(ProductKeyState.KEY_GOOD, cache.verifyProductKey(productKey));
+		assertEquals(ProductKeyState.KEY_GOOD, cache.verifyProductKey(productKey));
+		assertEquals(1L, cache.getHitCount());
+		
+		blacklistWorker.blacklist(productKey.substring(0, productKeyGenerator.getSeedCharLength()));
+		
+		assertEquals(ProductKeyState.KEY_BLACKLISTED, cache.verifyProductKey(productKey));
+	}
+	
+	@Test
+	public void unversionedBlacklistIsNeverCached() throws Exception
+	{
+		final TestBlacklistWorker blacklistWorker = new TestBlacklistWorker(false);
+		final BasicProductKeyGenerator productKeyGenerator = new BasicProductKeyGenerator(ProductKeyTestFixture.buildEncodingData(), blacklistWorker);
+		final ProductKeyVerificationCache cache = new ProductKeyVerificationCache(productKeyGenerator, 64);
+		final String productKey = productKeyGenerator.generateProductKey(0x1234ABCDL);
+		
+		assertEquals(ProductKeyState.KEY_GOOD, cache.verifyProductKey(productKey));
+		assertEquals(ProductKeyState.KEY_GOOD, cache.verifyProductKey(productKey));
+		
+		blacklistWorker.blacklist(productKey.substring(0, productKeyGenerator.getSeedCharLength()));
+		
+		assertEquals(ProductKeyState.KEY_BLACKLISTED, cache.verifyProductKey(productKey));
+		assertEquals(0L, cache.getHitCount());
+	}
+	
+	/* PRIVATE METHODS */
+	/**
+	 * This method will build a list of product-keys, some of them valid, some of them in lower
+	 * case, some of them with a corrupted character and some of them truncated.
+	 * 
+	 * @param productKeyGenerator
+	 * The {@link BasicProductKeyGenerator} to generate the product-keys with.
+	 * @param count
+	 * The number of product-keys to build.
+	 * @param randomSeed
+	 * The seed of the random number generator.
+	 * @return
+	 * The product-keys.
+	 * @throws ProductKeyGenerationException
+	 * If a product-key could not be generated.
+	 */
+	private static List<String> buildProductKeys(final BasicProductKeyGenerator productKeyGenerator, final int count, final long randomSeed) throws ProductKeyGenerationException
+	{
+		final String alphabet = "0123456789ABCDEFabcdefXG- ";
+		final Random random = new Random(randomSeed);
+		final List<String> productKeys = new ArrayList<String>();
+		
+		for (int n = 0; n < count; n++ )
+		{
+			String tmpProductKey = productKeyGenerator.generateProductKey(random.nextLong() & 0xFFFFFFFFL);
+			
+			switch (random.nextInt(4))
+			{
+				case 1:
+					tmpProductKey = tmpProductKey.toLowerCase();
+					break;
+				case 2:
+					final char[] tmpChars = tmpProductKey.toCharArray();
+				
+					tmpChars[random.nextInt(tmpChars.length)] = alphabet.charAt(random.nextInt(alphabet.length()));
+					tmpProductKey = new String(tmpChars);
+					break;
+				case 3:
+					tmpProductKey = tmpProductKey.substring(0, random.nextInt(tmpProductKey.length()));
+					break;
+				default:
+					break;
+			}
+			
+			productKeys.add(tmpProductKey);
+		}
+		
+		return productKeys;
+	}
+	
+	/* PRIVATE CLASSES */
+	/**
+	 * This class is a {@link BlacklistWorker} whose seeds can be changed while it is in use.
+	 * 
+	 * @author Matthew Weiler
+	 */
+	private static final class TestBlacklistWorker implements BlacklistWorker
+	{
+		
+		
+		/* PRIVATE VARIABLES */
+		/**
+		 * This will store the boolean flag to denote if a change is reported through the version.
+		 */
+		private final boolean versioned;
+		/**
+		 * This will store the blacklisted seeds, in upper case.
+		 */
+		private final Set<String> seeds = ConcurrentHashMap.newKeySet();
+		/**
+		 * This will store the version of the blacklist.
+		 */
+		private volatile long version = 0L;
+		
+		/* CONSTRUCTORS */
+		/**
+		 * This will create a new instance of a {@link TestBlacklistWorker}.
+		 * 
+		 * @param versioned
+		 * The boolean flag to denote if a change is reported through the version.
+		 */
+		TestBlacklistWorker(final boolean versioned)
+		{
+			this.versioned = versioned;
+		}
+		
+		/* PUBLIC METHODS */
+		@Override
+		public boolean isKeyBlackListed(final String productKey)
+		{
+			return (productKey.length() >= 8) && this.seeds.contains(productKey.substring(0, 8).toUpperCase());
+		}
+		
+		@Override
+		public boolean isSeedBlackListed(final String seedHex)
+		{
+			return this.seeds.contains(seedHex.toUpperCase());
+		}
+		
+		@Override
+		public boolean isVersioned()
+		{
+			return this.versioned;
+		}
+		
+		@Override
+		public long getVersion()
+		{
+			return this.version;
+		}
+		
+		/**
+		 * This method will blacklist the specified seed.
+		 * 
+		 * @param seedHex
+		 * The HEXADECIMAL representation of the seed.
+		 */
+		void blacklist(final String seedHex)
+		{
+			this.seeds.add(seedHex.toUpperCase());
+			
+			if (this.versioned)
+			{
+				this.version++ ;
+			}
+		}
+		
+	}
+	
+}
@@ -0,0 +1,84 @@
+package com.weilerhaus.productKeys.impl;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Path;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import com.weilerhaus.productKeys.ProductKeyTestFixture;
+import com.weilerhaus.productKeys.enums.ProductKeyState;
+import com.weilerhaus.productKeys.impl.workers.MappedBlacklistWorker;
+import com.weilerhaus.productKeys.io.BlacklistImporter;
+import com.weilerhaus.productKeys.utils.ProductKeyUtils;
+
+/**
+ * This class tests {@link BasicProductKeyGenerator} with seeds of more than
+ * {@link ProductKeyUtils#MAX_LONG_HEX_LENGTH} characters.
+ * 
+ * @author Matthew Weiler
+ */
+public class BasicProductKeyGeneratorWideSeedTest extends ProductKeyTestFixture
+{
+	
+	
+	/* TESTS */
+	@Test
+	public void wideSeedsRoundTrip() throws Exception
+	{
+		final Random random = new Random(8L);
+		final long[] dest = new long[2];
+		
+		for (final int seedCharLength : new int[] { 16, 17, 24, 32 })
+		{
+			final BasicProductKeyGenerator productKeyGenerator = new BasicProductKeyGenerator(seedCharLength, ProductKeyTestFixture.buildEncodingData(), null, null, null);
+			final long highMask = (seedCharLength >= 32) ? -1L : ((1L << ((seedCharLength - 16) * 4)) - 1L);
+			
+			for (int n = 0; n < 500; n++ )
+			{
+				final long seedHigh = random.nextLong() & highMask;
+				final long seedLow = random.nextLong();
+				final String productKey = productKeyGenerator.generateProductKey(seedHigh, seedLow);
+				
+				assertEquals(ProductKeyState.KEY_GOOD, productKeyGenerator.verifyProductKey(productKey), productKey);
+				assertTrue(productKeyGenerator.extractSeed(productKey, dest), productKey);
+				assertArrayEquals(new long[] { seedHigh, seedLow }, dest, productKey);
+				
+				// Only the bits that fit in the seed are used.
+				assertEquals(productKey, productKeyGenerator.generateProductKey(seedHigh | ~highMask, seedLow));
+			}
+		}
+	}
+	
+	@Test
+	public void wideSeedsOnlyShareAProductKeyWhenEqual() throws Exception
+	{
+		final BasicProductKeyGenerator productKeyGenerator = new BasicProductKeyGenerator(24, ProductKeyTestFixture.buildEncodingData(), null, null, null);
+		final String productKey = productKeyGenerator.generateProductKey(1L, 0x8000000000000000L);
+		
+		assertFalse(productKey.equals(productKeyGenerator.generateProductKey(2L, 0x8000000000000000L)));
+		assertFalse(productKey.equals(productKeyGenerator.generateProductKey(1L, 0L)));
+		assertTrue(productKey.replace("-", "").startsWith(ProductKeyUtils.buildHexStr(24, 1L, 0x8000000000000000L)), productKey);
+	}
+	
+	@Test
+	public void mappedBlacklistRejectsWideSeeds() throws Exception
+	{
+		final Path blacklistFile = this.tempDirectory.resolve("blacklist.bin");
+		
+		MappedBlacklistWorker.writeBlacklistFile(blacklistFile, 8, new long[] { 5L }, 1);
+		
+		final BasicProductKeyGenerator productKeyGenerator = new BasicProductKeyGenerator(24, ProductKeyTestFixture.buildEncodingData(), new MappedBlacklistWorker(blacklistFile), null, null);
+		
+		// A wide seed cannot be held by the blacklist, so it must fail rather than be let through.
+		assertThrows(IllegalArgumentException.class, () -> productKeyGenerator.generateProductKey(0L, 5L));
+		assertThrows(IllegalArgumentException.class, () -> new BlacklistImporter(productKeyGenerator));
+		assertThrows(IllegalArgumentException.class, () -> MappedBlacklistWorker.writeBlacklistFile(blacklistFile, 24, new long[0], 0));
+	}
+	
+}
@@ -0,0 +1,80 @@
+package com.weilerhaus.productKeys.impl.workers;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+import com.weilerhaus.productKeys.ProductKeyTestFixture;
+
+/**
+ * This class tests {@link BasicChecksumWorker}.
+ * 
+ * @author Matthew Weiler
+ */
+public class BasicChecksumWorkerTest extends ProductKeyTestFixture
+{
+	
+	
+	/* TESTS */
+	@Test
+	public void stringAndCharArrayChecksumsAgree()
+	{
+		final BasicChecksumWorker worker = new BasicChecksumWorker();
+		
+		for (int seed = 0; seed < 4096; seed++ )
+		{
+			final String key = Integer.toHexString(seed * 7919).toUpperCase() + "AB12CD";
+			final String productKey = key + worker.buildProductKeyChecksum(key);
+			final String lowerCaseProductKey = key + worker.buildProductKeyChecksum(key).toLowerCase();
+			
+			assertTrue(worker.verifyProductKeyChecksum(productKey), productKey);
+			assertTrue(BasicChecksumWorkerTest.verify(worker, productKey), productKey);
+			
+			// A lower-case checksum is only accepted where it reads the same as the upper-case one.
+			assertEquals(productKey.equals(lowerCaseProductKey), worker.verifyProductKeyChecksum(lowerCaseProductKey), lowerCaseProductKey);
+			assertEquals(worker.verifyProductKeyChecksum(lowerCaseProductKey), BasicChecksumWorkerTest.verify(worker, lowerCaseProductKey), lowerCaseProductKey);
+		}
+	}
+	
+	@Test
+	public void lowerCaseChecksumIsRejected()
+	{
+		final BasicChecksumWorker worker = new BasicChecksumWorker();
+		String key = null;
+		String checksum = null;
+		
+		// Find a checksum with a HEXADECIMAL letter in it.
+		for (int seed = 0; (checksum == null) || checksum.equals(checksum.toLowerCase()); seed++ )
+		{
+			key = Integer.toHexString(seed).toUpperCase() + "AB12CD";
+			checksum = worker.buildProductKeyChecksum(key);
+		}
+		
+		assertFalse(worker.verifyProductKeyChecksum(key + checksum.toLowerCase()));
+		assertFalse(BasicChecksumWorkerTest.verify(worker, key + checksum.toLowerCase()));
+		assertTrue(worker.verifyProductKeyChecksum(" " + key + checksum + " "));
+		assertTrue(BasicChecksumWorkerTest.verify(worker, " " + key + checksum + " "));
+	}
+	
+	/* PRIVATE METHODS */
+	/**
+	 * This method will verify the checksum of the specified product-key through the character
+	 * array overload, with the product-key placed part way into a larger array.
+	 * 
+	 * @param worker
+	 * The {@link BasicChecksumWorker} to verify with.
+	 * @param productKey
+	 * The product-key.
+	 * @return
+	 * The boolean flag to denote if the checksum of the product-key is correct.
+	 */
+	private static boolean verify(final BasicChecksumWorker worker, final String productKey)
+	{
+		final char[] chars = ("##" + productKey + "##").toCharArray();
+		
+		return worker.verifyProductKeyChecksum(chars, 2, productKey.length());
+	}
+	
+}
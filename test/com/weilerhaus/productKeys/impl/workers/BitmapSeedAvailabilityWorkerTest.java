@@ -0,0 +1,223 @@
+package com.weilerhaus.productKeys.impl.workers;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+import com.weilerhaus.productKeys.ProductKeyTestFixture;
+
+/**
+ * This class tests {@link BitmapSeedAvailabilityWorker}.
+ * 
+ * @author Matthew Weiler
+ */
+public class BitmapSeedAvailabilityWorkerTest extends ProductKeyTestFixture
+{
+	
+	
+	/* TESTS */
+	@Test
+	public void chunkKeepsItsSeedsAcrossContainerTransitions() throws Exception
+	{
+		final BitmapSeedAvailabilityWorker worker = new BitmapSeedAvailabilityWorker();
+		final long chunkStart = 0x00050000L;
+		final int limit = BitmapSeedAvailabilityWorker.ARRAY_CONTAINER_LIMIT;
+		
+		// Claim every other seed so the chunk grows past the array limit and becomes a bitmap.
+		for (int n = 0; n <= limit; n++ )
+		{
+			assertTrue(worker.tryClaim(chunkStart + (n * 2L)));
+			assertFalse(worker.tryClaim(chunkStart + (n * 2L)));
+		}
+		
+		BitmapSeedAvailabilityWorkerTest.assertClaimedEvery(worker, chunkStart, 2, limit + 1);
+		
+		// Release seeds so the chunk shrinks back below the array limit.
+		for (int n = 0; n < 10; n++ )
+		{
+			assertTrue(worker.release(chunkStart + (n * 2L)));
+			assertFalse(worker.release(chunkStart + (n * 2L)));
+		}
+		
+		for (int n = 0; n < 10; n++ )
+		{
+			assertTrue(worker.isSeedAvailable(chunkStart + (n * 2L)));
+		}
+		
+		for (int n = 10; n <= limit; n++ )
+		{
+			assertFalse(worker.isSeedAvailable(chunkStart + (n * 2L)));
+			assertTrue(worker.isSeedAvailable(chunkStart + (n * 2L) + 1L));
+		}
+		
+		assertEquals(limit + 1 - 10, worker.getClaimedCount());
+		
+		// Releasing every seed drops the chunk, after which it can be claimed again.
+		for (int n = 10; n <= limit; n++ )
+		{
+			assertTrue(worker.release(chunkStart + (n * 2L)));
+		}
+		
+		assertEquals(0L, worker.getClaimedCount());
+		assertTrue(worker.tryClaim(chunkStart));
+	}
+	
+	@Test
+	public void seedsOutsideTheSeedSpaceAreRejected()
+	{
+		final BitmapSeedAvailabilityWorker worker = new BitmapSeedAvailabilityWorker();
+		
+		assertTrue(worker.tryClaim(0L));
+		assertTrue(worker.tryClaim(0xFFFFFFFFL));
+		assertFalse(worker.isSeedAvailable(0xFFFFFFFFL));
+		assertFalse(worker.isSeedAvailable(0x100000000L));
+		assertFalse(worker.isSeedAvailable(-1L));
+		assertThrows(IllegalArgumentException.class, () -> worker.tryClaim(0x100000000L));
+		assertThrows(IllegalArgumentException.class, () -> worker.tryClaim(-1L));
+	}
+	
+	@Test
+	public void concurrentClaimsHandOutEachSeedOnce() throws Exception
+	{
+		final BitmapSeedAvailabilityWorker worker = new BitmapSeedAvailabilityWorker();
+		final long[] seeds = new long[100000];
+		final Random random = new Random(3L);
+		
+		for (int n = 0; n < seeds.length; n++ )
+		{
+			// Crowd the seeds into a few chunks so that some of them become bitmaps while claimed.
+			seeds[n] = ((long) random.nextInt(4) << 16) | random.nextInt(1 << 16);
+		}
+		
+		final ExecutorService executor = Executors.newFixedThreadPool(8);
+		final List<Future<BitSet>> futures = new ArrayList<Future<BitSet>>();
+		
+		try
+		{
+			for (int t = 0; t < 8; t++ )
+			{
+				futures.add(executor.submit(() ->
+				{
+					final BitSet claimed = new BitSet();
+					
+					for (int n = 0; n < seeds.length; n++ )
+					{
+						if (worker.tryClaim(seeds[n]))
+						{
+							claimed.set((int) seeds[n]);
+						}
+					}
+					
+					return claimed;
+				}));
+			}
+			
+			final BitSet allClaimed = new BitSet();
+			int claimCount = 0;
+			
+			for (final Future<BitSet> future : futures)
+			{
+				final BitSet claimed = future.get();
+				
+				assertFalse(allClaimed.intersects(claimed), "A seed was claimed by two threads");
+				
+				allClaimed.or(claimed);
+				claimCount += claimed.cardinality();
+			}
+			
+			final BitSet expected = new BitSet();
+			
+			for (int n = 0; n < seeds.length; n++ )
+			{
+				expected.set((int) seeds[n]);
+			}
+			
+			assertEquals(expected, allClaimed);
+			assertEquals(expected.cardinality(), claimCount);
+			assertEquals(expected.cardinality(), worker.getClaimedCount());
+		}
+		finally
+		{
+			executor.shutdown();
+			executor.awaitTermination(1L, TimeUnit.MINUTES);
+		}
+	}
+	
+	@Test
+	public void saveAndLoadKeepTheClaimedSeeds() throws Exception
+	{
+		final BitmapSeedAvailabilityWorker worker = new BitmapSeedAvailabilityWorker();
+		final Random random = new Random(4L);
+		final long[] seeds = new long[20000];
+		
+		for (int n = 0; n < seeds.length; n++ )
+		{
+			// Half of the seeds fill a single chunk past the array limit, the rest are spread out.
+			seeds[n] = ((n % 2) == 0) ? (0x00070000L | random.nextInt(1 << 16)) : (random.nextLong() & 0xFFFFFFFFL);
+			worker.tryClaim(seeds[n]);
+		}
+		
+		final Path seedBitmapFile = this.tempDirectory.resolve("seeds.bin");
+		
+		worker.save(seedBitmapFile);
+		
+		final BitmapSeedAvailabilityWorker loadedWorker = BitmapSeedAvailabilityWorker.load(seedBitmapFile);
+		
+		assertEquals(worker.getClaimedCount(), loadedWorker.getClaimedCount());
+		
+		for (int n = 0; n < seeds.length; n++ )
+		{
+			assertFalse(loadedWorker.isSeedAvailable(seeds[n]));
+		}
+		
+		for (int n = 0; n < 100000; n++ )
+		{
+			final long seed = ((n % 2) == 0) ? (0x00070000L | random.nextInt(1 << 16)) : (random.nextLong() & 0xFFFFFFFFL);
+			
+			assertEquals(worker.isSeedAvailable(seed), loadedWorker.isSeedAvailable(seed));
+		}
+	}
+	
+	/* PRIVATE METHODS */
+	/**
+	 * This method will check that every seed from the specified start, at the specified step, has
+	 * been claimed and that the seeds in between are available.
+	 * 
+	 * @param worker
+	 * The {@link BitmapSeedAvailabilityWorker} to check.
+	 * @param start
+	 * The first claimed seed.
+	 * @param step
+	 * The distance between claimed seeds.
+	 * @param count
+	 * The number of claimed seeds.
+	 */
+	private static void assertClaimedEvery(final BitmapSeedAvailabilityWorker worker, final long start, final int step, final int count)
+	{
+		for (int n = 0; n < count; n++ )
+		{
+			assertFalse(worker.isSeedAvailable(start + ((long) n * step)));
+			
+			for (int m = 1; m < step; m++ )
+			{
+				assertTrue(worker.isSeedAvailable(start + ((long) n * step) + m));
+			}
+		}
+		
+		assertEquals(count, worker.getClaimedCount());
+	}
+	
+}
@@ -0,0 +1,138 @@
+package com.weilerhaus.productKeys.impl.workers;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+import com.weilerhaus.productKeys.ProductKeyTestFixture;
+import com.weilerhaus.productKeys.beans.ProductKeyLayout;
+import com.weilerhaus.productKeys.enums.ProductKeyCase;
+import com.weilerhaus.productKeys.enums.ProductKeyState;
+import com.weilerhaus.productKeys.impl.BasicProductKeyGenerator;
+import com.weilerhaus.productKeys.impl.beans.BasicProductKeyEncodingData;
+import com.weilerhaus.productKeys.workers.ProductKeyStylingWorker;
+
+/**
+ * This class tests {@link LayoutProductKeyStylingWorker} and {@link ProductKeyLayout}.
+ * 
+ * @author Matthew Weiler
+ */
+public class LayoutProductKeyStylingWorkerTest extends ProductKeyTestFixture
+{
+	
+	
+	/* TESTS */
+	@Test
+	public void lastGroupSizeRepeats()
+	{
+		final ProductKeyLayout layout = new ProductKeyLayout(new int[] { 5, 3 }, '.', ProductKeyCase.UPPER);
+		
+		assertArrayEquals(new int[] { 5, 8, 11, 14 }, layout.getSeparatorIndexes(16));
+		assertArrayEquals(new int[] { 5, 8 }, layout.getSeparatorIndexes(11));
+		assertArrayEquals(new int[] { 5 }, layout.getSeparatorIndexes(8));
+		assertArrayEquals(new int[0], layout.getSeparatorIndexes(5));
+		assertArrayEquals(new int[0], layout.getSeparatorIndexes(0));
+	}
+	
+	@Test
+	public void stylingFollowsTheLayout()
+	{
+		final LayoutProductKeyStylingWorker upperCaseWorker = new LayoutProductKeyStylingWorker(new ProductKeyLayout(new int[] { 5, 3 }, '.', ProductKeyCase.UPPER));
+		final LayoutProductKeyStylingWorker lowerCaseWorker = new LayoutProductKeyStylingWorker(new ProductKeyLayout(new int[] { 4 }, '_', ProductKeyCase.LOWER));
+		
+		assertEquals("01234.567.89A.BCD.EF", upperCaseWorker.addStyling("0123456789abcdef"));
+		assertEquals("01234.567.89A.BCD.EF", upperCaseWorker.addStyling(" 0123456789abcdef\n"));
+		assertEquals("0123456789ABCDEF", upperCaseWorker.removeStyling("01234.567.89A.BCD.EF"));
+		assertEquals(20, upperCaseWorker.getStyledLength(16));
+		assertEquals("abcd_ef01_23", lowerCaseWorker.addStyling("ABCDEF0123"));
+		assertEquals("abcdef0123", lowerCaseWorker.removeStyling("abcd_ef01_23"));
+		assertTrue(lowerCaseWorker.isStylingCharacter('_'));
+		
+		// The character array overload writes the same characters at the specified offsets.
+		final char[] dest = new char[16];
+		final int styledLength = lowerCaseWorker.addStyling("##ABCDEF0123##".toCharArray(), 2, 10, dest, 3);
+		
+		assertEquals("abcd_ef01_23", new String(dest, 3, styledLength));
+	}
+	
+	@Test
+	public void invalidLayoutsAreRejected()
+	{
+		assertThrows(IllegalArgumentException.class, () -> new ProductKeyLayout(new int[0], '-', ProductKeyCase.UPPER));
+		assertThrows(IllegalArgumentException.class, () -> new ProductKeyLayout(new int[] { 4, 0 }, '-', ProductKeyCase.UPPER));
+		assertThrows(IllegalArgumentException.class, () -> new ProductKeyLayout(new int[] { 4 }, 'A', ProductKeyCase.UPPER));
+		assertThrows(IllegalArgumentException.class, () -> new ProductKeyLayout(new int[] { 4 }, ' ', ProductKeyCase.UPPER));
+		assertThrows(IllegalArgumentException.class, () -> new ProductKeyLayout(new int[] { 4 }, '-', null));
+		assertThrows(IllegalArgumentException.class, () -> new LayoutProductKeyStylingWorker(null));
+	}
+	
+	@Test
+	public void styledProductKeysVerify() throws Exception
+	{
+		final LayoutProductKeyStylingWorker stylingWorker = new LayoutProductKeyStylingWorker(new ProductKeyLayout(new int[] { 6, 2 }, '.', ProductKeyCase.LOWER));
+		final BasicProductKeyGenerator productKeyGenerator = new LayoutProductKeyGenerator(stylingWorker, ProductKeyTestFixture.buildEncodingData());
+		final BasicProductKeyGenerator defaultGenerator = ProductKeyTestFixture.buildGenerator();
+		
+		for (long seed = 0L; seed < 256L; seed++ )
+		{
+			final String productKey = productKeyGenerator.generateProductKey(seed * 0x00F0F0F1L);
+			final String unstyledProductKey = stylingWorker.removeStyling(productKey);
+			
+			assertEquals(productKey.toLowerCase(), productKey);
+			assertEquals(stylingWorker.addStyling(unstyledProductKey), productKey);
+			assertEquals(ProductKeyState.KEY_GOOD, productKeyGenerator.verifyProductKey(productKey), productKey);
+			assertEquals(ProductKeyState.KEY_GOOD, productKeyGenerator.verifyProductKey(productKey.toCharArray(), 0, productKey.length()), productKey);
+			
+			// The layout only changes the styling, not the product-key beneath it.
+			assertEquals(defaultGenerator.generateProductKey(seed * 0x00F0F0F1L).replace("-", "").toLowerCase(), unstyledProductKey);
+		}
+	}
+	
+	/* PRIVATE CLASSES */
+	/**
+	 * This class is a {@link BasicProductKeyGenerator} that styles its product-keys with a
+	 * {@link LayoutProductKeyStylingWorker}.
+	 * 
+	 * @author Matthew Weiler
+	 */
+	private static final class LayoutProductKeyGenerator extends BasicProductKeyGenerator
+	{
+		
+		
+		/* PRIVATE VARIABLES */
+		/**
+		 * This will store the {@link LayoutProductKeyStylingWorker} to style the product-keys
+		 * with.
+		 */
+		private final LayoutProductKeyStylingWorker stylingWorker;
+		
+		/* CONSTRUCTORS */
+		/**
+		 * This will create a new instance of a {@link LayoutProductKeyGenerator}.
+		 * 
+		 * @param stylingWorker
+		 * The {@link LayoutProductKeyStylingWorker} to style the product-keys with.
+		 * @param productKeyEncodingData
+		 * The array of {@link BasicProductKeyEncodingData} elements that will be used to
+		 * generate/verify product-keys.
+		 */
+		private LayoutProductKeyGenerator(final LayoutProductKeyStylingWorker stylingWorker, final BasicProductKeyEncodingData[] productKeyEncodingData)
+		{
+			super(productKeyEncodingData);
+			
+			this.stylingWorker = stylingWorker;
+		}
+		
+		/* PROTECTED METHODS */
+		@Override
+		protected ProductKeyStylingWorker buildProductKeyStylingWorker()
+		{
+			return this.stylingWorker;
+		}
+		
+	}
+	
+}
@@ -0,0 +1,88 @@
+package com.weilerhaus.productKeys.impl.workers;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.BitSet;
+
+import org.junit.jupiter.api.Test;
+
+import com.weilerhaus.productKeys.ProductKeyTestFixture;
+import com.weilerhaus.productKeys.enums.ProductKeyState;
+import com.weilerhaus.productKeys.exceptions.SeedAllocatorNotDefinedException;
+import com.weilerhaus.productKeys.exceptions.SeedSpaceExhaustedException;
+import com.weilerhaus.productKeys.impl.BasicProductKeyGenerator;
+
+/**
+ * This class tests {@link ScrambledSeedAllocationWorker}.
+ * 
+ * @author Matthew Weiler
+ */
+public class ScrambledSeedAllocationWorkerTest extends ProductKeyTestFixture
+{
+	
+	
+	/* TESTS */
+	@Test
+	public void everySeedIsAllocatedExactlyOnce()
+	{
+		final ScrambledSeedAllocationWorker worker = new ScrambledSeedAllocationWorker(16, 0x5EEDL);
+		final BitSet allocated = new BitSet(1 << 16);
+		long seed;
+		
+		while ((seed = worker.allocateSeed()) >= 0L)
+		{
+			assertTrue(seed < (1L << 16), Long.toHexString(seed));
+			assertFalse(allocated.get((int) seed), Long.toHexString(seed));
+			
+			allocated.set((int) seed);
+		}
+		
+		assertEquals(1 << 16, allocated.cardinality());
+		assertEquals(1L << 16, worker.getPosition());
+	}
+	
+	@Test
+	public void storedKeyAndPositionContinueThePermutation()
+	{
+		final BitSet allocated = new BitSet(1 << 16);
+		final ScrambledSeedAllocationWorker firstRun = new ScrambledSeedAllocationWorker(16, 0x5EEDL);
+		
+		for (int n = 0; n < 5000; n++ )
+		{
+			allocated.set((int) firstRun.allocateSeed());
+		}
+		
+		// A restart with the stored key and position never hands out a seed of the first run.
+		final ScrambledSeedAllocationWorker secondRun = new ScrambledSeedAllocationWorker(16, 0x5EEDL, firstRun.getPosition());
+		long seed;
+		
+		while ((seed = secondRun.allocateSeed()) >= 0L)
+		{
+			assertFalse(allocated.get((int) seed), Long.toHexString(seed));
+			
+			allocated.set((int) seed);
+		}
+		
+		assertEquals(5000L, firstRun.getPosition());
+		assertEquals(1 << 16, allocated.cardinality());
+	}
+	
+	@Test
+	public void seedlessGenerationRequiresAnAllocator() throws Exception
+	{
+		assertThrows(SeedAllocatorNotDefinedException.class, () -> ProductKeyTestFixture.buildGenerator().generateProductKey());
+		
+		final BasicProductKeyGenerator productKeyGenerator = new BasicProductKeyGenerator(4, ProductKeyTestFixture.buildEncodingData(), null, new BitmapSeedAvailabilityWorker(), new ScrambledSeedAllocationWorker(16, 0x5EEDL));
+		
+		for (int n = 0; n < (1 << 16); n++ )
+		{
+			assertEquals(ProductKeyState.KEY_GOOD, productKeyGenerator.verifyProductKey(productKeyGenerator.generateProductKey()));
+		}
+		
+		assertThrows(SeedSpaceExhaustedException.class, () -> productKeyGenerator.generateProductKey());
+	}
+	
+}
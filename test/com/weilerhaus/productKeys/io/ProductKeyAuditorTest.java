@@ -0,0 +1,146 @@
+package com.weilerhaus.productKeys.io;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.BufferedWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+
+import com.weilerhaus.productKeys.ProductKeyTestFixture;
+import com.weilerhaus.productKeys.beans.ProductKeyAuditReport;
+import com.weilerhaus.productKeys.impl.BasicProductKeyGenerator;
+
+/**
+ * This class tests {@link ProductKeyAuditor}.
+ * 
+ * @author Matthew Weiler
+ */
+public class ProductKeyAuditorTest extends ProductKeyTestFixture
+{
+	
+	
+	/* TESTS */
+	@Test
+	public void mergedRunsMatchASingleRun() throws Exception
+	{
+		final BasicProductKeyGenerator productKeyGenerator = ProductKeyTestFixture.buildGenerator();
+		final Path corpusFile = this.tempDirectory.resolve("corpus.txt");
+		final Path workDirectory = Files.createDirectory(this.tempDirectory.resolve("work"));
+		final TreeMap<Long, Integer> occurrences = new TreeMap<Long, Integer>();
+		final Random random = new Random(5L);
+		int rejectedCount = 0;
+		
+		try (final BufferedWriter writer = Files.newBufferedWriter(corpusFile, StandardCharsets.US_ASCII))
+		{
+			for (int n = 0; n < 20000; n++ )
+			{
+				if ((n % 100) == 0)
+				{
+					writer.write("not a product-key\n");
+					rejectedCount++ ;
+					
+					continue;
+				}
+				
+				// Draw from a small seed space, so that some seeds are issued more than once.
+				final long seed = random.nextInt(1 << 18);
+				
+				writer.write(productKeyGenerator.generateProductKey(seed));
+				writer.write('\n');
+				
+				occurrences.merge(Long.valueOf(seed), Integer.valueOf(1), Integer::sum);
+			}
+		}
+		
+		final ProductKeyAuditReport singleRunReport = new ProductKeyAuditor(productKeyGenerator, ForkJoinPool.commonPool()).audit(corpusFile, workDirectory);
+		final ProductKeyAuditReport mergedReport = new ProductKeyAuditor(productKeyGenerator, ForkJoinPool.commonPool(), 4096L).audit(corpusFile, workDirectory);
+		
+		assertEquals(1, singleRunReport.getRunCount());
+		assertTrue(mergedReport.getRunCount() > 1);
+		
+		for (final ProductKeyAuditReport report : new ProductKeyAuditReport[] { singleRunReport, mergedReport })
+		{
+			long duplicatedSeedCount = 0L;
+			long duplicateKeyCount = 0L;
+			
+			for (final Integer count : occurrences.values())
+			{
+				if (count.intValue() > 1)
+				{
+					duplicatedSeedCount++ ;
+					duplicateKeyCount += count.intValue() - 1;
+				}
+			}
+			
+			assertEquals(20000 - rejectedCount, report.getKeyCount());
+			assertEquals(rejectedCount, report.getRejectedCount());
+			assertEquals(occurrences.size(), report.getUniqueSeedCount());
+			assertEquals(duplicatedSeedCount, report.getDuplicatedSeedCount());
+			assertEquals(duplicateKeyCount, report.getDuplicateKeyCount());
+			assertFalse(report.isUnique());
+			assertEquals(occurrences.firstKey().longValue(), report.getMinSeed());
+			assertEquals(occurrences.lastKey().longValue(), report.getMaxSeed());
+			
+			// The sample holds the smallest duplicated seeds, with how often each was found.
+			final long[] duplicateSeeds = report.getDuplicateSeeds();
+			final long[] duplicateOccurrences = report.getDuplicateOccurrences();
+			int index = 0;
+			
+			for (final Long seed : occurrences.keySet())
+			{
+				if ((index < duplicateSeeds.length) && (occurrences.get(seed).intValue() > 1))
+				{
+					assertEquals(seed.longValue(), duplicateSeeds[index]);
+					assertEquals(occurrences.get(seed).longValue(), duplicateOccurrences[index]);
+					index++ ;
+				}
+			}
+			
+			assertEquals(duplicateSeeds.length, index);
+		}
+		
+		assertArrayEquals(singleRunReport.getBucketCounts(), mergedReport.getBucketCounts());
+		
+		try (final Stream<Path> runFiles = Files.list(workDirectory))
+		{
+			assertEquals(0L, runFiles.count(), "The sorted runs should be deleted");
+		}
+	}
+	
+	@Test
+	public void uniqueCorpusIsReportedUnique() throws Exception
+	{
+		final BasicProductKeyGenerator productKeyGenerator = ProductKeyTestFixture.buildGenerator();
+		final Path corpusFile = this.tempDirectory.resolve("corpus.txt");
+		
+		try (final BufferedWriter writer = Files.newBufferedWriter(corpusFile, StandardCharsets.US_ASCII))
+		{
+			for (long seed = 0xFFFFFFFFL; seed > 0xFFFFFFFFL - 5000L; seed-- )
+			{
+				writer.write(productKeyGenerator.generateProductKey(seed));
+				writer.write('\n');
+			}
+		}
+		
+		final ProductKeyAuditReport report = new ProductKeyAuditor(productKeyGenerator, ForkJoinPool.commonPool(), 1000L).audit(corpusFile, this.tempDirectory);
+		
+		assertTrue(report.isUnique());
+		assertEquals(5000L, report.getKeyCount());
+		assertEquals(5000L, report.getUniqueSeedCount());
+		assertEquals(0L, report.getDuplicateKeyCount());
+		assertEquals(0xFFFFFFFFL - 4999L, report.getMinSeed());
+		assertEquals(0xFFFFFFFFL, report.getMaxSeed());
+		assertEquals(0, report.getDuplicateSeeds().length);
+	}
+	
+}
@@ -0,0 +1,195 @@
+package com.weilerhaus.productKeys.io;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+import com.weilerhaus.productKeys.ProductKeyTestFixture;
+import com.weilerhaus.productKeys.beans.ProductKeyExportReport;
+import com.weilerhaus.productKeys.enums.ProductKeyExportFormat;
+import com.weilerhaus.productKeys.impl.BasicProductKeyGenerator;
+import com.weilerhaus.productKeys.impl.workers.BitmapSeedAvailabilityWorker;
+import com.weilerhaus.productKeys.workers.BlacklistWorker;
+
+/**
+ * This class tests {@link ProductKeyExporter}.
+ * 
+ * @author Matthew Weiler
+ */
+public class ProductKeyExporterTest extends ProductKeyTestFixture
+{
+	
+	
+	/* PRIVATE CONSTANTS */
+	/**
+	 * This is the first seed of every export.
+	 */
+	private static final long FIRST_SEED = 1000L;
+	/**
+	 * This is the number of seeds in every export.
+	 */
+	private static final long SEED_COUNT = 20000L;
+	/**
+	 * This is the size of the buffer of every export; it is kept small so that an export spans
+	 * many windows.
+	 */
+	private static final int BUFFER_SIZE = 4096;
+	/**
+	 * This is the seeds taken by another issuer before the export starts; the first few fall in the
+	 * first window, where the export is killed.
+	 */
+	private static final long[] PRE_TAKEN_SEEDS = { 1003L, 1050L, 1099L, 9000L, 20500L };
+	
+	/* TESTS */
+	@Test
+	public void resumedExportNeverIssuesSeedsTakenBeforeIt() throws Exception
+	{
+		for (final ProductKeyExportFormat format : ProductKeyExportFormat.values())
+		{
+			final Path completeFile = this.tempDirectory.resolve("complete-" + format);
+			final Path resumedFile = this.tempDirectory.resolve("resumed-" + format);
+			final Path resumedCheckpointFile = this.tempDirectory.resolve("resumed-" + format + ".checkpoint");
+			
+			new ProductKeyExporter(ProductKeyTestFixture.buildGenerator(), ProductKeyExporterTest.buildSeedAvailabilityWorker(), ProductKeyExporterTest.BUFFER_SIZE).export(ProductKeyExporterTest.FIRST_SEED, ProductKeyExporterTest.SEED_COUNT, format, completeFile, this.tempDirectory.resolve("complete-" + format + ".checkpoint"));
+			
+			final BitmapSeedAvailabilityWorker seedAvailabilityWorker = ProductKeyExporterTest.buildSeedAvailabilityWorker();
+			final KillingBlacklistWorker blacklistWorker = new KillingBlacklistWorker();
+			final ProductKeyExporter exporter = new ProductKeyExporter(new BasicProductKeyGenerator(ProductKeyTestFixture.buildEncodingData(), blacklistWorker), seedAvailabilityWorker, ProductKeyExporterTest.BUFFER_SIZE);
+			
+			// Kill the export in its first window, then twice more in later windows.
+			for (final long killAfter : new long[] { 40L, 7000L, 9500L })
+			{
+				blacklistWorker.lookupsLeft = killAfter;
+				
+				assertThrows(ExportKilledException.class, () -> exporter.export(ProductKeyExporterTest.FIRST_SEED, ProductKeyExporterTest.SEED_COUNT, format, resumedFile, resumedCheckpointFile));
+			}
+			
+			blacklistWorker.lookupsLeft = Long.MAX_VALUE;
+			
+			final ProductKeyExportReport report = exporter.export(ProductKeyExporterTest.FIRST_SEED, ProductKeyExporterTest.SEED_COUNT, format, resumedFile, resumedCheckpointFile);
+			
+			assertTrue(report.getResumedSeedCount() > 0L, format.name());
+			assertArrayEquals(Files.readAllBytes(completeFile), Files.readAllBytes(resumedFile), format.name());
+			
+			final List<String> lines = Files.readAllLines(resumedFile, StandardCharsets.US_ASCII);
+			final Set<String> productKeys = new HashSet<String>(lines);
+			
+			assertEquals(lines.size(), productKeys.size(), format.name());
+			assertEquals(ProductKeyExporterTest.SEED_COUNT - ProductKeyExporterTest.PRE_TAKEN_SEEDS.length, report.getExportedCount(), format.name());
+			assertEquals(ProductKeyExporterTest.PRE_TAKEN_SEEDS.length, report.getSkippedCount(), format.name());
+			
+			final BasicProductKeyGenerator productKeyGenerator = ProductKeyTestFixture.buildGenerator();
+			
+			for (final long seed : ProductKeyExporterTest.PRE_TAKEN_SEEDS)
+			{
+				final String productKey = productKeyGenerator.generateProductKey(seed);
+				
+				for (final String line : lines)
+				{
+					assertFalse(line.endsWith(productKey), productKey);
+				}
+			}
+		}
+	}
+	
+	@Test
+	public void generatorThatClaimsSeedsIsRejected()
+	{
+		final BitmapSeedAvailabilityWorker seedAvailabilityWorker = new BitmapSeedAvailabilityWorker();
+		final BasicProductKeyGenerator productKeyGenerator = new BasicProductKeyGenerator(ProductKeyTestFixture.buildEncodingData(), null, seedAvailabilityWorker);
+		
+		assertThrows(IllegalArgumentException.class, () -> new ProductKeyExporter(productKeyGenerator, seedAvailabilityWorker));
+	}
+	
+	/* PRIVATE METHODS */
+	/**
+	 * This method will build a {@link BitmapSeedAvailabilityWorker} in which
+	 * {@link #PRE_TAKEN_SEEDS} are already taken.
+	 * 
+	 * @return
+	 * The new {@link BitmapSeedAvailabilityWorker}.
+	 */
+	private static BitmapSeedAvailabilityWorker buildSeedAvailabilityWorker()
+	{
+		final BitmapSeedAvailabilityWorker seedAvailabilityWorker = new BitmapSeedAvailabilityWorker();
+		
+		for (final long seed : ProductKeyExporterTest.PRE_TAKEN_SEEDS)
+		{
+			seedAvailabilityWorker.tryClaimSeed(seed, 8);
+		}
+		
+		return seedAvailabilityWorker;
+	}
+	
+	/* PRIVATE CLASSES */
+	/**
+	 * This class is a {@link BlacklistWorker} that kills the export after a number of seeds have
+	 * been looked up.
+	 * 
+	 * @author Matthew Weiler
+	 */
+	private static final class KillingBlacklistWorker implements BlacklistWorker
+	{
+		
+		
+		/* PRIVATE VARIABLES */
+		/**
+		 * This will store the number of seeds that can be looked up before the export is killed.
+		 */
+		private long lookupsLeft = Long.MAX_VALUE;
+		
+		/* PUBLIC METHODS */
+		@Override
+		public boolean isKeyBlackListed(final String productKey)
+		{
+			return false;
+		}
+		
+		@Override
+		public boolean isSeedBlackListed(final String seedHex)
+		{
+			return this.isSeedBlackListed(0L, 8);
+		}
+		
+		@Override
+		public boolean isSeedBlackListed(final long seed, final int seedCharLength)
+		{
+			if (this.lookupsLeft-- <= 0L)
+			{
+				throw new ExportKilledException();
+			}
+			
+			return false;
+		}
+		
+	}
+	
+	/**
+	 * This class is thrown by {@link KillingBlacklistWorker} to kill the export.
+	 * 
+	 * @author Matthew Weiler
+	 */
+	private static final class ExportKilledException extends RuntimeException
+	{
+		
+		
+		/* PRIVATE CONSTANTS */
+		/**
+		 * This is the serial version of the class.
+		 */
+		private static final long serialVersionUID = 1L;
+		
+	}
+	
+}
@@ -0,0 +1,262 @@
+package com.weilerhaus.productKeys.store;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+import com.weilerhaus.productKeys.ProductKeyTestFixture;
+import com.weilerhaus.productKeys.beans.IssuedProductKey;
+import com.weilerhaus.productKeys.beans.ProductKey;
+import com.weilerhaus.productKeys.exceptions.SeedAlreadyTakenException;
+import com.weilerhaus.productKeys.impl.BasicProductKeyGenerator;
+
+/**
+ * This class tests {@link IssuedProductKeyStore}.
+ * 
+ * @author Matthew Weiler
+ */
+public class IssuedProductKeyStoreTest extends ProductKeyTestFixture
+{
+	
+	
+	/* PRIVATE CONSTANTS */
+	/**
+	 * This is the number of records in each segment file; it is kept small so that the tests
+	 * span several segment files.
+	 */
+	private static final int RECORDS_PER_SEGMENT = 64;
+	
+	/* TESTS */
+	@Test
+	public void issuedProductKeysSurviveReopen() throws Exception
+	{
+		final BasicProductKeyGenerator productKeyGenerator = ProductKeyTestFixture.buildGenerator();
+		final List<ProductKey> productKeys = new ArrayList<ProductKey>();
+		
+		try (final IssuedProductKeyStore store = this.openStore(1000))
+		{
+			for (long seed = 0L; seed < 200L; seed++ )
+			{
+				productKeys.add(store.issueProductKey(productKeyGenerator, seed));
+			}
+			
+			assertEquals(200, store.getIssuedCount());
+			assertThrows(IllegalStateException.class, () -> store.recordIssued(productKeys.get(7), 0L));
+			
+			for (long seed = 0L; seed < 200L; seed += 3L)
+			{
+				assertTrue(store.revoke(seed));
+				assertFalse(store.revoke(seed));
+			}
+			
+			IssuedProductKeyStoreTest.assertIssued(store, productKeys);
+			assertNull(store.lookup(500L));
+		}
+		
+		try (final IssuedProductKeyStore store = this.openStore(1000))
+		{
+			assertEquals(200, store.getIssuedCount());
+			
+			IssuedProductKeyStoreTest.assertIssued(store, productKeys);
+		}
+	}
+	
+	@Test
+	public void claimedSeedsSurviveReopen() throws Exception
+	{
+		try (final IssuedProductKeyStore store = this.openStore(1000))
+		{
+			final BasicProductKeyGenerator productKeyGenerator = new BasicProductKeyGenerator(ProductKeyTestFixture.buildEncodingData(), null, store);
+			
+			for (long seed = 0L; seed < 100L; seed++ )
+			{
+				productKeyGenerator.generateProductKey(seed);
+			}
+			
+			// A claimed seed has no product-key until it is recorded as issued.
+			assertEquals(0, store.getIssuedCount());
+			assertNull(store.lookup(5L));
+			assertFalse(store.revoke(5L));
+		}
+		
+		try (final IssuedProductKeyStore store = this.openStore(1000))
+		{
+			final BasicProductKeyGenerator productKeyGenerator = new BasicProductKeyGenerator(ProductKeyTestFixture.buildEncodingData(), null, store);
+			
+			for (long seed = 0L; seed < 100L; seed++ )
+			{
+				assertFalse(store.isSeedAvailable(seed, 8));
+			}
+			
+			assertTrue(store.isSeedAvailable(100L, 8));
+			assertThrows(SeedAlreadyTakenException.class, () -> productKeyGenerator.generateProductKey(5L));
+			
+			// Recording the product-key of a claimed seed fills in the record of the claim.
+			store.recordIssued(ProductKeyTestFixture.buildGenerator().generatePackedProductKey(5L), 42L);
+			
+			assertEquals(1, store.getIssuedCount());
+			assertEquals(42L, store.lookup(5L).getIssuedAt());
+		}
+		
+		try (final IssuedProductKeyStore store = this.openStore(1000))
+		{
+			assertEquals(1, store.getIssuedCount());
+			assertNotNull(store.lookup(5L));
+			assertNull(store.lookup(6L));
+			assertFalse(store.isSeedAvailable(6L, 8));
+		}
+	}
+	
+	@Test
+	public void concurrentClaimsNeverExceedCapacity() throws Exception
+	{
+		final int capacity = 500;
+		final int seedCount = 4000;
+		int claimCount = 0;
+		
+		try (final IssuedProductKeyStore store = this.openStore(capacity))
+		{
+			final ExecutorService executor = Executors.newFixedThreadPool(8);
+			final CountDownLatch startLatch = new CountDownLatch(1);
+			final List<Future<Integer>> futures = new ArrayList<Future<Integer>>();
+			
+			try
+			{
+				for (int t = 0; t < 8; t++ )
+				{
+					final int offset = t * 37;
+					
+					futures.add(executor.submit(() ->
+					{
+						int claimed = 0;
+						
+						startLatch.await();
+						
+						// Every thread tries every seed, from a different starting point.
+						for (int n = 0; n < seedCount; n++ )
+						{
+							try
+							{
+								if (store.tryClaimSeed((n + offset) % seedCount, 8))
+								{
+									claimed++ ;
+								}
+							}
+							catch (final IllegalStateException ise)
+							{
+								// The store is full.
+							}
+						}
+						
+						return Integer.valueOf(claimed);
+					}));
+				}
+				
+				startLatch.countDown();
+				
+				for (final Future<Integer> future : futures)
+				{
+					claimCount += future.get().intValue();
+				}
+			}
+			finally
+			{
+				executor.shutdown();
+				executor.awaitTermination(1L, TimeUnit.MINUTES);
+			}
+			
+			assertEquals(capacity, claimCount);
+		}
+		
+		try (final IssuedProductKeyStore store = this.openStore(capacity))
+		{
+			int unavailableCount = 0;
+			
+			for (long seed = 0L; seed < seedCount; seed++ )
+			{
+				if ( !store.isSeedAvailable(seed, 8))
+				{
+					unavailableCount++ ;
+				}
+			}
+			
+			assertEquals(capacity, unavailableCount);
+			assertThrows(IllegalStateException.class, () -> store.tryClaimSeed(seedCount, 8));
+		}
+	}
+	
+	@Test
+	public void mismatchedSeedLengthsAreRejected() throws Exception
+	{
+		try (final IssuedProductKeyStore store = this.openStore(1000))
+		{
+			// A wide generator and a generator with seeds of another length are both rejected up front.
+			assertThrows(IllegalArgumentException.class, () -> new BasicProductKeyGenerator(20, ProductKeyTestFixture.buildEncodingData(), null, store, null));
+			assertThrows(IllegalArgumentException.class, () -> new BasicProductKeyGenerator(10, ProductKeyTestFixture.buildEncodingData(), null, store, null));
+			assertThrows(IllegalArgumentException.class, () -> store.issueProductKey(new BasicProductKeyGenerator(10, ProductKeyTestFixture.buildEncodingData(), null, null, null), 1L));
+			assertThrows(IllegalArgumentException.class, () -> store.tryClaimSeed(1L, 10));
+			assertThrows(IllegalArgumentException.class, () -> store.tryClaimSeed(0L, 1L, 20));
+			assertThrows(IllegalArgumentException.class, () -> store.isSeedAvailable(0L, 1L, 20));
+			
+			final BasicProductKeyGenerator productKeyGenerator = new BasicProductKeyGenerator(8, ProductKeyTestFixture.buildEncodingData(), null, store, null);
+			
+			assertNotNull(productKeyGenerator.generateProductKey(1L));
+			assertFalse(store.isSeedAvailable(1L, 8));
+			assertThrows(SeedAlreadyTakenException.class, () -> productKeyGenerator.generateProductKey(1L));
+		}
+	}
+	
+	/* PRIVATE METHODS */
+	/**
+	 * This method will open the store in the temporary directory.
+	 * 
+	 * @param capacity
+	 * The maximum number of seeds the store can hold.
+	 * @return
+	 * The store.
+	 * @throws Exception
+	 * If the store could not be opened.
+	 */
+	private IssuedProductKeyStore openStore(final int capacity) throws Exception
+	{
+		return new IssuedProductKeyStore(this.tempDirectory, 8, capacity, IssuedProductKeyStoreTest.RECORDS_PER_SEGMENT);
+	}
+	
+	/**
+	 * This method will check that the store holds the specified product-keys, whose seeds are
+	 * their positions in the list, with every third one revoked.
+	 * 
+	 * @param store
+	 * The store to check.
+	 * @param productKeys
+	 * The product-keys that were issued.
+	 */
+	private static void assertIssued(final IssuedProductKeyStore store, final List<ProductKey> productKeys)
+	{
+		for (int n = 0; n < productKeys.size(); n++ )
+		{
+			final IssuedProductKey issuedProductKey = store.lookup(n);
+			
+			assertNotNull(issuedProductKey, "Seed " + n);
+			assertEquals(n, issuedProductKey.getSeed());
+			assertEquals(productKeys.get(n), issuedProductKey.getProductKey());
+			assertEquals((n % 3) == 0, issuedProductKey.isRevoked(), "Seed " + n);
+			assertNotNull(store.lookup(productKeys.get(n)), "Seed " + n);
+			assertFalse(store.isSeedAvailable(n, 8));
+		}
+	}
+	
+}
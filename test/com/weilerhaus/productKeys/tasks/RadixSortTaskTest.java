@@ -0,0 +1,129 @@
+package com.weilerhaus.productKeys.tasks;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+/**
+ * This class tests {@link RadixSortTask}.
+ * 
+ * @author Matthew Weiler
+ */
+public class RadixSortTaskTest
+{
+	
+	
+	/* PRIVATE VARIABLES */
+	/**
+	 * This will store the {@link ForkJoinPool} every test sorts on.
+	 */
+	private static ForkJoinPool pool;
+	
+	/* SETUP */
+	@BeforeAll
+	public static void createPool()
+	{
+		RadixSortTaskTest.pool = new ForkJoinPool(4);
+	}
+	
+	@AfterAll
+	public static void shutdownPool()
+	{
+		RadixSortTaskTest.pool.shutdown();
+	}
+	
+	/* TESTS */
+	@Test
+	public void sortsFullWidthValuesInUnsignedOrder()
+	{
+		final Random random = new Random(1L);
+		// Enough values to be split into several blocks.
+		final long[] values = new long[600000];
+		
+		for (int n = 0; n < values.length; n++ )
+		{
+			values[n] = random.nextLong();
+		}
+		
+		values[0] = -1L;
+		values[1] = 0L;
+		values[2] = Long.MIN_VALUE;
+		values[3] = Long.MAX_VALUE;
+		
+		RadixSortTaskTest.assertSortsLike(values, values.length, 64);
+	}
+	
+	@Test
+	public void sortsOnlyTheUsedBits()
+	{
+		final Random random = new Random(2L);
+		final long[] values = new long[300000];
+		
+		for (int n = 0; n < values.length; n++ )
+		{
+			// Few distinct values, so that most of them are duplicates.
+			values[n] = random.nextInt(5000) * 0x10001L;
+		}
+		
+		RadixSortTaskTest.assertSortsLike(values, values.length, 32);
+	}
+	
+	@Test
+	public void sortsOnlyTheSpecifiedCount()
+	{
+		final Random random = new Random(3L);
+		final long[] values = new long[1000];
+		
+		for (int n = 0; n < values.length; n++ )
+		{
+			values[n] = random.nextLong() & 0xFFFFFFFFFFL;
+		}
+		
+		RadixSortTaskTest.assertSortsLike(values, 700, 40);
+		RadixSortTaskTest.assertSortsLike(values, 1, 40);
+		RadixSortTaskTest.assertSortsLike(values, 0, 40);
+	}
+	
+	/* PRIVATE METHODS */
+	/**
+	 * This method will check that {@link RadixSortTask#sort(long[], int, int, ForkJoinPool)} puts
+	 * the first values of a copy of the specified array in unsigned order and leaves the rest
+	 * untouched.
+	 * 
+	 * @param values
+	 * The values to sort a copy of.
+	 * @param count
+	 * The number of values to sort.
+	 * @param bits
+	 * The number of low bits that the values use.
+	 */
+	private static void assertSortsLike(final long[] values, final int count, final int bits)
+	{
+		final long[] expected = values.clone();
+		final long[] actual = values.clone();
+		
+		// Flipping the sign bit turns the unsigned order into the signed order.
+		for (int n = 0; n < count; n++ )
+		{
+			expected[n] ^= Long.MIN_VALUE;
+		}
+		
+		Arrays.sort(expected, 0, count);
+		
+		for (int n = 0; n < count; n++ )
+		{
+			expected[n] ^= Long.MIN_VALUE;
+		}
+		
+		RadixSortTask.sort(actual, count, bits, RadixSortTaskTest.pool);
+		
+		assertArrayEquals(expected, actual);
+	}
+	
+}
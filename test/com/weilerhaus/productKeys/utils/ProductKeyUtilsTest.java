@@ -0,0 +1,156 @@
+package com.weilerhaus.productKeys.utils;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigInteger;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * This class tests the HEXADECIMAL parsing and formatting of {@link ProductKeyUtils}.
+ * 
+ * @author Matthew Weiler
+ */
+public class ProductKeyUtilsTest
+{
+	
+	
+	/* TESTS */
+	@Test
+	public void wideValuesRoundTripAtEveryLength()
+	{
+		final Random random = new Random(6L);
+		final long[] dest = new long[2];
+		
+		for (int length = 1; length <= ProductKeyUtils.MAX_WIDE_HEX_LENGTH; length++ )
+		{
+			for (int n = 0; n < 200; n++ )
+			{
+				final long high = ProductKeyUtilsTest.mask(random.nextLong(), length - 16);
+				final long low = ProductKeyUtilsTest.mask(random.nextLong(), length);
+				final String hex = ProductKeyUtils.buildHexStr(length, high, low);
+				
+				assertEquals(ProductKeyUtilsTest.toHex(length, high, low), hex);
+				assertTrue(ProductKeyUtils.parseHex(hex.toCharArray(), 0, length, dest), hex);
+				assertArrayEquals(new long[] { high, low }, dest, hex);
+				assertTrue(ProductKeyUtils.parseHex(hex.toLowerCase().toCharArray(), 0, length, dest), hex);
+				assertArrayEquals(new long[] { high, low }, dest, hex);
+			}
+		}
+	}
+	
+	@Test
+	public void wideValuesKeepTheSignBitOfEachHalf()
+	{
+		final long[] dest = new long[2];
+		
+		// A 16 character value fills the lower half, so it can be negative.
+		assertEquals("8000000000000001", ProductKeyUtils.buildHexStr(16, 0L, 0x8000000000000001L));
+		assertTrue(ProductKeyUtils.parseHex("8000000000000001".toCharArray(), 0, 16, dest));
+		assertArrayEquals(new long[] { 0L, 0x8000000000000001L }, dest);
+		
+		assertEquals("FFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFF", ProductKeyUtils.buildHexStr(32, -1L, -1L));
+		assertTrue(ProductKeyUtils.parseHex("FFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFF".toCharArray(), 0, 32, dest));
+		assertArrayEquals(new long[] { -1L, -1L }, dest);
+		
+		// Leading characters that do not fit the length are dropped from the upper half.
+		assertEquals("F0000000000000000", ProductKeyUtils.buildHexStr(17, 0xABCFL, 0L));
+	}
+	
+	@Test
+	public void longValuesRoundTrip()
+	{
+		final Random random = new Random(7L);
+		
+		for (int length = 1; length <= ProductKeyUtils.MAX_LONG_HEX_LENGTH; length++ )
+		{
+			for (int n = 0; n < 200; n++ )
+			{
+				final long value = ProductKeyUtilsTest.mask(random.nextLong(), length);
+				final String hex = ProductKeyUtils.buildHexStr(length, value);
+				final char[] hexChars = new char[length + 2];
+				
+				ProductKeyUtils.writeHex(value, hexChars, 1, length);
+				
+				assertEquals(hex, new String(hexChars, 1, length));
+				assertEquals(value, ProductKeyUtils.parseHex(hex, 0, length));
+				assertEquals(value, ProductKeyUtils.parseHex(hexChars, 1, length));
+				assertEquals(ProductKeyUtils.buildHexStr(length, 0L, value), hex);
+			}
+		}
+	}
+	
+	@Test
+	public void invalidWideValuesAreNotParsed()
+	{
+		final long[] dest = { 1L, 2L };
+		
+		assertFalse(ProductKeyUtils.parseHex("12G4".toCharArray(), 0, 4, dest));
+		assertFalse(ProductKeyUtils.parseHex("1234".toCharArray(), 0, 0, dest));
+		assertFalse(ProductKeyUtils.parseHex("1234".toCharArray(), 2, 3, dest));
+		assertFalse(ProductKeyUtils.parseHex(new char[33], 0, 33, dest));
+		assertFalse(ProductKeyUtils.parseHex(null, 0, 1, dest));
+		assertArrayEquals(new long[] { 1L, 2L }, dest);
+	}
+	
+	@Test
+	public void foldingKeepsNarrowSeeds()
+	{
+		assertEquals(0x1234L, ProductKeyUtils.foldSeed(0L, 0x1234L));
+		assertEquals(-1L, ProductKeyUtils.foldSeed(0L, -1L));
+		assertFalse(ProductKeyUtils.foldSeed(1L, 0x1234L) == ProductKeyUtils.foldSeed(2L, 0x1234L));
+	}
+	
+	/* PRIVATE METHODS */
+	/**
+	 * This method will keep the bits of the specified value that fit in the specified number of
+	 * HEXADECIMAL characters.
+	 * 
+	 * @param value
+	 * The value.
+	 * @param length
+	 * The number of HEXADECIMAL characters.
+	 * @return
+	 * The masked value.
+	 */
+	private static long mask(final long value, final int length)
+	{
+		if (length <= 0)
+		{
+			return 0L;
+		}
+		
+		return (length >= 16) ? value : (value & ((1L << (length * 4)) - 1L));
+	}
+	
+	/**
+	 * This method will build the expected HEXADECIMAL representation of the specified 128-bit
+	 * value.
+	 * 
+	 * @param length
+	 * The number of HEXADECIMAL characters.
+	 * @param high
+	 * The upper 64 bits of the value.
+	 * @param low
+	 * The lower 64 bits of the value.
+	 * @return
+	 * The upper-case HEXADECIMAL representation, padded with leading zeros.
+	 */
+	private static String toHex(final int length, final long high, final long low)
+	{
+		final BigInteger value = new BigInteger(Long.toUnsignedString(high)).shiftLeft(64).or(new BigInteger(Long.toUnsignedString(low)));
+		final StringBuilder hex = new StringBuilder(value.toString(16).toUpperCase());
+		
+		while (hex.length() < length)
+		{
+			hex.insert(0, '0');
+		}
+		
+		return hex.toString();
+	}
+	
+}